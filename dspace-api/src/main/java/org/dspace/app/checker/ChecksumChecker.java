@@ -21,6 +21,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.BitstreamDispatcher;
@@ -78,6 +79,10 @@ public final class ChecksumChecker {
      * <dd>Report only errors in the logs</dd>
      * <dt>-p</dt>
      * <dd>Don't prune results before running checker</dd>
+     * <dt>-t [threads]</dt>
+     * <dd>Number of threads per asset store reading the bitstreams</dd>
+     * <dt>-r [MB/s]</dt>
+     * <dd>Maximum number of megabytes read per second by all threads</dd>
      * </dl>
      *
      * @param args the command line arguments given
@@ -99,6 +104,8 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("a", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of threads per asset store reading the bitstreams");
+        options.addOption("r", "rate", true, "Maximum number of megabytes read per second by all threads");
 
         Option option;
 
@@ -203,6 +210,13 @@ public final class ChecksumChecker {
             if (line.hasOption('v')) {
                 checker.setReportVerbose(true);
             }
+            if (line.hasOption('t')) {
+                checker.setThreads(Integer.parseInt(line.getOptionValue('t')));
+            }
+            if (line.hasOption('r')) {
+                checker.setMaxBytesPerSecond(
+                    (long) (Double.parseDouble(line.getOptionValue('r')) * FileUtils.ONE_MB));
+            }
 
             checker.setProcessStartDate(processStart);
             checker.setDispatcher(dispatcher);
@@ -236,6 +250,8 @@ public final class ChecksumChecker {
         System.out.println("\nLoop continuously through all bitstreams: ChecksumChecker -L");
         System.out.println("\nCheck a defined number of bitstreams: ChecksumChecker -c 10");
         System.out.println("\nReport all processing (verbose)(default reports only errors): ChecksumChecker -v");
+        System.out.println("\nCheck with 4 threads per asset store, reading at most 50 MB/s: "
+                               + "ChecksumChecker -l -t 4 -r 50");
         System.out.println("\nDefault (no arguments) is equivalent to '-c 1'");
         System.exit(0);
     }
@@ -0,0 +1,168 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Items which failed to be filtered in a number of consecutive runs of the media filter, so they're skipped instead
+ * of being tried again in every run. The number of consecutive failures of each item is kept in a properties file,
+ * so it's shared by the runs of the media filter. An item is released from the quarantine by removing its line from
+ * the file, or all items by removing the file or with {@link #reset()} (the "-r" option of the media filter).
+ * <p>
+ * The file is read again when it's changed by someone else, and written when the number of failures of an item
+ * changes. Instances are safe to use from several threads.
+ */
+public class MediaFilterQuarantine {
+
+    private static final Logger log = LogManager.getLogger(MediaFilterQuarantine.class);
+
+    private final Path file;
+
+    /**
+     * The number of consecutive failures after which an item is quarantined, 0 or less to never quarantine items
+     */
+    private final int maxFailures;
+
+    private final Properties failures = new Properties();
+
+    /**
+     * The last modification time of the file when it was last read or written
+     */
+    private FileTime lastModified;
+
+    /**
+     * @param file        the file keeping the number of failures of each item
+     * @param maxFailures the number of consecutive failures after which an item is quarantined, 0 or less to never
+     *                    quarantine items
+     */
+    public MediaFilterQuarantine(Path file, int maxFailures) {
+        this.file = file;
+        this.maxFailures = maxFailures;
+    }
+
+    /**
+     * @param item the id of an item
+     * @return true if the item failed to be filtered in the maximum number of consecutive runs
+     */
+    public synchronized boolean isQuarantined(UUID item) {
+        if (maxFailures <= 0) {
+            return false;
+        }
+        refresh();
+        return getFailures(item) >= maxFailures;
+    }
+
+    /**
+     * Count a failure to filter an item
+     *
+     * @param item the id of the item
+     * @return true if the item is quarantined from now on
+     */
+    public synchronized boolean failed(UUID item) {
+        if (maxFailures <= 0) {
+            return false;
+        }
+        refresh();
+        int count = getFailures(item) + 1;
+        failures.setProperty(item.toString(), String.valueOf(count));
+        save();
+        return count >= maxFailures;
+    }
+
+    /**
+     * Forget the previous failures of an item which was filtered without errors
+     *
+     * @param item the id of the item
+     */
+    public synchronized void succeeded(UUID item) {
+        if (maxFailures <= 0) {
+            return;
+        }
+        refresh();
+        if (failures.remove(item.toString()) != null) {
+            save();
+        }
+    }
+
+    /**
+     * Release all items from the quarantine, and forget their failures
+     */
+    public synchronized void reset() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Unable to remove the media filter quarantine {}", file, e);
+        }
+        failures.clear();
+        lastModified = null;
+    }
+
+    /**
+     * @param item the id of an item
+     * @return the number of consecutive runs in which the item failed to be filtered
+     */
+    public synchronized int getFailures(UUID item) {
+        try {
+            return Integer.parseInt(failures.getProperty(item.toString(), "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Read the file again if it was changed or removed since it was last read or written
+     */
+    private void refresh() {
+        try {
+            FileTime modified = Files.exists(file) ? Files.getLastModifiedTime(file) : null;
+            if (modified == null ? lastModified == null : modified.equals(lastModified)) {
+                return;
+            }
+            failures.clear();
+            if (modified != null) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    failures.load(in);
+                }
+            }
+            lastModified = modified;
+        } catch (IOException e) {
+            log.warn("Unable to read the media filter quarantine from {}", file, e);
+        }
+    }
+
+    /**
+     * Write the failures to a temporary file which then replaces the file, so it's never read half written
+     */
+    private void save() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                failures.store(out, "Consecutive failures of the media filter, by item");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lastModified = Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            log.warn("Unable to write the media filter quarantine to {}", file, e);
+        }
+    }
+}
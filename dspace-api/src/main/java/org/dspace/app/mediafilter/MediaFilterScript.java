@@ -40,7 +40,8 @@ import org.dspace.utils.DSpace;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; -m [max] limits processing to a
  * maximum number of items; -fd [fromdate] takes only items starting from this date,
- * filtering by last_modified in the item table.
+ * filtering by last_modified in the item table; -t [threads] filters items with a pool of
+ * workers.
  */
 public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfiguration> {
 
@@ -63,6 +64,8 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     private String[] skipIds = null;
     private Map<String, List<String>> filterFormats = new HashMap<>();
     private LocalDate fromDate = null;
+    private int threads = 1;
+    private boolean resetQuarantine = false;
 
     public MediaFilterScriptConfiguration getScriptConfiguration() {
         return new DSpace().getServiceManager()
@@ -119,6 +122,17 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
             fromDate = LocalDate.parse(commandLine.getOptionValue('d'));
         }
 
+        if (commandLine.hasOption('t')) {
+            threads = Integer.parseInt(commandLine.getOptionValue('t'));
+            if (threads < 1) {
+                handler.logWarning("Invalid number of threads '" +
+                                           commandLine.getOptionValue('t') + "' - ignoring");
+                threads = 1;
+            }
+        }
+
+        resetQuarantine = commandLine.hasOption('r');
+
 
     }
 
@@ -134,6 +148,10 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
         mediaFilterService.setQuiet(isQuiet);
         mediaFilterService.setVerbose(isVerbose);
         mediaFilterService.setMax2Process(max2Process);
+        mediaFilterService.setThreads(threads);
+        if (resetQuarantine) {
+            mediaFilterService.resetQuarantine();
+        }
 
         //initialize an array of our enabled filters
         List<FormatFilter> filterList = new ArrayList<>();
@@ -53,6 +53,10 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
         options.addOption(pluginOption);
 
         options.addOption("d", "fromdate", true, "Process only item from specified last modified date");
+        options.addOption("t", "threads", true,
+            "filter items with this number of workers, each committing its changes in batches (default 1)");
+        options.addOption("r", "reset-quarantine", false,
+            "release all items from the quarantine of items which failed in consecutive runs before filtering");
 
         Option skipOption = Option.builder("s")
                                   .longOpt("skip")
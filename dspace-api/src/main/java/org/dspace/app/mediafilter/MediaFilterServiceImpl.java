@@ -7,7 +7,9 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -17,8 +19,23 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.app.mediafilter.service.MediaFilterService;
 import org.dspace.authorize.AuthorizeException;
@@ -43,6 +60,7 @@ import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.dspace.util.ThrowableUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,6 +73,19 @@ import org.springframework.beans.factory.annotation.Autowired;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; and -m [max] limits processing to a
  * maximum number of items.
+ * <p>
+ * When a number of threads is set, the items are filtered by a pool of that many workers, each with its own
+ * Context, committing their changes in batches ("filter.batch.size"). The items are still found by the calling
+ * thread, which hands them to the workers through a bounded queue, and a report of the throughput and of the depth
+ * of the queue is logged at the end of the run.
+ * <p>
+ * In both modes, each FormatFilter can be given a maximum number of bitstreams it filters at the same time
+ * ("filter.&lt;class-name&gt;[.&lt;plugin-name&gt;].max-concurrent") and a wall-clock timeout
+ * ("filter.&lt;class-name&gt;[.&lt;plugin-name&gt;].timeout", or "filter.timeout" for all filters), after which
+ * its bitstream is skipped. Optionally ("filter.quarantine.max-failures"), items which failed to be filtered in a
+ * number of consecutive runs are quarantined unless forced, see {@link MediaFilterQuarantine}. The outcome of
+ * filtering an item is only counted, and recorded in the quarantine, once its changes are committed; when the batch
+ * of a worker is rolled back, the bitstreams it stored are removed again.
  */
 public class MediaFilterServiceImpl implements MediaFilterService, InitializingBean {
     @Autowired(required = true)
@@ -75,12 +106,14 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected ItemService itemService;
     @Autowired(required = true)
     protected ConfigurationService configurationService;
+    @Autowired(required = true)
+    protected BitstreamStorageService bitstreamStorageService;
 
     protected DSpaceRunnableHandler handler;
 
     protected int max2Process = Integer.MAX_VALUE;  // maximum number items to process
 
-    protected int processed = 0;   // number items processed
+    protected volatile int processed = 0;   // number items processed
 
     protected Item currentItem = null;   // current item being processed
 
@@ -97,6 +130,42 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected boolean isForce = false; // default to not forced
     protected LocalDate fromDate = null;
 
+    protected int threads = 1; // number of workers filtering items, 1 to filter them sequentially
+
+    protected int batchSize = 20; // number of items filtered by a worker between commits
+
+    protected MediaFilterQuarantine quarantine = null;
+
+    /**
+     * The limits of each filter, by "&lt;class-name&gt;[.&lt;plugin-name&gt;]" key
+     */
+    private final Map<String, FilterLimits> filterLimits = new ConcurrentHashMap<>();
+
+    /**
+     * The items for which filtering a bitstream failed, until the outcome of filtering the item is recorded
+     */
+    private final Set<UUID> failedItems = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The item being processed by the current worker thread
+     */
+    private final ThreadLocal<Item> workerItem = new ThreadLocal<>();
+
+    /**
+     * The bitstreams stored by the current worker thread since its last commit
+     */
+    private final ThreadLocal<List<Bitstream>> workerBitstreams = new ThreadLocal<>();
+
+    /**
+     * The threads running filters which have a timeout
+     */
+    private ExecutorService filterExecutor = null;
+
+    /**
+     * The concurrent run in progress, or null
+     */
+    private volatile ConcurrentRun concurrentRun = null;
+
     protected MediaFilterServiceImpl() {
 
     }
@@ -111,10 +180,20 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 publicFiltersClasses.add(filter.trim());
             }
         }
+
+        batchSize = configurationService.getIntProperty("filter.batch.size", batchSize);
+        quarantine = new MediaFilterQuarantine(
+            Paths.get(configurationService.getProperty("filter.quarantine.file",
+                configurationService.getProperty("dspace.dir") + "/var/filter-media-quarantine.properties")),
+            configurationService.getIntProperty("filter.quarantine.max-failures", 0));
     }
 
     @Override
     public void applyFiltersAllItems(Context context) throws Exception {
+        if (threads > 1 && concurrentRun == null) {
+            applyFiltersConcurrently(() -> applyFiltersAllItems(context));
+            return;
+        }
         if (skipList != null) {
             //if a skip-list exists, we need to filter community-by-community
             //so we can respect what is in the skip-list
@@ -144,6 +223,11 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Override
     public void applyFiltersCommunity(Context context, Community community)
         throws Exception {   //only apply filters if community not in skip-list
+        if (threads > 1 && concurrentRun == null) {
+            Community scope = community;
+            applyFiltersConcurrently(() -> applyFiltersCommunity(context, scope));
+            return;
+        }
         // ensure that the community is attached to the current hibernate session
         // as we are committing after each item (handles, sub-communties and
         // collections are lazy attributes)
@@ -166,6 +250,11 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Override
     public void applyFiltersCollection(Context context, Collection collection)
         throws Exception {
+        if (threads > 1 && concurrentRun == null) {
+            Collection scope = collection;
+            applyFiltersConcurrently(() -> applyFiltersCollection(context, scope));
+            return;
+        }
         // ensure that the collection is attached to the current hibernate session
         // as we are committing after each item (handles are lazy attributes)
         collection = context.reloadEntity(collection);
@@ -182,19 +271,35 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void applyFiltersItem(Context c, Item item) throws Exception {
         //only apply filters if item not in skip-list
         if (!inSkipList(item.getHandle())) {
+            ConcurrentRun run = concurrentRun;
+            if (run != null) {
+                // hand the item to the workers, which find it again in their own context
+                run.submit(item.getID());
+                c.uncacheEntity(item);
+                return;
+            }
+            if (isQuarantined(item)) {
+                c.uncacheEntity(item);
+                return;
+            }
+
             //cache this item in MediaFilterManager
             //so it can be accessed by MediaFilters as necessary
             currentItem = item;
 
-            if (filterItem(c, item)) {
-                // increment processed count
-                ++processed;
-            }
+            boolean filtered = filterItem(c, item);
+            boolean failed = failedItems.remove(item.getID());
+            String handle = item.getHandle();
             // clear item objects from context cache and internal cache
             c.uncacheEntity(currentItem);
             // commit after each item to release DB resources
             c.commit();
             currentItem = null;
+            if (filtered) {
+                // increment processed count
+                countProcessed();
+            }
+            recordOutcome(item.getID(), handle, failed);
         }
     }
 
@@ -251,6 +356,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                     }
                 } catch (Exception e) {
                     // Printout helpful information to find the errored bitstream.
+                    failedItems.add(myItem.getID());
                     logError(formatBitstreamDetails(myItem.getHandle(), myBitstream));
                     logError(ThrowableUtils.formatCauseChain(e));
                 }
@@ -305,6 +411,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                             filtered = true;
                         }
                     } catch (Exception e) {
+                        failedItems.add(myItem.getID());
                         logError("ERROR filtering, skipping bitstream #"
                                                + myBitstream.getID() + " " + e);
                         e.printStackTrace();
@@ -370,7 +477,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 InputStream srcStream = bitstreamService.retrieve(context, source);
                 // filter the source stream to produce the destination stream
                 // this is the hard work, check for OutOfMemoryErrors at the end of the try clause.
-                InputStream destStream = formatFilter.getDestinationStream(item, srcStream, isVerbose);
+                InputStream destStream = getDestinationStream(formatFilter, item, srcStream);
         ) {
             if (destStream == null) {
                 if (!isQuiet) {
@@ -391,6 +498,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
             // create bitstream to store the filter result
             Bitstream b = bitstreamService.create(context, targetBundle, destStream);
+            List<Bitstream> stored = workerBitstreams.get();
+            if (stored != null) {
+                stored.add(b);
+            }
             // set the name, source and description of the bitstream
             b.setName(context, newName);
             b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
@@ -409,6 +520,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             formatFilter.postProcessBitstream(context, item, b);
 
         } catch (OutOfMemoryError oome) {
+            failedItems.add(item.getID());
             logError("!!! OutOfMemoryError !!!");
             logError(formatBitstreamDetails(item.getHandle(), source));
         }
@@ -426,6 +538,414 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return true;
     }
 
+    /**
+     * Run a filter on the content of a bitstream, within the limits of the filter: the number of bitstreams it may
+     * filter at the same time, and the time it may take. When it has a timeout, the filter runs in another thread,
+     * which is interrupted when the time is up; a filter which ignores the interruption keeps its thread until it
+     * ends, but its result is then discarded.
+     *
+     * @param formatFilter the filter
+     * @param item         the item containing the bitstream
+     * @param source       the content of the bitstream
+     * @return the filtered content, or null if filtering was unsuccessful
+     * @throws TimeoutException if the filter didn't finish in time
+     * @throws Exception        if the filter failed
+     */
+    protected InputStream getDestinationStream(FormatFilter formatFilter, Item item, InputStream source)
+        throws Exception {
+        FilterLimits limits = getFilterLimits(formatFilter);
+        if (limits.timeout <= 0) {
+            if (limits.slots == null) {
+                return formatFilter.getDestinationStream(item, source, isVerbose);
+            }
+            limits.slots.acquire();
+            try {
+                return formatFilter.getDestinationStream(item, source, isVerbose);
+            } finally {
+                limits.slots.release();
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(limits.timeout);
+        if (limits.slots != null && !limits.slots.tryAcquire(limits.timeout, TimeUnit.SECONDS)) {
+            timedOut();
+            throw new TimeoutException("No free slot for FormatFilter " + limits.key + " within "
+                                           + limits.timeout + " seconds");
+        }
+        AtomicBoolean abandoned = new AtomicBoolean(false);
+        Future<InputStream> future;
+        try {
+            future = getFilterExecutor().submit(() -> {
+                try {
+                    InputStream destination = formatFilter.getDestinationStream(item, source, isVerbose);
+                    if (abandoned.get()) {
+                        IOUtils.closeQuietly(destination);
+                    }
+                    return destination;
+                } finally {
+                    // the slot is only free once the filter really stopped
+                    if (limits.slots != null) {
+                        limits.slots.release();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            if (limits.slots != null) {
+                limits.slots.release();
+            }
+            throw e;
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandoned.set(true);
+            future.cancel(true);
+            timedOut();
+            throw new TimeoutException("FormatFilter " + limits.key + " didn't finish within "
+                                           + limits.timeout + " seconds");
+        } catch (InterruptedException e) {
+            abandoned.set(true);
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Get the limits of a filter, configured by
+     * "filter.&lt;class-name&gt;[.&lt;plugin-name&gt;].max-concurrent" and
+     * "filter.&lt;class-name&gt;[.&lt;plugin-name&gt;].timeout" (or "filter.timeout" for all filters)
+     */
+    private FilterLimits getFilterLimits(FormatFilter formatFilter) {
+        String key = formatFilter.getClass().getName();
+        if (formatFilter instanceof SelfNamedPlugin) {
+            key += "." + ((SelfNamedPlugin) formatFilter).getPluginInstanceName();
+        }
+        return filterLimits.computeIfAbsent(key, name -> {
+            int maxConcurrent = configurationService.getIntProperty("filter." + name + ".max-concurrent", 0);
+            long timeout = configurationService.getLongProperty("filter." + name + ".timeout",
+                configurationService.getLongProperty("filter.timeout", 0));
+            return new FilterLimits(name, maxConcurrent > 0 ? new Semaphore(maxConcurrent, true) : null, timeout);
+        });
+    }
+
+    private synchronized ExecutorService getFilterExecutor() {
+        if (filterExecutor == null) {
+            AtomicInteger count = new AtomicInteger();
+            filterExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "filter-media-filter-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return filterExecutor;
+    }
+
+    private void timedOut() {
+        ConcurrentRun run = concurrentRun;
+        if (run != null) {
+            run.statistics.timedOut();
+        }
+    }
+
+    /**
+     * @return true if the item is quarantined, and must be skipped
+     */
+    private boolean isQuarantined(Item item) {
+        if (!isForce && quarantine != null && quarantine.isQuarantined(item.getID())) {
+            if (!isQuiet) {
+                logInfo("QUARANTINED: skipped bitstreams of item " + item.getHandle() + " (" + item.getID()
+                            + ") after " + quarantine.getFailures(item.getID()) + " failed runs");
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Record whether filtering a bitstream of the item failed in the quarantine, once the changes of the item are
+     * committed
+     *
+     * @param item   the id of the item
+     * @param handle the handle of the item
+     * @param failed whether filtering a bitstream of the item failed
+     */
+    private void recordOutcome(UUID item, String handle, boolean failed) {
+        if (quarantine != null) {
+            if (!failed) {
+                quarantine.succeeded(item);
+            } else if (quarantine.failed(item)) {
+                logError("QUARANTINED: item " + handle + " (" + item + ") failed in "
+                             + quarantine.getFailures(item) + " consecutive runs, and will be skipped");
+            }
+        }
+    }
+
+    @Override
+    public void resetQuarantine() {
+        if (quarantine != null) {
+            quarantine.reset();
+        }
+    }
+
+    private synchronized void countProcessed() {
+        ++processed;
+    }
+
+    /**
+     * Filter the items found by a scope with a pool of workers, and log the statistics of the run
+     *
+     * @param scope the scope finding the items, handing each one to {@link #applyFiltersItem(Context, Item)}
+     * @throws Exception if the scope failed, or if all workers stopped
+     */
+    protected void applyFiltersConcurrently(FilterScope scope) throws Exception {
+        ConcurrentRun run = new ConcurrentRun();
+        concurrentRun = run;
+        try {
+            run.start();
+            scope.apply();
+            run.finish();
+        } finally {
+            concurrentRun = null;
+            run.stop();
+            logInfo(run.statistics.report());
+        }
+    }
+
+    /**
+     * Something finding the items to filter
+     */
+    @FunctionalInterface
+    protected interface FilterScope {
+        void apply() throws Exception;
+    }
+
+    /**
+     * The limits of a filter
+     */
+    private static class FilterLimits {
+        private final String key;
+
+        /**
+         * The permits to filter a bitstream, or null if the filter isn't limited
+         */
+        private final Semaphore slots;
+
+        /**
+         * The timeout in seconds, 0 or less for none
+         */
+        private final long timeout;
+
+        FilterLimits(String key, Semaphore slots, long timeout) {
+            this.key = key;
+            this.slots = slots;
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * A pool of workers filtering the items handed to them through a bounded queue. Each worker has its own Context,
+     * and commits after a batch of items.
+     */
+    private class ConcurrentRun {
+
+        /**
+         * Put in the queue once for each worker, to make it stop
+         */
+        private final UUID end = new UUID(0, 0);
+
+        private final BlockingQueue<UUID> queue = new ArrayBlockingQueue<>(threads * 2);
+
+        private final MediaFilterStatistics statistics = new MediaFilterStatistics();
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        private ExecutorService workers;
+
+        void start() {
+            AtomicInteger count = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "filter-media-worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < threads; i++) {
+                running.incrementAndGet();
+                workers.execute(this::work);
+            }
+        }
+
+        /**
+         * Hand an item to the workers, waiting while the queue is full
+         */
+        void submit(UUID item) throws InterruptedException {
+            statistics.sampleQueueDepth(queue.size());
+            while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                checkRunning();
+            }
+        }
+
+        /**
+         * Wait until the workers filtered all items handed to them
+         */
+        void finish() throws InterruptedException {
+            for (int i = 0; i < threads; i++) {
+                while (!queue.offer(end, 100, TimeUnit.MILLISECONDS)) {
+                    checkRunning();
+                }
+            }
+            workers.shutdown();
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                logInfo("Waiting for media filter workers, " + queue.size() + " items queued");
+            }
+        }
+
+        void stop() {
+            if (workers != null) {
+                workers.shutdownNow();
+            }
+        }
+
+        private void checkRunning() {
+            if (running.get() == 0) {
+                throw new IllegalStateException("All media filter workers stopped");
+            }
+        }
+
+        private void work() {
+            Context context = null;
+            List<Outcome> batch = new ArrayList<>(batchSize);
+            List<Bitstream> stored = new ArrayList<>();
+            workerBitstreams.set(stored);
+            try {
+                context = new Context();
+                context.turnOffAuthorisationSystem();
+                UUID id;
+                while (!end.equals(id = queue.take())) {
+                    // keep taking items so the calling thread isn't blocked, but stop filtering at the maximum
+                    if (processed >= max2Process) {
+                        continue;
+                    }
+                    try {
+                        batch.add(filter(context, id));
+                    } catch (Exception e) {
+                        // the changes of the batch can't be trusted anymore
+                        logError("ERROR filtering item " + id + ", rolling back " + (batch.size() + 1)
+                                     + " items: " + ThrowableUtils.formatCauseChain(e));
+                        context.rollback();
+                        context.uncacheEntities();
+                        removeStored(context, stored);
+                        statistics.rolledBack(batch.size() + 1);
+                        batch.clear();
+                        // the failure of the item itself is real, even if its changes were rolled back
+                        failedItems.remove(id);
+                        if (quarantine != null) {
+                            quarantine.failed(id);
+                        }
+                        statistics.handled(false, true);
+                    }
+                    if (batch.size() >= batchSize) {
+                        context.commit();
+                        committed(batch, stored);
+                    }
+                }
+                context.complete();
+                context = null;
+                committed(batch, stored);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logError("Media filter worker stopped", e);
+            } finally {
+                if (context != null) {
+                    context.abort();
+                    if (!stored.isEmpty()) {
+                        try (Context removal = new Context()) {
+                            removeStored(removal, stored);
+                        }
+                    }
+                }
+                workerBitstreams.remove();
+                running.decrementAndGet();
+            }
+        }
+
+        /**
+         * Filter an item
+         *
+         * @return the outcome, to record once the changes are committed
+         */
+        private Outcome filter(Context context, UUID id) throws Exception {
+            Item item = itemService.find(context, id);
+            if (item == null) {
+                return new Outcome(id, null, false, false, false);
+            }
+            if (isQuarantined(item)) {
+                statistics.quarantined();
+                context.uncacheEntity(item);
+                return new Outcome(id, null, false, false, false);
+            }
+            workerItem.set(item);
+            boolean filtered;
+            try {
+                filtered = filterItem(context, item);
+            } finally {
+                workerItem.remove();
+            }
+            Outcome outcome = new Outcome(id, item.getHandle(), true, filtered, failedItems.remove(id));
+            context.uncacheEntity(item);
+            return outcome;
+        }
+
+        /**
+         * Record the outcomes of a committed batch, and clear it
+         */
+        private void committed(List<Outcome> batch, List<Bitstream> stored) {
+            for (Outcome outcome : batch) {
+                if (!outcome.handled()) {
+                    continue;
+                }
+                if (outcome.filtered()) {
+                    countProcessed();
+                }
+                recordOutcome(outcome.item(), outcome.handle(), outcome.failed());
+                statistics.handled(outcome.filtered(), outcome.failed());
+            }
+            batch.clear();
+            stored.clear();
+        }
+
+        /**
+         * Remove the bits of the bitstreams stored since the last commit, which was rolled back
+         */
+        private void removeStored(Context context, List<Bitstream> stored) {
+            for (Bitstream bitstream : stored) {
+                try {
+                    bitstreamStorageService.removeRolledBack(context, bitstream);
+                } catch (IOException | SQLException e) {
+                    logError("Unable to remove the bits of rolled back bitstream " + bitstream.getInternalId(), e);
+                }
+            }
+            stored.clear();
+        }
+    }
+
+    /**
+     * The outcome of filtering an item by a worker
+     *
+     * @param item     the id of the item
+     * @param handle   the handle of the item
+     * @param handled  false if the item was skipped (not found, or quarantined)
+     * @param filtered whether a bitstream of the item was filtered
+     * @param failed   whether filtering a bitstream of the item failed
+     */
+    private record Outcome(UUID item, String handle, boolean handled, boolean filtered, boolean failed) {
+    }
+
     @Override
     public void updatePoliciesOfDerivativeBitstreams(Context context, Item item, Bitstream source)
         throws SQLException, AuthorizeException {
@@ -493,7 +1013,8 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public Item getCurrentItem() {
-        return currentItem;
+        Item item = workerItem.get();
+        return item != null ? item : currentItem;
     }
 
     @Override
@@ -539,21 +1060,21 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return sb.toString();
     }
 
-    private void logInfo(String message) {
+    private synchronized void logInfo(String message) {
         if (handler != null) {
             handler.logInfo(message);
         } else {
             System.out.println(message);
         }
     }
-    private void logError(String message) {
+    private synchronized void logError(String message) {
         if (handler != null) {
             handler.logError(message);
         } else {
             System.out.println(message);
         }
     }
-    private void logError(String message, Exception e) {
+    private synchronized void logError(String message, Exception e) {
         if (handler != null) {
             handler.logError(message, e);
         } else {
@@ -584,6 +1105,8 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Override
     public void setFilterClasses(List<FormatFilter> filterClasses) {
         this.filterClasses = filterClasses;
+        // read the limits of the filters again
+        filterLimits.clear();
     }
 
     @Override
@@ -605,4 +1128,9 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void setFromDate(LocalDate fromDate) {
         this.fromDate = fromDate;
     }
+
+    @Override
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
 }
@@ -0,0 +1,154 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of a concurrent run of the media filter: the number of items handled by the workers and their outcome,
+ * the throughput, and the number of items waiting for a worker (the depth of the queue) each time an item was added.
+ * Instances are safe to update from several threads.
+ */
+public class MediaFilterStatistics {
+
+    private final Clock clock;
+
+    private final Instant start;
+
+    private final AtomicLong items = new AtomicLong();
+
+    private final AtomicLong filtered = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong quarantined = new AtomicLong();
+
+    private final AtomicLong timeouts = new AtomicLong();
+
+    private final AtomicLong rolledBack = new AtomicLong();
+
+    private final AtomicLong queueSamples = new AtomicLong();
+
+    private final AtomicLong queueDepthSum = new AtomicLong();
+
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    public MediaFilterStatistics() {
+        this(Clock.systemUTC());
+    }
+
+    MediaFilterStatistics(Clock clock) {
+        this.clock = clock;
+        this.start = clock.instant();
+    }
+
+    /**
+     * Count an item handled by a worker
+     *
+     * @param filtered true if at least one of its bitstreams was filtered
+     * @param failed   true if filtering one of its bitstreams failed
+     */
+    public void handled(boolean filtered, boolean failed) {
+        items.incrementAndGet();
+        if (filtered) {
+            this.filtered.incrementAndGet();
+        }
+        if (failed) {
+            this.failed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Count an item which was skipped because it's quarantined
+     */
+    public void quarantined() {
+        quarantined.incrementAndGet();
+    }
+
+    /**
+     * Count a filter which didn't finish in time
+     */
+    public void timedOut() {
+        timeouts.incrementAndGet();
+    }
+
+    /**
+     * Count items whose changes were rolled back
+     *
+     * @param count the number of items
+     */
+    public void rolledBack(int count) {
+        rolledBack.addAndGet(count);
+    }
+
+    /**
+     * Record the number of items waiting for a worker
+     *
+     * @param depth the number of items in the queue
+     */
+    public void sampleQueueDepth(int depth) {
+        queueSamples.incrementAndGet();
+        queueDepthSum.addAndGet(depth);
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    public long getItems() {
+        return items.get();
+    }
+
+    public long getFiltered() {
+        return filtered.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getQuarantined() {
+        return quarantined.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * @return the average number of items waiting for a worker when an item was added
+     */
+    public double getAverageQueueDepth() {
+        long samples = queueSamples.get();
+        return samples == 0 ? 0 : (double) queueDepthSum.get() / samples;
+    }
+
+    /**
+     * @return the description of the statistics
+     */
+    public String report() {
+        double seconds = Math.max(1, Duration.between(start, clock.instant()).toMillis()) / 1000.0;
+        return new StringBuilder()
+            .append("Handled ").append(items.get()).append(" items in ")
+            .append(String.format("%.1f", seconds)).append(" s (")
+            .append(String.format("%.2f", items.get() / seconds)).append(" items/s): ")
+            .append(filtered.get()).append(" filtered, ")
+            .append(failed.get()).append(" failed, ")
+            .append(quarantined.get()).append(" skipped as quarantined, ")
+            .append(timeouts.get()).append(" filter timeouts, ")
+            .append(rolledBack.get()).append(" rolled back; queue depth average ")
+            .append(String.format("%.1f", getAverageQueueDepth())).append(", maximum ")
+            .append(maxQueueDepth.get())
+            .toString();
+    }
+}
@@ -7,14 +7,29 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintWriter;
+import java.io.PushbackInputStream;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.commons.io.output.CloseShieldWriter;
+import org.apache.commons.io.output.TeeWriter;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,8 +38,11 @@ import org.apache.tika.Tika;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
 import org.apache.tika.sax.BodyContentHandler;
 import org.apache.tika.sax.ContentHandlerDecorator;
+import org.apache.tika.sax.WriteOutContentHandler;
 import org.dspace.content.Item;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -34,11 +52,20 @@ import org.xml.sax.SAXException;
  * Text Extraction media filter which uses Apache Tika to extract text from a large number of file formats (including
  * all Microsoft formats, PDF, HTML, Text, etc).  For a more complete list of file formats supported by Tika see the
  * Tika documentation: https://tika.apache.org/2.3.0/formats.html
+ * <p>
+ * By default the extracted text is kept in memory. With "textextractor.use-streaming" it's streamed instead: Tika
+ * runs in another thread, writing the text to a pipe with a bounded buffer, which is read while the bitstream is
+ * stored. The memory used doesn't depend on the size of the document then.
  */
 public class TikaTextExtractionFilter
     extends MediaFilter {
     private final static Logger log = LogManager.getLogger();
 
+    /**
+     * The threads running Tika when the extracted text is streamed
+     */
+    private static final ExecutorService extractors = Executors.newCachedThreadPool(new ExtractorThreadFactory());
+
     @Override
     public String getFilteredName(String oldFilename) {
         return oldFilename + ".txt";
@@ -65,6 +92,12 @@ public class TikaTextExtractionFilter
         ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
         boolean useTemporaryFile = configurationService.getBooleanProperty("textextractor.use-temp-file", false);
 
+        if (configurationService.getBooleanProperty("textextractor.use-streaming", false)) {
+            // Stream the extracted text out of source file through a bounded buffer, up to the maximum characters
+            return extractUsingStream(source, verbose, configurationService.getIntProperty("textextractor.max-chars",
+                100_000), configurationService.getIntProperty("textextractor.streaming.buffer-size", 65_536));
+        }
+
         if (useTemporaryFile) {
             // Extract text out of source file using a temp file, returning results as InputStream
             return extractUsingTempFile(source, verbose);
@@ -180,7 +213,122 @@ public class TikaTextExtractionFilter
         return new FileInputStream(tempExtractedTextFile);
     }
 
+    /**
+     * Extracts the text out of a given source InputStream, streaming it as it's extracted. Tika runs in another
+     * thread, writing the text as UTF-8 to a pipe whose buffer is bounded, and blocks while the buffer is full. The
+     * returned stream is the other end of the pipe: closing it before the end stops the extraction. An error of
+     * Tika is thrown when the end of the stream is read.
+     * <p>
+     * This call waits until the first extracted text is available, to return null when there is no text.
+     *
+     * @param source     source InputStream
+     * @param verbose    verbose mode enabled/disabled
+     * @param maxChars   maximum number of characters to extract, -1 for no maximum
+     * @param bufferSize size of the buffer of the pipe, in bytes
+     * @return InputStream of the extracted text, or null if no text was extracted
+     * @throws IOException if the extraction failed before any text was extracted
+     */
+    protected InputStream extractUsingStream(InputStream source, boolean verbose, int maxChars, int bufferSize)
+        throws IOException {
+        PipedInputStream pipe = new PipedInputStream(bufferSize);
+        PipedOutputStream pipeOut = new PipedOutputStream(pipe);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        extractors.execute(() -> {
+            PrintWriter console = verbose ? new PrintWriter(System.out) : null;
+            // The pipe is closed by hand after a failure is recorded: the reader must not see the end of the
+            // text before it can see the failure
+            Writer output = new BufferedWriter(new OutputStreamWriter(pipeOut, StandardCharsets.UTF_8));
+            try {
+                Writer writer = output;
+                if (console != null) {
+                    // also print the extracted text to STDOUT, as it's extracted
+                    console.println("(Verbose mode) Extracted text:");
+                    writer = new TeeWriter(output, CloseShieldWriter.wrap(console));
+                }
+                // Like Tika().parseToString(), only the text of the body is extracted, up to the maximum
+                WriteOutContentHandler textHandler = new WriteOutContentHandler(writer, maxChars);
+                Parser parser = new AutoDetectParser();
+                ParseContext parseContext = new ParseContext();
+                parseContext.set(Parser.class, parser);
+                try {
+                    parser.parse(source, new BodyContentHandler(textHandler), new Metadata(), parseContext);
+                } catch (SAXException e) {
+                    if (!textHandler.isWriteLimitReached(e)) {
+                        throw e;
+                    }
+                    log.debug("Extracted text reached the maximum of {} characters", maxChars);
+                }
+                output.flush();
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                if (console != null) {
+                    console.flush();
+                }
+                try {
+                    pipeOut.close();
+                } catch (IOException e) {
+                    // the reading end was closed
+                }
+            }
+        });
+
+        PushbackInputStream text = new PushbackInputStream(new FilterInputStream(pipe) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b == -1) {
+                    checkFailure();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int count = super.read(b, off, len);
+                if (count == -1) {
+                    checkFailure();
+                }
+                return count;
+            }
+
+            private void checkFailure() throws IOException {
+                Throwable t = failure.get();
+                if (t instanceof Error) {
+                    throw (Error) t;
+                } else if (t != null) {
+                    throw new IOException("Unable to extract text: " + t.getMessage(), t);
+                }
+            }
+        });
 
+        int first;
+        try {
+            first = text.read();
+        } catch (IOException | RuntimeException | Error e) {
+            text.close();
+            throw e;
+        }
+        if (first == -1) {
+            text.close();
+            return null;
+        }
+        text.unread(first);
+        return text;
+    }
 
+    /**
+     * Daemon threads for the extractors, so they don't keep the JVM running
+     */
+    private static class ExtractorThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
 
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "text-extractor-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -152,4 +152,19 @@ public interface MediaFilterService {
     public void setLogHandler(DSpaceRunnableHandler handler);
 
     public void setFromDate(LocalDate fromDate);
+
+    /**
+     * Set the number of workers filtering items at the same time, each with its own Context. Items are handed to
+     * the workers by {@link #applyFiltersAllItems(Context)}, {@link #applyFiltersCommunity(Context, Community)} and
+     * {@link #applyFiltersCollection(Context, Collection)}, which return once the workers filtered them all.
+     *
+     * @param threads the number of workers, 1 to filter the items sequentially
+     */
+    public void setThreads(int threads);
+
+    /**
+     * Release all items from the quarantine of the items which failed to be filtered in consecutive runs, so they
+     * are filtered again.
+     */
+    public void resetQuarantine();
 }
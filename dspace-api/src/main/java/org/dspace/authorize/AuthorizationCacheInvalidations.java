@@ -0,0 +1,114 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.event.Event;
+
+/**
+ * The changes made in a transaction which invalidate cached authorizations and group memberships. They are
+ * collected by the Context and applied to the {@link org.dspace.authorize.service.AuthorizationCacheService} once
+ * the transaction is committed.
+ */
+public class AuthorizationCacheInvalidations {
+
+    private final Set<UUID> objects = new HashSet<>();
+    private final Set<UUID> epersons = new HashSet<>();
+    private boolean all = false;
+
+    /**
+     * Invalidate the authorizations on a single object, e.g. because one of its (non ADMIN) policies changed
+     *
+     * @param objectId the id of the object, or null to invalidate all authorizations
+     */
+    public void invalidateObject(UUID objectId) {
+        if (objectId == null) {
+            invalidateAll();
+        } else {
+            objects.add(objectId);
+        }
+    }
+
+    /**
+     * Invalidate the authorizations and group memberships of a single user, e.g. because the user joined a group
+     *
+     * @param epersonId the id of the user, or null to invalidate all authorizations
+     */
+    public void invalidateEPerson(UUID epersonId) {
+        if (epersonId == null) {
+            invalidateAll();
+        } else {
+            epersons.add(epersonId);
+        }
+    }
+
+    /**
+     * Invalidate all authorizations and group memberships
+     */
+    public void invalidateAll() {
+        all = true;
+    }
+
+    /**
+     * Record the invalidations caused by the given event:
+     * <ul>
+     *     <li>adding or removing a user to/from a group invalidates the authorizations of that user</li>
+     *     <li>any other change to a group (subgroups, deletion, renaming) invalidates all authorizations</li>
+     *     <li>adding, removing or installing content changes the inherited ADMIN rights and the policies which
+     *     apply, so it invalidates all authorizations</li>
+     *     <li>deleting an object or a user invalidates its authorizations</li>
+     * </ul>
+     *
+     * @param event the event
+     */
+    public void addEvent(Event event) {
+        int eventType = event.getEventType();
+        if (event.getSubjectType() == Constants.GROUP) {
+            if ((eventType == Event.ADD || eventType == Event.REMOVE)
+                && event.getObjectType() == Constants.EPERSON) {
+                invalidateEPerson(event.getObjectID());
+            } else if (eventType != Event.CREATE) {
+                invalidateAll();
+            }
+        } else if (event.getSubjectType() == Constants.EPERSON) {
+            if (eventType == Event.DELETE) {
+                invalidateEPerson(event.getSubjectID());
+            }
+        } else if (eventType == Event.ADD || eventType == Event.REMOVE || eventType == Event.INSTALL) {
+            invalidateAll();
+        } else if (eventType == Event.DELETE) {
+            invalidateObject(event.getSubjectID());
+        }
+    }
+
+    public Set<UUID> getObjects() {
+        return objects;
+    }
+
+    public Set<UUID> getEPersons() {
+        return epersons;
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    public boolean isEmpty() {
+        return !all && objects.isEmpty() && epersons.isEmpty();
+    }
+
+    public void clear() {
+        objects.clear();
+        epersons.clear();
+        all = false;
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.service.AuthorizationCacheService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Implementation of {@link AuthorizationCacheService}.
+ * <p>
+ * Invalidations are tracked per object and per user in a fixed number of stripes, so the memory used does not
+ * depend on the number of objects and users. Two objects sharing a stripe only cause an unnecessary recomputation.
+ */
+public class AuthorizationCacheServiceImpl implements AuthorizationCacheService {
+
+    private static final Logger log = LogManager.getLogger(AuthorizationCacheServiceImpl.class);
+
+    /**
+     * The name of the cache in ehcache.xml
+     */
+    public static final String CACHE_NAME = "authorization";
+
+    protected static final int STRIPES = 4096;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private final AtomicLong sequence = new AtomicLong();
+    // the sequence number of the last invalidation of everything
+    private final AtomicLong allInvalidated = new AtomicLong();
+    // the sequence number of the last invalidation of the objects / users of every stripe
+    private final AtomicLongArray objectsInvalidated = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray epersonsInvalidated = new AtomicLongArray(STRIPES);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private Cache cache;
+
+    /**
+     * A cached result, with the information needed to find out whether it was invalidated
+     */
+    protected static class CachedResult {
+        private final boolean result;
+        private final long sequence;
+        private final int objectStripe;
+        private final int epersonStripe;
+
+        protected CachedResult(boolean result, long sequence, int objectStripe, int epersonStripe) {
+            this.result = result;
+            this.sequence = sequence;
+            this.objectStripe = objectStripe;
+            this.epersonStripe = epersonStripe;
+        }
+    }
+
+    protected AuthorizationCacheServiceImpl() {
+    }
+
+    protected Cache getCache() {
+        if (cache == null && cacheManager != null) {
+            cache = cacheManager.getCache(CACHE_NAME);
+            if (cache == null) {
+                log.warn("No \"{}\" cache is configured in ehcache.xml, authorizations are not shared", CACHE_NAME);
+            }
+        }
+        return cache;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("authorization.cache.enabled", false) && getCache() != null;
+    }
+
+    @Override
+    public String getAuthorizationKey(Context context, DSpaceObject dspaceObject, int action, EPerson eperson,
+                                      boolean useInheritance) {
+        return "a:" + dspaceObject.getID() + ":" + action + (useInheritance ? ":i:" : ":d:")
+            + getEPersonKey(context, eperson);
+    }
+
+    @Override
+    public String getGroupMembershipKey(Context context, Group group, EPerson eperson) {
+        return "g:" + group.getID() + ":" + getEPersonKey(context, eperson);
+    }
+
+    /**
+     * The special groups of the Context (e.g. from IP authentication) change the result for the same user
+     */
+    protected String getEPersonKey(Context context, EPerson eperson) {
+        String key = eperson == null ? "" : eperson.getID().toString();
+        Set<UUID> specialGroups = context.getSpecialGroupUuids();
+        if (!specialGroups.isEmpty()) {
+            key += ":" + StringUtils.join(new TreeSet<>(specialGroups), ",");
+        }
+        return key;
+    }
+
+    @Override
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    @Override
+    public Boolean get(String key) {
+        Cache cache = getCache();
+        CachedResult cached = cache == null ? null : cache.get(key, CachedResult.class);
+        if (cached == null || !isValid(cached)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached.result;
+    }
+
+    protected boolean isValid(CachedResult cached) {
+        return allInvalidated.get() <= cached.sequence
+            && (cached.objectStripe < 0 || objectsInvalidated.get(cached.objectStripe) <= cached.sequence)
+            && (cached.epersonStripe < 0 || epersonsInvalidated.get(cached.epersonStripe) <= cached.sequence);
+    }
+
+    @Override
+    public void put(String key, UUID objectId, UUID epersonId, boolean result, long sequence) {
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.put(key, new CachedResult(result, sequence, getStripe(objectId), getStripe(epersonId)));
+        }
+    }
+
+    @Override
+    public void invalidate(AuthorizationCacheInvalidations invalidations) {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        // results computed from now on get a higher sequence number than this invalidation
+        long invalidation = sequence.incrementAndGet();
+        if (invalidations.isAll()) {
+            allInvalidated.accumulateAndGet(invalidation, Math::max);
+            return;
+        }
+        for (UUID objectId : invalidations.getObjects()) {
+            objectsInvalidated.accumulateAndGet(getStripe(objectId), invalidation, Math::max);
+        }
+        for (UUID epersonId : invalidations.getEPersons()) {
+            epersonsInvalidated.accumulateAndGet(getStripe(epersonId), invalidation, Math::max);
+        }
+    }
+
+    protected int getStripe(UUID id) {
+        return id == null ? -1 : Math.floorMod(id.hashCode(), STRIPES);
+    }
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -247,7 +247,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         }
 
         // If authorization was given before and cached
-        Boolean cachedResult = c.getCachedAuthorizationResult(o, action, e);
+        Boolean cachedResult = c.getCachedAuthorizationResult(o, action, e, useInheritance);
         if (cachedResult != null) {
             return cachedResult;
         }
@@ -291,6 +291,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             }
         }
 
+        // results depending on the start or end date of a policy may change over time and aren't shared
+        boolean shareable = true;
         for (ResourcePolicy rp : getPoliciesActionFilter(c, o, action)) {
 
             if (ignoreCustomPolicies
@@ -303,10 +305,11 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                 continue;
             }
 
+            shareable &= !isTimeLimited(rp);
             // check policies for date validity
             if (resourcePolicyService.isDateValid(rp)) {
                 if (rp.getEPerson() != null && rp.getEPerson().equals(userToCheck)) {
-                    c.cacheAuthorizedAction(o, action, e, true, rp);
+                    c.cacheAuthorizedAction(o, action, e, true, rp, shareable, useInheritance);
                     return true; // match
                 }
 
@@ -314,7 +317,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                     && groupService.isMember(c, e, rp.getGroup())) {
                     // group was set, and eperson is a member
                     // of that group
-                    c.cacheAuthorizedAction(o, action, e, true, rp);
+                    c.cacheAuthorizedAction(o, action, e, true, rp, shareable, useInheritance);
                     return true;
                 }
             }
@@ -332,15 +335,22 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                                                                       .getAdminObject(c, o, action) : null;
 
             if (isAdmin(c, e, adminObject)) {
-                c.cacheAuthorizedAction(o, action, e, true, null);
+                c.cacheAuthorizedAction(o, action, e, true, null, shareable, useInheritance);
                 return true;
             }
         }
         // default authorization is denial
-        c.cacheAuthorizedAction(o, action, e, false, null);
+        c.cacheAuthorizedAction(o, action, e, false, null, shareable, useInheritance);
         return false;
     }
 
+    /**
+     * @return whether the given policy only applies from or until a given date
+     */
+    protected boolean isTimeLimited(ResourcePolicy rp) {
+        return rp.getStartDate() != null || rp.getEndDate() != null;
+    }
+
     // check whether any bundle belongs to any item that passed submission
     // and workflow process
     protected boolean isAnyItemInstalled(Context ctx, List<Bundle> bundles)
@@ -387,11 +397,13 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         //
         List<ResourcePolicy> policies = getPoliciesActionFilter(c, o, Constants.ADMIN);
 
+        boolean shareable = true;
         for (ResourcePolicy rp : policies) {
+            shareable &= !isTimeLimited(rp);
             // check policies for date validity
             if (resourcePolicyService.isDateValid(rp)) {
                 if (rp.getEPerson() != null && rp.getEPerson().equals(e)) {
-                    c.cacheAuthorizedAction(o, Constants.ADMIN, e, true, rp);
+                    c.cacheAuthorizedAction(o, Constants.ADMIN, e, true, rp, shareable);
                     return true; // match
                 }
 
@@ -399,7 +411,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                     && groupService.isMember(c, e, rp.getGroup())) {
                     // group was set, and eperson is a member
                     // of that group
-                    c.cacheAuthorizedAction(o, Constants.ADMIN, e, true, rp);
+                    c.cacheAuthorizedAction(o, Constants.ADMIN, e, true, rp, shareable);
                     return true;
                 }
             }
@@ -418,11 +430,11 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         DSpaceObject parent = serviceFactory.getDSpaceObjectService(o).getParentObject(c, o);
         if (parent != null) {
             boolean admin = isAdmin(c, e, parent);
-            c.cacheAuthorizedAction(o, Constants.ADMIN, e, admin, null);
+            c.cacheAuthorizedAction(o, Constants.ADMIN, e, admin, null, shareable);
             return admin;
         }
 
-        c.cacheAuthorizedAction(o, Constants.ADMIN, e, false, null);
+        c.cacheAuthorizedAction(o, Constants.ADMIN, e, false, null, shareable);
         return false;
     }
 
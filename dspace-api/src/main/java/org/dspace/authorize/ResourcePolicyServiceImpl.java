@@ -152,6 +152,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         // FIXME: authorizations
         // Remove ourself
         resourcePolicyDAO.delete(context, resourcePolicy);
+        invalidateCachedAuthorizations(context, resourcePolicy.getdSpaceObject(), resourcePolicy.getAction());
 
         context.turnOffAuthorisationSystem();
         if (resourcePolicy.getdSpaceObject() != null) {
@@ -229,6 +230,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removeAllPolicies(Context c, DSpaceObject o) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDso(c, o);
+        invalidateCachedAuthorizations(c, o, Constants.ADMIN);
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -237,6 +239,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removePolicies(Context c, DSpaceObject o, String type) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndType(c, o, type);
+        invalidateCachedAuthorizations(c, o, Constants.ADMIN);
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -246,6 +249,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removePolicies(Context c, DSpaceObject o, String type, int action)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndTypeAndAction(c, o, type, action);
+        invalidateCachedAuthorizations(c, o, action);
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -255,6 +259,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoGroupPolicies(Context context, DSpaceObject dso, Group group)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoGroupPolicies(context, dso, group);
+        invalidateCachedAuthorizations(context, dso, Constants.ADMIN);
         context.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(dso).updateLastModified(context, dso);
         context.restoreAuthSystemState();
@@ -264,6 +269,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoEPersonPolicies(Context context, DSpaceObject dso, EPerson ePerson)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoEPersonPolicies(context, dso, ePerson);
+        invalidateCachedAuthorizations(context, dso, Constants.ADMIN);
         context.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(dso).updateLastModified(context, dso);
         context.restoreAuthSystemState();
@@ -273,11 +279,13 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removeAllEPersonPolicies(Context context, EPerson ePerson) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByEPerson(context, ePerson);
+        context.invalidateCachedAuthorizations(null);
     }
 
     @Override
     public void removeGroupPolicies(Context c, Group group) throws SQLException {
         resourcePolicyDAO.deleteByGroup(c, group);
+        c.invalidateCachedAuthorizations(null);
     }
 
     @Override
@@ -286,6 +294,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
             removeAllPolicies(c, o);
         } else {
             resourcePolicyDAO.deleteByDsoAndAction(c, o, actionId);
+            invalidateCachedAuthorizations(c, o, actionId);
             c.turnOffAuthorisationSystem();
             contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
             c.restoreAuthSystemState();
@@ -296,6 +305,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoAndTypeNotEqualsToPolicies(Context c, DSpaceObject o, String type)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndTypeNotEqualsTo(c, o, type);
+        invalidateCachedAuthorizations(c, o, Constants.ADMIN);
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -330,6 +340,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
 
                 // FIXME: Check authorisation
                 resourcePolicyDAO.save(context, resourcePolicy);
+                invalidateCachedAuthorizations(context, resourcePolicy.getdSpaceObject(), resourcePolicy.getAction());
             }
 
             //Update the last modified timestamp of all related DSpace Objects
@@ -342,6 +353,23 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         }
     }
 
+    /**
+     * Record that the policies of the given object changed. ADMIN rights are inherited by the children of an
+     * object, so a change of ADMIN policies (or of policies of an unknown action) invalidates the cached
+     * authorizations of all objects, except for bitstreams, which have no children.
+     *
+     * @param context DSpace context object
+     * @param dso     the object whose policies changed
+     * @param action  the action of the changed policies
+     */
+    protected void invalidateCachedAuthorizations(Context context, DSpaceObject dso, int action) {
+        if (dso == null || (action == Constants.ADMIN && dso.getType() != Constants.BITSTREAM)) {
+            context.invalidateCachedAuthorizations(null);
+        } else {
+            context.invalidateCachedAuthorizations(dso.getID());
+        }
+    }
+
     @Override
     public List<ResourcePolicy> findExceptRpType(Context c, DSpaceObject o, int actionID, String rpType)
         throws SQLException {
@@ -0,0 +1,109 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize.service;
+
+import java.util.UUID;
+
+import org.dspace.authorize.AuthorizationCacheInvalidations;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+
+/**
+ * Service that manages the authorization results and group memberships shared by all Contexts (e.g. all REST
+ * requests) of this DSpace instance. The results are kept in the "authorization" cache configured in
+ * ehcache.xml, which bounds its size and the time an entry is kept.
+ * <p>
+ * Entries are never updated in place. Instead, every cached result records the moment (as a sequence number) it
+ * was computed, and is ignored once an invalidation which concerns its object or user happened after that moment.
+ * Invalidations are applied by the Context once the transaction which caused them is committed. They are only known
+ * to this JVM: changes made by command line scripts or other servers sharing the database are not seen until the
+ * cached results expire, so sharing is disabled by default.
+ * <p>
+ * The following configuration is used:
+ * <ul>
+ *     <li>authorization.cache.enabled: whether results are shared between Contexts (default false)</li>
+ * </ul>
+ */
+public interface AuthorizationCacheService {
+
+    /**
+     * @return whether results can be shared between Contexts
+     */
+    boolean isEnabled();
+
+    /**
+     * Build the key of the authorization of a user to perform an action on an object. The special groups of the
+     * Context are part of the key.
+     *
+     * @param context        DSpace context object
+     * @param dspaceObject   the object
+     * @param action         the action, e.g. Constants.READ
+     * @param eperson        the user, null for anonymous
+     * @param useInheritance whether the ADMIN rights on the parent objects were taken into account, which may
+     *                       change the result
+     * @return the key
+     */
+    String getAuthorizationKey(Context context, DSpaceObject dspaceObject, int action, EPerson eperson,
+                               boolean useInheritance);
+
+    /**
+     * Build the key of the membership of a user to a group. The special groups of the Context are part of the
+     * key.
+     *
+     * @param context DSpace context object
+     * @param group   the group
+     * @param eperson the user, null for anonymous
+     * @return the key
+     */
+    String getGroupMembershipKey(Context context, Group group, EPerson eperson);
+
+    /**
+     * The current sequence number, to be obtained before computing a result which will be cached.
+     *
+     * @return the sequence number
+     */
+    long getSequence();
+
+    /**
+     * Look up a cached result.
+     *
+     * @param key the key of the result
+     * @return the result, or null if it isn't cached or was invalidated
+     */
+    Boolean get(String key);
+
+    /**
+     * Cache a result.
+     *
+     * @param key       the key of the result
+     * @param objectId  the id of the object the result is about, or null for a group membership
+     * @param epersonId the id of the user the result is about, or null for anonymous
+     * @param result    the result
+     * @param sequence  the sequence number obtained before the result was computed
+     */
+    void put(String key, UUID objectId, UUID epersonId, boolean result, long sequence);
+
+    /**
+     * Invalidate the cached results concerned by the given changes
+     *
+     * @param invalidations the changes
+     */
+    void invalidate(AuthorizationCacheInvalidations invalidations);
+
+    /**
+     * @return the number of lookups which found a valid result
+     */
+    long getHits();
+
+    /**
+     * @return the number of lookups which didn't find a valid result
+     */
+    long getMisses();
+}
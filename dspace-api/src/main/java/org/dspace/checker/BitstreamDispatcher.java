@@ -8,6 +8,7 @@
 package org.dspace.checker;
 
 import java.sql.SQLException;
+import java.time.Instant;
 
 import org.dspace.content.Bitstream;
 
@@ -49,4 +50,23 @@ public interface BitstreamDispatcher {
      * @throws SQLException if database error
      */
     public Bitstream next() throws SQLException;
+
+    /**
+     * Returns the number of bitstreams this dispatcher will still return, for progress reporting.
+     *
+     * @return the number of remaining bitstreams, or -1 if unknown (e.g. when looping continuously)
+     * @throws SQLException if database error
+     */
+    public default long getRemaining() throws SQLException {
+        return -1;
+    }
+
+    /**
+     * Returns the time after which this dispatcher stops returning bitstreams, for progress reporting.
+     *
+     * @return the end time, or null if the dispatcher isn't limited in time
+     */
+    public default Instant getEndTime() {
+        return null;
+    }
 }
@@ -8,11 +8,26 @@
 package org.dspace.checker;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.factory.CheckerServiceFactory;
 import org.dspace.checker.service.ChecksumHistoryService;
@@ -20,6 +35,9 @@ import org.dspace.checker.service.ChecksumResultService;
 import org.dspace.checker.service.MostRecentChecksumService;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Context;
+import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
@@ -30,6 +48,15 @@ import org.dspace.storage.bitstore.service.BitstreamStorageService;
  * against the last calculated checksum for that bitstream.
  * </p>
  *
+ * <p>
+ * By default the bitstreams are checked one at a time. When a number of threads is set, the content of the
+ * bitstreams is read and digested by a pool of that many threads per asset store, while the database is only
+ * accessed from the calling thread. The results are then written in batches, and the bitstreams which couldn't be
+ * read are checked again as they are one at a time, so the same results are recorded in both modes. In both modes
+ * the bytes read can be limited to a number per second, and the progress, with an estimate of the end of the run,
+ * is logged periodically.
+ * </p>
+ *
  * @author Jim Downing
  * @author Grace Carpenter
  * @author Nathan Sarr
@@ -78,6 +105,30 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Number of threads per asset store reading the content of bitstreams, 1 to check them sequentially
+     */
+    private int threads = 1;
+
+    /**
+     * Maximum number of bytes read per second over all threads, 0 for no limit
+     */
+    private long maxBytesPerSecond = 0;
+
+    /**
+     * Number of results written to the database together when checking in parallel
+     */
+    private int batchSize;
+
+    /**
+     * Interval between progress reports
+     */
+    private Duration progressInterval;
+
+    private CheckerProgress progress;
+
+    private RateLimiter rateLimiter;
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -88,6 +139,9 @@ public final class CheckerCommand {
         checksumHistoryService = CheckerServiceFactory.getInstance().getChecksumHistoryService();
         bitstreamStorageService = StorageServiceFactory.getInstance().getBitstreamStorageService();
         checksumResultService = CheckerServiceFactory.getInstance().getChecksumResultService();
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        batchSize = configurationService.getIntProperty("checker.batch.size", 100);
+        progressInterval = Duration.ofSeconds(configurationService.getLongProperty("checker.progress.interval", 60));
         this.context = context;
     }
 
@@ -120,19 +174,209 @@ public final class CheckerCommand {
         // bitstream table - this always done.
         checksumService.updateMissingBitstreams(context);
 
-        Bitstream bitstream = dispatcher.next();
+        progress = new CheckerProgress(dispatcher.getRemaining(), dispatcher.getEndTime(), progressInterval);
+        rateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
 
-        while (bitstream != null) {
-            LOG.debug("Processing bitstream id = " + bitstream.getID());
-            MostRecentChecksum info = checkBitstream(bitstream);
+        if (threads > 1) {
+            processInParallel();
+        } else {
+            Bitstream bitstream = dispatcher.next();
 
-            if (reportVerbose
-                || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
-                collector.collect(context, info);
+            while (bitstream != null) {
+                LOG.debug("Processing bitstream id = " + bitstream.getID());
+                MostRecentChecksum info = checkBitstream(bitstream);
+                collect(info);
+
+                context.uncacheEntity(bitstream);
+                bitstream = dispatcher.next();
             }
+        }
+        LOG.info(progress.report());
+    }
+
+    /**
+     * Check the bitstreams of the dispatcher with a pool of threads per asset store reading their content. The
+     * dispatcher, and the database, are only used from the calling thread: the record of a bitstream is marked as
+     * processed when it's handed to a thread, so a dispatcher returning the least recently processed bitstreams
+     * doesn't return it again, and the results returned by the threads are written in batches.
+     *
+     * @throws SQLException if database error
+     */
+    protected void processInParallel() throws SQLException {
+        Map<Integer, ExecutorService> pools = new HashMap<>();
+        Map<Integer, Semaphore> slots = new HashMap<>();
+        BlockingQueue<ChecksumTask> completed = new LinkedBlockingQueue<>();
+        List<ChecksumTask> batch = new ArrayList<>(batchSize);
+        int pending = 0;
+
+        try {
+            Bitstream bitstream = dispatcher.next();
+
+            while (bitstream != null) {
+                LOG.debug("Processing bitstream id = " + bitstream.getID());
+                MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+                if (!isContentToBeChecked(info)) {
+                    collect(processWithoutContent(info));
+                    context.uncacheEntity(bitstream);
+                } else {
+                    Instant now = Instant.now();
+                    info.setProcessStartDate(now);
+                    info.setProcessEndDate(now);
+
+                    // limit the number of bitstreams waiting for each store, so the dispatcher isn't read ahead
+                    int storeNumber = bitstream.getStoreNumber();
+                    Semaphore slot = slots.computeIfAbsent(storeNumber, number -> new Semaphore(threads * 2));
+                    while (!slot.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                        pending -= drain(completed, batch);
+                    }
+                    ExecutorService pool = pools.computeIfAbsent(storeNumber, number ->
+                        Executors.newFixedThreadPool(threads, runnable -> {
+                            Thread thread = new Thread(runnable, "checker-store-" + number);
+                            thread.setDaemon(true);
+                            return thread;
+                        }));
+                    ChecksumTask task = new ChecksumTask(info);
+                    pool.execute(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            slot.release();
+                            completed.add(task);
+                        }
+                    });
+                    pending++;
+                }
+
+                pending -= drain(completed, batch);
+                bitstream = dispatcher.next();
+            }
+
+            while (pending > 0) {
+                addResult(completed.take(), batch);
+                pending--;
+                pending -= drain(completed, batch);
+            }
+            writeResults(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking bitstreams", e);
+        } finally {
+            pools.values().forEach(ExecutorService::shutdownNow);
+        }
+    }
+
+    /**
+     * Move the completed tasks to the batch of results
+     *
+     * @return the number of completed tasks
+     */
+    private int drain(BlockingQueue<ChecksumTask> completed, List<ChecksumTask> batch) throws SQLException {
+        int count = 0;
+        ChecksumTask task;
+        while ((task = completed.poll()) != null) {
+            addResult(task, batch);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Add a completed task to the batch of results, writing the batch when it's full
+     */
+    private void addResult(ChecksumTask task, List<ChecksumTask> batch) throws SQLException {
+        batch.add(task);
+        if (batch.size() >= batchSize) {
+            writeResults(batch);
+        }
+    }
+
+    /**
+     * Record the results of a batch of checks, and clear the batch. The records are updated and the history is
+     * added together, so they are sent to the database in JDBC batches when the session is flushed. The bitstreams
+     * which couldn't be read are checked again by {@link #processBitstream(MostRecentChecksum)}, so only those
+     * really missing from their store are reported as such, and no longer processed.
+     */
+    private void writeResults(List<ChecksumTask> batch) throws SQLException {
+        for (ChecksumTask task : batch) {
+            MostRecentChecksum info = task.info;
+            if (task.error != null) {
+                LOG.warn("Error reading bitstream ID " + info.getBitstream().getID()
+                             + " from asset store, checking it again.", task.error);
+                processBitstream(info);
+                checked(info);
+                continue;
+            }
+            info.setBitstreamFound(true);
+            info.setCurrentChecksum(task.checksum);
+            info.setChecksumAlgorithm(task.algorithm);
+            info.setChecksumResult(compareChecksums(info.getExpectedChecksum(), info.getCurrentChecksum()));
+            info.setProcessEndDate(task.end);
+            progress.checked(task.bytes);
+            checksumService.update(context, info);
+            checksumHistoryService.addHistory(context, info);
+        }
+        for (ChecksumTask task : batch) {
+            collect(task.info);
+            context.uncacheEntity(task.info.getBitstream());
+        }
+        batch.clear();
+    }
 
-            context.uncacheEntity(bitstream);
-            bitstream = dispatcher.next();
+    /**
+     * Report the result of a check to the collector, and the progress when a report is due
+     */
+    private void collect(MostRecentChecksum info) throws SQLException {
+        if (reportVerbose
+            || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+            collector.collect(context, info);
+        }
+        if (progress.isReportDue()) {
+            LOG.info(progress.report());
+        }
+    }
+
+    /**
+     * Computes the checksum of the content of a bitstream, without accessing the database
+     */
+    private class ChecksumTask {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final MostRecentChecksum info;
+        private final Bitstream bitstream;
+        private final String algorithm;
+
+        private String checksum;
+        private long bytes;
+        private Exception error;
+        private Instant end;
+
+        ChecksumTask(MostRecentChecksum info) {
+            this.info = info;
+            this.bitstream = info.getBitstream();
+            this.algorithm = StringUtils.defaultIfBlank(info.getChecksumAlgorithm(), "MD5");
+        }
+
+        void run() {
+            try (InputStream in = bitstreamStorageService.retrieve(context, bitstream)) {
+                if (in == null) {
+                    throw new IOException("No content for bitstream " + bitstream.getID());
+                }
+                MessageDigest digest = MessageDigest.getInstance(algorithm);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (read > 0 && rateLimiter != null) {
+                        rateLimiter.acquire(read);
+                    }
+                    digest.update(buffer, 0, read);
+                    bytes += read;
+                }
+                checksum = Utils.toHex(digest.digest());
+            } catch (IOException | SQLException | NoSuchAlgorithmException | RuntimeException e) {
+                error = e;
+            } finally {
+                end = Instant.now();
+            }
         }
     }
 
@@ -147,6 +391,50 @@ public final class CheckerCommand {
         // get bitstream info from bitstream table
         MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
 
+        if (isContentToBeChecked(info)) {
+            processBitstream(info);
+            checked(info);
+            return info;
+        }
+        return processWithoutContent(info);
+    }
+
+    /**
+     * Count a bitstream whose content was checked by {@link #processBitstream(MostRecentChecksum)} in the progress,
+     * and wait until reading its content respects the maximum number of bytes read per second
+     *
+     * @param info the information about the bitstream and its checksum data
+     */
+    private void checked(MostRecentChecksum info) {
+        ChecksumResultCode code = info.getChecksumResult().getResultCode();
+        long bytes = ChecksumResultCode.BITSTREAM_NOT_FOUND.equals(code)
+            || ChecksumResultCode.BITSTREAM_INFO_NOT_FOUND.equals(code) ? 0 : info.getBitstream().getSizeBytes();
+        progress.checked(bytes);
+        // the content was read at once by the store, the following reads wait instead
+        for (long remaining = bytes; rateLimiter != null && remaining > 0; remaining -= Integer.MAX_VALUE) {
+            rateLimiter.acquire((int) Math.min(remaining, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Determine whether the content of a bitstream must be read to check it
+     *
+     * @param info the information about the bitstream and its checksum data, or null if not found
+     * @return true if the checksum of the content must be computed
+     * @throws SQLException if database error
+     */
+    protected boolean isContentToBeChecked(MostRecentChecksum info) throws SQLException {
+        return info != null && info.isToBeProcessed() && !info.getBitstream().isDeleted();
+    }
+
+    /**
+     * Check a bitstream whose content mustn't be read, see {@link #isContentToBeChecked(MostRecentChecksum)}
+     *
+     * @param info the information about the bitstream and its checksum data, or null if not found
+     * @return the information about the bitstream and its checksum data
+     * @throws SQLException if database error
+     */
+    protected MostRecentChecksum processWithoutContent(MostRecentChecksum info) throws SQLException {
         // requested id was not found in bitstream
         // or most_recent_checksum table
         if (info == null) {
@@ -161,12 +449,11 @@ public final class CheckerCommand {
             // 'false' for this bitstream id.
             // Do not do any db updates
             info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_NOT_PROCESSED));
-        } else if (info.getBitstream().isDeleted()) {
+        } else {
             // bitstream id is marked 'deleted' in bitstream table.
             processDeletedBitstream(info);
-        } else {
-            processBitstream(info);
         }
+        progress.checked(0);
 
         return info;
     }
@@ -362,4 +649,41 @@ public final class CheckerCommand {
     public void setReportVerbose(boolean reportVerbose) {
         this.reportVerbose = reportVerbose;
     }
+
+    /**
+     * Get the number of threads per asset store reading the content of bitstreams
+     *
+     * @return the number of threads, 1 if the bitstreams are checked sequentially
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of threads per asset store reading the content of bitstreams
+     *
+     * @param threads the number of threads, 1 to check the bitstreams sequentially
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Get the maximum number of bytes read per second over all threads
+     *
+     * @return the maximum number of bytes per second, 0 for no limit
+     */
+    public long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    /**
+     * Set the maximum number of bytes read per second over all threads. When the bitstreams are checked
+     * sequentially, the bytes of a bitstream are counted once it's read, delaying the following ones.
+     *
+     * @param maxBytesPerSecond the maximum number of bytes per second, 0 for no limit
+     */
+    public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+        this.maxBytesPerSecond = maxBytesPerSecond;
+    }
 }
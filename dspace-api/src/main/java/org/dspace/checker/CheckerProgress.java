@@ -0,0 +1,129 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Progress of a run of the checksum checker: the number of bitstreams and bytes checked, the throughput, and the
+ * estimated time at which the run ends. The estimate is based on the number of bitstreams the dispatcher still had
+ * to return when the run started and on the end time of a {@link LimitedDurationDispatcher}, whichever comes first.
+ */
+public class CheckerProgress {
+
+    private final Clock clock;
+
+    private final Instant start;
+
+    /**
+     * The number of bitstreams to check at the start of the run, or -1 if unknown
+     */
+    private final long total;
+
+    /**
+     * The time at which the dispatcher stops, or null if it isn't limited in time
+     */
+    private final Instant endTime;
+
+    private final Duration interval;
+
+    private Instant lastReport;
+
+    private long checked = 0;
+
+    private long bytes = 0;
+
+    /**
+     * @param total    the number of bitstreams to check, or -1 if unknown, see
+     *                 {@link BitstreamDispatcher#getRemaining()}
+     * @param endTime  the time at which the dispatcher stops, or null, see {@link BitstreamDispatcher#getEndTime()}
+     * @param interval the interval between reports
+     */
+    public CheckerProgress(long total, Instant endTime, Duration interval) {
+        this(total, endTime, interval, Clock.systemUTC());
+    }
+
+    CheckerProgress(long total, Instant endTime, Duration interval, Clock clock) {
+        this.clock = clock;
+        this.start = clock.instant();
+        this.lastReport = start;
+        this.total = total;
+        this.endTime = endTime;
+        this.interval = interval;
+    }
+
+    /**
+     * Count a checked bitstream
+     *
+     * @param size the number of bytes read to check it
+     */
+    public void checked(long size) {
+        checked++;
+        bytes += size;
+    }
+
+    public long getChecked() {
+        return checked;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return true if the interval since the last report has passed
+     */
+    public boolean isReportDue() {
+        return !clock.instant().isBefore(lastReport.plus(interval));
+    }
+
+    /**
+     * @return the estimated time at which the run ends, or null if it can't be estimated yet
+     */
+    public Instant getEstimatedEnd() {
+        Instant now = clock.instant();
+        Instant estimate = null;
+        if (total >= 0 && checked > 0) {
+            long elapsed = Duration.between(start, now).toMillis();
+            long remaining = Math.max(0, total - checked);
+            estimate = now.plusMillis((long) ((double) elapsed / checked * remaining));
+        }
+        if (endTime != null && (estimate == null || endTime.isBefore(estimate))) {
+            estimate = endTime;
+        }
+        return estimate;
+    }
+
+    /**
+     * Describe the progress, and restart the interval until the next report
+     *
+     * @return the description of the progress
+     */
+    public String report() {
+        Instant now = clock.instant();
+        lastReport = now;
+        double seconds = Math.max(1, Duration.between(start, now).toMillis()) / 1000.0;
+        StringBuilder report = new StringBuilder()
+            .append("Checked ").append(checked).append(" bitstreams (")
+            .append(FileUtils.byteCountToDisplaySize(bytes)).append(", ")
+            .append(String.format("%.1f", bytes / seconds / FileUtils.ONE_MB)).append(" MB/s, ")
+            .append(String.format("%.1f", checked / seconds)).append(" bitstreams/s)");
+        if (total >= 0) {
+            report.append(", ").append(Math.max(0, total - checked)).append(" remaining");
+        }
+        Instant estimatedEnd = getEstimatedEnd();
+        if (estimatedEnd != null) {
+            report.append(", estimated end ").append(estimatedEnd);
+        }
+        return report.toString();
+    }
+}
@@ -8,6 +8,7 @@
 package org.dspace.checker;
 
 import java.sql.SQLException;
+import java.time.Instant;
 
 import org.dspace.content.Bitstream;
 import org.dspace.core.factory.CoreServiceFactory;
@@ -75,4 +76,15 @@ public class LimitedCountDispatcher implements BitstreamDispatcher {
             return null;
         }
     }
+
+    @Override
+    public long getRemaining() throws SQLException {
+        long delegateRemaining = delegate.getRemaining();
+        return delegateRemaining < 0 ? remaining : Math.min(remaining, delegateRemaining);
+    }
+
+    @Override
+    public Instant getEndTime() {
+        return delegate.getEndTime();
+    }
 }
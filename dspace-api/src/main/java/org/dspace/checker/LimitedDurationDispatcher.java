@@ -68,4 +68,16 @@ public class LimitedDurationDispatcher implements BitstreamDispatcher {
     public Bitstream next() throws SQLException {
         return (Instant.now().toEpochMilli() > end) ? null : delegate.next();
     }
+
+    @Override
+    public long getRemaining() throws SQLException {
+        return delegate.getRemaining();
+    }
+
+    @Override
+    public Instant getEndTime() {
+        Instant endTime = Instant.ofEpochMilli(end);
+        Instant delegateEndTime = delegate.getEndTime();
+        return delegateEndTime != null && delegateEndTime.isBefore(endTime) ? delegateEndTime : endTime;
+    }
 }
@@ -181,6 +181,11 @@ public class MostRecentChecksumServiceImpl implements MostRecentChecksumService
         return mostRecentChecksumDAO.getOldestRecord(context, lessThanDate);
     }
 
+    @Override
+    public int countOlderRecords(Context context, Instant lessThanDate) throws SQLException {
+        return mostRecentChecksumDAO.countOlderRecords(context, lessThanDate);
+    }
+
     @Override
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException {
         return mostRecentChecksumDAO.findNotInHistory(context);
@@ -90,4 +90,12 @@ public class SimpleDispatcher implements BitstreamDispatcher {
         }
 
     }
+
+    @Override
+    public long getRemaining() throws SQLException {
+        if (!loopContinuously && (processStartTime != null)) {
+            return checksumService.countOlderRecords(context, processStartTime);
+        }
+        return -1;
+    }
 }
@@ -39,6 +39,8 @@ public interface MostRecentChecksumDAO extends GenericDAO<MostRecentChecksum> {
 
     public MostRecentChecksum getOldestRecord(Context context, Instant lessThanDate) throws SQLException;
 
+    public int countOlderRecords(Context context, Instant lessThanDate) throws SQLException;
+
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException;
 
     public MostRecentChecksum findByBitstream(Context context, Bitstream bitstream) throws SQLException;
@@ -145,6 +145,14 @@ public class MostRecentChecksumDAOImpl extends AbstractHibernateDAO<MostRecentCh
         return singleResult(context, criteriaQuery);
     }
 
+    @Override
+    public int countOlderRecords(Context context, Instant lessThanDate) throws SQLException {
+        Query query = createQuery(context, "SELECT count(*) FROM MostRecentChecksum m" +
+            " WHERE m.toBeProcessed = true AND m.processStartDate < :lessThanDate");
+        query.setParameter("lessThanDate", lessThanDate);
+        return count(query);
+    }
+
     @Override
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException {
 
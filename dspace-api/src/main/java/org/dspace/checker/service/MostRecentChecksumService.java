@@ -45,6 +45,17 @@ public interface MostRecentChecksumService {
 
     public MostRecentChecksum findOldestRecord(Context context, Instant lessThanDate) throws SQLException;
 
+    /**
+     * Count the records to be processed which were last processed before the given date, i.e. the records
+     * {@link #findOldestRecord(Context, Instant)} still has to return.
+     *
+     * @param context      Context
+     * @param lessThanDate date
+     * @return the number of records
+     * @throws SQLException if database error
+     */
+    public int countOlderRecords(Context context, Instant lessThanDate) throws SQLException;
+
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException;
 
     public void update(Context context, MostRecentChecksum mostRecentChecksum) throws SQLException;
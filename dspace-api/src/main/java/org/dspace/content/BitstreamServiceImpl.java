@@ -9,6 +9,8 @@ package org.dspace.content;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
@@ -32,6 +34,7 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
 import org.dspace.event.Event;
+import org.dspace.storage.bitstore.StoreUsage;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -307,6 +310,22 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamStorageService.retrieve(context, bitstream);
     }
 
+    @Override
+    public SeekableByteChannel retrieveChannel(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException {
+        authorizeService.authorizeAction(context, bitstream, Constants.READ);
+
+        return bitstreamStorageService.retrieveChannel(context, bitstream);
+    }
+
+    @Override
+    public Path retrievePath(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException {
+        authorizeService.authorizeAction(context, bitstream, Constants.READ);
+
+        return bitstreamStorageService.retrievePath(context, bitstream);
+    }
+
     @Override
     public boolean isRegisteredBitstream(Bitstream bitstream) {
         return bitstreamStorageService.isRegisteredBitstream(bitstream.getInternalId());
@@ -358,6 +377,11 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.findDuplicateInternalIdentifier(context, bitstream);
     }
 
+    @Override
+    public List<Bitstream> findDuplicateContent(Context context, Bitstream bitstream, int limit) throws SQLException {
+        return bitstreamDAO.findDuplicateContent(context, bitstream, limit);
+    }
+
     @Override
     public Iterator<Bitstream> getItemBitstreams(Context context, Item item) throws SQLException {
         return bitstreamDAO.findByItem(context, item);
@@ -453,6 +477,11 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.countByStoreNumber(context, storeNumber);
     }
 
+    @Override
+    public StoreUsage getStoreUsage(Context context, Integer storeNumber) throws SQLException {
+        return bitstreamDAO.getStoreUsage(context, storeNumber);
+    }
+
     @Override
     public int countTotal(Context context) throws SQLException {
         return bitstreamDAO.countRows(context);
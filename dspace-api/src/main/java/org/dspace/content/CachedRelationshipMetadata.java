@@ -0,0 +1,181 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+import org.hibernate.Length;
+
+/**
+ * Entity that models a virtual metadata value of an item, as derived from one of its relationships by the
+ * {@link RelationshipMetadataService}, stored so it doesn't need to be derived again for every request.
+ * <p>
+ * The values of a relationship are stored together with the state of the item on the other side of the
+ * relationship they were derived from (its last modification date and name variant). They are derived again once
+ * that state changes. The place of the values follows the place of the relationship without deriving them again.
+ */
+@Entity
+@Table(name = "relationship_metadata_cache")
+public class CachedRelationshipMetadata implements ReloadableEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "relationship_metadata_cache_id_seq")
+    @SequenceGenerator(name = "relationship_metadata_cache_id_seq",
+                       sequenceName = "relationship_metadata_cache_id_seq", allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The item which has the virtual metadata value
+     */
+    @Column(name = "item_id")
+    private UUID itemId;
+
+    /**
+     * The relationship the value is derived from
+     */
+    @Column(name = "relationship_id")
+    private int relationshipId;
+
+    /**
+     * The position of the value among the values derived from the relationship
+     */
+    @Column(name = "ordinal")
+    private int ordinal;
+
+    @Column(name = "metadata_field_id")
+    private int metadataFieldId;
+
+    @Column(name = "text_value", length = Length.LONG32)
+    private String value;
+
+    @Column(name = "authority", length = 100)
+    private String authority;
+
+    @Column(name = "confidence")
+    private int confidence = -1;
+
+    @Column(name = "place")
+    private int place;
+
+    @Column(name = "use_for_place")
+    private boolean useForPlace;
+
+    /**
+     * The last modification date of the item on the other side of the relationship when the value was derived
+     */
+    @Column(name = "source_last_modified", columnDefinition = "timestamp with time zone")
+    private Instant sourceLastModified;
+
+    /**
+     * The name variant of the item on the other side of the relationship when the value was derived
+     */
+    @Column(name = "name_variant", length = Length.LONG32)
+    private String nameVariant;
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getRelationshipId() {
+        return relationshipId;
+    }
+
+    public void setRelationshipId(int relationshipId) {
+        this.relationshipId = relationshipId;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    public int getMetadataFieldId() {
+        return metadataFieldId;
+    }
+
+    public void setMetadataFieldId(int metadataFieldId) {
+        this.metadataFieldId = metadataFieldId;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getAuthority() {
+        return authority;
+    }
+
+    public void setAuthority(String authority) {
+        this.authority = authority;
+    }
+
+    public int getConfidence() {
+        return confidence;
+    }
+
+    public void setConfidence(int confidence) {
+        this.confidence = confidence;
+    }
+
+    public int getPlace() {
+        return place;
+    }
+
+    public void setPlace(int place) {
+        this.place = place;
+    }
+
+    public boolean isUseForPlace() {
+        return useForPlace;
+    }
+
+    public void setUseForPlace(boolean useForPlace) {
+        this.useForPlace = useForPlace;
+    }
+
+    public Instant getSourceLastModified() {
+        return sourceLastModified;
+    }
+
+    public void setSourceLastModified(Instant sourceLastModified) {
+        this.sourceLastModified = sourceLastModified;
+    }
+
+    public String getNameVariant() {
+        return nameVariant;
+    }
+
+    public void setNameVariant(String nameVariant) {
+        this.nameVariant = nameVariant;
+    }
+}
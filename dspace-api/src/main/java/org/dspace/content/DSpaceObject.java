@@ -58,6 +58,12 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
     @OrderBy("metadataField, place")
     private List<MetadataValue> metadata = new ArrayList<>();
 
+    /**
+     * Index of the metadata by field, built when the metadata is first looked up and dropped when it is modified
+     */
+    @Transient
+    private transient MetadataIndex metadataIndex;
+
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "dso")
     // OrderBy is here to ensure that the oldest handle is retrieved first.
     // Multiple handles are assigned to the latest version of an item.
@@ -176,6 +182,19 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     public void setMetadata(List<MetadataValue> metadata) {
         this.metadata = metadata;
+        this.metadataIndex = null;
+    }
+
+    /**
+     * @return the index of the metadata of this object by field, see
+     *         {@link DSpaceObjectServiceImpl#getMetadata(DSpaceObject, String, String, String, String)}
+     */
+    protected MetadataIndex getMetadataIndex() {
+        List<MetadataValue> metadata = getMetadata();
+        if (metadataIndex == null || !metadataIndex.isIndexing(metadata)) {
+            metadataIndex = new MetadataIndex(metadata);
+        }
+        return metadataIndex;
     }
 
     protected void removeMetadata(MetadataValue metadataValue) {
@@ -205,6 +224,7 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     protected void setMetadataModified() {
         this.modifiedMetadata = true;
+        this.metadataIndex = null;
     }
 
     public boolean isModified() {
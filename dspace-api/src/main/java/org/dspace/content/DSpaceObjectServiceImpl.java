@@ -16,6 +16,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -68,6 +69,18 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
     @Autowired(required = true)
     protected RelationshipService relationshipService;
 
+    /**
+     * The number of field strings whose parts are kept by {@link #parsedFields}
+     */
+    protected static final int MAX_PARSED_FIELDS = 10000;
+
+    /**
+     * The schema, element and qualifier of the field strings given to {@link #getMetadataByMetadataString}, so each
+     * string is only parsed once. Field strings mostly come from the code and configuration, the map stops growing
+     * once it holds {@link #MAX_PARSED_FIELDS} of them.
+     */
+    private final Map<String, String[]> parsedFields = new ConcurrentHashMap<>();
+
     public DSpaceObjectServiceImpl() {
 
     }
@@ -118,13 +131,8 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
 
     @Override
     public List<MetadataValue> getMetadata(T dso, String schema, String element, String qualifier, String lang) {
-        // Build up list of matching values
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : dso.getMetadata()) {
-            if (match(schema, element, qualifier, lang, dcv)) {
-                values.add(dcv);
-            }
-        }
+        // Look up the matching values in the index of the metadata by field
+        List<MetadataValue> values = dso.getMetadataIndex().getMetadata(schema, element, qualifier, lang);
 
         // Sort the metadataValues if they have been modified,
         // is used to preserve the default order.
@@ -137,6 +145,21 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
 
     @Override
     public List<MetadataValue> getMetadataByMetadataString(T dso, String mdString) {
+        String[] tokens = parsedFields.get(mdString);
+        if (tokens == null) {
+            tokens = parseMetadataString(mdString);
+            if (parsedFields.size() < MAX_PARSED_FIELDS) {
+                parsedFields.put(mdString, tokens);
+            }
+        }
+        return getMetadata(dso, tokens[0], tokens[1], tokens[2]);
+    }
+
+    /**
+     * @param mdString the field, as schema.element.qualifier
+     * @return the schema, element and qualifier of the field, empty when missing. The array must not be modified.
+     */
+    private String[] parseMetadataString(String mdString) {
         StringTokenizer dcf = new StringTokenizer(mdString, ".");
 
         String[] tokens = {"", "", ""};
@@ -145,13 +168,7 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
             tokens[i] = dcf.nextToken().trim();
             i++;
         }
-        String schema = tokens[0];
-        String element = tokens[1];
-        String qualifier = tokens[2];
-
-        List<MetadataValue> values = getMetadata(dso, schema, element, qualifier);
-
-        return values;
+        return tokens;
     }
 
     private List<MetadataValue> getMetadata(T dso, String schema, String element, String qualifier) {
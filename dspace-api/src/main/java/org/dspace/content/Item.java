@@ -113,6 +113,12 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     @Transient
     private List<MetadataValue> cachedMetadata = new ArrayList<>();
 
+    /**
+     * Index of the cached metadata by field, built when the cached metadata is first looked up
+     */
+    @Transient
+    private transient MetadataIndex cachedMetadataIndex;
+
     /**
      * Protected constructor, create object using:
      * {@link org.dspace.content.service.ItemService#create(Context, WorkspaceItem)}
@@ -386,6 +392,7 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     protected void setMetadataModified() {
         super.setMetadataModified();
         modifiedMetadataCache = true;
+        cachedMetadataIndex = null;
     }
 
     public boolean isModifiedMetadataCache() {
@@ -399,5 +406,17 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     protected void setCachedMetadata(List<MetadataValue> cachedMetadata) {
         this.cachedMetadata = cachedMetadata;
         modifiedMetadataCache = false;
+        cachedMetadataIndex = null;
+    }
+
+    /**
+     * @return the index of the cached metadata of this item by field, see
+     *         {@link ItemServiceImpl#getMetadata(Item, String, String, String, String, boolean)}
+     */
+    protected MetadataIndex getCachedMetadataIndex() {
+        if (cachedMetadataIndex == null || !cachedMetadataIndex.isIndexing(cachedMetadata)) {
+            cachedMetadataIndex = new MetadataIndex(cachedMetadata);
+        }
+        return cachedMetadataIndex;
     }
 }
@@ -346,6 +346,11 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAll(context, true, limit, offset);
     }
 
+    @Override
+    public List<Item> findAllAfter(Context context, UUID after, int limit) throws SQLException {
+        return itemDAO.findAllAfter(context, true, after, limit);
+    }
+
     @Override
     public Iterator<Item> findAllUnfiltered(Context context) throws SQLException {
         return itemDAO.findAll(context, true, true);
@@ -356,6 +361,11 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAllRegularItems(context);
     }
 
+    @Override
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException {
+        return itemDAO.findAllRegularItemIds(context);
+    }
+
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
         return itemDAO.findBySubmitter(context, eperson);
@@ -392,6 +402,12 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findArchivedByCollection(context, collection, limit, offset);
     }
 
+    @Override
+    public List<Item> findByCollectionAfter(Context context, Collection collection, UUID after, int limit)
+        throws SQLException {
+        return itemDAO.findArchivedByCollectionAfter(context, collection, after, limit);
+    }
+
     @Override
     public Iterator<Item> findByCollectionMapping(Context context, Collection collection, Integer limit, Integer offset)
         throws SQLException {
@@ -1699,6 +1715,12 @@ prevent the generation of resource policy entry values with null dspace_object a
         return itemDAO.findByLastModifiedSince(context, last);
     }
 
+    @Override
+    public Iterator<Item> findByLastModifiedSince(Context context, Instant last, boolean uncacheBatches)
+        throws SQLException {
+        return itemDAO.findByLastModifiedSince(context, last, uncacheBatches);
+    }
+
     @Override
     public int countTotal(Context context) throws SQLException {
         return itemDAO.countRows(context);
@@ -1783,16 +1805,8 @@ prevent the generation of resource policy entry values with null dspace_object a
         }
 
         log.debug("Called getMetadata for " + item.getID() + " based on cache");
-        // Build up list of matching values based on the cache
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : item.getCachedMetadata()) {
-            if (match(schema, element, qualifier, lang, dcv)) {
-                values.add(dcv);
-            }
-        }
-
-        // Create an array of matching values
-        return values;
+        // Look up the matching values in the index of the cache by field
+        return item.getCachedMetadataIndex().getMetadata(schema, element, qualifier, lang);
     }
 
     /**
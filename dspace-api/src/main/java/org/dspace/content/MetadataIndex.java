@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Index of a list of metadata values of a {@link DSpaceObject} by metadata field, so the values of a field are found
+ * without matching every value of the object. The values of each field are kept in the order of the list.
+ * <p>
+ * Lookups of a single field are answered from the values grouped by the id of their field. Lookups with a wildcard
+ * schema, element or qualifier are answered by a single pass over the list the first time, and remembered.
+ * <p>
+ * The index doesn't follow changes to the list: it must be dropped when the metadata of the object is modified, see
+ * {@link DSpaceObject#setMetadataModified()}. As a safety net, {@link #isIndexing(List)} also detects a list which
+ * was replaced or changed size.
+ */
+class MetadataIndex {
+
+    private static final String SEPARATOR = "\u0000";
+
+    private final List<MetadataValue> values;
+
+    private final int size;
+
+    /**
+     * The values of each metadata field, by id of the field
+     */
+    private final Map<Integer, List<MetadataValue>> valuesByField = new HashMap<>();
+
+    /**
+     * The id of each metadata field, by "schema.element.qualifier" name
+     */
+    private final Map<String, Integer> fieldsByName = new HashMap<>();
+
+    /**
+     * The values matching a lookup with a wildcard, by lookup key
+     */
+    private final Map<String, List<MetadataValue>> wildcardLookups = new HashMap<>();
+
+    /**
+     * Index a list of metadata values
+     *
+     * @param values the metadata values
+     */
+    MetadataIndex(List<MetadataValue> values) {
+        this.values = values;
+        this.size = values.size();
+        for (MetadataValue value : values) {
+            MetadataField field = value.getMetadataField();
+            List<MetadataValue> fieldValues = valuesByField.get(field.getID());
+            if (fieldValues == null) {
+                fieldValues = new ArrayList<>();
+                valuesByField.put(field.getID(), fieldValues);
+                fieldsByName.put(field.toString('.'), field.getID());
+            }
+            fieldValues.add(value);
+        }
+    }
+
+    /**
+     * @param values a list of metadata values
+     * @return true if this index was built from the list, and the list still has the same size
+     */
+    boolean isIndexing(List<MetadataValue> values) {
+        return this.values == values && size == values.size();
+    }
+
+    /**
+     * Find the metadata values matching a schema, element, qualifier and language, like
+     * {@link DSpaceObjectServiceImpl#match(String, String, String, String, MetadataValue)} does
+     *
+     * @param schema    the schema, or <code>Item.ANY</code>
+     * @param element   the element, or <code>Item.ANY</code>
+     * @param qualifier the qualifier, <code>Item.ANY</code>, or null or empty for unqualified values
+     * @param lang      the language, <code>Item.ANY</code>, or null for values without language
+     * @return a new list with the matching values, in the order of the indexed list
+     */
+    List<MetadataValue> getMetadata(String schema, String element, String qualifier, String lang) {
+        if (schema == null || element == null) {
+            return new ArrayList<>();
+        }
+        if (StringUtils.isBlank(qualifier)) {
+            qualifier = null;
+        }
+
+        List<MetadataValue> fieldValues;
+        if (Item.ANY.equals(schema) || Item.ANY.equals(element) || Item.ANY.equals(qualifier)) {
+            fieldValues = getWildcardValues(schema, element, qualifier);
+        } else {
+            String name = qualifier == null ? schema + "." + element : schema + "." + element + "." + qualifier;
+            Integer fieldId = fieldsByName.get(name);
+            fieldValues = fieldId == null ? Collections.emptyList() : valuesByField.get(fieldId);
+        }
+
+        if (Item.ANY.equals(lang)) {
+            return new ArrayList<>(fieldValues);
+        }
+        List<MetadataValue> result = new ArrayList<>();
+        for (MetadataValue value : fieldValues) {
+            if (StringUtils.equals(lang, value.getLanguage())) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    private List<MetadataValue> getWildcardValues(String schema, String element, String qualifier) {
+        String key = schema + SEPARATOR + element + SEPARATOR + StringUtils.defaultString(qualifier);
+        List<MetadataValue> matches = wildcardLookups.get(key);
+        if (matches == null) {
+            matches = new ArrayList<>();
+            for (MetadataValue value : values) {
+                MetadataField field = value.getMetadataField();
+                if ((Item.ANY.equals(element) || element.equals(field.getElement()))
+                    && (Item.ANY.equals(qualifier) || StringUtils.equals(qualifier, field.getQualifier()))
+                    && (Item.ANY.equals(schema) || schema.equals(field.getMetadataSchema().getName()))) {
+                    matches.add(value);
+                }
+            }
+            wildcardLookups.put(key, matches);
+        }
+        return matches;
+    }
+}
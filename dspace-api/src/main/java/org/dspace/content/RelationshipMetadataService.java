@@ -61,4 +61,48 @@ public interface RelationshipMetadataService {
     @Deprecated
     public String getEntityTypeStringFromMetadata(Item item);
 
+    /**
+     * Whether the virtual metadata derived from the relationships of items is stored, so it only needs to be derived
+     * again for the relationships whose related item changed, see the relationship.virtual-metadata.cache
+     * configuration property
+     * @return true if the virtual metadata is stored
+     */
+    public boolean isVirtualMetadataCacheEnabled();
+
+    /**
+     * Derive the virtual metadata of an item from all its relationships again, and store it, replacing the stored
+     * virtual metadata of the item
+     * @param context   The relevant DSpace context
+     * @param item      The item whose virtual metadata is derived
+     * @throws SQLException If something goes wrong
+     */
+    public void rebuildVirtualMetadataCache(Context context, Item item) throws SQLException;
+
+    /**
+     * Derive the virtual metadata of an item again for the relationships whose stored virtual metadata is missing or
+     * outdated (e.g. because the related item was modified), and store it
+     * @param context   The relevant DSpace context
+     * @param item      The item whose virtual metadata is refreshed
+     * @throws SQLException If something goes wrong
+     */
+    public void refreshVirtualMetadataCache(Context context, Item item) throws SQLException;
+
+    /**
+     * Derive the virtual metadata of a relationship which was created, moved or updated again for both its items,
+     * and store it, replacing the virtual metadata stored for the relationship. Nothing is done unless the virtual
+     * metadata is stored, see {@link #isVirtualMetadataCacheEnabled()}
+     * @param context       The relevant DSpace context
+     * @param relationship  The relationship
+     * @throws SQLException If something goes wrong
+     */
+    public void updateVirtualMetadataCache(Context context, Relationship relationship) throws SQLException;
+
+    /**
+     * Remove the stored virtual metadata of an item, so it's derived again when it's requested
+     * @param context   The relevant DSpace context
+     * @param item      The item whose stored virtual metadata is removed
+     * @throws SQLException If something goes wrong
+     */
+    public void clearVirtualMetadataCache(Context context, Item item) throws SQLException;
+
 }
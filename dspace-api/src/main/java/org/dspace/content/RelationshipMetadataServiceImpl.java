@@ -11,6 +11,7 @@ import static org.dspace.content.RelationshipType.Tilted.LEFT;
 import static org.dspace.content.RelationshipType.Tilted.RIGHT;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -20,7 +21,9 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
+import org.dspace.content.dao.CachedRelationshipMetadataDAO;
 import org.dspace.content.dao.pojo.ItemUuidAndRelationshipId;
+import org.dspace.content.dao.pojo.RelatedItemState;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.RelationshipService;
@@ -29,6 +32,7 @@ import org.dspace.content.virtual.VirtualMetadataConfiguration;
 import org.dspace.content.virtual.VirtualMetadataPopulator;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class RelationshipMetadataServiceImpl implements RelationshipMetadataService {
@@ -53,6 +57,12 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
     @Autowired(required = true)
     protected MetadataFieldService metadataFieldService;
 
+    @Autowired(required = true)
+    protected CachedRelationshipMetadataDAO cachedRelationshipMetadataDAO;
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
     @Override
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata) {
         Context context = new Context();
@@ -73,11 +83,15 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
                 //       These fields contain the UUIDs of the items that have a relationship with current item,
                 //       from the perspective of this item. In other words, given a relationship with this item,
                 //       the other item should have "latest status" in order to appear in relation.* fields.
-                List<Relationship> relationships = relationshipService.findByItem(context, item, -1, -1, true);
-                for (Relationship relationship : relationships) {
-                    fullMetadataValueList
-                        .addAll(findRelationshipMetadataValueForItemRelationship(context, item, entityType.getLabel(),
-                                relationship, enableVirtualMetadata));
+                if (enableVirtualMetadata && isVirtualMetadataCacheEnabled()) {
+                    fullMetadataValueList.addAll(getCachedRelationshipMetadata(context, item, entityType));
+                } else {
+                    List<Relationship> relationships = relationshipService.findByItem(context, item, -1, -1, true);
+                    for (Relationship relationship : relationships) {
+                        fullMetadataValueList
+                            .addAll(findRelationshipMetadataValueForItemRelationship(context, item,
+                                    entityType.getLabel(), relationship, enableVirtualMetadata));
+                    }
                 }
 
             }
@@ -174,6 +188,214 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
         return itemService.getEntityTypeLabel(item);
     }
 
+    @Override
+    public boolean isVirtualMetadataCacheEnabled() {
+        return configurationService.getBooleanProperty("relationship.virtual-metadata.cache", false);
+    }
+
+    @Override
+    public void rebuildVirtualMetadataCache(Context context, Item item) throws SQLException {
+        cachedRelationshipMetadataDAO.deleteByItem(context, item);
+        refreshVirtualMetadataCache(context, item);
+    }
+
+    @Override
+    public void refreshVirtualMetadataCache(Context context, Item item) throws SQLException {
+        EntityType entityType = itemService.getEntityType(context, item);
+        if (entityType == null) {
+            cachedRelationshipMetadataDAO.deleteByItem(context, item);
+            return;
+        }
+        Map<Integer, List<CachedRelationshipMetadata>> storedValues = getStoredValues(context, item);
+        List<Integer> outdatedRelationshipIds = new ArrayList<>();
+        List<RelatedItemState> statesToStore = new ArrayList<>();
+        for (RelatedItemState state : relationshipService.findRelatedItemStates(context, item)) {
+            List<CachedRelationshipMetadata> values = storedValues.remove(state.getRelationshipId());
+            if (values == null || !isUpToDate(values, state)) {
+                if (values != null) {
+                    outdatedRelationshipIds.add(state.getRelationshipId());
+                }
+                // relationships of an item with itself aren't stored, the place of their values depends on the side
+                if (!item.getID().equals(state.getItemUuid())) {
+                    statesToStore.add(state);
+                }
+            }
+        }
+        // the relationships which were removed, or whose related item is no longer the latest version
+        outdatedRelationshipIds.addAll(storedValues.keySet());
+        if (!outdatedRelationshipIds.isEmpty()) {
+            cachedRelationshipMetadataDAO.deleteByItemAndRelationships(context, item, outdatedRelationshipIds);
+        }
+
+        for (RelatedItemState state : statesToStore) {
+            Relationship relationship = relationshipService.find(context, state.getRelationshipId());
+            if (relationship != null) {
+                storeRelationshipMetadata(context, item, entityType, relationship, state);
+            }
+        }
+    }
+
+    @Override
+    public void updateVirtualMetadataCache(Context context, Relationship relationship) throws SQLException {
+        if (!isVirtualMetadataCacheEnabled()) {
+            return;
+        }
+        // also removes the values of an item the relationship was moved away from
+        cachedRelationshipMetadataDAO.deleteByRelationship(context, relationship.getID());
+        Item leftItem = relationship.getLeftItem();
+        Item rightItem = relationship.getRightItem();
+        if (leftItem.getID().equals(rightItem.getID())) {
+            // relationships of an item with itself aren't stored, the place of their values depends on the side
+            return;
+        }
+        for (Item item : List.of(leftItem, rightItem)) {
+            EntityType entityType = itemService.getEntityType(context, item);
+            if (entityType == null) {
+                continue;
+            }
+            // the state is read back from the database, like it is compared when the values are read
+            for (RelatedItemState state : relationshipService.findRelatedItemStates(context, item)) {
+                if (state.getRelationshipId() == relationship.getID()) {
+                    storeRelationshipMetadata(context, item, entityType, relationship, state);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clearVirtualMetadataCache(Context context, Item item) throws SQLException {
+        cachedRelationshipMetadataDAO.deleteByItem(context, item);
+    }
+
+    /**
+     * Get the virtual metadata of an item derived from its relationships, like
+     * {@link #findRelationshipMetadataValueForItemRelationship} does for each relationship. The stored values of a
+     * relationship are used as long as the item on the other side of the relationship wasn't modified since they
+     * were derived; the values of the other relationships are derived again, but not stored: the stored values are
+     * only written when relationships change (see {@link #updateVirtualMetadataCache}), or when they are refreshed
+     * explicitly (see {@link #refreshVirtualMetadataCache}).
+     * @param context       The relevant DSpace context
+     * @param item          The item whose virtual metadata is requested
+     * @param entityType    The entity type of the item
+     * @return              The virtual metadata of the item
+     * @throws SQLException If something goes wrong
+     */
+    protected List<RelationshipMetadataValue> getCachedRelationshipMetadata(Context context, Item item,
+                                                                           EntityType entityType)
+        throws SQLException {
+        Map<Integer, List<CachedRelationshipMetadata>> storedValues = getStoredValues(context, item);
+
+        List<RelationshipMetadataValue> resultingMetadataValueList = new LinkedList<>();
+        for (RelatedItemState state : relationshipService.findRelatedItemStates(context, item)) {
+            List<CachedRelationshipMetadata> values = storedValues.get(state.getRelationshipId());
+            if (values != null && isUpToDate(values, state)) {
+                for (CachedRelationshipMetadata value : values) {
+                    RelationshipMetadataValue metadataValue = toRelationshipMetadataValue(context, item, value,
+                                                                                          state.getPlace());
+                    if (metadataValue != null) {
+                        resultingMetadataValueList.add(metadataValue);
+                    }
+                }
+                continue;
+            }
+
+            Relationship relationship = relationshipService.find(context, state.getRelationshipId());
+            if (relationship != null) {
+                resultingMetadataValueList.addAll(findRelationshipMetadataValueForItemRelationship(context, item,
+                    entityType.getLabel(), relationship, true));
+            }
+        }
+        return resultingMetadataValueList;
+    }
+
+    /**
+     * Get the virtual metadata values stored for an item, by relationship id
+     */
+    private Map<Integer, List<CachedRelationshipMetadata>> getStoredValues(Context context, Item item)
+        throws SQLException {
+        Map<Integer, List<CachedRelationshipMetadata>> storedValues = new HashMap<>();
+        for (CachedRelationshipMetadata value : cachedRelationshipMetadataDAO.findByItem(context, item)) {
+            storedValues.computeIfAbsent(value.getRelationshipId(), id -> new ArrayList<>()).add(value);
+        }
+        return storedValues;
+    }
+
+    /**
+     * Check whether the values stored for a relationship are complete, and were derived from the current state of
+     * the related item
+     */
+    private boolean isUpToDate(List<CachedRelationshipMetadata> values, RelatedItemState state) {
+        for (int i = 0; i < values.size(); i++) {
+            CachedRelationshipMetadata value = values.get(i);
+            // the ordinals also reveal values stored twice by concurrent requests
+            if (value.getOrdinal() != i
+                || !Objects.equals(value.getSourceLastModified(), state.getLastModified())
+                || !StringUtils.equals(value.getNameVariant(), state.getNameVariant())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the virtual metadata of the relationships of a type only depends on the related items
+     */
+    private boolean isCacheable(RelationshipType relationshipType) {
+        for (String type : List.of(relationshipType.getLeftwardType(), relationshipType.getRightwardType())) {
+            HashMap<String, VirtualMetadataConfiguration> configurations = virtualMetadataPopulator.getMap().get(type);
+            if (configurations != null && configurations.values().stream().anyMatch(c -> !c.isCacheable())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Derive the virtual metadata of a relationship of an item, and store it unless it depends on items further away
+     */
+    private void storeRelationshipMetadata(Context context, Item item, EntityType entityType,
+                                           Relationship relationship, RelatedItemState state) throws SQLException {
+        if (!isCacheable(relationship.getRelationshipType())) {
+            return;
+        }
+        List<RelationshipMetadataValue> values = findRelationshipMetadataValueForItemRelationship(context, item,
+            entityType.getLabel(), relationship, true);
+        for (int i = 0; i < values.size(); i++) {
+            RelationshipMetadataValue metadataValue = values.get(i);
+            CachedRelationshipMetadata value = new CachedRelationshipMetadata();
+            value.setItemId(item.getID());
+            value.setRelationshipId(state.getRelationshipId());
+            value.setOrdinal(i);
+            value.setMetadataFieldId(metadataValue.getMetadataField().getID());
+            value.setValue(metadataValue.getValue());
+            value.setAuthority(metadataValue.getAuthority());
+            value.setConfidence(metadataValue.getConfidence());
+            value.setPlace(state.getPlace());
+            value.setUseForPlace(metadataValue.isUseForPlace());
+            value.setSourceLastModified(state.getLastModified());
+            value.setNameVariant(state.getNameVariant());
+            cachedRelationshipMetadataDAO.create(context, value);
+        }
+    }
+
+    private RelationshipMetadataValue toRelationshipMetadataValue(Context context, Item item,
+                                                                  CachedRelationshipMetadata value, int place)
+        throws SQLException {
+        MetadataField metadataField = metadataFieldService.find(context, value.getMetadataFieldId());
+        if (metadataField == null) {
+            return null;
+        }
+        RelationshipMetadataValue metadataValue = new RelationshipMetadataValue();
+        metadataValue.setMetadataField(metadataField);
+        metadataValue.setValue(value.getValue());
+        metadataValue.setAuthority(value.getAuthority());
+        metadataValue.setConfidence(value.getConfidence());
+        metadataValue.setDSpaceObject(item);
+        metadataValue.setPlace(place);
+        metadataValue.setUseForPlace(value.isUseForPlace());
+        return metadataValue;
+    }
+
     @Override
     public List<RelationshipMetadataValue> findRelationshipMetadataValueForItemRelationship(
             Context context, Item item, String entityType, Relationship relationship, boolean enableVirtualMetadata)
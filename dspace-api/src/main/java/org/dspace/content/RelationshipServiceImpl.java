@@ -10,8 +10,10 @@ package org.dspace.content;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -25,6 +27,7 @@ import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Relationship.LatestVersionStatus;
 import org.dspace.content.dao.RelationshipDAO;
 import org.dspace.content.dao.pojo.ItemUuidAndRelationshipId;
+import org.dspace.content.dao.pojo.RelatedItemState;
 import org.dspace.content.service.EntityTypeService;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.RelationshipService;
@@ -122,8 +125,9 @@ public class RelationshipServiceImpl implements RelationshipService {
                 // for a proper place allocation
                 Relationship relationshipToReturn = relationshipDAO.create(context, relationship);
                 updatePlaceInRelationship(context, relationshipToReturn, null, null, true, true);
-                update(context, relationshipToReturn);
+                save(context, Collections.singletonList(relationshipToReturn));
                 updateItemsInRelationship(context, relationship);
+                relationshipMetadataService.updateVirtualMetadataCache(context, relationshipToReturn);
                 return relationshipToReturn;
             } else {
                 throw new AuthorizeException(
@@ -147,8 +151,9 @@ public class RelationshipServiceImpl implements RelationshipService {
                 // This order of execution should be handled in the creation (create, updateplace, update relationship)
                 // for a proper place allocation
                 updatePlaceInRelationship(context, relationship, newLeftPlace, newRightPlace, false, false);
-                update(context, relationship);
+                save(context, Collections.singletonList(relationship));
                 updateItemsInRelationship(context, relationship);
+                relationshipMetadataService.updateVirtualMetadataCache(context, relationship);
             }
 
             return relationship;
@@ -198,8 +203,9 @@ public class RelationshipServiceImpl implements RelationshipService {
             // This order of execution should be handled in the creation (create, updateplace, update relationship)
             // for a proper place allocation
             updatePlaceInRelationship(context, relationship, null, null, insertLeft, insertRight);
-            update(context, relationship);
+            save(context, Collections.singletonList(relationship));
             updateItemsInRelationship(context, relationship);
+            relationshipMetadataService.updateVirtualMetadataCache(context, relationship);
         }
         return relationship;
     }
@@ -660,6 +666,19 @@ public class RelationshipServiceImpl implements RelationshipService {
 
     @Override
     public void update(Context context, List<Relationship> relationships) throws SQLException, AuthorizeException {
+        save(context, relationships);
+        if (CollectionUtils.isNotEmpty(relationships)) {
+            for (Relationship relationship : relationships) {
+                relationshipMetadataService.updateVirtualMetadataCache(context, relationship);
+            }
+        }
+    }
+
+    /**
+     * Save relationships which were created or modified, without deriving their stored virtual metadata again: the
+     * callers do so once the places and items of the relationships are final
+     */
+    private void save(Context context, List<Relationship> relationships) throws SQLException, AuthorizeException {
         if (CollectionUtils.isNotEmpty(relationships)) {
             for (Relationship relationship : relationships) {
                 if (authorizeService.authorizeActionBoolean(context, relationship.getLeftItem(), Constants.WRITE) ||
@@ -1032,6 +1051,24 @@ public class RelationshipServiceImpl implements RelationshipService {
             .findByLatestItemAndRelationshipType(context, latestItem, relationshipType, isLeft);
     }
 
+    @Override
+    public List<RelatedItemState> findRelatedItemStates(Context context, Item item) throws SQLException {
+        List<RelatedItemState> states = new ArrayList<>(relationshipDAO.findRelatedItemStates(context, item, true));
+        // a relationship of the item with itself is only returned once, like findByItem does
+        Set<Integer> leftRelationshipIds = states.stream()
+                                                 .map(RelatedItemState::getRelationshipId)
+                                                 .collect(Collectors.toSet());
+        for (RelatedItemState state : relationshipDAO.findRelatedItemStates(context, item, false)) {
+            if (!leftRelationshipIds.contains(state.getRelationshipId())) {
+                states.add(state);
+            }
+        }
+        // the same order as findByItem
+        states.sort(Comparator.comparing(RelatedItemState::getLeftwardType)
+                              .thenComparingInt(RelatedItemState::getPlace));
+        return states;
+    }
+
     @Override
     public List<Relationship> findByRelationshipType(Context context, RelationshipType relationshipType)
         throws SQLException {
@@ -7,7 +7,9 @@
  */
 package org.dspace.content.authority;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.dspace.core.NameAwarePlugin;
@@ -72,6 +74,25 @@ public interface ChoiceAuthority extends NameAwarePlugin {
      */
     public String getLabel(String key, String locale);
 
+    /**
+     * Get the labels of several keys at once, e.g. of all the authors of an
+     * item. The default implementation calls {@link #getLabel(String, String)}
+     * for each key: authorities backed by a search index or a remote service
+     * should override it to look all the keys up with a single query.
+     *
+     * @param keys   authority keys known to this authority.
+     * @param locale explicit localization key if available, or null
+     * @return the label of each key, by key, null if the key has no label. The keys whose lookup failed, e.g.
+     * because the authority couldn't be reached, are missing: their label isn't cached.
+     */
+    default Map<String, String> getLabels(Collection<String> keys, String locale) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (String key : keys) {
+            labels.put(key, getLabel(key, locale));
+        }
+        return labels;
+    }
+
     /**
      * Get the canonical value to store for a key in the authority. Can be localized
      * given the implicit or explicit locale specification.
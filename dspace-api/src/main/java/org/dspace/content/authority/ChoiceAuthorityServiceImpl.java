@@ -8,9 +8,12 @@
 package org.dspace.content.authority;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -37,6 +40,8 @@ import org.dspace.services.ConfigurationService;
 import org.dspace.submit.factory.SubmissionServiceFactory;
 import org.dspace.submit.service.SubmissionConfigService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 /**
  * Broker for ChoiceAuthority plugins, and for other information configured
@@ -56,6 +61,10 @@ import org.springframework.beans.factory.annotation.Autowired;
  * choices.closed.<FIELD> = true | false
  * }
  *
+ * The labels and variants of the authority keys are cached in the "authority.labels" cache (see ehcache.xml),
+ * shared between requests, unless {@code choices.cache.enabled} (or {@code choices.cache.enabled.<AUTHORITY>} for
+ * a single authority) is false.
+ *
  * @author Larry Stone
  * @see ChoiceAuthority
  */
@@ -97,6 +106,15 @@ public final class ChoiceAuthorityServiceImpl implements ChoiceAuthorityService
     protected PluginService pluginService;
     @Autowired
     private DiscoveryConfigurationService searchConfigurationService;
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    /**
+     * The name of the cache of labels and variants in ehcache.xml
+     */
+    public static final String LABEL_CACHE_NAME = "authority.labels";
+
+    private Cache labelCache;
 
     final static String CHOICES_PLUGIN_PREFIX = "choices.plugin.";
     final static String CHOICES_PRESENTATION_PREFIX = "choices.presentation.";
@@ -191,7 +209,64 @@ public final class ChoiceAuthorityServiceImpl implements ChoiceAuthorityService
                 "No choices plugin was configured for  field \"" + fieldKey
                     + "\", collection=" + collection.getID().toString() + ".");
         }
-        return ma.getLabel(authKey, locale);
+        Cache cache = getLabelCache(ma);
+        if (cache == null) {
+            return ma.getLabel(authKey, locale);
+        }
+        String cacheKey = getCacheKey("label", ma, locale, authKey);
+        String label = cache.get(cacheKey, String.class);
+        if (label == null) {
+            Map<String, String> found = ma.getLabels(Collections.singleton(authKey), locale);
+            if (!found.containsKey(authKey)) {
+                // the lookup failed, the key is the label until the authority can be reached again
+                return authKey;
+            }
+            label = found.get(authKey);
+            if (label != null) {
+                cache.put(cacheKey, label);
+            }
+        }
+        return label;
+    }
+
+    @Override
+    public Map<String, String> getLabels(String fieldKey, Collection collection,
+                                         java.util.Collection<String> authKeys, String locale) {
+        ChoiceAuthority ma = getAuthorityByFieldKeyCollection(fieldKey, collection);
+        if (ma == null) {
+            throw new IllegalArgumentException(
+                "No choices plugin was configured for  field \"" + fieldKey
+                    + "\", collection=" + collection.getID().toString() + ".");
+        }
+        Cache cache = getLabelCache(ma);
+        Map<String, String> labels = new LinkedHashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String authKey : authKeys) {
+            String label = cache == null ? null : cache.get(getCacheKey("label", ma, locale, authKey), String.class);
+            if (label != null) {
+                labels.put(authKey, label);
+            } else {
+                missing.add(authKey);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, String> found = ma.getLabels(missing, locale);
+            for (String authKey : missing) {
+                if (!found.containsKey(authKey)) {
+                    // the lookup failed, the key is the label until the authority can be reached again
+                    labels.put(authKey, authKey);
+                    continue;
+                }
+                String label = found.get(authKey);
+                if (label != null) {
+                    labels.put(authKey, label);
+                    if (cache != null) {
+                        cache.put(getCacheKey("label", ma, locale, authKey), label);
+                    }
+                }
+            }
+        }
+        return labels;
     }
 
     @Override
@@ -210,6 +285,7 @@ public final class ChoiceAuthorityServiceImpl implements ChoiceAuthorityService
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public List<String> getVariants(MetadataValue metadataValue, Collection collection) {
         String fieldKey = metadataValue.getMetadataField().toString();
         ChoiceAuthority ma = getAuthorityByFieldKeyCollection(fieldKey, collection);
@@ -220,11 +296,52 @@ public final class ChoiceAuthorityServiceImpl implements ChoiceAuthorityService
         }
         if (ma instanceof AuthorityVariantsSupport) {
             AuthorityVariantsSupport avs = (AuthorityVariantsSupport) ma;
-            return avs.getVariants(metadataValue.getAuthority(), metadataValue.getLanguage());
+            Cache cache = getLabelCache(ma);
+            if (cache == null) {
+                return avs.getVariants(metadataValue.getAuthority(), metadataValue.getLanguage());
+            }
+            String cacheKey = getCacheKey("variants", ma, metadataValue.getLanguage(), metadataValue.getAuthority());
+            List<String> variants = cache.get(cacheKey, List.class);
+            if (variants == null) {
+                variants = avs.getVariants(metadataValue.getAuthority(), metadataValue.getLanguage());
+                if (variants != null) {
+                    variants = List.copyOf(variants);
+                    cache.put(cacheKey, variants);
+                }
+            }
+            return variants;
         }
         return null;
     }
 
+    /**
+     * @return the cache of the labels and variants of an authority, or null if they aren't cached
+     */
+    protected Cache getLabelCache(ChoiceAuthority ma) {
+        // the controlled vocabularies are in memory already, and reloaded when they change
+        if (ma instanceof DSpaceControlledVocabulary
+            || !configurationService.getBooleanProperty("choices.cache.enabled." + ma.getPluginInstanceName(),
+                                                        configurationService.getBooleanProperty(
+                                                            "choices.cache.enabled", true))) {
+            return null;
+        }
+        if (labelCache == null && cacheManager != null) {
+            labelCache = cacheManager.getCache(LABEL_CACHE_NAME);
+            if (labelCache == null) {
+                log.warn("No \"{}\" cache is configured in ehcache.xml, authority labels are not cached",
+                         LABEL_CACHE_NAME);
+            }
+        }
+        return labelCache;
+    }
+
+    /**
+     * @return the key of a label or variants of an authority key in the cache
+     */
+    protected String getCacheKey(String type, ChoiceAuthority ma, String locale, String authKey) {
+        return type + ":" + ma.getClass().getName() + ":" + ma.getPluginInstanceName() + ":" + locale + ":" + authKey;
+    }
+
 
     @Override
     public String getChoiceAuthorityName(String schema, String element, String qualifier, Collection collection) {
@@ -272,6 +389,9 @@ public final class ChoiceAuthorityServiceImpl implements ChoiceAuthorityService
         authoritiesFormDefinitions.clear();
         submissionConfigService.reload();
         initialized = false;
+        if (labelCache != null) {
+            labelCache.clear();
+        }
     }
 
     private void loadChoiceAuthorityConfigurations() {
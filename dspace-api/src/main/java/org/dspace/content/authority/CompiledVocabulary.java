@@ -0,0 +1,404 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.authority;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * A controlled vocabulary XML file (see {@link DSpaceControlledVocabulary}) compiled into an in-memory tree of
+ * terms with parent pointers, indexed by id, by label and by the trigrams of the lower case labels. A lookup by
+ * label substring only verifies the terms which contain the rarest trigram of the text, rather than evaluating an
+ * XPath expression over the whole document.
+ * <p>
+ * Compiled vocabularies are shared by all the plugin instances using the same file, and compiled again when the
+ * file changes. They are immutable, so they can be used by concurrent requests.
+ */
+public class CompiledVocabulary {
+    private static final Logger log = LogManager.getLogger(CompiledVocabulary.class);
+
+    /**
+     * The compiled vocabularies, by file path
+     */
+    private static final Map<String, CompiledVocabulary> vocabularies = new ConcurrentHashMap<>();
+
+    /**
+     * The versions (last modification dates) of the files which couldn't be compiled again, by file path
+     */
+    private static final Map<String, Long> failedVersions = new ConcurrentHashMap<>();
+
+    /**
+     * A "node" element of the vocabulary
+     */
+    public static class Term {
+        private final int ordinal;
+        private final Term parent;
+        private final String id;
+        private final String label;
+        private final String lowerCaseLabel;
+        private final boolean selectable;
+        private final String note;
+        private final List<Term> children = new ArrayList<>();
+
+        private Term(int ordinal, Term parent, Element element) {
+            this.ordinal = ordinal;
+            this.parent = parent;
+            this.id = getAttribute(element, "id");
+            this.label = getAttribute(element, "label");
+            this.lowerCaseLabel = label == null ? null : label.toLowerCase(Locale.ROOT);
+            String selectableAttribute = getAttribute(element, "selectable");
+            this.selectable = selectableAttribute == null || Boolean.parseBoolean(selectableAttribute);
+            String firstNote = null;
+            for (Element child : getChildElements(element, "hasNote")) {
+                if (StringUtils.isNotBlank(child.getTextContent())) {
+                    firstNote = child.getTextContent();
+                    break;
+                }
+            }
+            this.note = firstNote;
+        }
+
+        /**
+         * @return the parent term, null for the root term
+         */
+        public Term getParent() {
+            return parent;
+        }
+
+        /**
+         * @return the "id" attribute, or null
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return the "label" attribute, or null
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return the "id" attribute if ids is true, else the "label" attribute
+         */
+        public String getValue(boolean ids) {
+            return ids ? id : label;
+        }
+
+        public boolean isSelectable() {
+            return selectable;
+        }
+
+        /**
+         * @return the first non blank "hasNote", or null
+         */
+        public String getNote() {
+            return note;
+        }
+
+        /**
+         * @return the child terms, in document order
+         */
+        public List<Term> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        /**
+         * @return true if the term is the root of the vocabulary
+         */
+        public boolean isRoot() {
+            return parent == null;
+        }
+    }
+
+    private final long lastModified;
+
+    private final Term root;
+
+    /**
+     * All the terms, in document order
+     */
+    private final List<Term> terms = new ArrayList<>();
+
+    private final Map<String, List<Term>> termsById = new HashMap<>();
+
+    private final Map<String, List<Term>> termsByLabel = new HashMap<>();
+
+    /**
+     * The ordinals of the terms whose lower case label contains a trigram, in document order and without duplicates
+     */
+    private final Map<Long, int[]> trigrams = new HashMap<>();
+
+    private CompiledVocabulary(Document document, long lastModified) {
+        this.lastModified = lastModified;
+        Element element = document.getDocumentElement();
+        root = "node".equals(element.getNodeName()) ? addTerm(null, element) : null;
+
+        Map<Long, IntList> postings = new HashMap<>();
+        for (Term term : terms) {
+            String text = term.lowerCaseLabel;
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                postings.computeIfAbsent(trigram(text, i), key -> new IntList()).add(term.ordinal);
+            }
+        }
+        postings.forEach((key, list) -> trigrams.put(key, list.toArray()));
+    }
+
+    /**
+     * Get the compiled vocabulary of a file, compiling it if it wasn't yet or if the file changed since
+     *
+     * @param file the vocabulary file
+     * @return the compiled vocabulary
+     * @throws IOException if the file can't be read or parsed
+     */
+    public static CompiledVocabulary get(File file) throws IOException {
+        String path = file.getAbsolutePath();
+        CompiledVocabulary vocabulary = vocabularies.get(path);
+        if (vocabulary != null && isCurrent(vocabulary, path, file.lastModified())) {
+            return vocabulary;
+        }
+        synchronized (vocabularies) {
+            vocabulary = vocabularies.get(path);
+            long lastModified = file.lastModified();
+            if (vocabulary == null || !isCurrent(vocabulary, path, lastModified)) {
+                if (lastModified == 0L) {
+                    throw new IOException("Missing controlled vocabulary " + path);
+                }
+                log.info("Compiling the controlled vocabulary {}", path);
+                try {
+                    CompiledVocabulary compiled = compile(file, lastModified);
+                    vocabularies.put(path, compiled);
+                    log.info("Compiled {} terms from {}", compiled.terms.size(), path);
+                    return compiled;
+                } catch (IOException e) {
+                    if (vocabulary == null) {
+                        throw e;
+                    }
+                    // e.g. the file is being written, keep using the previous version until it changes again
+                    log.error("Unable to compile the controlled vocabulary {} again", path, e);
+                    failedVersions.put(path, lastModified);
+                }
+            }
+            return vocabulary;
+        }
+    }
+
+    /**
+     * @return true if the compiled vocabulary is the latest which could be compiled from the file
+     */
+    private static boolean isCurrent(CompiledVocabulary vocabulary, String path, long lastModified) {
+        return vocabulary.lastModified == lastModified || failedVersions.getOrDefault(path, 0L) == lastModified;
+    }
+
+    private static CompiledVocabulary compile(File file, long lastModified) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setExpandEntityReferences(false);
+            return new CompiledVocabulary(factory.newDocumentBuilder().parse(file), lastModified);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Unable to parse the controlled vocabulary " + file, e);
+        }
+    }
+
+    /**
+     * @return the root term, or null if the document isn't a vocabulary
+     */
+    public Term getRoot() {
+        return root;
+    }
+
+    /**
+     * @param id the "id" attribute of a term
+     * @return the first term with the id in document order, or null
+     */
+    public Term getTerm(String id) {
+        List<Term> found = termsById.get(id);
+        return found == null ? null : found.get(0);
+    }
+
+    /**
+     * Find the terms whose label contains the last part of a path, case insensitively, and which descend from terms
+     * whose labels contain the previous parts, in order.
+     *
+     * @param path the texts contained in the labels of the terms, from the ancestors to the term
+     * @return the terms, in document order
+     */
+    public List<Term> findContaining(String... path) {
+        String[] lowerCasePath = Arrays.stream(path).map(text -> text.toLowerCase(Locale.ROOT))
+                                       .toArray(String[]::new);
+        List<Term> found = new ArrayList<>();
+        for (Term term : containing(lowerCasePath[lowerCasePath.length - 1])) {
+            if (descendsFrom(term, lowerCasePath,
+                             (ancestor, text) -> ancestor.lowerCaseLabel != null
+                                 && ancestor.lowerCaseLabel.contains(text))) {
+                found.add(term);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find the terms whose id or label is the last part of a path, and which descend from terms whose ids or labels
+     * are the previous parts, in order.
+     *
+     * @param ids  true to compare the ids, false to compare the labels
+     * @param path the ids or labels of the terms, from the ancestors to the term
+     * @return the terms, in document order
+     */
+    public List<Term> findEqual(boolean ids, String... path) {
+        List<Term> candidates = (ids ? termsById : termsByLabel).getOrDefault(path[path.length - 1], List.of());
+        List<Term> found = new ArrayList<>();
+        for (Term term : candidates) {
+            if (descendsFrom(term, path, (ancestor, value) -> value.equals(ancestor.getValue(ids)))) {
+                found.add(term);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return the terms whose lower case label contains a lower case text, in document order
+     */
+    private List<Term> containing(String text) {
+        if (text.length() < 3) {
+            List<Term> found = new ArrayList<>();
+            for (Term term : terms) {
+                if (term.lowerCaseLabel != null && term.lowerCaseLabel.contains(text)) {
+                    found.add(term);
+                }
+            }
+            return found;
+        }
+        // the terms containing the rarest trigram of the text are the only candidates
+        int[] candidates = null;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            int[] posting = trigrams.get(trigram(text, i));
+            if (posting == null) {
+                return List.of();
+            }
+            if (candidates == null || posting.length < candidates.length) {
+                candidates = posting;
+            }
+        }
+        List<Term> found = new ArrayList<>();
+        for (int ordinal : candidates) {
+            if (terms.get(ordinal).lowerCaseLabel.contains(text)) {
+                found.add(terms.get(ordinal));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param term    the term, which matches the last part of the path
+     * @param path    the path of the term, from its furthest ancestor
+     * @param matches whether a term matches a part of the path
+     * @return true if the ancestors of the term match the other parts of the path, in order
+     */
+    private static boolean descendsFrom(Term term, String[] path, BiPredicate<Term, String> matches) {
+        int part = path.length - 2;
+        for (Term ancestor = term.parent; ancestor != null && part >= 0; ancestor = ancestor.parent) {
+            if (matches.test(ancestor, path[part])) {
+                part--;
+            }
+        }
+        return part < 0;
+    }
+
+    private Term addTerm(Term parent, Element element) {
+        Term term = new Term(terms.size(), parent, element);
+        terms.add(term);
+        if (term.id != null) {
+            termsById.computeIfAbsent(term.id, key -> new ArrayList<>(1)).add(term);
+        }
+        if (term.label != null) {
+            termsByLabel.computeIfAbsent(term.label, key -> new ArrayList<>(1)).add(term);
+        }
+        boolean firstComposition = true;
+        for (Element composition : getChildElements(element, "isComposedBy")) {
+            for (Element child : getChildElements(composition, "node")) {
+                Term childTerm = addTerm(term, child);
+                // only the first composition of a term makes its children, as in the XML schema
+                if (firstComposition) {
+                    term.children.add(childTerm);
+                }
+            }
+            firstComposition = false;
+        }
+        return term;
+    }
+
+    private static String getAttribute(Element element, String name) {
+        return element.hasAttribute(name) ? element.getAttribute(name) : null;
+    }
+
+    private static List<Element> getChildElements(Element element, String name) {
+        List<Element> children = new ArrayList<>();
+        NodeList childNodes = element.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            Node child = childNodes.item(i);
+            if (child.getNodeType() == Node.ELEMENT_NODE && name.equals(child.getNodeName())) {
+                children.add((Element) child);
+            }
+        }
+        return children;
+    }
+
+    private static long trigram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    /**
+     * Growable list of ints, to build the trigram index without boxing
+     */
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                // the trigram occurs more than once in the label
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -8,27 +8,20 @@
 package org.dspace.content.authority;
 
 import java.io.File;
-import java.nio.file.Paths;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
+import org.dspace.content.authority.CompiledVocabulary.Term;
 import org.dspace.core.SelfNamedPlugin;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 
 /**
  * ChoiceAuthority source that reads the hierarchical vocabularies
@@ -45,6 +38,9 @@ import org.xml.sax.InputSource;
  * the file; e.g., {@code ${dspace.dir}/config/controlled-vocabularies/nsi.xml}
  * would generate a plugin called "nsi".
  *
+ * The vocabularies are compiled into in-memory indexes (see {@link CompiledVocabulary}) the first time they are
+ * used, and compiled again when their file changes.
+ *
  * Each configured plugin comes with three configuration options: {@code
  * vocabulary.plugin._plugin_.hierarchy.store = <true|false>
  * # Store entire hierarchy along with selected value. Default: TRUE
@@ -60,23 +56,17 @@ import org.xml.sax.InputSource;
 public class DSpaceControlledVocabulary extends SelfNamedPlugin implements HierarchicalAuthority {
 
     private static Logger log = org.apache.logging.log4j.LogManager.getLogger(DSpaceControlledVocabulary.class);
-    protected static String xpathTemplate = "//node[contains(translate(@label,'ABCDEFGHIJKLMNOPQRSTUVWXYZ'," +
-        "'abcdefghijklmnopqrstuvwxyz'),'%s')]";
-    protected static String idTemplate = "//node[@id = '%s']";
-    protected static String labelTemplate = "//node[@label = '%s']";
-    protected static String idParentTemplate = "//node[@id = '%s']/parent::isComposedBy/parent::node";
-    protected static String rootTemplate = "/node";
-    protected static String idAttribute = "id";
-    protected static String labelAttribute = "label";
     protected static String pluginNames[] = null;
     protected String vocabularyName = null;
-    protected InputSource vocabulary = null;
+    protected String vocabulariesPath = null;
     protected Boolean suggestHierarchy = false;
     protected Boolean storeHierarchy = true;
     protected String hierarchyDelimiter = "::";
     protected Integer preloadLevel = 1;
-    protected String valueAttribute = labelAttribute;
-    protected String valueTemplate = labelTemplate;
+    /**
+     * Whether the value of a node is its id rather than its label
+     */
+    protected boolean storeIDs = false;
 
     public DSpaceControlledVocabulary() {
         super();
@@ -120,104 +110,87 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
     }
 
     protected void init(String locale) {
-        if (vocabulary == null) {
+        if (vocabularyName == null) {
             ConfigurationService config = DSpaceServicesFactory.getInstance().getConfigurationService();
 
             log.info("Initializing " + this.getClass().getName());
-            vocabularyName = this.getPluginInstanceName();
-            String vocabulariesPath = config.getProperty("dspace.dir") + File.separator + "config" +
+            String name = this.getPluginInstanceName();
+            vocabulariesPath = config.getProperty("dspace.dir") + File.separator + "config" +
                 File.separator + "controlled-vocabularies" + File.separator;
-            String configurationPrefix = "vocabulary.plugin." + vocabularyName;
+            String configurationPrefix = "vocabulary.plugin." + name;
             storeHierarchy = config.getBooleanProperty(configurationPrefix + ".hierarchy.store", storeHierarchy);
-            boolean storeIDs = config.getBooleanProperty(configurationPrefix + ".storeIDs", false);
+            storeIDs = config.getBooleanProperty(configurationPrefix + ".storeIDs", false);
             suggestHierarchy = config.getBooleanProperty(configurationPrefix + ".hierarchy.suggest", suggestHierarchy);
             preloadLevel = config.getIntProperty(configurationPrefix + ".hierarchy.preloadLevel", preloadLevel);
             String configuredDelimiter = config.getProperty(configurationPrefix + ".delimiter");
             if (configuredDelimiter != null) {
                 hierarchyDelimiter = configuredDelimiter.replaceAll("(^\"|\"$)", "");
             }
-            if (storeIDs) {
-                valueAttribute = idAttribute;
-                valueTemplate = idTemplate;
-            }
+            vocabularyName = name;
+        }
+    }
 
-            String filename = vocabulariesPath + vocabularyName + ".xml";
-            if (StringUtils.isNotEmpty(locale)) {
-                String localizedFilename = vocabulariesPath + vocabularyName + "_" + locale + ".xml";
-                if (Paths.get(localizedFilename).toFile().exists()) {
-                    filename = localizedFilename;
-                }
+    /**
+     * Get the compiled vocabulary for a locale: the localized vocabulary file if there is one, else the default one.
+     * The vocabulary is compiled again if its file changed.
+     *
+     * @param locale the locale, or null
+     * @return the compiled vocabulary
+     * @throws IOException if the vocabulary file can't be read or parsed
+     */
+    protected CompiledVocabulary getVocabulary(String locale) throws IOException {
+        init(locale);
+        File file = new File(vocabulariesPath + vocabularyName + ".xml");
+        if (StringUtils.isNotEmpty(locale)) {
+            File localizedFile = new File(vocabulariesPath + vocabularyName + "_" + locale + ".xml");
+            if (localizedFile.exists()) {
+                file = localizedFile;
             }
-            log.info("Loading " + filename);
-            vocabulary = new InputSource(filename);
         }
+        return CompiledVocabulary.get(file);
     }
 
-    protected String buildString(Node node) {
-        if (node.getNodeType() == Node.DOCUMENT_NODE || (
-            node.getParentNode() != null &&
-            node.getParentNode().getNodeType() == Node.DOCUMENT_NODE)) {
-            return ("");
-        } else {
-            String parentValue = buildString(node.getParentNode());
-            Node currentNodeValue = node.getAttributes().getNamedItem(valueAttribute);
-            if (currentNodeValue != null) {
-                String currentValue = currentNodeValue.getNodeValue();
-                if (parentValue.equals("")) {
-                    return currentValue;
-                } else {
-                    return (parentValue + this.hierarchyDelimiter + currentValue);
-                }
-            } else {
-                return (parentValue);
+    /**
+     * @return the values of the term and of its ancestors but the root, from the furthest ancestor, delimited
+     */
+    protected String buildString(Term term) {
+        List<String> values = new ArrayList<>();
+        for (Term ancestor = term; ancestor != null && !ancestor.isRoot(); ancestor = ancestor.getParent()) {
+            String value = ancestor.getValue(storeIDs);
+            if (StringUtils.isNotEmpty(value)) {
+                values.add(0, value);
             }
         }
+        return String.join(hierarchyDelimiter, values);
     }
 
     @Override
     public Choices getMatches(String text, int start, int limit, String locale) {
-        init(locale);
         log.debug("Getting matches for '" + text + "'");
-        String xpathExpression = "";
-        String[] textHierarchy = text.split(hierarchyDelimiter, -1);
-        for (int i = 0; i < textHierarchy.length; i++) {
-            xpathExpression +=
-                String.format(xpathTemplate, textHierarchy[i].replaceAll("'", "&apos;").toLowerCase());
-        }
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        int total = 0;
-        List<Choice> choices = new ArrayList<Choice>();
+        List<Term> results;
         try {
-            NodeList results = (NodeList) xpath.evaluate(xpathExpression, vocabulary, XPathConstants.NODESET);
-            total = results.getLength();
-            choices = getChoicesFromNodeList(results, start, limit);
-        } catch (XPathExpressionException e) {
+            results = getVocabulary(locale).findContaining(text.split(hierarchyDelimiter, -1));
+        } catch (IOException e) {
             log.warn(e.getMessage(), e);
             return new Choices(true);
         }
+        int total = results.size();
+        List<Choice> choices = getChoicesFromTerms(results, start, limit);
         return new Choices(choices.toArray(new Choice[choices.size()]), start, total, Choices.CF_AMBIGUOUS,
                 total > start + limit);
     }
 
     @Override
     public Choices getBestMatch(String text, String locale) {
-        init(locale);
         log.debug("Getting best matches for '" + text + "'");
-        String xpathExpression = "";
-        String[] textHierarchy = text.split(hierarchyDelimiter, -1);
-        for (int i = 0; i < textHierarchy.length; i++) {
-            xpathExpression +=
-                String.format(valueTemplate, textHierarchy[i].replaceAll("'", "&apos;"));
-        }
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        List<Choice> choices = new ArrayList<Choice>();
+        List<Term> results;
         try {
-            NodeList results = (NodeList) xpath.evaluate(xpathExpression, vocabulary, XPathConstants.NODESET);
-            choices = getChoicesFromNodeList(results, 0, 1);
-        } catch (XPathExpressionException e) {
+            results = getVocabulary(locale).findEqual(storeIDs, text.split(hierarchyDelimiter, -1));
+        } catch (IOException e) {
             log.warn(e.getMessage(), e);
             return new Choices(true);
         }
+        List<Choice> choices = getChoicesFromTerms(results, 0, 1);
         return new Choices(choices.toArray(new Choice[choices.size()]), 0, choices.size(), Choices.CF_AMBIGUOUS, false);
     }
 
@@ -233,13 +206,11 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
 
     @Override
     public Choice getChoice(String authKey, String locale) {
-        Node node;
         try {
-            node = getNode(authKey, locale);
-        } catch (XPathExpressionException e) {
+            return createChoiceFromTerm(getVocabulary(locale).getTerm(authKey));
+        } catch (IOException e) {
             return null;
         }
-        return createChoiceFromNode(node);
     }
 
     @Override
@@ -250,26 +221,30 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
 
     @Override
     public Choices getTopChoices(String authorityName, int start, int limit, String locale) {
-        init(locale);
-        String xpathExpression = rootTemplate;
-        return getChoicesByXpath(xpathExpression, start, limit);
+        try {
+            return getChildChoices(getVocabulary(locale).getRoot(), start, limit);
+        } catch (IOException e) {
+            log.warn(e.getMessage(), e);
+            return new Choices(true);
+        }
     }
 
     @Override
     public Choices getChoicesByParent(String authorityName, String parentId, int start, int limit, String locale) {
-        init(locale);
-        String xpathExpression = String.format(idTemplate, parentId);
-        return getChoicesByXpath(xpathExpression, start, limit);
+        try {
+            return getChildChoices(getVocabulary(locale).getTerm(parentId), start, limit);
+        } catch (IOException e) {
+            log.warn(e.getMessage(), e);
+            return new Choices(true);
+        }
     }
 
     @Override
     public Choice getParentChoice(String authorityName, String childId, String locale) {
-        init(locale);
         try {
-            String xpathExpression = String.format(idParentTemplate, childId);
-            Choice choice = createChoiceFromNode(getNodeFromXPath(xpathExpression));
-            return choice;
-        } catch (XPathExpressionException e) {
+            Term child = getVocabulary(locale).getTerm(childId);
+            return child == null ? null : createChoiceFromTerm(child.getParent());
+        } catch (IOException e) {
             log.error(e.getMessage(), e);
             return null;
         }
@@ -281,46 +256,19 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
         return preloadLevel;
     }
 
-    private boolean isRootElement(Node node) {
-        if (node != null && node.getOwnerDocument().getDocumentElement().equals(node)) {
-            return true;
-        }
-        return false;
-    }
-
-    private Node getNode(String key, String locale) throws XPathExpressionException {
-        init(locale);
-        String xpathExpression = String.format(idTemplate, key);
-        Node node = getNodeFromXPath(xpathExpression);
-        return node;
-    }
-
-    private Node getNodeFromXPath(String xpathExpression) throws XPathExpressionException {
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        Node node = (Node) xpath.evaluate(xpathExpression, vocabulary, XPathConstants.NODE);
-        return node;
-    }
-
-    private List<Choice> getChoicesFromNodeList(NodeList results, int start, int limit) {
+    private List<Choice> getChoicesFromTerms(List<Term> results, int start, int limit) {
         List<Choice> choices = new ArrayList<Choice>();
-        for (int i = 0; i < results.getLength(); i++) {
-            if (i < start) {
-                continue;
-            }
-            if (choices.size() == limit) {
-                break;
-            }
-            Node node = results.item(i);
-            Choice choice = new Choice(getAuthority(node), getLabel(node), getValue(node),
-                    isSelectable(node));
-            choice.extras = addOtherInformation(getParent(node), getNote(node), getChildren(node), getAuthority(node));
+        for (int i = start; i < results.size() && choices.size() < limit; i++) {
+            Term term = results.get(i);
+            Choice choice = new Choice(term.getId(), getLabel(term), getValue(term), term.isSelectable());
+            choice.extras = addOtherInformation(getParent(term), term.getNote(), hasChildren(term), term.getId());
             choices.add(choice);
         }
         return choices;
     }
 
     private Map<String, String> addOtherInformation(String parentCurr, String noteCurr,
-            List<String> childrenCurr, String authorityCurr) {
+            boolean hasChildren, String authorityCurr) {
         Map<String, String> extras = new HashMap<String, String>();
         if (StringUtils.isNotBlank(parentCurr)) {
             extras.put("parent", parentCurr);
@@ -328,149 +276,75 @@ public class DSpaceControlledVocabulary extends SelfNamedPlugin implements Hiera
         if (StringUtils.isNotBlank(noteCurr)) {
             extras.put("note", noteCurr);
         }
-        if (childrenCurr.size() > 0) {
-            extras.put("hasChildren", "true");
-        } else {
-            extras.put("hasChildren", "false");
-        }
+        extras.put("hasChildren", String.valueOf(hasChildren));
         extras.put("id", authorityCurr);
         return extras;
     }
 
     private String getNodeValue(String key, String locale, boolean useHierarchy) {
         try {
-            Node node = getNode(key, locale);
-            if (Objects.isNull(node)) {
+            Term term = getVocabulary(locale).getTerm(key);
+            if (term == null) {
                 return null;
             }
             if (useHierarchy) {
-                return this.buildString(node);
+                return this.buildString(term);
             } else {
-                return node.getAttributes().getNamedItem(valueAttribute).getNodeValue();
+                return term.getValue(storeIDs);
             }
-        } catch (XPathExpressionException e) {
+        } catch (IOException e) {
             return ("");
         }
     }
 
-    private String getLabel(Node node) {
-        String hierarchy = this.buildString(node);
+    private String getLabel(Term term) {
         if (this.suggestHierarchy) {
-            return hierarchy;
+            return this.buildString(term);
         } else {
-            return node.getAttributes().getNamedItem("label").getNodeValue();
+            return term.getLabel();
         }
     }
 
-    private String getValue(Node node) {
-        String hierarchy = this.buildString(node);
+    private String getValue(Term term) {
         if (this.storeHierarchy) {
-            return hierarchy;
+            return this.buildString(term);
         } else {
-            return node.getAttributes().getNamedItem(valueAttribute).getNodeValue();
+            return term.getValue(storeIDs);
         }
     }
 
-    private String getNote(Node node) {
-        NodeList childNodes = node.getChildNodes();
-        for (int ci = 0; ci < childNodes.getLength(); ci++) {
-            Node firstChild = childNodes.item(ci);
-            if (firstChild != null && "hasNote".equals(firstChild.getNodeName())) {
-                String nodeValue = firstChild.getTextContent();
-                if (StringUtils.isNotBlank(nodeValue)) {
-                    return nodeValue;
-                }
-            }
-        }
-        return null;
+    /**
+     * @return true if the term has children with an id
+     */
+    private boolean hasChildren(Term term) {
+        return term.getChildren().stream().anyMatch(child -> child.getId() != null);
     }
 
-    private List<String> getChildren(Node node) {
-        List<String> children = new ArrayList<String>();
-        NodeList childNodes = node.getChildNodes();
-        for (int ci = 0; ci < childNodes.getLength(); ci++) {
-            Node firstChild = childNodes.item(ci);
-            if (firstChild != null && "isComposedBy".equals(firstChild.getNodeName())) {
-                for (int cii = 0; cii < firstChild.getChildNodes().getLength(); cii++) {
-                    Node childN = firstChild.getChildNodes().item(cii);
-                    if (childN != null && "node".equals(childN.getNodeName())) {
-                        Node childIdAttr = childN.getAttributes().getNamedItem("id");
-                        if (null != childIdAttr) {
-                            children.add(childIdAttr.getNodeValue());
-                        }
-                    }
-                }
-                break;
-            }
-        }
-        return children;
-    }
-
-    private boolean isSelectable(Node node) {
-        Node selectableAttr = node.getAttributes().getNamedItem("selectable");
-        if (null != selectableAttr) {
-            return Boolean.valueOf(selectableAttr.getNodeValue());
-        } else { // Default is true
-            return true;
-        }
-    }
-
-    private String getParent(Node node) {
-        Node parentN = node.getParentNode();
-        if (parentN != null) {
-            parentN = parentN.getParentNode();
-            if (parentN != null && !isRootElement(parentN)) {
-                return buildString(parentN);
-            }
+    private String getParent(Term term) {
+        Term parent = term.getParent();
+        if (parent != null && !parent.isRoot()) {
+            return buildString(parent);
         }
         return null;
     }
 
-    private String getAuthority(Node node) {
-        Node idAttr = node.getAttributes().getNamedItem("id");
-        if (null != idAttr) { // 'id' is optional
-            return idAttr.getNodeValue();
-        } else {
-            return null;
+    private Choices getChildChoices(Term parent, int start, int limit) {
+        if (parent == null) {
+            return new Choices(false);
         }
-    }
-
-    private Choices getChoicesByXpath(String xpathExpression, int start, int limit) {
+        List<Term> children = parent.getChildren();
         List<Choice> choices = new ArrayList<Choice>();
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        try {
-            Node parentNode = (Node) xpath.evaluate(xpathExpression, vocabulary, XPathConstants.NODE);
-            int count = 0;
-            if (parentNode != null) {
-                NodeList childNodes = (NodeList) xpath.evaluate(".//isComposedBy", parentNode, XPathConstants.NODE);
-                if (null != childNodes) {
-                    for (int i = 0; i < childNodes.getLength(); i++) {
-                        Node childNode = childNodes.item(i);
-                        if (childNode != null && "node".equals(childNode.getNodeName())) {
-                            if (count < start || choices.size() >= limit) {
-                                count++;
-                                continue;
-                            }
-                            count++;
-                            choices.add(createChoiceFromNode(childNode));
-                        }
-                    }
-                }
-                return new Choices(choices.toArray(new Choice[choices.size()]), start, count,
-                        Choices.CF_AMBIGUOUS, false);
-            }
-        } catch (XPathExpressionException e) {
-            log.warn(e.getMessage(), e);
-            return new Choices(true);
+        for (int i = start; i < children.size() && choices.size() < limit; i++) {
+            choices.add(createChoiceFromTerm(children.get(i)));
         }
-        return new Choices(false);
+        return new Choices(choices.toArray(new Choice[choices.size()]), start, children.size(),
+                Choices.CF_AMBIGUOUS, false);
     }
 
-    private Choice createChoiceFromNode(Node node) {
-        if (node != null && !isRootElement(node)) {
-            Choice choice = new Choice(getAuthority(node), getLabel(node), getValue(node),
-                    isSelectable(node));
-            choice.extras = addOtherInformation(getParent(node), getNote(node),getChildren(node), getAuthority(node));
+    private Choice createChoiceFromTerm(Term term) {
+        if (term != null && !term.isRoot()) {
+            Choice choice = new Choice(term.getId(), getLabel(term), getValue(term), term.isSelectable());
+            choice.extras = addOtherInformation(getParent(term), term.getNote(), hasChildren(term), term.getId());
             return choice;
         }
         return null;
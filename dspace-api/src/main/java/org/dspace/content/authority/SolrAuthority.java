@@ -9,10 +9,13 @@ package org.dspace.content.authority;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -20,6 +23,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.params.CommonParams;
@@ -53,6 +57,11 @@ public class SolrAuthority implements ChoiceAuthority {
 
     private static final Logger log = LogManager.getLogger(SolrAuthority.class);
 
+    /**
+     * The maximum number of keys whose labels are looked up with one query (below the Solr maximum boolean clauses)
+     */
+    protected static final int LABELS_BATCH_SIZE = 500;
+
     protected final AuthorityValueService authorityValueService
             = AuthorityServiceFactory.getInstance().getAuthorityValueService();
 
@@ -230,44 +239,8 @@ public class SolrAuthority implements ChoiceAuthority {
             QueryResponse searchResponse = getSearchService().search(queryArgs);
             SolrDocumentList docs = searchResponse.getResults();
             if (docs.getNumFound() == 1) {
-                String label = null;
-                try {
-                    label = (String) docs.get(0).getFieldValue("value_" + locale);
-                } catch (Exception e) {
-                    //ok to fail here
-                }
-                if (label != null) {
-                    if (log.isDebugEnabled()) {
-                        log.debug(
-                            "returning label " + label + " for key " + key + " using locale " + locale + " and " +
-                                "fieldvalue " + "value_" + locale);
-                    }
-                    return label;
-                }
-                try {
-                    label = (String) docs.get(0).getFieldValue("value");
-                } catch (Exception e) {
-                    log.error("couldn't get field value for key " + key, e);
-                }
+                String label = getLabel(docs.get(0), key, locale);
                 if (label != null) {
-                    if (log.isDebugEnabled()) {
-                        log.debug(
-                            "returning label " + label + " for key " + key + " using locale " + locale + " and " +
-                                "fieldvalue " + "value");
-                    }
-                    return label;
-                }
-                try {
-                    label = (String) docs.get(0).getFieldValue("value_en");
-                } catch (Exception e) {
-                    log.error("couldn't get field value for key " + key, e);
-                }
-                if (label != null) {
-                    if (log.isDebugEnabled()) {
-                        log.debug(
-                            "returning label " + label + " for key " + key + " using locale " + locale + " and " +
-                                "fieldvalue " + "value_en");
-                    }
                     return label;
                 }
             }
@@ -278,6 +251,63 @@ public class SolrAuthority implements ChoiceAuthority {
         return key;
     }
 
+    /**
+     * Get the labels of the keys with one query per {@link #LABELS_BATCH_SIZE} keys, rather than one per key
+     */
+    @Override
+    public Map<String, String> getLabels(Collection<String> keys, String locale) {
+        Map<String, String> labels = new HashMap<>();
+        List<String> allKeys = new ArrayList<>(keys);
+        List<String> lookedUp = new ArrayList<>(allKeys.size());
+        for (int from = 0; from < allKeys.size(); from += LABELS_BATCH_SIZE) {
+            List<String> batch = allKeys.subList(from, Math.min(allKeys.size(), from + LABELS_BATCH_SIZE));
+            try {
+                SolrQuery queryArgs = new SolrQuery();
+                queryArgs.setQuery("id:(" + batch.stream().map(ClientUtils::escapeQueryChars)
+                                                 .collect(Collectors.joining(" OR ")) + ")");
+                queryArgs.setRows(batch.size());
+                for (SolrDocument doc : getSearchService().search(queryArgs).getResults()) {
+                    String key = (String) doc.getFieldValue("id");
+                    String label = getLabel(doc, key, locale);
+                    if (label != null) {
+                        labels.put(key, label);
+                    }
+                }
+                lookedUp.addAll(batch);
+            } catch (IOException | SolrServerException e) {
+                // the keys of the batch are left out, so their fallback label isn't cached
+                log.error("error occurred while trying to get the labels of " + batch.size() + " keys", e);
+            }
+        }
+        // as getLabel, the key is the label of the keys not found
+        for (String key : lookedUp) {
+            labels.putIfAbsent(key, key);
+        }
+        return labels;
+    }
+
+    /**
+     * @return the label of the authority document in the locale, else its default or English label, or null
+     */
+    private String getLabel(SolrDocument doc, String key, String locale) {
+        for (String field : new String[] {"value_" + locale, "value", "value_en"}) {
+            String label = null;
+            try {
+                label = (String) doc.getFieldValue(field);
+            } catch (Exception e) {
+                log.error("couldn't get field value " + field + " for key " + key, e);
+            }
+            if (label != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("returning label " + label + " for key " + key + " using locale " + locale + " and " +
+                                  "fieldvalue " + field);
+                }
+                return label;
+            }
+        }
+        return null;
+    }
+
 
     public static AuthoritySearchService getSearchService() {
         org.dspace.kernel.ServiceManager manager = DSpaceServicesFactory.getInstance().getServiceManager();
@@ -8,6 +8,7 @@
 package org.dspace.content.authority.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.dspace.app.util.SubmissionConfigReaderException;
@@ -129,6 +130,21 @@ public interface ChoiceAuthorityService {
      */
     public String getLabel(String fieldKey, Collection collection, String authKey, String locale);
 
+    /**
+     * Wrapper that calls getLabels method of the plugin corresponding to
+     * the metadata field defined by single field key, for the keys whose
+     * label isn't cached.
+     *
+     * @param fieldKey single string identifying metadata field
+     * @param collection Collection owner of Item
+     * @param authKeys authority keys
+     * @param locale   explicit localization key if available
+     * @return the label of each key, by key (keys without a label may be missing). The key itself is the label of
+     * the keys whose lookup failed, which isn't cached.
+     */
+    public Map<String, String> getLabels(String fieldKey, Collection collection,
+                                         java.util.Collection<String> authKeys, String locale);
+
     /**
      * Predicate, is there a Choices configuration of any kind for the
      * given metadata field?
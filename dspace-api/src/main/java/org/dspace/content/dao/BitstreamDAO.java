@@ -16,6 +16,7 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
+import org.dspace.storage.bitstore.StoreUsage;
 
 /**
  * Database Access Object interface class for the Bitstream object.
@@ -33,6 +34,18 @@ public interface BitstreamDAO extends DSpaceObjectLegacySupportDAO<Bitstream> {
 
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException;
 
+    /**
+     * Find the bitstreams, in the same store, which are not deleted and have the same size and checksum as the
+     * given bitstream but another internal identifier, i.e. the bitstreams which probably have the same content.
+     *
+     * @param context   The relevant DSpace Context.
+     * @param bitstream the bitstream, with its size and checksum
+     * @param limit     the maximum number of bitstreams to return
+     * @return the bitstreams with the same size and checksum
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findDuplicateContent(Context context, Bitstream bitstream, int limit) throws SQLException;
+
     public List<Bitstream> findBitstreamsWithNoRecentChecksum(Context context) throws SQLException;
 
     public Iterator<Bitstream> findByCommunity(Context context, Community community) throws SQLException;
@@ -45,6 +58,17 @@ public interface BitstreamDAO extends DSpaceObjectLegacySupportDAO<Bitstream> {
 
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    /**
+     * Count the bitstreams which aren't deleted in a store, and the distinct assets (internal identifiers) they
+     * reference, with their sizes.
+     *
+     * @param context     The relevant DSpace Context.
+     * @param storeNumber the number of the store
+     * @return the usage of the store
+     * @throws SQLException if database error
+     */
+    public StoreUsage getStoreUsage(Context context, Integer storeNumber) throws SQLException;
+
     int countRows(Context context) throws SQLException;
 
     int countDeleted(Context context) throws SQLException;
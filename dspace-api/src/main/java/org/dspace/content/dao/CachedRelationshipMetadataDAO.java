@@ -0,0 +1,75 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+import org.dspace.content.CachedRelationshipMetadata;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+
+/**
+ * Database Access Object interface class for the CachedRelationshipMetadata object.
+ * The implementation of this class is responsible for all database calls for the CachedRelationshipMetadata object
+ * and is autowired by spring. This class should only be accessed from a single service and should never be exposed
+ * outside of the API
+ */
+public interface CachedRelationshipMetadataDAO extends GenericDAO<CachedRelationshipMetadata> {
+
+    /**
+     * Find the virtual metadata values stored for an item, ordered by relationship and ordinal. The values are
+     * loaded read-only: changes to them are not saved.
+     *
+     * @param context DSpace context object
+     * @param item    the item
+     * @return the stored values
+     * @throws SQLException if an SQL error occurs
+     */
+    List<CachedRelationshipMetadata> findByItem(Context context, Item item) throws SQLException;
+
+    /**
+     * Delete the virtual metadata values stored for an item
+     *
+     * @param context DSpace context object
+     * @param item    the item
+     * @throws SQLException if an SQL error occurs
+     */
+    void deleteByItem(Context context, Item item) throws SQLException;
+
+    /**
+     * Delete the virtual metadata values stored for an item, derived from the given relationships
+     *
+     * @param context         DSpace context object
+     * @param item            the item
+     * @param relationshipIds the ids of the relationships
+     * @throws SQLException if an SQL error occurs
+     */
+    void deleteByItemAndRelationships(Context context, Item item, Collection<Integer> relationshipIds)
+        throws SQLException;
+
+    /**
+     * Delete the virtual metadata values stored for all items, derived from a relationship
+     *
+     * @param context        DSpace context object
+     * @param relationshipId the id of the relationship
+     * @throws SQLException if an SQL error occurs
+     */
+    void deleteByRelationship(Context context, int relationshipId) throws SQLException;
+
+    /**
+     * Count the virtual metadata values stored for all items
+     *
+     * @param context DSpace context object
+     * @return the number of stored values
+     * @throws SQLException if an SQL error occurs
+     */
+    long countAll(Context context) throws SQLException;
+}
@@ -31,8 +31,25 @@ import org.dspace.eperson.EPerson;
 public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
     Iterator<Item> findAll(Context context, boolean archived) throws SQLException;
 
+    /**
+     * Find a page of the items, by offset. Reading a page costs more the further it is, prefer
+     * {@link #findAllAfter(Context, boolean, UUID, int)} to go through all the items.
+     */
     Iterator<Item> findAll(Context context, boolean archived, int limit, int offset) throws SQLException;
 
+    /**
+     * Find a page of the items ordered by UUID, starting after the last item of the previous page (keyset
+     * pagination). Unlike paging by offset, reading a page costs the same wherever it is.
+     *
+     * @param context  the DSpace context.
+     * @param archived true for the archived items, false for the others.
+     * @param after    the UUID of the last item of the previous page, or null for the first page.
+     * @param limit    the maximum number of items of the page.
+     * @return the items of the page, ordered by UUID.
+     * @throws SQLException if database error.
+     */
+    List<Item> findAllAfter(Context context, boolean archived, UUID after, int limit) throws SQLException;
+
     @Deprecated Iterator<Item> findAll(Context context, boolean archived, boolean withdrawn) throws SQLException;
 
     /**
@@ -48,6 +65,17 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the UUIDs of all regular items (see {@link #findAllRegularItems(Context)}), ordered by UUID.
+     * Only the identifiers are loaded, which allows callers to partition the set of items without
+     * materializing any Item entity.
+     *
+     * @param context the DSpace context.
+     * @return the UUIDs of all regular items.
+     * @throws SQLException if database error.
+     */
+    List<UUID> findAllRegularItemIds(Context context) throws SQLException;
+
     /**
      * Find all Items modified since a Date.
      *
@@ -59,6 +87,20 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
     Iterator<Item> findByLastModifiedSince(Context context, Instant since)
         throws SQLException;
 
+    /**
+     * Find all Items modified since a Date, ordered by last-modified date. The items are read in batches, and the
+     * Hibernate session can be cleared between batches so that long runs don't accumulate all the items read: the
+     * items of a batch must then be committed, and not be used anymore, once the next item of the iterator is read.
+     *
+     * @param context        Context
+     * @param since          Earliest interesting last-modified date.
+     * @param uncacheBatches true to clear the Hibernate session between batches
+     * @return iterator over items
+     * @throws SQLException if database error
+     */
+    Iterator<Item> findByLastModifiedSince(Context context, Instant since, boolean uncacheBatches)
+        throws SQLException;
+
     Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException;
 
     /**
@@ -107,6 +149,20 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
     Iterator<Item> findArchivedByCollection(Context context, Collection collection, Integer limit,
                                                    Integer offset) throws SQLException;
 
+    /**
+     * Find a page of the archived items of a collection ordered by UUID, starting after the last item of the
+     * previous page (keyset pagination).
+     *
+     * @param context    the DSpace context.
+     * @param collection the collection.
+     * @param after      the UUID of the last item of the previous page, or null for the first page.
+     * @param limit      the maximum number of items of the page.
+     * @return the items of the page, ordered by UUID.
+     * @throws SQLException if database error.
+     */
+    List<Item> findArchivedByCollectionAfter(Context context, Collection collection, UUID after, int limit)
+        throws SQLException;
+
     /**
      * Returns all the Items in an iterator that are archived and for which the given Collection is part of the Item's
      * Collections but it is not the owning collection
@@ -15,6 +15,7 @@ import org.dspace.content.Item;
 import org.dspace.content.Relationship;
 import org.dspace.content.RelationshipType;
 import org.dspace.content.dao.pojo.ItemUuidAndRelationshipId;
+import org.dspace.content.dao.pojo.RelatedItemState;
 import org.dspace.core.Context;
 import org.dspace.core.GenericDAO;
 
@@ -158,6 +159,22 @@ public interface RelationshipDAO extends GenericDAO<Relationship> {
         Context context, Item latestItem, RelationshipType relationshipType, boolean isLeft
     ) throws SQLException;
 
+    /**
+     * This method returns the relationships of the given item on one side, with the state of the item on the other
+     * side, selected like {@link #findByItem(Context, Item, boolean, boolean)} does with excludeTilted and
+     * excludeNonLatest.
+     *
+     * NOTE: This method does not return {@link Relationship}s for performance, it is used to check whether the
+     *       virtual metadata stored for the relationships of an item is still up to date.
+     * @param context the DSpace context.
+     * @param item    the item.
+     * @param isLeft  true for the relationships with the item on the left side, false for the right side.
+     * @return the relationship ids and the state of the item on the other side.
+     * @throws SQLException if something goes wrong.
+     */
+    public List<RelatedItemState> findRelatedItemStates(Context context, Item item, boolean isLeft)
+        throws SQLException;
+
     /**
      * This method returns a list of Relationship objects for the given typeName
      * @param context           The relevant DSpace context
@@ -33,6 +33,7 @@ import org.dspace.core.AbstractHibernateDSODAO;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.UUIDIterator;
+import org.dspace.storage.bitstore.StoreUsage;
 
 /**
  * Hibernate implementation of the Database Access Object interface class for the Bitstream object.
@@ -73,6 +74,23 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
         return list(context, criteriaQuery, false, Bitstream.class, -1, -1);
     }
 
+    @Override
+    public List<Bitstream> findDuplicateContent(Context context, Bitstream bitstream, int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT b FROM Bitstream b WHERE b.checksum = :checksum" +
+            " AND b.checksumAlgorithm = :checksumAlgorithm AND b.sizeBytes = :sizeBytes" +
+            " AND b.storeNumber = :storeNumber AND b.deleted = false" +
+            " AND b.internalId <> :internalId AND b.internalId NOT LIKE :registered");
+        query.setParameter("checksum", bitstream.getChecksum());
+        query.setParameter("checksumAlgorithm", bitstream.getChecksumAlgorithm());
+        query.setParameter("sizeBytes", bitstream.getSizeBytes());
+        query.setParameter("storeNumber", bitstream.getStoreNumber());
+        query.setParameter("internalId", bitstream.getInternalId());
+        // registered bitstreams reference files outside of the store
+        query.setParameter("registered", "-R%");
+        query.setMaxResults(limit);
+        return list(query);
+    }
+
     @Override
     public List<Bitstream> findBitstreamsWithNoRecentChecksum(Context context) throws SQLException {
         Query query = createQuery(context, "SELECT b FROM MostRecentChecksum c RIGHT JOIN Bitstream b " +
@@ -165,6 +183,18 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
         return countLong(context, criteriaQuery, criteriaBuilder, bitstreamRoot);
     }
 
+    @Override
+    public StoreUsage getStoreUsage(Context context, Integer storeNumber) throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "SELECT COALESCE(SUM(c.bitstreams), 0), COUNT(*), COALESCE(SUM(c.bitstreams * c.size_bytes), 0)," +
+                " COALESCE(SUM(c.size_bytes), 0) FROM (SELECT COUNT(*) AS bitstreams, MAX(size_bytes) AS size_bytes" +
+                " FROM bitstream WHERE deleted = false AND store_number = :storeNumber GROUP BY internal_id) c");
+        query.setParameter("storeNumber", storeNumber);
+        Object[] row = (Object[]) query.getSingleResult();
+        return new StoreUsage(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                              ((Number) row[2]).longValue(), ((Number) row[3]).longValue());
+    }
+
     @Override
     public int countRows(Context context) throws SQLException {
         return count(createQuery(context, "SELECT count(*) from Bitstream"));
@@ -0,0 +1,82 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.dao.impl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.Query;
+import org.apache.commons.collections4.ListUtils;
+import org.dspace.content.CachedRelationshipMetadata;
+import org.dspace.content.Item;
+import org.dspace.content.dao.CachedRelationshipMetadataDAO;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the CachedRelationshipMetadata object.
+ * This class is responsible for all database calls for the CachedRelationshipMetadata object and is autowired by
+ * spring. This class should never be accessed directly.
+ */
+public class CachedRelationshipMetadataDAOImpl extends AbstractHibernateDAO<CachedRelationshipMetadata>
+    implements CachedRelationshipMetadataDAO {
+
+    /**
+     * The maximum number of relationship ids in a single delete statement
+     */
+    private static final int MAX_IN_CLAUSE = 1000;
+
+    protected CachedRelationshipMetadataDAOImpl() {
+        super();
+    }
+
+    @Override
+    public List<CachedRelationshipMetadata> findByItem(Context context, Item item) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT c FROM CachedRelationshipMetadata c WHERE c.itemId = :itemId " +
+            "ORDER BY c.relationshipId, c.ordinal");
+        query.setParameter("itemId", item.getID());
+        query.setHint("org.hibernate.readOnly", true);
+        return list(query);
+    }
+
+    @Override
+    public void deleteByItem(Context context, Item item) throws SQLException {
+        Query query = createQuery(context, "DELETE FROM CachedRelationshipMetadata WHERE itemId = :itemId");
+        query.setParameter("itemId", item.getID());
+        query.executeUpdate();
+    }
+
+    @Override
+    public void deleteByItemAndRelationships(Context context, Item item, Collection<Integer> relationshipIds)
+        throws SQLException {
+        for (List<Integer> ids : ListUtils.partition(new ArrayList<>(relationshipIds), MAX_IN_CLAUSE)) {
+            Query query = createQuery(context,
+                "DELETE FROM CachedRelationshipMetadata WHERE itemId = :itemId AND relationshipId IN (:ids)");
+            query.setParameter("itemId", item.getID());
+            query.setParameter("ids", ids);
+            query.executeUpdate();
+        }
+    }
+
+    @Override
+    public void deleteByRelationship(Context context, int relationshipId) throws SQLException {
+        Query query = createQuery(context,
+            "DELETE FROM CachedRelationshipMetadata WHERE relationshipId = :relationshipId");
+        query.setParameter("relationshipId", relationshipId);
+        query.executeUpdate();
+    }
+
+    @Override
+    public long countAll(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(c) FROM CachedRelationshipMetadata c");
+        return (long) query.getSingleResult();
+    }
+}
@@ -11,8 +11,10 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import jakarta.persistence.Query;
@@ -49,16 +51,31 @@ import org.dspace.util.JpaCriteriaBuilderKit;
 public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDAO {
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(ItemDAOImpl.class);
 
+    /**
+     * Keys of the keyset pagination of items by UUID
+     */
+    private static final List<String> ID_KEY = List.of("i.id");
+
     protected ItemDAOImpl() {
     }
 
+    /**
+     * Iterate over the items matching a query in UUID order, reading them in batches
+     */
+    private Iterator<Item> iterateById(Context context, String from, String where, Map<String, Object> parameters) {
+        return keysetIterator(context, Item.class, from, where, parameters, ID_KEY, false);
+    }
+
     @Override
     public Iterator<Item> findAll(Context context, boolean archived) throws SQLException {
-        Query query = createQuery(context, "SELECT i.id FROM Item i WHERE inArchive=:in_archive ORDER BY id");
-        query.setParameter("in_archive", archived);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateById(context, "FROM Item i", "i.inArchive = :in_archive", Map.of("in_archive", archived));
+    }
+
+    @Override
+    public List<Item> findAllAfter(Context context, boolean archived, UUID after, int limit) throws SQLException {
+        return findKeysetPage(context, Item.class, "FROM Item i", "i.inArchive = :in_archive",
+                              Map.of("in_archive", archived), ID_KEY, after == null ? null : new Object[] {after},
+                              limit);
     }
 
     @Override
@@ -75,17 +92,20 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     @Override
     public Iterator<Item> findAll(Context context, boolean archived, boolean withdrawn) throws SQLException {
-        Query query = createQuery(context,
-                "SELECT i.id FROM Item i WHERE inArchive=:in_archive or withdrawn=:withdrawn ORDER BY id");
-        query.setParameter("in_archive", archived);
-        query.setParameter("withdrawn", withdrawn);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateById(context, "FROM Item i", "i.inArchive = :in_archive OR i.withdrawn = :withdrawn",
+                           Map.of("in_archive", archived, "withdrawn", withdrawn));
     }
 
     @Override
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException {
+        // Same query as findAllRegularItemIds, read in batches
+        return iterateById(context, "FROM Item as i LEFT JOIN Version as v ON i = v.item",
+                           "i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL)",
+                           Map.of());
+    }
+
+    @Override
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException {
         // NOTE: This query includes archived items, withdrawn items and older versions of items.
         //       It does not include workspace, workflow or template items.
         Query query = createQuery(
@@ -97,44 +117,32 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         );
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return uuids;
     }
 
     @Override
     public Iterator<Item> findAll(Context context, boolean archived,
                                   boolean withdrawn, boolean discoverable, Instant lastModified)
         throws SQLException {
-        StringBuilder queryStr = new StringBuilder();
-        queryStr.append("SELECT i.id FROM Item i");
-        queryStr.append(" WHERE (inArchive = :in_archive OR withdrawn = :withdrawn)");
-        queryStr.append(" AND discoverable = :discoverable");
+        StringBuilder where = new StringBuilder();
+        where.append("(i.inArchive = :in_archive OR i.withdrawn = :withdrawn)");
+        where.append(" AND i.discoverable = :discoverable");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("in_archive", archived);
+        parameters.put("withdrawn", withdrawn);
+        parameters.put("discoverable", discoverable);
 
         if (lastModified != null) {
-            queryStr.append(" AND lastModified > :last_modified");
+            where.append(" AND i.lastModified > :last_modified");
+            parameters.put("last_modified", lastModified);
         }
-        queryStr.append(" ORDER BY i.id");
-
-        Query query = createQuery(context, queryStr.toString());
-        query.setParameter("in_archive", archived);
-        query.setParameter("withdrawn", withdrawn);
-        query.setParameter("discoverable", discoverable);
-        if (lastModified != null) {
-            query.setParameter("last_modified", lastModified);
-        }
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateById(context, "FROM Item i", where.toString(), parameters);
     }
 
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
-        Query query = createQuery(context,
-                "SELECT i.id FROM Item i WHERE inArchive=:in_archive and submitter=:submitter ORDER BY id");
-        query.setParameter("in_archive", true);
-        query.setParameter("submitter", eperson);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateById(context, "FROM Item i", "i.inArchive = :in_archive AND i.submitter = :submitter",
+                           Map.of("in_archive", true, "submitter", eperson));
     }
 
     @Override
@@ -143,11 +151,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         if (!retrieveAllItems) {
             return findBySubmitter(context, eperson);
         }
-        Query query = createQuery(context, "SELECT i.id FROM Item i WHERE submitter=:submitter ORDER BY id");
-        query.setParameter("submitter", eperson);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateById(context, "FROM Item i", "i.submitter = :submitter", Map.of("submitter", eperson));
     }
 
     @Override
@@ -174,21 +178,15 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
     @Override
     public Iterator<Item> findByMetadataField(Context context, MetadataField metadataField, String value,
                                               boolean inArchive) throws SQLException {
-        String hqlQueryString = "SELECT item.id FROM Item as item join item.metadata metadatavalue " +
-                "WHERE item.inArchive=:in_archive AND metadatavalue.metadataField = :metadata_field";
+        String where = "i.inArchive = :in_archive AND metadatavalue.metadataField = :metadata_field";
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("in_archive", inArchive);
+        parameters.put("metadata_field", metadataField);
         if (value != null) {
-            hqlQueryString += " AND STR(metadatavalue.value) = :text_value";
+            where += " AND STR(metadatavalue.value) = :text_value";
+            parameters.put("text_value", value);
         }
-        Query query = createQuery(context, hqlQueryString + " ORDER BY item.id");
-
-        query.setParameter("in_archive", inArchive);
-        query.setParameter("metadata_field", metadataField);
-        if (value != null) {
-            query.setParameter("text_value", value);
-        }
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateById(context, "FROM Item as i join i.metadata metadatavalue", where, parameters);
     }
 
     @Override
@@ -292,21 +290,19 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
     @Override
     public Iterator<Item> findByAuthorityValue(Context context, MetadataField metadataField, String authority,
                                                boolean inArchive) throws SQLException {
-        Query query = createQuery(context,
-                  "SELECT item.id FROM Item as item join item.metadata metadatavalue " +
-                  "WHERE item.inArchive=:in_archive AND metadatavalue.metadataField = :metadata_field AND " +
-                      "metadatavalue.authority = :authority ORDER BY item.id");
-        query.setParameter("in_archive", inArchive);
-        query.setParameter("metadata_field", metadataField);
-        query.setParameter("authority", authority);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return iterateById(context, "FROM Item as i join i.metadata metadatavalue",
+                           "i.inArchive = :in_archive AND metadatavalue.metadataField = :metadata_field AND " +
+                               "metadatavalue.authority = :authority",
+                           Map.of("in_archive", inArchive, "metadata_field", metadataField, "authority", authority));
     }
 
     @Override
     public Iterator<Item> findArchivedByCollection(Context context, Collection collection, Integer limit,
                                                    Integer offset) throws SQLException {
+        if (limit == null && offset == null) {
+            return iterateById(context, "FROM Item i JOIN i.collections c",
+                               "i.inArchive = true AND c = :collection", Map.of("collection", collection));
+        }
         // Select UUID of all items which have this "collection" in their list of collections and are in_archive
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
         CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
@@ -330,6 +326,14 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return new UUIDIterator<Item>(context, uuids, Item.class, this);
     }
 
+    @Override
+    public List<Item> findArchivedByCollectionAfter(Context context, Collection collection, UUID after, int limit)
+        throws SQLException {
+        return findKeysetPage(context, Item.class, "FROM Item i JOIN i.collections c",
+                              "i.inArchive = true AND c = :collection", Map.of("collection", collection), ID_KEY,
+                              after == null ? null : new Object[] {after}, limit);
+    }
+
     @Override
     public Iterator<Item> findArchivedByCollectionExcludingOwning(Context context, Collection collection, Integer limit,
                                                                   Integer offset) throws SQLException {
@@ -360,24 +364,17 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     @Override
     public Iterator<Item> findAllByCollection(Context context, Collection collection) throws SQLException {
-        // Select UUID of all items which have this "collection" in their list of collections
-        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
-        CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
-        Root<Item> itemRoot = criteriaQuery.from(Item.class);
-        criteriaQuery.select(itemRoot.get(Item_.id));
-        criteriaQuery.where(criteriaBuilder.isMember(collection, itemRoot.get(Item_.collections)));
-        criteriaQuery.orderBy(criteriaBuilder.asc(itemRoot.get((Item_.id))));
-
-        // Transform into a query object to execute
-        Query query = createQuery(context, criteriaQuery);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        // All items which have this "collection" in their list of collections
+        return iterateById(context, "FROM Item i JOIN i.collections c", "c = :collection",
+                           Map.of("collection", collection));
     }
 
     @Override
     public Iterator<Item> findAllByCollection(Context context, Collection collection, Integer limit, Integer offset)
         throws SQLException {
+        if (limit == null && offset == null) {
+            return findAllByCollection(context, collection);
+        }
         // Build Query to select UUID of all items which have this "collection" in their list of collections.
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
         CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
@@ -439,12 +436,17 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
     @Override
     public Iterator<Item> findByLastModifiedSince(Context context, Instant since)
         throws SQLException {
-        Query query = createQuery(context,
-                "SELECT i.id FROM Item i WHERE lastModified > :last_modified ORDER BY id");
-        query.setParameter("last_modified", since);
-        @SuppressWarnings("unchecked")
-        List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return findByLastModifiedSince(context, since, false);
+    }
+
+    @Override
+    public Iterator<Item> findByLastModifiedSince(Context context, Instant since, boolean uncacheBatches)
+        throws SQLException {
+        // Items modified while iterating would come again after the last one: stop at the items modified until now
+        return keysetIterator(context, Item.class, "FROM Item i",
+                              "i.lastModified > :last_modified AND i.lastModified <= :until",
+                              Map.of("last_modified", since, "until", Instant.now()),
+                              List.of("i.lastModified", "i.id"), uncacheBatches);
     }
 
     @Override
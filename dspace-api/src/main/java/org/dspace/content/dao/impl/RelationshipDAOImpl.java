@@ -8,6 +8,7 @@
 package org.dspace.content.dao.impl;
 
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -27,6 +28,7 @@ import org.dspace.content.RelationshipType_;
 import org.dspace.content.Relationship_;
 import org.dspace.content.dao.RelationshipDAO;
 import org.dspace.content.dao.pojo.ItemUuidAndRelationshipId;
+import org.dspace.content.dao.pojo.RelatedItemState;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.RelationshipTypeService;
 import org.dspace.core.AbstractHibernateDAO;
@@ -328,6 +330,48 @@ public class RelationshipDAOImpl extends AbstractHibernateDAO<Relationship> impl
             .collect(Collectors.toList());
     }
 
+    @Override
+    public List<RelatedItemState> findRelatedItemStates(Context context, Item item, boolean isLeft)
+        throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<Relationship> relationshipRoot = criteriaQuery.from(Relationship.class);
+
+        if (isLeft) {
+            criteriaQuery.multiselect(
+                relationshipRoot.get(Relationship_.id),
+                relationshipRoot.get(Relationship_.relationshipType).get(RelationshipType_.leftwardType),
+                relationshipRoot.get(Relationship_.rightItem).get(Item_.id),
+                relationshipRoot.get(Relationship_.rightItem).get(Item_.lastModified),
+                relationshipRoot.get(Relationship_.leftPlace),
+                relationshipRoot.get(Relationship_.rightwardValue)
+            );
+            criteriaQuery.where(getLeftItemPredicate(criteriaBuilder, relationshipRoot, item, true, true));
+        } else {
+            criteriaQuery.multiselect(
+                relationshipRoot.get(Relationship_.id),
+                relationshipRoot.get(Relationship_.relationshipType).get(RelationshipType_.leftwardType),
+                relationshipRoot.get(Relationship_.leftItem).get(Item_.id),
+                relationshipRoot.get(Relationship_.leftItem).get(Item_.lastModified),
+                relationshipRoot.get(Relationship_.rightPlace),
+                relationshipRoot.get(Relationship_.leftwardValue)
+            );
+            criteriaQuery.where(getRightItemPredicate(criteriaBuilder, relationshipRoot, item, true, true));
+        }
+
+        List<Tuple> resultList = this.getHibernateSession(context).createQuery(criteriaQuery).getResultList();
+        return resultList.stream()
+            .map(t -> new RelatedItemState(
+                (Integer) t.get(0),
+                (String) t.get(1),
+                (UUID) t.get(2),
+                (Instant) t.get(3),
+                (Integer) t.get(4),
+                (String) t.get(5)
+            ))
+            .collect(Collectors.toList());
+    }
+
     @Override
     public List<Relationship> findByTypeName(Context context, String typeName)
             throws SQLException {
@@ -0,0 +1,71 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.dao.pojo;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.dspace.content.Relationship;
+import org.dspace.content.dao.RelationshipDAO;
+
+/**
+ * Used by {@link RelationshipDAO#findRelatedItemStates} to describe a relationship of an item, and the state of the
+ * item on the other side of it, without creating {@link Relationship}s. These are the properties the virtual metadata
+ * of the relationship depends on.
+ */
+public class RelatedItemState {
+
+    private final int relationshipId;
+    private final String leftwardType;
+    private final UUID itemUuid;
+    private final Instant lastModified;
+    private final int place;
+    private final String nameVariant;
+
+    /**
+     * @param relationshipId the id of the relationship
+     * @param leftwardType   the leftward type of the relationship type of the relationship
+     * @param itemUuid       the uuid of the item on the other side of the relationship
+     * @param lastModified   the last modification date of the item on the other side of the relationship
+     * @param place          the place of the relationship on the side of the item
+     * @param nameVariant    the name variant of the item on the other side of the relationship
+     */
+    public RelatedItemState(int relationshipId, String leftwardType, UUID itemUuid, Instant lastModified, int place,
+                            String nameVariant) {
+        this.relationshipId = relationshipId;
+        this.leftwardType = leftwardType;
+        this.itemUuid = itemUuid;
+        this.lastModified = lastModified;
+        this.place = place;
+        this.nameVariant = nameVariant;
+    }
+
+    public int getRelationshipId() {
+        return relationshipId;
+    }
+
+    public String getLeftwardType() {
+        return leftwardType;
+    }
+
+    public UUID getItemUuid() {
+        return itemUuid;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public int getPlace() {
+        return place;
+    }
+
+    public String getNameVariant() {
+        return nameVariant;
+    }
+}
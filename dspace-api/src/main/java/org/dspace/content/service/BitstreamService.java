@@ -9,6 +9,8 @@ package org.dspace.content.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
@@ -23,6 +25,7 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
+import org.dspace.storage.bitstore.StoreUsage;
 
 /**
  * Service interface class for the Bitstream object.
@@ -166,6 +169,34 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Retrieve the contents of the bitstream as a seekable channel, which allows ranges to be read without
+     * reading the content before them. Only some stores (e.g. the local assetstore) support this.
+     *
+     * @param context   DSpace context object
+     * @param bitstream DSpace bitstream
+     * @return a channel from which the bitstream can be read, or null if its store can only provide a stream
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public SeekableByteChannel retrieveChannel(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException;
+
+    /**
+     * Retrieve the path of the local file holding the contents of the bitstream, so that it can be sent by the
+     * servlet container. Only some stores (e.g. the local assetstore) keep the contents in local files.
+     *
+     * @param context   DSpace context object
+     * @param bitstream DSpace bitstream
+     * @return the path of the file, or null if the store of the bitstream doesn't keep it in a local file
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public Path retrievePath(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException;
+
     /**
      * Determine if this bitstream is registered (available elsewhere on
      * filesystem than in assetstore). More about registered items:
@@ -198,6 +229,18 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
 
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException;
 
+    /**
+     * Find the bitstreams, in the same store, which are not deleted and have the same size and checksum as the
+     * given bitstream but another internal identifier, i.e. the bitstreams which probably have the same content.
+     *
+     * @param context   The relevant DSpace Context.
+     * @param bitstream the bitstream, with its size and checksum
+     * @param limit     the maximum number of bitstreams to return
+     * @return the bitstreams with the same size and checksum
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findDuplicateContent(Context context, Bitstream bitstream, int limit) throws SQLException;
+
     public Iterator<Bitstream> getItemBitstreams(Context context, Item item) throws SQLException;
 
     public Iterator<Bitstream> getCollectionBitstreams(Context context, Collection collection) throws SQLException;
@@ -218,6 +261,18 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
 
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    /**
+     * Count the bitstreams which aren't deleted in a store, and the distinct assets they reference, with their sizes.
+     * Bitstreams share an asset when they are clones (e.g. in versions of an item) or when their content was
+     * deduplicated.
+     *
+     * @param context     The relevant DSpace Context.
+     * @param storeNumber the number of the store
+     * @return the usage of the store
+     * @throws SQLException if database error
+     */
+    public StoreUsage getStoreUsage(Context context, Integer storeNumber) throws SQLException;
+
     int countTotal(Context context) throws SQLException;
 
     int countDeletedBitstreams(Context context) throws SQLException;
@@ -114,9 +114,23 @@ public interface ItemService
      * @param offset  offset
      * @return an iterator over the items in the archive.
      * @throws SQLException if database error
+     * @see #findAllAfter(Context, UUID, int)
      */
     Iterator<Item> findAll(Context context, Integer limit, Integer offset) throws SQLException;
 
+    /**
+     * Get a page of the items in the archive, ordered by UUID, starting after the
+     * last item of the previous page. Unlike paging by offset, reading a page costs
+     * the same however far into the items it is.
+     *
+     * @param context DSpace context object
+     * @param after   UUID of the last item of the previous page, or null for the first page
+     * @param limit   maximum number of items of the page
+     * @return the items of the page
+     * @throws SQLException if database error
+     */
+    List<Item> findAllAfter(Context context, UUID after, int limit) throws SQLException;
+
     /**
      * Get all "final" items in the archive, both archived ("in archive" flag) or
      * withdrawn items are included. The order of the list is indeterminate.
@@ -140,6 +154,16 @@ public interface ItemService
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the UUIDs of all regular items, i.e. the items returned by {@link #findAllRegularItems(Context)},
+     * ordered by UUID.
+     *
+     * @param context the DSpace context.
+     * @return the UUIDs of all regular items.
+     * @throws SQLException if database error.
+     */
+    List<UUID> findAllRegularItemIds(Context context) throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
@@ -198,10 +222,25 @@ public interface ItemService
      * @param offset     offset value
      * @return an iterator over the items in the collection.
      * @throws SQLException if database error
+     * @see #findByCollectionAfter(Context, Collection, UUID, int)
      */
     Iterator<Item> findByCollection(Context context, Collection collection, Integer limit, Integer offset)
         throws SQLException;
 
+    /**
+     * Get a page of the archived items in this collection, ordered by UUID,
+     * starting after the last item of the previous page.
+     *
+     * @param context    DSpace context object
+     * @param collection Collection (parent)
+     * @param after      UUID of the last item of the previous page, or null for the first page
+     * @param limit      maximum number of items of the page
+     * @return the items of the page
+     * @throws SQLException if database error
+     */
+    List<Item> findByCollectionAfter(Context context, Collection collection, UUID after, int limit)
+        throws SQLException;
+
     /**
      * Get all the archived items mapped to this collection (excludes owning collection). The order is indeterminate.
      *
@@ -856,6 +895,21 @@ public interface ItemService
     Iterator<Item> findByLastModifiedSince(Context context, Instant last)
         throws SQLException;
 
+    /**
+     * Find all Items modified since a Date, in order of modification. The items
+     * are read in batches, and when uncacheBatches is true the Hibernate session is
+     * cleared between batches: each item must then be committed before the next one
+     * is read, and not be used afterwards.
+     *
+     * @param context        DSpace context object
+     * @param last           Earliest interesting last-modified date.
+     * @param uncacheBatches true to clear the session between batches
+     * @return iterator over items
+     * @throws SQLException if database error
+     */
+    Iterator<Item> findByLastModifiedSince(Context context, Instant last, boolean uncacheBatches)
+        throws SQLException;
+
     /**
      * counts items in the given community
      *
@@ -17,6 +17,7 @@ import org.dspace.content.Relationship;
 import org.dspace.content.Relationship.LatestVersionStatus;
 import org.dspace.content.RelationshipType;
 import org.dspace.content.dao.pojo.ItemUuidAndRelationshipId;
+import org.dspace.content.dao.pojo.RelatedItemState;
 import org.dspace.core.Context;
 import org.dspace.service.DSpaceCRUDService;
 
@@ -255,6 +256,18 @@ public interface RelationshipService extends DSpaceCRUDService<Relationship> {
         Context context, Item latestItem, RelationshipType relationshipType, boolean isLeft
     ) throws SQLException;
 
+    /**
+     * This method returns the ids of the relationships of the given item, with the state of the item on the other
+     * side of each relationship, for the relationships {@link #findByItem(Context, Item, Integer, Integer, boolean)}
+     * returns with excludeTilted, in the same order.
+     * NOTE: This method does not return {@link Relationship}s for performance.
+     * @param context the DSpace context.
+     * @param item    the item.
+     * @return the relationship ids and the state of the item on the other side.
+     * @throws SQLException if something goes wrong.
+     */
+    public List<RelatedItemState> findRelatedItemStates(Context context, Item item) throws SQLException;
+
     /**
      * This method will update the given item's metadata order.
      * If the relationships for the item have been modified and will calculate the place based on a
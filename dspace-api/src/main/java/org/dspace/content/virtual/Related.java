@@ -134,6 +134,15 @@ public class Related implements VirtualMetadataConfiguration {
         return false;
     }
 
+    /**
+     * The values of this bean depend on the items related to the given item, which can change without modifying it
+     * @return false
+     */
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
     /**
      * This method will find the correct Relationship from the given item to retrieve the other item from it
      * and pass this along to the next VirtualBean that's stored in this class.
@@ -56,4 +56,13 @@ public interface VirtualMetadataConfiguration {
      * @return  The populatewithNameVariant to be used by this bean
      */
     boolean getPopulateWithNameVariant();
+
+    /**
+     * Whether the values of this bean only depend on the metadata of the given item, so they can be stored with the
+     * virtual metadata of a relationship until that item is modified
+     * @return  true if the values only depend on the given item, false if they depend on other items as well
+     */
+    default boolean isCacheable() {
+        return true;
+    }
 }
@@ -0,0 +1,106 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.virtual;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.content.Item;
+import org.dspace.content.RelationshipMetadataService;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.utils.DSpace;
+
+/**
+ * Script to derive the virtual metadata of items from their relationships again, and store it (see the
+ * relationship.virtual-metadata.cache configuration property), or to remove the stored virtual metadata. With the
+ * "outdated" option, only the virtual metadata which is missing or outdated is derived again, which is meant to be
+ * scheduled.
+ */
+public class VirtualMetadataRebuild extends DSpaceRunnable<VirtualMetadataRebuildScriptConfiguration> {
+
+    /**
+     * The number of items processed in a transaction
+     */
+    private static final int BATCH_SIZE = 100;
+
+    private boolean help = false;
+    private boolean clear = false;
+    private boolean outdated = false;
+    private UUID itemId;
+
+    private ItemService itemService;
+    private RelationshipMetadataService relationshipMetadataService;
+
+    @Override
+    public void internalRun() throws Exception {
+        if (help) {
+            printHelp();
+            return;
+        }
+        if (!clear && !relationshipMetadataService.isVirtualMetadataCacheEnabled()) {
+            handler.logWarning("relationship.virtual-metadata.cache is disabled, the virtual metadata will only be " +
+                                   "used once it is enabled");
+        }
+
+        Context context = new Context();
+        context.turnOffAuthorisationSystem();
+
+        List<UUID> itemIds = itemId != null ? List.of(itemId) : itemService.findAllRegularItemIds(context);
+        int processed = 0;
+        for (UUID id : itemIds) {
+            Item item = itemService.find(context, id);
+            if (item == null) {
+                handler.logWarning("Item " + id + " not found");
+                continue;
+            }
+            if (clear) {
+                relationshipMetadataService.clearVirtualMetadataCache(context, item);
+            } else if (outdated) {
+                relationshipMetadataService.refreshVirtualMetadataCache(context, item);
+            } else {
+                relationshipMetadataService.rebuildVirtualMetadataCache(context, item);
+            }
+            processed++;
+            if (processed % BATCH_SIZE == 0) {
+                context.commit();
+                context.uncacheEntities();
+                handler.logInfo("Processed " + processed + " of " + itemIds.size() + " items");
+            }
+        }
+
+        context.restoreAuthSystemState();
+        context.complete();
+        handler.logInfo((clear ? "Removed" : outdated ? "Refreshed" : "Rebuilt") + " the stored virtual metadata of " + processed + " items");
+    }
+
+    @Override
+    public VirtualMetadataRebuildScriptConfiguration getScriptConfiguration() {
+        return new DSpace().getServiceManager().getServiceByName("rebuild-virtual-metadata",
+                                                                 VirtualMetadataRebuildScriptConfiguration.class);
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        itemService = ContentServiceFactory.getInstance().getItemService();
+        relationshipMetadataService = ContentServiceFactory.getInstance().getRelationshipMetadataService();
+        help = commandLine.hasOption('h');
+        clear = commandLine.hasOption('c');
+        outdated = commandLine.hasOption('o');
+        if (commandLine.hasOption('i')) {
+            try {
+                itemId = UUID.fromString(commandLine.getOptionValue('i'));
+            } catch (IllegalArgumentException e) {
+                throw new ParseException("Invalid item UUID: " + commandLine.getOptionValue('i'));
+            }
+        }
+    }
+}
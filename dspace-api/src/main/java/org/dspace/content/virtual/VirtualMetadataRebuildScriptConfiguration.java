@@ -0,0 +1,47 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.virtual;
+
+import org.apache.commons.cli.Options;
+import org.dspace.scripts.configuration.ScriptConfiguration;
+
+/**
+ * The {@link ScriptConfiguration} for the {@link VirtualMetadataRebuild} script
+ */
+public class VirtualMetadataRebuildScriptConfiguration<T extends VirtualMetadataRebuild>
+    extends ScriptConfiguration<T> {
+
+    private Class<T> dspaceRunnableClass;
+
+    @Override
+    public Class<T> getDspaceRunnableClass() {
+        return dspaceRunnableClass;
+    }
+
+    @Override
+    public void setDspaceRunnableClass(Class<T> dspaceRunnableClass) {
+        this.dspaceRunnableClass = dspaceRunnableClass;
+    }
+
+    @Override
+    public Options getOptions() {
+        if (options == null) {
+            Options options = new Options();
+
+            options.addOption("i", "item", true, "only process the item with this UUID");
+            options.addOption("c", "clear", false, "remove the stored virtual metadata instead of rebuilding it");
+            options.addOption("o", "outdated", false,
+                              "only derive the virtual metadata which is missing or outdated, e.g. because the " +
+                                  "related item was modified");
+            options.addOption("h", "help", false, "print this help message");
+
+            super.options = options;
+        }
+        return options;
+    }
+}
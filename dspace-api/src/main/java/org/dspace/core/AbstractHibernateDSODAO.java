@@ -8,9 +8,15 @@
 package org.dspace.core;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
@@ -51,6 +57,109 @@ public abstract class AbstractHibernateDSODAO<T extends DSpaceObject> extends Ab
         return uniqueResult(context, criteriaQuery, false, clazz);
     }
 
+    /**
+     * Find the DSOs with the given UUIDs at once, rather than one query per DSO. The DSOs already in the Hibernate
+     * session aren't read again.
+     * @param context current DSpace context.
+     * @param clazz DSO subtype of the records.
+     * @param ids the UUIDs of the records.
+     * @return the DSOs which exist, in the order of their UUIDs.
+     * @throws SQLException if database error.
+     */
+    protected List<T> findByIds(Context context, Class<T> clazz, List<UUID> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<T> objects = new ArrayList<>(getHibernateSession(context).byMultipleIds(clazz).multiLoad(ids));
+        objects.removeIf(Objects::isNull);
+        return objects;
+    }
+
+    /**
+     * Iterate over the DSOs matching a query with keyset pagination: the DSOs are read in batches ordered by the
+     * given keys, each batch selecting the DSOs after the last one of the previous batch, so reading the last batch
+     * costs as much as reading the first one (see {@link KeysetIterator}).
+     * @param context current DSpace context.
+     * @param clazz DSO subtype of the records.
+     * @param from the FROM clause of the query, e.g. "FROM Item i JOIN i.collections c".
+     * @param where the conditions of the query, or null.
+     * @param parameters the parameters of the conditions.
+     * @param keys the expressions the DSOs are ordered by, the last one being the UUID of the DSO,
+     *             e.g. "i.lastModified", "i.id".
+     * @param uncacheBatches true to clear the Hibernate session before reading each batch after the first one.
+     * @return an iterator over the DSOs.
+     */
+    protected Iterator<T> keysetIterator(Context context, Class<T> clazz, String from, String where,
+                                         Map<String, Object> parameters, List<String> keys, boolean uncacheBatches) {
+        return new KeysetIterator<>(context, clazz, this,
+            (after, limit) -> findKeys(context, from, where, parameters, keys, after, limit),
+            KeysetIterator.DEFAULT_BATCH_SIZE, uncacheBatches);
+    }
+
+    /**
+     * Find a page of the DSOs matching a query with keyset pagination, see
+     * {@link #keysetIterator(Context, Class, String, String, Map, List, boolean)}.
+     * @param after the keys of the last DSO of the previous page, or null for the first page.
+     * @param limit the maximum number of DSOs of the page.
+     * @return the DSOs of the page, in order.
+     * @throws SQLException if database error.
+     */
+    protected List<T> findKeysetPage(Context context, Class<T> clazz, String from, String where,
+                                     Map<String, Object> parameters, List<String> keys, Object[] after, int limit)
+        throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        for (Object[] key : findKeys(context, from, where, parameters, keys, after, limit)) {
+            ids.add((UUID) key[key.length - 1]);
+        }
+        return findByIds(context, clazz, ids);
+    }
+
+    /**
+     * Find the keys of the DSOs matching a query which come after the given keys, in order. The query seeks
+     * straight to the first DSO with the index of the keys, e.g. "WHERE (a > :a) OR (a = :a AND id > :id)".
+     */
+    private List<Object[]> findKeys(Context context, String from, String where, Map<String, Object> parameters,
+                                    List<String> keys, Object[] after, int limit) throws SQLException {
+        StringBuilder queryString = new StringBuilder("SELECT DISTINCT ").append(String.join(", ", keys))
+            .append(" ").append(from);
+        List<String> conditions = new ArrayList<>();
+        if (StringUtils.isNotBlank(where)) {
+            conditions.add("(" + where + ")");
+        }
+        if (after != null) {
+            List<String> seek = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                StringBuilder condition = new StringBuilder("(");
+                for (int j = 0; j < i; j++) {
+                    condition.append(keys.get(j)).append(" = :keyset_").append(j).append(" AND ");
+                }
+                condition.append(keys.get(i)).append(" > :keyset_").append(i).append(")");
+                seek.add(condition.toString());
+            }
+            conditions.add("(" + String.join(" OR ", seek) + ")");
+        }
+        if (!conditions.isEmpty()) {
+            queryString.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        queryString.append(" ORDER BY ").append(String.join(", ", keys));
+
+        Query query = createQuery(context, queryString.toString());
+        if (parameters != null) {
+            parameters.forEach(query::setParameter);
+        }
+        if (after != null) {
+            for (int i = 0; i < keys.size(); i++) {
+                query.setParameter("keyset_" + i, after[i]);
+            }
+        }
+        query.setMaxResults(limit);
+        List<Object[]> result = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            result.add(row instanceof Object[] ? (Object[]) row : new Object[] {row});
+        }
+        return result;
+    }
+
     /**
      * Add left outer join on all metadata fields which are passed to this function.
      * The identifier of the join will be the toString() representation of the metadata field.
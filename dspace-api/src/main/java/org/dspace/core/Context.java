@@ -10,10 +10,12 @@ package org.dspace.core;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
@@ -21,10 +23,14 @@ import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.AuthorizationCacheInvalidations;
 import org.dspace.authorize.ResourcePolicy;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizationCacheService;
 import org.dspace.content.DSpaceObject;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
+import org.dspace.eperson.GroupHierarchy;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.event.Dispatcher;
 import org.dspace.event.Event;
@@ -124,6 +130,24 @@ public class Context implements AutoCloseable {
      */
     private final ContextReadOnlyCache readOnlyCache = new ContextReadOnlyCache();
 
+    /**
+     * The changes of the current transaction which invalidate results of the shared authorization cache
+     */
+    private final AuthorizationCacheInvalidations authorizationCacheInvalidations =
+        new AuthorizationCacheInvalidations();
+
+    /**
+     * The sequence number of the shared authorization cache at the time a missing result was looked up, by key
+     */
+    private final Map<String, Long> authorizationCacheSequences = new HashMap<>();
+
+    private AuthorizationCacheService authorizationCacheService;
+
+    /**
+     * The group to group memberships loaded during the current transaction, with the changes made since
+     */
+    private GroupHierarchy groupHierarchy;
+
     protected EventService eventService;
 
     private DBConnection dbConnection;
@@ -435,6 +459,11 @@ public class Context implements AutoCloseable {
         }
 
         try {
+            if (events != null) {
+                for (Event event : events) {
+                    authorizationCacheInvalidations.addEvent(event);
+                }
+            }
             // Dispatch events before committing changes to the database,
             // as the consumers may change something too
             dispatchEvents();
@@ -446,6 +475,8 @@ public class Context implements AutoCloseable {
             if (dbConnection != null) {
                 // Commit our changes (this closes the transaction but leaves database connection open)
                 dbConnection.commit();
+                groupHierarchy = null;
+                applyAuthorizationCacheInvalidations();
                 reloadContextBoundEntities();
             }
         }
@@ -570,6 +601,9 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            groupHierarchy = null;
+            authorizationCacheInvalidations.clear();
+            authorizationCacheSequences.clear();
         }
     }
 
@@ -608,6 +642,9 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            groupHierarchy = null;
+            authorizationCacheInvalidations.clear();
+            authorizationCacheSequences.clear();
         }
     }
 
@@ -906,16 +943,77 @@ public class Context implements AutoCloseable {
         dbConnection.uncacheEntity(entity);
     }
 
+    /**
+     * @return the group to group memberships loaded by the GroupService during the current transaction, or null
+     */
+    public GroupHierarchy getGroupHierarchy() {
+        return groupHierarchy;
+    }
+
+    /**
+     * Keep the group to group memberships until the end of the current transaction. It must include the changes of
+     * the memberships made by this transaction, as a commit or rollback discards it.
+     *
+     * @param groupHierarchy the group to group memberships
+     */
+    public void setGroupHierarchy(GroupHierarchy groupHierarchy) {
+        this.groupHierarchy = groupHierarchy;
+    }
+
     public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson) {
+        return getCachedAuthorizationResult(dspaceObject, action, eperson, true);
+    }
+
+    /**
+     * Get the cached result of an authorization check.
+     *
+     * @param dspaceObject   the object
+     * @param action         the action
+     * @param eperson        the user
+     * @param useInheritance whether the check takes the ADMIN rights on the parent objects into account
+     * @return the cached result, or null
+     */
+    public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson,
+                                                boolean useInheritance) {
+        Boolean result = null;
         if (isReadOnly()) {
-            return readOnlyCache.getCachedAuthorizationResult(dspaceObject, action, eperson);
-        } else {
-            return null;
+            result = readOnlyCache.getCachedAuthorizationResult(dspaceObject, action, eperson);
+        }
+        if (result == null && dspaceObject != null && isAuthorizationCacheShared()) {
+            String key = authorizationCacheService.getAuthorizationKey(this, dspaceObject, action, eperson,
+                                                                       useInheritance);
+            result = getSharedCachedResult(key);
+            if (result != null && isReadOnly()) {
+                readOnlyCache.cacheAuthorizedAction(dspaceObject, action, eperson, result);
+            }
         }
+        return result;
     }
 
     public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, Boolean result,
                                       ResourcePolicy rp) {
+        cacheAuthorizedAction(dspaceObject, action, eperson, result, rp, true, true);
+    }
+
+    public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, Boolean result,
+                                      ResourcePolicy rp, boolean shareable) {
+        cacheAuthorizedAction(dspaceObject, action, eperson, result, rp, shareable, true);
+    }
+
+    /**
+     * Cache the result of an authorization check.
+     *
+     * @param dspaceObject the object
+     * @param action       the action
+     * @param eperson      the user
+     * @param result       whether the user is authorized
+     * @param rp           the policy which authorized the user, if any
+     * @param shareable    false if the result may change without any modification, e.g. because it depends on
+     *                     the start or end date of a policy. Such results are only cached by this Context.
+     * @param useInheritance whether the check took the ADMIN rights on the parent objects into account
+     */
+    public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, Boolean result,
+                                      ResourcePolicy rp, boolean shareable, boolean useInheritance) {
         if (isReadOnly()) {
             readOnlyCache.cacheAuthorizedAction(dspaceObject, action, eperson, result);
             try {
@@ -924,20 +1022,87 @@ public class Context implements AutoCloseable {
                 log.warn("Unable to uncache a resource policy when in read-only mode", e);
             }
         }
+        if (dspaceObject != null && result != null && isAuthorizationCacheShared()) {
+            String key = authorizationCacheService.getAuthorizationKey(this, dspaceObject, action, eperson,
+                                                                       useInheritance);
+            putSharedCachedResult(key, dspaceObject.getID(), eperson, result, shareable);
+        }
     }
 
     public Boolean getCachedGroupMembership(Group group, EPerson eperson) {
+        Boolean result = null;
         if (isReadOnly()) {
-            return readOnlyCache.getCachedGroupMembership(group, eperson);
-        } else {
-            return null;
+            result = readOnlyCache.getCachedGroupMembership(group, eperson);
         }
+        if (result == null && group != null && isAuthorizationCacheShared()) {
+            result = getSharedCachedResult(authorizationCacheService.getGroupMembershipKey(this, group, eperson));
+            if (result != null && isReadOnly()) {
+                readOnlyCache.cacheGroupMembership(group, eperson, result);
+            }
+        }
+        return result;
     }
 
     public void cacheGroupMembership(Group group, EPerson eperson, Boolean isMember) {
         if (isReadOnly()) {
             readOnlyCache.cacheGroupMembership(group, eperson, isMember);
         }
+        if (group != null && isMember != null && isAuthorizationCacheShared()) {
+            putSharedCachedResult(authorizationCacheService.getGroupMembershipKey(this, group, eperson), null,
+                                  eperson, isMember, true);
+        }
+    }
+
+    /**
+     * Record a change of the current transaction which invalidates the cached authorizations on an object, e.g.
+     * a change of its policies. The shared authorization cache isn't used anymore by this Context until the
+     * transaction is committed, after which the invalidation is applied.
+     *
+     * @param objectId the id of the object, or null if all cached authorizations are invalidated
+     */
+    public void invalidateCachedAuthorizations(UUID objectId) {
+        authorizationCacheInvalidations.invalidateObject(objectId);
+    }
+
+    /**
+     * Shared results are only used when the current transaction didn't change anything which may affect them.
+     */
+    protected boolean isAuthorizationCacheShared() {
+        if (hasEvents() || !authorizationCacheInvalidations.isEmpty()) {
+            return false;
+        }
+        if (authorizationCacheService == null) {
+            authorizationCacheService = AuthorizeServiceFactory.getInstance().getAuthorizationCacheService();
+        }
+        return authorizationCacheService.isEnabled();
+    }
+
+    private Boolean getSharedCachedResult(String key) {
+        Boolean result = authorizationCacheService.get(key);
+        if (result == null) {
+            // results computed from now on are only valid if nothing was invalidated in the meantime
+            authorizationCacheSequences.put(key, authorizationCacheService.getSequence());
+        }
+        return result;
+    }
+
+    private void putSharedCachedResult(String key, UUID objectId, EPerson eperson, boolean result,
+                                       boolean shareable) {
+        Long sequence = authorizationCacheSequences.remove(key);
+        if (sequence != null && shareable) {
+            authorizationCacheService.put(key, objectId, eperson == null ? null : eperson.getID(), result, sequence);
+        }
+    }
+
+    private void applyAuthorizationCacheInvalidations() {
+        if (!authorizationCacheInvalidations.isEmpty()) {
+            if (authorizationCacheService == null) {
+                authorizationCacheService = AuthorizeServiceFactory.getInstance().getAuthorizationCacheService();
+            }
+            authorizationCacheService.invalidate(authorizationCacheInvalidations);
+            authorizationCacheInvalidations.clear();
+        }
+        authorizationCacheSequences.clear();
     }
 
     public void cacheAllMemberGroupsSet(EPerson ePerson, Set<Group> groups) {
@@ -0,0 +1,120 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.common.collect.AbstractIterator;
+import org.dspace.content.DSpaceObject;
+
+/**
+ * Iterator implementation which reads the objects matching a query in batches, each batch starting after the last
+ * object of the previous batch (keyset or "seek" pagination) rather than at an offset. Every batch costs the same
+ * however far the iteration is, and only one batch of objects is loaded at a time, with a single query.
+ * <p>
+ * Like {@link UUIDIterator}, the iterator isn't invalidated by a commit while iterating. When asked to, the
+ * iterator clears the Hibernate session before reading each batch after the first: the objects of the previous
+ * batches then must not be used anymore, and their changes must be committed before the next batch is read.
+ *
+ * @param <T> class type
+ */
+public class KeysetIterator<T extends DSpaceObject> extends AbstractIterator<T> {
+
+    /**
+     * The default number of objects read at once
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Finds the keys of a batch of objects
+     */
+    @FunctionalInterface
+    public interface KeysetQuery {
+
+        /**
+         * @param after the keys of the last object of the previous batch, or null for the first batch
+         * @param limit the maximum number of objects of the batch
+         * @return the keys of the objects of the batch, in order. The UUID of the object is the last key.
+         */
+        List<Object[]> find(Object[] after, int limit) throws SQLException;
+    }
+
+    private final Context context;
+
+    private final Class<T> clazz;
+
+    private final AbstractHibernateDSODAO<T> dao;
+
+    private final KeysetQuery query;
+
+    private final int batchSize;
+
+    private final boolean uncacheBatches;
+
+    private Iterator<T> batch = Collections.emptyIterator();
+
+    private Object[] last;
+
+    private boolean lastBatch;
+
+    /**
+     * @param context        the DSpace context
+     * @param clazz          the class of the objects
+     * @param dao            the DAO of the objects
+     * @param query          finds the keys of each batch
+     * @param batchSize      the number of objects read at once
+     * @param uncacheBatches true to clear the Hibernate session before reading each batch after the first
+     */
+    public KeysetIterator(Context context, Class<T> clazz, AbstractHibernateDSODAO<T> dao, KeysetQuery query,
+                          int batchSize, boolean uncacheBatches) {
+        this.context = context;
+        this.clazz = clazz;
+        this.dao = dao;
+        this.query = query;
+        this.batchSize = Math.max(1, batchSize);
+        this.uncacheBatches = uncacheBatches;
+    }
+
+    @Override
+    protected T computeNext() {
+        try {
+            while (!batch.hasNext()) {
+                if (lastBatch) {
+                    return endOfData();
+                }
+                readBatch();
+            }
+            return batch.next();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void readBatch() throws SQLException {
+        List<Object[]> keys = query.find(last, batchSize);
+        lastBatch = keys.size() < batchSize;
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (uncacheBatches && last != null) {
+            context.uncacheEntities();
+        }
+        last = keys.get(keys.size() - 1);
+
+        List<UUID> ids = new ArrayList<>(keys.size());
+        for (Object[] key : keys) {
+            ids.add((UUID) key[key.length - 1]);
+        }
+        batch = dao.findByIds(context, clazz, ids).iterator();
+    }
+}
@@ -0,0 +1,325 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.DSpaceObjectService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Queue of DSpace objects waiting to be reindexed after a MODIFY or MODIFY_METADATA event.
+ * <p>
+ * The {@link IndexEventConsumer} only merges the events of a single transaction. Scripts committing after every
+ * change, or a client sending several PATCH requests for the same item, reindex the same object many times in a
+ * short period. When a debounce window is configured, the consumer hands those objects to this queue instead of
+ * reindexing them immediately. An object is reindexed once no new event arrived for it during the window (or at
+ * the latest after the maximum delay), so all events received in the meantime are merged into a single reindex.
+ * <p>
+ * The following configuration is used:
+ * <ul>
+ *     <li>discovery.index.debounce.window: the window in milliseconds (default 0, events are not debounced)</li>
+ *     <li>discovery.index.debounce.max-delay: the maximum delay in milliseconds between the first event and the
+ *     reindex of an object (default 10 times the window)</li>
+ * </ul>
+ * The pending objects are reindexed when the queue is stopped, e.g. at the end of a command line script or when
+ * the kernel shuts down. They are only kept in memory: if the JVM crashes (or is killed without a chance to shut
+ * down), the objects modified during the last maximum delay may not be reindexed, and "index-discovery" should be
+ * run for them.
+ */
+public class DebouncedIndexingQueue {
+
+    private static final Logger log = LogManager.getLogger(DebouncedIndexingQueue.class);
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private IndexingService indexingService;
+
+    private final Map<String, PendingObject> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private ScheduledExecutorService flusher;
+    private volatile boolean stopped;
+    private long window;
+    private long maxDelay;
+
+    /**
+     * An object waiting to be reindexed
+     */
+    protected static class PendingObject {
+        private final String key;
+        private final int type;
+        private final UUID id;
+        private final long first;
+        private long deadline;
+        private boolean unIndexFirst;
+        private int events;
+
+        protected PendingObject(String key, int type, UUID id, long now) {
+            this.key = key;
+            this.type = type;
+            this.id = id;
+            this.first = now;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        /**
+         * @return whether the existing document should be removed before reindexing the object
+         */
+        public boolean isUnIndexFirst() {
+            return unIndexFirst;
+        }
+
+        /**
+         * @return the number of events merged into this reindex
+         */
+        public int getEvents() {
+            return events;
+        }
+    }
+
+    /**
+     * Start the background reindex of the pending objects, if a debounce window is configured
+     */
+    public void start() {
+        long window = configurationService.getLongProperty("discovery.index.debounce.window", 0);
+        setWindow(window, configurationService.getLongProperty("discovery.index.debounce.max-delay", 10 * window));
+        if (window <= 0) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor();
+        long interval = Math.max(10, Math.min(window / 2, 1000));
+        flusher.scheduleWithFixedDelay(() -> flush(false), interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Debouncing discovery reindexes with a window of {} ms", window);
+    }
+
+    protected void setWindow(long window, long maxDelay) {
+        this.window = window;
+        this.maxDelay = Math.max(window, maxDelay);
+    }
+
+    /**
+     * Stop the background reindex and reindex all pending objects
+     */
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        stopped = true;
+        try {
+            flusher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(true);
+        log.info("Debounced discovery reindexes: {} events received, {} merged, {} objects reindexed, {} failed",
+            received.get(), merged.get(), indexed.get(), failed.get());
+    }
+
+    /**
+     * @return whether objects should be handed to this queue instead of being reindexed immediately
+     */
+    public boolean isEnabled() {
+        return flusher != null && !flusher.isShutdown();
+    }
+
+    /**
+     * Schedule the reindex of an object, merging it with the pending reindex of the same object if any.
+     *
+     * @param key          the unique index id of the object
+     * @param type         the type of the object, e.g. Constants.ITEM
+     * @param id           the id of the object
+     * @param unIndexFirst whether the existing document should be removed before reindexing the object
+     * @param events       the number of events about the object
+     */
+    public void add(String key, int type, UUID id, boolean unIndexFirst, int events) {
+        add(key, type, id, unIndexFirst, events, System.currentTimeMillis());
+        if (stopped) {
+            // added while the queue was being stopped, after its last flush
+            flush(true);
+        }
+    }
+
+    protected void add(String key, int type, UUID id, boolean unIndexFirst, int events, long now) {
+        received.addAndGet(events);
+        pending.compute(key, (k, existing) -> {
+            PendingObject object = existing;
+            if (object == null) {
+                object = new PendingObject(key, type, id, now);
+                merged.addAndGet(events - 1);
+            } else {
+                merged.addAndGet(events);
+            }
+            object.events += events;
+            object.unIndexFirst |= unIndexFirst;
+            object.deadline = Math.min(now + window, object.first + maxDelay);
+            return object;
+        });
+    }
+
+    /**
+     * Record events which were merged without being queued, e.g. because the object is reindexed immediately.
+     *
+     * @param events the number of merged events
+     */
+    public void addMerged(int events) {
+        received.addAndGet(events);
+        merged.addAndGet(events);
+    }
+
+    /**
+     * Remove the objects which should be reindexed now from the queue.
+     *
+     * @param now   the current time
+     * @param force whether all pending objects should be returned
+     * @return the objects to reindex
+     */
+    protected List<PendingObject> takeDue(long now, boolean force) {
+        List<PendingObject> due = new ArrayList<>();
+        for (String key : pending.keySet()) {
+            // the deadline is checked while no event can extend it
+            pending.computeIfPresent(key, (k, object) -> {
+                if (force || object.deadline <= now) {
+                    due.add(object);
+                    return null;
+                }
+                return object;
+            });
+        }
+        return due;
+    }
+
+    /**
+     * Reindex the objects whose window expired
+     *
+     * @param force whether all pending objects should be reindexed
+     */
+    protected void flush(boolean force) {
+        List<PendingObject> due = takeDue(System.currentTimeMillis(), force);
+        if (due.isEmpty()) {
+            return;
+        }
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            context.turnOffAuthorisationSystem();
+            index(context, due);
+            context.complete();
+        } catch (Exception e) {
+            failed.addAndGet(due.size());
+            log.error("Unable to reindex {} debounced objects", due.size(), e);
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    protected void index(Context context, List<PendingObject> objects) throws Exception {
+        IndexObjectFactoryFactory indexObjectFactoryFactory = IndexObjectFactoryFactory.getInstance();
+        indexingService.startBatch();
+        try {
+            for (PendingObject object : objects) {
+                try {
+                    DSpaceObjectService<? extends DSpaceObject> dSpaceObjectService =
+                        ContentServiceFactory.getInstance().getDSpaceObjectService(object.getType());
+                    DSpaceObject dso = dSpaceObjectService.find(context, object.getId());
+                    if (dso == null) {
+                        // deleted in the meantime, the delete event removed it from the index
+                        continue;
+                    }
+                    if (object.isUnIndexFirst()) {
+                        indexingService.unIndexContent(context, object.getKey(), false);
+                    }
+                    for (IndexableObject indexableObject : indexObjectFactoryFactory.getIndexableObjects(context,
+                                                                                                        dso)) {
+                        indexingService.indexContent(context, indexableObject, true, false, false);
+                    }
+                    indexed.incrementAndGet();
+                    context.uncacheEntity(dso);
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    log.error("Failed while reindexing debounced object {}", object.getId(), e);
+                }
+            }
+        } finally {
+            for (Map.Entry<String, Exception> error : indexingService.endBatch().entrySet()) {
+                failed.incrementAndGet();
+                log.error("Failed while indexing object: " + error.getKey(), error.getValue());
+            }
+            indexingService.commit();
+        }
+    }
+
+    /**
+     * @return the number of objects waiting to be reindexed
+     */
+    public int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * @return the number of events handed to this queue
+     */
+    public long getReceived() {
+        return received.get();
+    }
+
+    /**
+     * @return the number of events which didn't cause a reindex of their own because they were merged
+     */
+    public long getMerged() {
+        return merged.get();
+    }
+
+    /**
+     * @return the number of reindexed objects
+     */
+    public long getIndexed() {
+        return indexed.get();
+    }
+
+    /**
+     * @return the number of objects which failed to be reindexed
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+}
@@ -142,6 +142,13 @@ public class FullTextContentStreams extends ContentStreamBase {
         }
     }
 
+    /**
+     * @return the number of full text bitstreams
+     */
+    public int getStreamCount() {
+        return fullTextStreams.size();
+    }
+
     public boolean isEmpty() {
         return CollectionUtils.isEmpty(fullTextStreams);
     }
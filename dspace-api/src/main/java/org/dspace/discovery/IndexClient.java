@@ -10,6 +10,7 @@ package org.dspace.discovery;
 import static org.dspace.discovery.IndexClientOptions.TYPE_OPTION;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Arrays;
@@ -37,6 +38,7 @@ import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
@@ -49,6 +51,9 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
     private IndexingService indexer = DSpaceServicesFactory.getInstance().getServiceManager()
             .getServiceByName(IndexingService.class.getName(), IndexingService.class);
 
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+            .getConfigurationService();
+
     private IndexClientOptions indexClientOptions;
 
     @Override
@@ -102,7 +107,12 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                                     + ", type will be ignored",
                             TYPE_OPTION));
                 }
-                indexer.deleteIndex();
+                if (PartitionedItemIndexer.getWorkers(configurationService) > 1
+                    && Files.exists(PartitionedItemIndexer.getCheckpointFile(configurationService))) {
+                    handler.logInfo("Found a checkpoint of an unfinished partitioned rebuild, resuming it.");
+                } else {
+                    indexer.deleteIndex();
+                }
                 indexer.createIndex(context);
                 if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
@@ -8,9 +8,12 @@
 package org.dspace.discovery;
 
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bundle;
@@ -44,10 +47,19 @@ public class IndexEventConsumer implements Consumer {
     // unique search IDs to delete
     private Set<String> uniqueIdsToDelete = new HashSet<>();
 
+    // collect modified objects to hand over to the debounced indexing queue, by unique search ID
+    private Map<String, DebouncedObject> objectsToDebounce = new HashMap<>();
+    // unique search IDs of the event subjects which are reindexed immediately
+    private Set<String> subjectsToUpdate = new HashSet<>();
+
     IndexingService indexer = DSpaceServicesFactory.getInstance().getServiceManager()
                                                    .getServiceByName(IndexingService.class.getName(),
                                                                      IndexingService.class);
 
+    DebouncedIndexingQueue debouncedIndexingQueue = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                   .getServiceByName(DebouncedIndexingQueue.class.getName(),
+                                                                     DebouncedIndexingQueue.class);
+
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
     @Override
@@ -69,6 +81,8 @@ public class IndexEventConsumer implements Consumer {
             objectsToUpdate = new HashSet<>();
             uniqueIdsToDelete = new HashSet<>();
             createdItemsToUpdate = new HashSet<>();
+            objectsToDebounce = new HashMap<>();
+            subjectsToUpdate = new HashSet<>();
         }
 
         int st = event.getSubjectType();
@@ -137,8 +151,20 @@ public class IndexEventConsumer implements Consumer {
                                  + event.getSubjectID()
                                  + ", perhaps it has been deleted.");
                     }
+                } else if (et != Event.CREATE && isDebounced(st)) {
+                    // merged with other modifications of the subject, also from later transactions
+                    log.debug("consume() adding event to debounced update queue: " + event.toString());
+                    DebouncedObject debounced = objectsToDebounce.get(getUniqueIndexID(st, subject.getID()));
+                    if (debounced == null) {
+                        debounced = new DebouncedObject(st, subject.getID());
+                        objectsToDebounce.put(getUniqueIndexID(st, subject.getID()), debounced);
+                    }
+                    debounced.addEvent(event.getSubjectType() == Constants.ITEM);
                 } else {
                     log.debug("consume() adding event to update queue: " + event.toString());
+                    if (isDebounced(st)) {
+                        subjectsToUpdate.add(getUniqueIndexID(st, subject.getID()));
+                    }
                     if (event.getSubjectType() == Constants.ITEM) {
                     // if it is an item we cannot know about its previous state, so it could be a
                     // workspaceitem that has been deposited right now or an approved/reject
@@ -171,12 +197,18 @@ public class IndexEventConsumer implements Consumer {
                 } else {
                     log.debug("consume() adding event to update queue: " + event.toString());
                     objectsToUpdate.addAll(indexObjectServiceFactory.getIndexableObjects(ctx, subject));
+                    if (subject != null && isDebounced(subject.getType())) {
+                        subjectsToUpdate.add(getUniqueIndexID(subject.getType(), subject.getID()));
+                    }
 
                     // If the event subject is a Collection and the event object is an Item,
                     // also update the object in order to index mapped/unmapped Items
                     if (subject != null &&
                         subject.getType() == Constants.COLLECTION && object.getType() == Constants.ITEM) {
                         createdItemsToUpdate.addAll(indexObjectServiceFactory.getIndexableObjects(ctx, object));
+                        if (isDebounced(Constants.ITEM)) {
+                            subjectsToUpdate.add(getUniqueIndexID(Constants.ITEM, object.getID()));
+                        }
                     }
                 }
                 break;
@@ -214,6 +246,8 @@ public class IndexEventConsumer implements Consumer {
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
 
+        // send the documents of this transaction to the search core in chunks
+        indexer.startBatch();
         try {
             for (String uid : uniqueIdsToDelete) {
                 try {
@@ -233,7 +267,26 @@ public class IndexEventConsumer implements Consumer {
             for (IndexableObject iu : createdItemsToUpdate) {
                 indexObject(ctx, iu, true);
             }
+            // hand over the modified objects which aren't reindexed or removed by this transaction anyway
+            for (Map.Entry<String, DebouncedObject> entry : objectsToDebounce.entrySet()) {
+                DebouncedObject debounced = entry.getValue();
+                if (subjectsToUpdate.contains(entry.getKey()) || uniqueIdsToDelete.contains(entry.getKey())) {
+                    debouncedIndexingQueue.addMerged(debounced.events);
+                } else {
+                    debouncedIndexingQueue.add(entry.getKey(), debounced.type, debounced.id,
+                                               debounced.unIndexFirst, debounced.events);
+                }
+            }
         } finally {
+            objectsToDebounce.clear();
+            subjectsToUpdate.clear();
+            try {
+                for (Map.Entry<String, Exception> error : indexer.endBatch().entrySet()) {
+                    log.error("Failed while indexing object: " + error.getKey(), error.getValue());
+                }
+            } catch (SearchServiceException e) {
+                log.error("Failed while sending the indexed objects to the search core", e);
+            }
             if (!objectsToUpdate.isEmpty() || !uniqueIdsToDelete.isEmpty()) {
 
                 indexer.commit();
@@ -268,6 +321,38 @@ public class IndexEventConsumer implements Consumer {
         }
     }
 
+    /**
+     * Modifications of the objects of the given type are merged by the debounced indexing queue, if enabled.
+     */
+    private boolean isDebounced(int type) {
+        return debouncedIndexingQueue != null && debouncedIndexingQueue.isEnabled()
+            && (type == Constants.ITEM || type == Constants.COLLECTION || type == Constants.COMMUNITY);
+    }
+
+    private String getUniqueIndexID(int type, UUID id) {
+        return indexObjectServiceFactory.getIndexFactoryByType(Constants.typeText[type]).getType() + "-" + id;
+    }
+
+    /**
+     * The modifications of a single object in the current transaction
+     */
+    private static class DebouncedObject {
+        private final int type;
+        private final UUID id;
+        private boolean unIndexFirst;
+        private int events;
+
+        DebouncedObject(int type, UUID id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        void addEvent(boolean unIndexFirst) {
+            this.unIndexFirst |= unIndexFirst;
+            events++;
+        }
+    }
+
     @Override
     public void finish(Context ctx) throws Exception {
         // No-op
@@ -72,6 +72,22 @@ public interface IndexingService {
 
     void commit() throws SearchServiceException;
 
+    /**
+     * Start a batch: the documents indexed by the current thread are collected and sent to the search core in
+     * chunks, rather than one by one, until {@link #endBatch()} is called. Batches may be nested, in which case the
+     * documents are sent when the outermost batch ends.
+     */
+    void startBatch();
+
+    /**
+     * End the batch started by the current thread with {@link #startBatch()}, sending the remaining documents to
+     * the search core if this ends the outermost batch.
+     *
+     * @return the unique index ids of the documents which could not be indexed during the batch, with their cause
+     * @throws SearchServiceException if the remaining documents could not be sent to the search core
+     */
+    Map<String, Exception> endBatch() throws SearchServiceException;
+
     void optimize() throws SearchServiceException;
 
     void buildSpellCheck() throws SearchServiceException, IOException;
@@ -0,0 +1,210 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
+import org.dspace.services.ConfigurationService;
+
+/**
+ * Reindexes all regular Items using a pool of workers. The item UUIDs are split into ranges (see
+ * {@link ReindexCheckpoint}), every range is indexed by a single worker using its own {@link Context}, and the
+ * documents are sent to the search core in batches. Finished ranges are recorded in a checkpoint file, so that a
+ * run which did not complete continues from the last finished range. A range with documents the search core
+ * rejected is not recorded, so it is indexed again on the next run.
+ * <p>
+ * The following configuration is used:
+ * <ul>
+ *     <li>discovery.index.parallel.workers: the number of workers (the parallel mode is used if greater than 1)</li>
+ *     <li>discovery.index.parallel.batch-size: the number of documents sent to the search core at once</li>
+ *     <li>discovery.index.parallel.partition-size: the number of items per range</li>
+ *     <li>discovery.index.parallel.checkpoint: the checkpoint file</li>
+ * </ul>
+ */
+public class PartitionedItemIndexer {
+
+    private static final Logger log = LogManager.getLogger(PartitionedItemIndexer.class);
+
+    private final SolrServiceImpl indexingService;
+    private final ItemIndexFactory itemIndexFactory;
+    private final ItemService itemService;
+    private final SolrSearchCore solrSearchCore;
+    private final int workers;
+    private final int batchSize;
+    private final int partitionSize;
+    private final Path checkpointFile;
+
+    /**
+     * The outcome of the indexing of a range
+     */
+    protected static class PartitionResult {
+        private final long indexed;
+        private final int failed;
+
+        protected PartitionResult(long indexed, int failed) {
+            this.indexed = indexed;
+            this.failed = failed;
+        }
+    }
+
+    public PartitionedItemIndexer(SolrServiceImpl indexingService, ItemIndexFactory itemIndexFactory,
+                                  ItemService itemService, SolrSearchCore solrSearchCore,
+                                  ConfigurationService configurationService) {
+        this.indexingService = indexingService;
+        this.itemIndexFactory = itemIndexFactory;
+        this.itemService = itemService;
+        this.solrSearchCore = solrSearchCore;
+        this.workers = getWorkers(configurationService);
+        this.batchSize = Math.max(1, configurationService.getIntProperty("discovery.index.parallel.batch-size", 100));
+        this.partitionSize = Math.max(1,
+            configurationService.getIntProperty("discovery.index.parallel.partition-size", 10000));
+        this.checkpointFile = getCheckpointFile(configurationService);
+    }
+
+    /**
+     * @param configurationService the configuration service
+     * @return the configured number of workers, the parallel mode should only be used when this is greater than 1
+     */
+    public static int getWorkers(ConfigurationService configurationService) {
+        return configurationService.getIntProperty("discovery.index.parallel.workers", 1);
+    }
+
+    /**
+     * @param configurationService the configuration service
+     * @return the location of the checkpoint file of a partitioned reindex
+     */
+    public static Path getCheckpointFile(ConfigurationService configurationService) {
+        return Paths.get(configurationService.getProperty("discovery.index.parallel.checkpoint",
+            configurationService.getProperty("dspace.dir") + "/var/discovery-reindex.checkpoint"));
+    }
+
+    /**
+     * Index all regular items, resuming the previous run if a checkpoint exists.
+     *
+     * @param context the DSpace context, only used to retrieve the item UUIDs
+     * @param force   whether up-to-date items should be reindexed as well
+     * @return the number of indexed items
+     * @throws SQLException         if database error
+     * @throws IOException          if the checkpoint could not be read or written
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public long index(Context context, boolean force) throws SQLException, IOException, InterruptedException {
+        List<UUID> ids = itemService.findAllRegularItemIds(context);
+        ReindexCheckpoint checkpoint = ReindexCheckpoint.load(checkpointFile);
+        if (checkpoint == null) {
+            checkpoint = ReindexCheckpoint.create(checkpointFile, ids, partitionSize);
+        } else {
+            log.info("Resuming partitioned reindex from {}: {} of {} ranges already indexed", checkpointFile,
+                checkpoint.getCompletedCount(), checkpoint.getPartitionCount());
+        }
+        List<List<UUID>> partitions = checkpoint.partition(ids);
+
+        AtomicLong indexed = new AtomicLong();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(workers);
+        try {
+            for (int i = 0; i < partitions.size(); i++) {
+                if (checkpoint.isCompleted(i)) {
+                    continue;
+                }
+                final int partition = i;
+                final ReindexCheckpoint finalCheckpoint = checkpoint;
+                executorService.submit(() -> {
+                    try {
+                        PartitionResult result = indexPartition(partitions.get(partition), force);
+                        indexed.addAndGet(result.indexed);
+                        if (result.failed > 0) {
+                            failed.incrementAndGet();
+                            log.error("{} items of range {} could not be indexed, it will be retried on the next run",
+                                result.failed, partition);
+                            return;
+                        }
+                        finalCheckpoint.markCompleted(partition);
+                        log.info("Indexed range {} ({} of {} ranges done)", partition,
+                            finalCheckpoint.getCompletedCount(), finalCheckpoint.getPartitionCount());
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.error("Unable to index range {}, it will be retried on the next run", partition, e);
+                    }
+                });
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        if (failed.get() == 0) {
+            checkpoint.delete();
+        } else {
+            log.warn("{} ranges could not be indexed, rerun the reindex to resume from {}", failed.get(),
+                checkpointFile);
+        }
+        return indexed.get();
+    }
+
+    /**
+     * Index the items of a single range using a dedicated context
+     *
+     * @param ids   the UUIDs of the items in the range
+     * @param force whether up-to-date items should be reindexed as well
+     * @return the number of indexed items, and of items the search core rejected
+     */
+    protected PartitionResult indexPartition(List<UUID> ids, boolean force)
+        throws SQLException, IOException, SolrServerException, SearchServiceException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        context.turnOffAuthorisationSystem();
+        try {
+            long count = 0;
+            long processed = 0;
+            SolrDocumentBuffer buffer = new SolrDocumentBuffer(solrSearchCore.getSolr(), batchSize, 0, -1);
+            for (UUID id : ids) {
+                Item item = itemService.find(context, id);
+                if (item == null) {
+                    // removed since the UUIDs were retrieved
+                    continue;
+                }
+                IndexableItem indexableItem = new IndexableItem(item);
+                if (force || indexingService.requiresIndexing(indexableItem.getUniqueIndexID(),
+                                                              indexableItem.getLastModified())) {
+                    SolrInputDocument document = itemIndexFactory.buildDocument(context, indexableItem);
+                    itemIndexFactory.prepareDocument(context, indexableItem, document);
+                    buffer.add(document);
+                    count++;
+                }
+                if (++processed % batchSize == 0) {
+                    context.uncacheEntities();
+                }
+            }
+            buffer.flush();
+            int failed = buffer.getErrors().size();
+            return new PartitionResult(count - failed, failed);
+        } finally {
+            context.restoreAuthSystemState();
+            context.complete();
+        }
+    }
+}
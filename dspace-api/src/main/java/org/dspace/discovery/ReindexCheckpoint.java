@@ -0,0 +1,188 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Keeps track of the progress of a partitioned reindex, so that a crashed run can continue from the last
+ * finished partition instead of starting over.
+ * <p>
+ * The UUID space is split into ranges, each range being identified by its (inclusive) lower bound. The bounds
+ * are computed once, when the checkpoint is created, and are stored together with the indexes of the
+ * partitions that were fully indexed. Items created after the checkpoint was created are assigned to the range
+ * their UUID falls into; items created in an already finished range are left to the regular index consumer.
+ */
+public class ReindexCheckpoint {
+
+    private static final String BOUNDARIES = "boundaries";
+    private static final String COMPLETED = "completed";
+
+    private final Path file;
+    private final List<UUID> boundaries;
+    private final SortedSet<Integer> completed = new TreeSet<>();
+
+    protected ReindexCheckpoint(Path file, List<UUID> boundaries) {
+        this.file = file;
+        this.boundaries = boundaries;
+    }
+
+    /**
+     * Create a new checkpoint, splitting the given identifiers in ranges of at most partitionSize identifiers.
+     * The checkpoint is immediately written to the given file.
+     *
+     * @param file          the file in which the checkpoint is stored
+     * @param ids           the identifiers to partition, in any order
+     * @param partitionSize the maximum number of identifiers per range
+     * @return the new checkpoint
+     * @throws IOException if the checkpoint could not be written
+     */
+    public static ReindexCheckpoint create(Path file, List<UUID> ids, int partitionSize) throws IOException {
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("The partition size should be at least 1");
+        }
+        List<UUID> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        List<UUID> boundaries = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i += partitionSize) {
+            boundaries.add(sorted.get(i));
+        }
+        ReindexCheckpoint checkpoint = new ReindexCheckpoint(file, boundaries);
+        checkpoint.store();
+        return checkpoint;
+    }
+
+    /**
+     * Load the checkpoint stored in the given file
+     *
+     * @param file the file in which the checkpoint is stored
+     * @return the checkpoint, or null if the file does not exist
+     * @throws IOException if the checkpoint could not be read
+     */
+    public static ReindexCheckpoint load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        List<UUID> boundaries = new ArrayList<>();
+        for (String boundary : StringUtils.split(properties.getProperty(BOUNDARIES, ""), ',')) {
+            boundaries.add(UUID.fromString(boundary));
+        }
+        ReindexCheckpoint checkpoint = new ReindexCheckpoint(file, boundaries);
+        for (String index : StringUtils.split(properties.getProperty(COMPLETED, ""), ',')) {
+            checkpoint.completed.add(Integer.parseInt(index));
+        }
+        return checkpoint;
+    }
+
+    /**
+     * @return the number of ranges of this checkpoint
+     */
+    public int getPartitionCount() {
+        return boundaries.size();
+    }
+
+    /**
+     * Return the index of the range the given identifier belongs to
+     *
+     * @param id the identifier
+     * @return the index of the range
+     */
+    public int getPartition(UUID id) {
+        int index = Collections.binarySearch(boundaries, id);
+        if (index < 0) {
+            // the identifier belongs to the range starting at the bound right before the insertion point
+            index = Math.max(0, -index - 2);
+        }
+        return index;
+    }
+
+    /**
+     * Split the given identifiers over the ranges of this checkpoint
+     *
+     * @param ids the identifiers, in any order
+     * @return a list containing, for each range, the sorted identifiers that belong to it
+     */
+    public List<List<UUID>> partition(List<UUID> ids) {
+        List<List<UUID>> partitions = new ArrayList<>(boundaries.size());
+        for (int i = 0; i < boundaries.size(); i++) {
+            partitions.add(new ArrayList<>());
+        }
+        if (!boundaries.isEmpty()) {
+            for (UUID id : ids) {
+                partitions.get(getPartition(id)).add(id);
+            }
+        }
+        partitions.forEach(Collections::sort);
+        return partitions;
+    }
+
+    public synchronized boolean isCompleted(int partition) {
+        return completed.contains(partition);
+    }
+
+    public synchronized int getCompletedCount() {
+        return completed.size();
+    }
+
+    /**
+     * Mark the given range as fully indexed and store the checkpoint
+     *
+     * @param partition the index of the range
+     * @throws IOException if the checkpoint could not be written
+     */
+    public synchronized void markCompleted(int partition) throws IOException {
+        completed.add(partition);
+        store();
+    }
+
+    /**
+     * Remove the checkpoint file, to be called once all ranges were indexed
+     *
+     * @throws IOException if the file could not be removed
+     */
+    public synchronized void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Write the checkpoint to a temporary file first, and move it over the checkpoint file afterwards. This makes
+     * sure a crash while writing never leaves a truncated checkpoint behind.
+     */
+    protected synchronized void store() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(BOUNDARIES, boundaries.stream().map(UUID::toString).collect(Collectors.joining(",")));
+        properties.setProperty(COMPLETED, completed.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Discovery partitioned reindex checkpoint");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
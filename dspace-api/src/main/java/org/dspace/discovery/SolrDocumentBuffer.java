@@ -0,0 +1,194 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Collects solr documents and sends them to the search core in chunks, instead of sending every document in its
+ * own request. The buffer is flushed when it holds the configured maximum number of documents, or when its oldest
+ * document has been waiting longer than the configured maximum age. The age is checked on every add, and by
+ * {@link #flushIfExpired()}, which {@link SolrSearchCore} calls on a schedule so that documents don't wait while
+ * no more are added.
+ * <p>
+ * A document added twice (with the same unique id) is only sent once, in its latest version. When a chunk is
+ * rejected by the search core, its documents are sent one by one so that a single faulty document does not
+ * prevent the others from being indexed; the documents which could not be indexed are reported by
+ * {@link #getErrors()}.
+ * <p>
+ * Every thread should use its own buffer. A buffer is only shared with the thread flushing it on a schedule, so its
+ * methods are synchronized.
+ */
+public class SolrDocumentBuffer {
+
+    private static final Logger log = LogManager.getLogger(SolrDocumentBuffer.class);
+
+    private final SolrClient solr;
+    private final int maxDocuments;
+    private final long maxAge;
+    private final int commitWithin;
+
+    private final Map<String, SolrInputDocument> documents = new LinkedHashMap<>();
+    private final Map<String, Exception> errors = new LinkedHashMap<>();
+    private long oldest = -1;
+    private long written = 0;
+    private int depth = 0;
+
+    /**
+     * @param solr         the client used to write the documents
+     * @param maxDocuments the number of documents after which the buffer is flushed
+     * @param maxAge       the time in milliseconds after which the buffer is flushed, no limit if 0 or less
+     * @param commitWithin the commitWithin (in milliseconds) sent with every chunk, none if 0 or less
+     */
+    public SolrDocumentBuffer(SolrClient solr, int maxDocuments, long maxAge, int commitWithin) {
+        this.solr = solr;
+        this.maxDocuments = Math.max(1, maxDocuments);
+        this.maxAge = maxAge;
+        this.commitWithin = commitWithin > 0 ? commitWithin : -1;
+    }
+
+    /**
+     * Add a document to the buffer, flushing the buffer when one of its limits is reached
+     *
+     * @param document the document to add
+     * @throws IOException         if the search core could not be reached while flushing
+     * @throws SolrServerException if the search core failed while flushing
+     */
+    public synchronized void add(SolrInputDocument document) throws IOException, SolrServerException {
+        if (documents.isEmpty()) {
+            oldest = System.currentTimeMillis();
+        }
+        String uniqueId = getUniqueId(document);
+        // re-insert to keep the order in which the documents were written
+        documents.remove(uniqueId);
+        documents.put(uniqueId, document);
+        if (documents.size() >= maxDocuments || isExpired()) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the buffered documents to the search core if the oldest one has been waiting longer than the maximum age
+     *
+     * @throws IOException         if the search core could not be reached
+     * @throws SolrServerException if the search core failed
+     */
+    public synchronized void flushIfExpired() throws IOException, SolrServerException {
+        if (isExpired()) {
+            flush();
+        }
+    }
+
+    private boolean isExpired() {
+        return maxAge > 0 && !documents.isEmpty() && System.currentTimeMillis() - oldest >= maxAge;
+    }
+
+    /**
+     * @return the time in milliseconds after which the buffer is flushed, no limit if 0 or less
+     */
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Remove a document which was not sent yet from the buffer, e.g. because it is being deleted from the index
+     *
+     * @param uniqueId the unique id of the document
+     */
+    public synchronized void discard(String uniqueId) {
+        documents.remove(uniqueId);
+    }
+
+    /**
+     * Send all buffered documents to the search core
+     *
+     * @throws IOException         if the search core could not be reached
+     * @throws SolrServerException if the search core failed
+     */
+    public synchronized void flush() throws IOException, SolrServerException {
+        if (documents.isEmpty()) {
+            return;
+        }
+        List<SolrInputDocument> chunk = new ArrayList<>(documents.values());
+        documents.clear();
+        oldest = -1;
+        try {
+            solr.add(chunk, commitWithin);
+            written += chunk.size();
+        } catch (IOException e) {
+            // the search core can't be reached, there is no point in retrying the documents one by one
+            for (SolrInputDocument document : chunk) {
+                errors.put(getUniqueId(document), e);
+            }
+            throw e;
+        } catch (SolrServerException | RuntimeException e) {
+            log.warn("A chunk of {} documents was rejected, retrying them one by one", chunk.size(), e);
+            for (SolrInputDocument document : chunk) {
+                try {
+                    solr.add(document, commitWithin);
+                    written++;
+                } catch (SolrServerException | RuntimeException documentException) {
+                    log.error("Unable to index {}", getUniqueId(document), documentException);
+                    errors.put(getUniqueId(document), documentException);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of documents which are waiting to be sent
+     */
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    /**
+     * @return the number of documents which were successfully sent
+     */
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    /**
+     * @return the unique ids of the documents which could not be indexed, with the cause of the failure
+     */
+    public synchronized Map<String, Exception> getErrors() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+    }
+
+    /**
+     * Register one more user of this buffer, used when batches are nested
+     */
+    protected void open() {
+        depth++;
+    }
+
+    /**
+     * Unregister a user of this buffer
+     *
+     * @return true if this was the last (outermost) user of the buffer
+     */
+    protected boolean close() {
+        return --depth <= 0;
+    }
+
+    private String getUniqueId(SolrInputDocument document) {
+        return String.valueOf(document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID));
+    }
+}
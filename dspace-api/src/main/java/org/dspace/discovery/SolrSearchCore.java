@@ -8,6 +8,13 @@
 package org.dspace.discovery;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.inject.Named;
 import org.apache.commons.validator.routines.UrlValidator;
@@ -50,6 +57,18 @@ public class SolrSearchCore {
      */
     public SolrRequest.METHOD REQUEST_METHOD = SolrRequest.METHOD.POST;
 
+    /**
+     * The document buffer of the batch started by the current thread, if any
+     */
+    protected final ThreadLocal<SolrDocumentBuffer> documentBuffer = new ThreadLocal<>();
+
+    /**
+     * The buffers with a maximum age, flushed on a schedule once their documents are too old
+     */
+    protected final Set<SolrDocumentBuffer> agingBuffers = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService bufferFlusher = null;
+
     /**
      * Get access to current SolrClient. If no current SolrClient exists, a new one is initialized, see initSolr().
      * @return SolrClient Solr client
@@ -69,6 +88,88 @@ public class SolrSearchCore {
         return solr;
     }
 
+    /**
+     * Start collecting the documents written by the current thread in a {@link SolrDocumentBuffer}, until
+     * {@link #stopBuffering()} is called. Nested calls share the buffer of the outermost call.
+     * The limits of the buffer are configured by discovery.index.batch.size, discovery.index.batch.max-age and
+     * discovery.index.batch.commit-within.
+     *
+     * @return the buffer of the current thread
+     */
+    public SolrDocumentBuffer startBuffering() {
+        SolrDocumentBuffer buffer = documentBuffer.get();
+        if (buffer == null) {
+            buffer = new SolrDocumentBuffer(getSolr(),
+                configurationService.getIntProperty("discovery.index.batch.size", 100),
+                configurationService.getLongProperty("discovery.index.batch.max-age", 0),
+                configurationService.getIntProperty("discovery.index.batch.commit-within", -1));
+            documentBuffer.set(buffer);
+            if (buffer.getMaxAge() > 0) {
+                scheduleFlushes(buffer.getMaxAge());
+                agingBuffers.add(buffer);
+            }
+        }
+        buffer.open();
+        return buffer;
+    }
+
+    /**
+     * @return the document buffer of the current thread, or null if the current thread is not buffering
+     */
+    public SolrDocumentBuffer getDocumentBuffer() {
+        return documentBuffer.get();
+    }
+
+    /**
+     * Stop buffering the documents written by the current thread. When this ends the outermost batch, the
+     * remaining documents are sent to the search core and the buffer is released.
+     *
+     * @return the unique ids of the documents which could not be indexed during this batch, with their cause
+     * @throws IOException         if the search core could not be reached
+     * @throws SolrServerException if the search core failed
+     */
+    public Map<String, Exception> stopBuffering() throws IOException, SolrServerException {
+        SolrDocumentBuffer buffer = documentBuffer.get();
+        if (buffer == null || !buffer.close()) {
+            return Collections.emptyMap();
+        }
+        documentBuffer.remove();
+        agingBuffers.remove(buffer);
+        buffer.flush();
+        return buffer.getErrors();
+    }
+
+    /**
+     * Start checking the age of the buffers, at half the maximum age, if not done yet
+     *
+     * @param maxAge the maximum age of the buffers, in milliseconds
+     */
+    protected synchronized void scheduleFlushes(long maxAge) {
+        if (bufferFlusher == null) {
+            bufferFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "discovery-buffer-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(10, maxAge / 2);
+            bufferFlusher.scheduleWithFixedDelay(this::flushExpiredBuffers, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Send the documents of the buffers whose oldest document has been waiting longer than their maximum age
+     */
+    protected void flushExpiredBuffers() {
+        for (SolrDocumentBuffer buffer : agingBuffers) {
+            try {
+                buffer.flushIfExpired();
+            } catch (IOException | SolrServerException | RuntimeException e) {
+                // the documents are reported by the errors of the buffer at the end of its batch
+                log.error("Unable to send the buffered documents to the search core", e);
+            }
+        }
+    }
+
     /**
      * Initialize the solr search core
      */
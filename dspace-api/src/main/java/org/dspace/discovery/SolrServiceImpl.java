@@ -342,8 +342,15 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
                 getIndexFactories();
             int indexObject = 0;
+            final boolean parallel = PartitionedItemIndexer.getWorkers(configurationService) > 1;
             for (IndexFactory indexableObjectService : indexableObjectServices) {
                 if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
+                    if (parallel && indexableObjectService instanceof ItemIndexFactory) {
+                        indexObject += new PartitionedItemIndexer(this, (ItemIndexFactory) indexableObjectService,
+                            contentServiceFactory.getItemService(), solrSearchCore, configurationService)
+                            .index(context, force);
+                        continue;
+                    }
                     final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
                     while (indexableObjects.hasNext()) {
                         final IndexableObject indexableObject = indexableObjects.next();
@@ -362,6 +369,9 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
         } catch (IOException | SQLException | SolrServerException e) {
             log.error(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting for the index workers", e);
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -1526,6 +1536,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     public void commit() throws SearchServiceException {
         try {
             if (solrSearchCore.getSolr() != null) {
+                // documents of a running batch should be part of the commit
+                SolrDocumentBuffer buffer = solrSearchCore.getDocumentBuffer();
+                if (buffer != null) {
+                    buffer.flush();
+                }
                 solrSearchCore.getSolr().commit();
             }
         } catch (IOException | SolrServerException e) {
@@ -1533,6 +1548,22 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    @Override
+    public void startBatch() {
+        if (solrSearchCore.getSolr() != null) {
+            solrSearchCore.startBuffering();
+        }
+    }
+
+    @Override
+    public Map<String, Exception> endBatch() throws SearchServiceException {
+        try {
+            return solrSearchCore.stopBuffering();
+        } catch (IOException | SolrServerException e) {
+            throw new SearchServiceException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public String escapeQueryChars(String query) {
         // Use Solr's built in query escape tool
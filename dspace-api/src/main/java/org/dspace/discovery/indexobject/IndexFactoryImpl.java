@@ -14,6 +14,7 @@ import java.time.Instant;
 import java.util.List;
 
 import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.io.output.StringBuilderWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
@@ -24,10 +25,12 @@ import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.ParseContext;
 import org.apache.tika.parser.csv.TextAndCSVParser;
 import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.WriteOutContentHandler;
 import org.dspace.core.Context;
 import org.dspace.discovery.FullTextContentStreams;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrDocumentBuffer;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.discovery.SolrServiceIndexPlugin;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
@@ -44,6 +47,12 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
 
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(IndexFactoryImpl.class);
 
+    /**
+     * Maximum initial capacity of the buffer of the full text, in characters. The buffer still grows beyond it when
+     * there is no character limit.
+     */
+    private static final int MAX_FULLTEXT_CAPACITY = 16 * 1024 * 1024;
+
     @Autowired
     protected List<SolrServiceIndexPlugin> solrServiceIndexPlugins;
     @Autowired
@@ -82,6 +91,12 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
         return buildDocument(context, indexableObject);
     }
 
+    @Override
+    public void prepareDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+        // By default, a built document is complete
+    }
+
     @Override
     public void writeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException {
@@ -104,59 +119,92 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
             throws IOException, SolrServerException {
         final SolrClient solr = solrSearchCore.getSolr();
         if (solr != null) {
-            // If full text stream(s) were passed in, we'll index them as part of the SolrInputDocument
-            if (streams != null && !streams.isEmpty()) {
-                // limit full text indexing to first 100,000 characters unless configured otherwise
-                final int charLimit = DSpaceServicesFactory.getInstance().getConfigurationService()
-                        .getIntProperty("discovery.solr.fulltext.charLimit",
-                                100000);
-
-                // Use Tika's Text parser as the streams are always from the TEXT bundle (i.e. already extracted text)
-                TextAndCSVParser tikaParser = new TextAndCSVParser();
-                BodyContentHandler tikaHandler = new BodyContentHandler(charLimit);
-                Metadata tikaMetadata = new Metadata();
-                ParseContext tikaContext = new ParseContext();
-
-                // Use Apache Tika to parse the full text stream(s)
-                boolean extractionSucceeded = false;
-                try (InputStream fullTextStreams = streams.getStream()) {
-                    tikaParser.parse(fullTextStreams, tikaHandler, tikaMetadata, tikaContext);
+            addFullText(doc, streams);
+            // Add document to index, or to the buffer of the current batch
+            final SolrDocumentBuffer buffer = solrSearchCore.getDocumentBuffer();
+            if (buffer != null) {
+                buffer.add(doc);
+            } else {
+                solr.add(doc);
+            }
+        }
+    }
+
+    /**
+     * Parse the full text stream(s), if any, and add them to the provided document.
+     *
+     * @param doc     the solr document to which the full text is added
+     * @param streams list of bitstream content streams
+     * @throws IOException A general class of exceptions produced by failed or interrupted I/O operations.
+     */
+    protected void addFullText(SolrInputDocument doc, FullTextContentStreams streams) throws IOException {
+        // If full text stream(s) were passed in, we'll index them as part of the SolrInputDocument
+        if (streams != null && !streams.isEmpty()) {
+            // limit full text indexing to first 100,000 characters unless configured otherwise
+            final int charLimit = DSpaceServicesFactory.getInstance().getConfigurationService()
+                    .getIntProperty("discovery.solr.fulltext.charLimit",
+                            100000);
+
+            // Use Tika's Text parser as the streams are always from the TEXT bundle (i.e. already extracted text).
+            // The text is written to a buffer sized up front from the size of the streams and the limit, so it
+            // doesn't grow by copying while the streams are read, and reading stops at the limit.
+            TextAndCSVParser tikaParser = new TextAndCSVParser();
+            StringBuilderWriter fullText = new StringBuilderWriter(getFullTextCapacity(streams, charLimit));
+            WriteOutContentHandler textHandler = new WriteOutContentHandler(fullText, charLimit);
+            BodyContentHandler tikaHandler = new BodyContentHandler(textHandler);
+            Metadata tikaMetadata = new Metadata();
+            ParseContext tikaContext = new ParseContext();
+
+            // Use Apache Tika to parse the full text stream(s)
+            boolean extractionSucceeded = false;
+            try (InputStream fullTextStreams = streams.getStream()) {
+                tikaParser.parse(fullTextStreams, tikaHandler, tikaMetadata, tikaContext);
+                extractionSucceeded = true;
+            } catch (SAXException saxe) {
+                // Check if this SAXException is just a notice that this file was longer than the character limit.
+                if (textHandler.isWriteLimitReached(saxe)) {
+                    // log that we only indexed up to that configured limit
+                    log.info("Full text is larger than the configured limit (discovery.solr.fulltext.charLimit)."
+                            + " Only the first {} characters were indexed.", charLimit);
                     extractionSucceeded = true;
-                } catch (SAXException saxe) {
-                    // Check if this SAXException is just a notice that this file was longer than the character limit.
-                    // Unfortunately there is not a unique, public exception type to catch here. This error is thrown
-                    // by Tika's WriteOutContentHandler when it encounters a document longer than the char limit
-                    // https://github.com/apache/tika/blob/main/tika-core/src/main/java/org/apache/tika/sax/WriteOutContentHandler.java
-                    if (saxe.getMessage().contains("limit has been reached")) {
-                        // log that we only indexed up to that configured limit
-                        log.info("Full text is larger than the configured limit (discovery.solr.fulltext.charLimit)."
-                                + " Only the first {} characters were indexed.", charLimit);
-                        extractionSucceeded = true;
-                    } else {
-                        log.error("Tika parsing error. Could not index full text.", saxe);
-                        throw new IOException("Tika parsing error. Could not index full text.", saxe);
-                    }
-                } catch (TikaException | IOException ex) {
-                    log.error("Tika parsing error. Could not index full text.", ex);
-                    throw new IOException("Tika parsing error. Could not index full text.", ex);
+                } else {
+                    log.error("Tika parsing error. Could not index full text.", saxe);
+                    throw new IOException("Tika parsing error. Could not index full text.", saxe);
                 }
-                if (extractionSucceeded) {
-                    // Write Tika metadata to "tika_meta_*" fields.
-                    // This metadata is not very useful right now,
-                    // but we'll keep it just in case it becomes more useful.
-                    for (String name : tikaMetadata.names()) {
-                        for (String value : tikaMetadata.getValues(name)) {
-                            doc.addField("tika_meta_" + name, value);
-                        }
+            } catch (TikaException | IOException ex) {
+                log.error("Tika parsing error. Could not index full text.", ex);
+                throw new IOException("Tika parsing error. Could not index full text.", ex);
+            }
+            if (extractionSucceeded) {
+                // Write Tika metadata to "tika_meta_*" fields.
+                // This metadata is not very useful right now,
+                // but we'll keep it just in case it becomes more useful.
+                for (String name : tikaMetadata.names()) {
+                    for (String value : tikaMetadata.getValues(name)) {
+                        doc.addField("tika_meta_" + name, value);
                     }
-                    // Save (parsed) full text to "fulltext" field
-                    doc.addField("fulltext", tikaHandler.toString());
                 }
+                // Save (parsed) full text to "fulltext" field
+                doc.addField("fulltext", fullText.toString());
             }
-            // Add document to index
-            solr.add(doc);
+        }
+    }
 
+    /**
+     * Get the initial capacity of the buffer of the full text: the size of the full text streams, as each byte of
+     * UTF-8 text is at most one character, but no more than the character limit
+     *
+     * @param streams   the full text streams
+     * @param charLimit the maximum number of characters indexed, -1 for no maximum
+     * @return the initial capacity, in characters
+     */
+    protected int getFullTextCapacity(FullTextContentStreams streams, int charLimit) {
+        // the separators between the streams, see FullTextContentStreams#getStream()
+        long capacity = Math.max(0, streams.getSize()) + streams.getStreamCount();
+        if (charLimit >= 0) {
+            capacity = Math.min(capacity, charLimit);
         }
+        return (int) Math.min(capacity, MAX_FULLTEXT_CAPACITY);
     }
 
 
@@ -237,11 +285,16 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
 
     @Override
     public void delete(T indexableObject) throws IOException, SolrServerException {
-        solrSearchCore.getSolr().deleteById(indexableObject.getUniqueIndexID());
+        delete(indexableObject.getUniqueIndexID());
     }
 
     @Override
     public void delete(String indexableObjectIdentifier) throws IOException, SolrServerException {
+        // make sure a pending version of the document isn't written after its removal
+        final SolrDocumentBuffer buffer = solrSearchCore.getDocumentBuffer();
+        if (buffer != null) {
+            buffer.discard(indexableObjectIdentifier);
+        }
         solrSearchCore.getSolr().deleteById(indexableObjectIdentifier);
     }
 
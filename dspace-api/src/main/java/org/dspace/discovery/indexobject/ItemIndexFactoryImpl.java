@@ -313,6 +313,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
 
             List<String> toIgnoreMetadataFields = SearchUtils.getIgnoredMetadataFields(item.getType());
             List<MetadataValue> mydc = itemService.getMetadata(item, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
+            Map<String, Map<String, String>> preferedLabels = getPreferedLabels(mydc, collection);
             for (MetadataValue meta : mydc) {
                 MetadataField metadataField = meta.getMetadataField();
                 MetadataSchema metadataSchema = metadataField.getMetadataSchema();
@@ -376,7 +377,10 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
 
                         if (!ignorePrefered && !authority.startsWith(AuthorityValueService.GENERATE)) {
                             try {
-                                preferedLabel = choiceAuthorityService.getLabel(meta, collection, meta.getLanguage());
+                                Map<String, String> labels = preferedLabels.get(getLabelsKey(meta));
+                                preferedLabel = labels != null && labels.containsKey(authority)
+                                    ? labels.get(authority)
+                                    : choiceAuthorityService.getLabel(meta, collection, meta.getLanguage());
                             } catch (Exception e) {
                                 log.warn("Failed to get preferred label for " + field, e);
                             }
@@ -592,6 +596,12 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         log.debug("  Added Grouping");
     }
 
+    @Override
+    public void prepareDocument(Context context, IndexableItem indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+        addFullText(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
+    }
+
     @Override
     public void writeDocument(Context context, IndexableItem indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException {
@@ -682,6 +692,51 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         return item == null ? Optional.empty() : Optional.of(new IndexableItem(item));
     }
 
+    /**
+     * Look up the preferred labels of the authority keys of the metadata values with one call to the authority per
+     * field and language, rather than one per value (e.g. one Solr query for all the authors of the item)
+     *
+     * @param values     the metadata values of the item
+     * @param collection the collection of the item
+     * @return the labels by authority key, by field and language (see {@link #getLabelsKey(MetadataValue)}). Only
+     * the fields with several authority keys are looked up.
+     */
+    private Map<String, Map<String, String>> getPreferedLabels(List<MetadataValue> values, Collection collection) {
+        Map<String, List<MetadataValue>> authorityValues = new HashMap<>();
+        for (MetadataValue meta : values) {
+            MetadataField metadataField = meta.getMetadataField();
+            if (meta.getAuthority() != null && !meta.getAuthority().startsWith(AuthorityValueService.GENERATE)
+                    && metadataAuthorityService.isAuthorityControlled(metadataField)
+                    && meta.getConfidence() >= metadataAuthorityService.getMinConfidence(metadataField)) {
+                authorityValues.computeIfAbsent(getLabelsKey(meta), key -> new ArrayList<>()).add(meta);
+            }
+        }
+        Map<String, Map<String, String>> labels = new HashMap<>();
+        for (Map.Entry<String, List<MetadataValue>> entry : authorityValues.entrySet()) {
+            MetadataValue first = entry.getValue().get(0);
+            String fieldKey = first.getMetadataField().toString();
+            if (entry.getValue().size() < 2 || !choiceAuthorityService.isChoicesConfigured(fieldKey, collection)) {
+                continue;
+            }
+            Set<String> keys = new HashSet<>();
+            entry.getValue().forEach(meta -> keys.add(meta.getAuthority()));
+            try {
+                labels.put(entry.getKey(),
+                           choiceAuthorityService.getLabels(fieldKey, collection, keys, first.getLanguage()));
+            } catch (Exception e) {
+                log.warn("Failed to get preferred labels for " + fieldKey, e);
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * @return the key of the labels of the field and language of a metadata value
+     */
+    private String getLabelsKey(MetadataValue meta) {
+        return meta.getMetadataField().toString() + ":" + meta.getLanguage();
+    }
+
     /**
      * Handles indexing when discoverySearchFilter is of type facet.
      *
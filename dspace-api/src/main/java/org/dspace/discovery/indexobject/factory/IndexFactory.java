@@ -54,6 +54,19 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     SolrInputDocument buildNewDocument(Context context, T indexableObject) throws SQLException, IOException;
 
+    /**
+     * Complete the provided document with the content that is only added right before it is written to the solr
+     * core (e.g. the extracted full text of an Item), without writing the document itself.
+     * This allows callers to send several prepared documents to the solr core in a single request.
+     * @param context               DSpace context object
+     * @param indexableObject       The indexable object that the document was built for
+     * @param solrInputDocument     Solr input document which will be completed
+     * @throws SQLException         If database error
+     * @throws IOException          If IO error
+     */
+    void prepareDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException;
+
     /**
      * Write the provided document to the solr core
      * @param context               DSpace context object
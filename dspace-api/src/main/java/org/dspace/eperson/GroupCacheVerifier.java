@@ -0,0 +1,63 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.core.Context;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.utils.DSpace;
+
+/**
+ * Script to verify (and optionally repair) the group2groupcache table, which is maintained incrementally, against a
+ * full recomputation of the transitive closure of the group memberships.
+ */
+public class GroupCacheVerifier extends DSpaceRunnable<GroupCacheVerifierScriptConfiguration> {
+
+    private boolean help = false;
+    private boolean repair = false;
+
+    private GroupService groupService;
+
+    @Override
+    public void internalRun() throws Exception {
+        if (help) {
+            printHelp();
+            return;
+        }
+        Context context = new Context();
+        context.turnOffAuthorisationSystem();
+
+        int differences = groupService.verifyGroupCache(context, repair);
+        if (differences == 0) {
+            handler.logInfo("The group2groupcache table is correct");
+        } else if (repair) {
+            handler.logInfo("Repaired " + differences + " wrong or missing rows of the group2groupcache table");
+        } else {
+            handler.logWarning("The group2groupcache table has " + differences
+                                   + " wrong or missing rows, use -r to repair it");
+        }
+
+        context.restoreAuthSystemState();
+        context.complete();
+    }
+
+    @Override
+    public GroupCacheVerifierScriptConfiguration getScriptConfiguration() {
+        return new DSpace().getServiceManager().getServiceByName("verify-group-cache",
+                                                                 GroupCacheVerifierScriptConfiguration.class);
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        groupService = EPersonServiceFactory.getInstance().getGroupService();
+        help = commandLine.hasOption('h');
+        repair = commandLine.hasOption('r');
+    }
+}
@@ -0,0 +1,314 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Compact, immutable in-memory representation of the direct group to group memberships (the group2group table),
+ * used to compute the rows of the group2groupcache table.
+ * <p>
+ * Groups are numbered and the memberships are stored as adjacency arrays in both directions, so the descendants
+ * and ancestors of a group are found by a traversal of int arrays, without any database query. A membership which is
+ * added or removed is applied to a copy of the arrays, so a loaded hierarchy can be kept up to date without loading
+ * all memberships again.
+ */
+public class GroupHierarchy {
+
+    private final UUID[] groups;
+    private final Map<UUID, Integer> indexes;
+
+    // the children of group i are childIndexes[childOffsets[i]] .. childIndexes[childOffsets[i + 1] - 1]
+    private final int[] childOffsets;
+    private final int[] childIndexes;
+    // the parents of group i are parentIndexes[parentOffsets[i]] .. parentIndexes[parentOffsets[i + 1] - 1]
+    private final int[] parentOffsets;
+    private final int[] parentIndexes;
+
+    /**
+     * Build the hierarchy from the direct memberships
+     *
+     * @param memberships pairs of parent and child group UUID, as returned by
+     *                    {@link org.dspace.eperson.dao.GroupDAO#getGroup2GroupResults}
+     */
+    public GroupHierarchy(Collection<Pair<UUID, UUID>> memberships) {
+        indexes = new HashMap<>();
+        int[] parents = new int[memberships.size()];
+        int[] children = new int[memberships.size()];
+        int edge = 0;
+        for (Pair<UUID, UUID> membership : memberships) {
+            parents[edge] = index(membership.getLeft());
+            children[edge] = index(membership.getRight());
+            edge++;
+        }
+        groups = new UUID[indexes.size()];
+        for (Map.Entry<UUID, Integer> entry : indexes.entrySet()) {
+            groups[entry.getValue()] = entry.getKey();
+        }
+
+        childOffsets = new int[groups.length + 1];
+        childIndexes = new int[edge];
+        fill(parents, children, edge, childOffsets, childIndexes);
+        parentOffsets = new int[groups.length + 1];
+        parentIndexes = new int[edge];
+        fill(children, parents, edge, parentOffsets, parentIndexes);
+    }
+
+    private GroupHierarchy(UUID[] groups, Map<UUID, Integer> indexes, int[][] children, int[][] parents) {
+        this.groups = groups;
+        this.indexes = indexes;
+        this.childOffsets = children[0];
+        this.childIndexes = children[1];
+        this.parentOffsets = parents[0];
+        this.parentIndexes = parents[1];
+    }
+
+    /**
+     * Add a direct membership
+     *
+     * @param parent the UUID of the parent group
+     * @param child  the UUID of the member group
+     * @return the hierarchy with the membership, this hierarchy if it already has it
+     */
+    public GroupHierarchy withMembership(UUID parent, UUID child) {
+        Integer p = indexes.get(parent);
+        Integer c = indexes.get(child);
+        if (p != null && c != null && find(childOffsets, childIndexes, p, c) >= 0) {
+            return this;
+        }
+        UUID[] newGroups = groups;
+        Map<UUID, Integer> newIndexes = indexes;
+        if (p == null || c == null) {
+            newIndexes = new HashMap<>(indexes);
+            newGroups = Arrays.copyOf(groups, groups.length + (p == null ? 1 : 0) + (c == null ? 1 : 0));
+            if (p == null) {
+                p = newIndexes.size();
+                newIndexes.put(parent, p);
+                newGroups[p] = parent;
+            }
+            if (c == null) {
+                c = newIndexes.size();
+                newIndexes.put(child, c);
+                newGroups[c] = child;
+            }
+        }
+        return new GroupHierarchy(newGroups, newIndexes,
+                                  insert(childOffsets, childIndexes, p, c, newGroups.length),
+                                  insert(parentOffsets, parentIndexes, c, p, newGroups.length));
+    }
+
+    /**
+     * Remove a direct membership
+     *
+     * @param parent the UUID of the parent group
+     * @param child  the UUID of the member group
+     * @return the hierarchy without the membership, this hierarchy if it doesn't have it
+     */
+    public GroupHierarchy withoutMembership(UUID parent, UUID child) {
+        Integer p = indexes.get(parent);
+        Integer c = indexes.get(child);
+        if (p == null || c == null) {
+            return this;
+        }
+        int childEdge = find(childOffsets, childIndexes, p, c);
+        if (childEdge < 0) {
+            return this;
+        }
+        // the group stays numbered, without the membership
+        return new GroupHierarchy(groups, indexes, remove(childOffsets, childIndexes, p, childEdge),
+                                  remove(parentOffsets, parentIndexes, c, find(parentOffsets, parentIndexes, c, p)));
+    }
+
+    /**
+     * Remove all direct memberships of a group, e.g. once it is deleted
+     *
+     * @param group the UUID of the group
+     * @return the hierarchy without the parents and members of the group
+     */
+    public GroupHierarchy withoutGroup(UUID group) {
+        Integer index = indexes.get(group);
+        if (index == null) {
+            return this;
+        }
+        List<Pair<UUID, UUID>> memberships = new ArrayList<>(childIndexes.length);
+        for (int parent = 0; parent < groups.length; parent++) {
+            for (int i = childOffsets[parent]; i < childOffsets[parent + 1]; i++) {
+                if (parent != index && childIndexes[i] != index) {
+                    memberships.add(Pair.of(groups[parent], groups[childIndexes[i]]));
+                }
+            }
+        }
+        return new GroupHierarchy(memberships);
+    }
+
+    /**
+     * @return the position of the edge from "from" to "to" in the targets, or -1
+     */
+    private static int find(int[] offsets, int[] targets, int from, int to) {
+        for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+            if (targets[i] == to) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copy the adjacency arrays with an edge from "from" to "to" added at the end of the edges of "from"
+     *
+     * @param size the number of groups, which may have grown
+     * @return the new offsets and targets
+     */
+    private static int[][] insert(int[] offsets, int[] targets, int from, int to, int size) {
+        int[] newOffsets = Arrays.copyOf(offsets, size + 1);
+        // the groups which were added have no edges yet
+        Arrays.fill(newOffsets, offsets.length, size + 1, targets.length);
+        int at = newOffsets[from + 1];
+        for (int i = from + 1; i <= size; i++) {
+            newOffsets[i]++;
+        }
+        int[] newTargets = new int[targets.length + 1];
+        System.arraycopy(targets, 0, newTargets, 0, at);
+        newTargets[at] = to;
+        System.arraycopy(targets, at, newTargets, at + 1, targets.length - at);
+        return new int[][] {newOffsets, newTargets};
+    }
+
+    /**
+     * Copy the adjacency arrays without the edge at the given position, which is an edge of "from"
+     *
+     * @return the new offsets and targets
+     */
+    private static int[][] remove(int[] offsets, int[] targets, int from, int edge) {
+        int[] newOffsets = offsets.clone();
+        for (int i = from + 1; i < newOffsets.length; i++) {
+            newOffsets[i]--;
+        }
+        int[] newTargets = new int[targets.length - 1];
+        System.arraycopy(targets, 0, newTargets, 0, edge);
+        System.arraycopy(targets, edge + 1, newTargets, edge, targets.length - edge - 1);
+        return new int[][] {newOffsets, newTargets};
+    }
+
+    private int index(UUID group) {
+        return indexes.computeIfAbsent(group, g -> indexes.size());
+    }
+
+    /**
+     * Fill the adjacency arrays of the edges from "from" to "to"
+     */
+    private void fill(int[] from, int[] to, int edges, int[] offsets, int[] targets) {
+        for (int edge = 0; edge < edges; edge++) {
+            offsets[from[edge] + 1]++;
+        }
+        for (int i = 0; i < groups.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] next = Arrays.copyOf(offsets, groups.length);
+        for (int edge = 0; edge < edges; edge++) {
+            targets[next[from[edge]]++] = to[edge];
+        }
+    }
+
+    /**
+     * @return the number of groups which have (or had, before it was removed) a parent or a child group
+     */
+    public int size() {
+        return groups.length;
+    }
+
+    /**
+     * Find all direct and indirect member groups of a group
+     *
+     * @param group the UUID of the group
+     * @return the UUIDs of the descendants of the group, never containing the group itself
+     */
+    public Set<UUID> getDescendants(UUID group) {
+        return traverse(group, childOffsets, childIndexes);
+    }
+
+    /**
+     * Find all groups the group is a direct or indirect member of
+     *
+     * @param group the UUID of the group
+     * @return the UUIDs of the ancestors of the group, never containing the group itself
+     */
+    public Set<UUID> getAncestors(UUID group) {
+        return traverse(group, parentOffsets, parentIndexes);
+    }
+
+    /**
+     * Compute the complete transitive closure, i.e. the full content of the group2groupcache table
+     *
+     * @return pairs of parent and (direct or indirect) child group UUID
+     */
+    public Set<Pair<UUID, UUID>> getClosure() {
+        Set<Pair<UUID, UUID>> closure = new HashSet<>();
+        int[] visited = new int[groups.length];
+        int[] stack = new int[groups.length];
+        for (int group = 0; group < groups.length; group++) {
+            if (childOffsets[group] == childOffsets[group + 1]) {
+                continue;
+            }
+            for (int descendant : traverse(group, childOffsets, childIndexes, visited, stack)) {
+                closure.add(Pair.of(groups[group], groups[descendant]));
+            }
+        }
+        return closure;
+    }
+
+    private Set<UUID> traverse(UUID group, int[] offsets, int[] targets) {
+        Set<UUID> result = new HashSet<>();
+        Integer start = indexes.get(group);
+        if (start != null) {
+            int[] reached = traverse(start, offsets, targets, new int[groups.length], new int[groups.length]);
+            for (int index : reached) {
+                result.add(groups[index]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Depth first traversal from a group. The visited array holds, for every group, the start group + 1 of the last
+     * traversal which reached it, so it can be reused over traversals from different start groups without clearing.
+     */
+    private int[] traverse(int start, int[] offsets, int[] targets, int[] visited, int[] stack) {
+        int mark = start + 1;
+        int[] reached = new int[8];
+        int count = 0;
+        int top = 0;
+        stack[top++] = start;
+        visited[start] = mark;
+        while (top > 0) {
+            int current = stack[--top];
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                int target = targets[i];
+                if (visited[target] != mark) {
+                    visited[target] = mark;
+                    stack[top++] = target;
+                    if (count == reached.length) {
+                        reached = Arrays.copyOf(reached, count * 2);
+                    }
+                    reached[count++] = target;
+                }
+            }
+        }
+        return Arrays.copyOf(reached, count);
+    }
+}
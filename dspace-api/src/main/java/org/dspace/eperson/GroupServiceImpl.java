@@ -154,6 +154,10 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
         groupParent.addMember(groupChild);
         groupChild.addParentGroup(groupParent);
+        GroupHierarchy hierarchy = context.getGroupHierarchy();
+        if (hierarchy != null) {
+            context.setGroupHierarchy(hierarchy.withMembership(groupParent.getID(), groupChild.getID()));
+        }
 
         context.addEvent(new Event(Event.ADD, Constants.GROUP, groupParent.getID(), Constants.GROUP, groupChild.getID(),
                                    groupChild.getName(), getIdentifiers(context, groupParent)));
@@ -239,6 +243,10 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
         if (groupParent.remove(childGroup)) {
             childGroup.removeParentGroup(groupParent);
+            GroupHierarchy hierarchy = context.getGroupHierarchy();
+            if (hierarchy != null) {
+                context.setGroupHierarchy(hierarchy.withoutMembership(groupParent.getID(), childGroup.getID()));
+            }
             context.addEvent(
                 new Event(Event.REMOVE, Constants.GROUP, groupParent.getID(), Constants.GROUP, childGroup.getID(),
                           childGroup.getName(), getIdentifiers(context, groupParent)));
@@ -273,8 +281,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             return false;
 
             // special, everyone is member of group 0 (anonymous)
-        } else if (StringUtils.equals(group.getName(), Group.ANONYMOUS) ||
-                   isParentOf(context, group, findByName(context, Group.ANONYMOUS))) {
+        } else if (StringUtils.equals(group.getName(), Group.ANONYMOUS)) {
             return true;
 
         } else {
@@ -284,10 +291,11 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
                 return cachedGroupMembership;
 
             } else {
-                boolean isMember = false;
+                // everyone is also member of the groups containing the anonymous group
+                boolean isMember = isParentOf(context, group, findByName(context, Group.ANONYMOUS));
 
                 //If we have an ePerson, check we can find membership in the database
-                if (ePerson != null) {
+                if (!isMember && ePerson != null) {
                     //lookup eperson in normal groups and subgroups with 1 query
                     isMember = isEPersonInGroup(context, group, ePerson);
                 }
@@ -563,11 +571,20 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             ePerson.getGroups().remove(group);
         }
 
-        // empty out group2groupcache table (if we do it after we delete our object we get an issue with references)
-        group2GroupCacheDAO.deleteAll(context);
+        // the groups which (indirectly) contained this group lose the members they got through it
+        Set<UUID> ancestors = group2GroupCacheDAO.getCachedParents(context, group.getID());
+        // remove the cache rows of this group (if we do it after we delete our object we get an issue with
+        // references)
+        group2GroupCacheDAO.deleteByGroup(context, group.getID());
         // Remove ourself
         groupDAO.delete(context, group);
-        rethinkGroupCache(context, false);
+        GroupHierarchy hierarchy = context.getGroupHierarchy();
+        if (hierarchy != null) {
+            context.setGroupHierarchy(hierarchy.withoutGroup(group.getID()));
+        }
+        if (!ancestors.isEmpty()) {
+            updateGroupCache(context, getGroupHierarchy(context, false), ancestors);
+        }
 
         log.info(LogHelper.getHeader(context, "delete_group", "group_id="
             + group.getID()));
@@ -658,7 +675,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         if (group.isGroupsChanged()) {
-            rethinkGroupCache(context, true);
+            updateGroupCache(context, group, true);
             group.clearGroupsChanged();
         }
 
@@ -674,62 +691,125 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
 
     /**
-     * Returns a set with pairs of parent and child group UUIDs, representing the new cache table rows.
+     * Get the direct group to group memberships as a compact in-memory graph. The graph is loaded once per
+     * transaction and kept in the Context: the memberships added or removed afterwards by this service are applied
+     * to it, instead of loading all memberships again after every change.
      *
      * @param context       The relevant DSpace Context.
      * @param flushQueries  flushQueries Flush all pending queries
-     * @return              Pairs of parent and child group UUID of the new cache.
+     * @return              the hierarchy of all groups
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
-    private Set<Pair<UUID, UUID>> computeNewCache(Context context, boolean flushQueries) throws SQLException {
-        Map<UUID, Set<UUID>> parents = new HashMap<>();
+    protected GroupHierarchy getGroupHierarchy(Context context, boolean flushQueries) throws SQLException {
+        GroupHierarchy hierarchy = context.getGroupHierarchy();
+        if (hierarchy == null) {
+            hierarchy = loadGroupHierarchy(context, flushQueries);
+            context.setGroupHierarchy(hierarchy);
+        }
+        return hierarchy;
+    }
 
-        List<Pair<UUID, UUID>> group2groupResults = groupDAO.getGroup2GroupResults(context, flushQueries);
-        for (Pair<UUID, UUID> group2groupResult : group2groupResults) {
-            UUID parent = group2groupResult.getLeft();
-            UUID child = group2groupResult.getRight();
+    /**
+     * Load the direct group to group memberships from the database in a compact in-memory graph
+     *
+     * @param context       The relevant DSpace Context.
+     * @param flushQueries  flushQueries Flush all pending queries
+     * @return              the hierarchy of all groups
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected GroupHierarchy loadGroupHierarchy(Context context, boolean flushQueries) throws SQLException {
+        return new GroupHierarchy(groupDAO.getGroup2GroupResults(context, flushQueries));
+    }
 
-            parents.putIfAbsent(parent, new HashSet<>());
-            parents.get(parent).add(child);
-        }
+    /**
+     * Update the group cache AKA the group2groupcache table in the database after the parent or member groups of
+     * a group changed. Only the rows of the groups which contained the group, before or after the change, and of
+     * the group itself can be affected, so only these are recomputed.
+     *
+     * @param context      The relevant DSpace Context.
+     * @param group        The group of which the parent or member groups changed
+     * @param flushQueries flushQueries Flush all pending queries
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void updateGroupCache(Context context, Group group, boolean flushQueries) throws SQLException {
+        GroupHierarchy hierarchy = getGroupHierarchy(context, flushQueries);
 
-        // now parents is a hash of all of the IDs of groups that are parents
-        // and each hash entry is a hash of all of the IDs of children of those
-        // parent groups
-        // so now to establish all parent,child relationships we can iterate
-        // through the parents hash
-        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
-            Set<UUID> myChildren = getChildren(parents, parent.getKey());
-            parent.getValue().addAll(myChildren);
-        }
+        Set<UUID> affected = new HashSet<>();
+        affected.add(group.getID());
+        // ancestors before the change, according to the cache
+        affected.addAll(group2GroupCacheDAO.getCachedParents(context, group.getID()));
+        // ancestors after the change
+        affected.addAll(hierarchy.getAncestors(group.getID()));
+
+        updateGroupCache(context, hierarchy, affected);
+    }
+
+    /**
+     * Recompute the rows of the group cache of the given parent groups, and write the differences with their
+     * current rows
+     *
+     * @param context  The relevant DSpace Context.
+     * @param hierarchy the current group hierarchy
+     * @param parents  the UUIDs of the parent groups of which the rows must be recomputed
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void updateGroupCache(Context context, GroupHierarchy hierarchy, Set<UUID> parents)
+        throws SQLException {
+        Set<Pair<UUID, UUID>> oldCache = group2GroupCacheDAO.getCacheOfParents(context, parents);
 
-        // write out new cache IN MEMORY ONLY and returns it
         Set<Pair<UUID, UUID>> newCache = new HashSet<>();
-        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
-            UUID key = parent.getKey();
-            for (UUID child : parent.getValue()) {
-                newCache.add(Pair.of(key, child));
+        for (UUID parent : parents) {
+            for (UUID child : hierarchy.getDescendants(parent)) {
+                newCache.add(Pair.of(parent, child));
             }
         }
-        return newCache;
-    }
 
+        writeGroupCache(context, oldCache, newCache);
+    }
 
     /**
-     * Regenerate the group cache AKA the group2groupcache table in the database -
-     * meant to be called when a group is added or removed from another group
+     * Regenerate the whole group cache AKA the group2groupcache table in the database from the group memberships.
+     * The cache is normally maintained incrementally, this is meant to verify and repair it.
      *
      * @param context      The relevant DSpace Context.
      * @param flushQueries flushQueries Flush all pending queries
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     protected void rethinkGroupCache(Context context, boolean flushQueries) throws SQLException {
+        verifyGroupCache(context, flushQueries, true);
+    }
+
+    @Override
+    public int verifyGroupCache(Context context, boolean repair) throws SQLException {
+        return verifyGroupCache(context, true, repair);
+    }
+
+    protected int verifyGroupCache(Context context, boolean flushQueries, boolean repair) throws SQLException {
         // current cache in the database
         Set<Pair<UUID, UUID>> oldCache = group2GroupCacheDAO.getCache(context);
 
         // correct cache, computed from the Group table
-        Set<Pair<UUID, UUID>> newCache = computeNewCache(context, flushQueries);
+        GroupHierarchy hierarchy = loadGroupHierarchy(context, flushQueries);
+        context.setGroupHierarchy(hierarchy);
+        Set<Pair<UUID, UUID>> newCache = hierarchy.getClosure();
+
+        int differences = SetUtils.difference(oldCache, newCache).size()
+            + SetUtils.difference(newCache, oldCache).size();
+        if (differences > 0) {
+            log.warn("The group2groupcache table has {} wrong or missing rows{}", differences,
+                     repair ? ", repairing" : "");
+            if (repair) {
+                writeGroupCache(context, oldCache, newCache);
+            }
+        }
+        return differences;
+    }
 
+    /**
+     * Write the differences between the old and new rows to the group2groupcache table
+     */
+    private void writeGroupCache(Context context, Set<Pair<UUID, UUID>> oldCache, Set<Pair<UUID, UUID>> newCache)
+        throws SQLException {
         SetUtils.SetView<Pair<UUID, UUID>> toDelete = SetUtils.difference(oldCache, newCache);
         SetUtils.SetView<Pair<UUID, UUID>> toCreate = SetUtils.difference(newCache, oldCache);
 
@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -98,4 +99,30 @@ public interface Group2GroupCacheDAO extends GenericDAO<Group2GroupCache> {
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     void addToCache(Context context, UUID parent, UUID child) throws SQLException;
+
+    /**
+     * Returns the cache rows of the given parent groups as a set of UUID pairs.
+     * @param context The relevant DSpace Context.
+     * @param parents Parent group UUIDs.
+     * @return Set of UUID pairs, where the first element is the parent UUID and the second one is the child UUID.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    Set<Pair<UUID, UUID>> getCacheOfParents(Context context, Collection<UUID> parents) throws SQLException;
+
+    /**
+     * Returns the UUIDs of all groups the given group is a (direct or indirect) member of, according to the cache.
+     * @param context The relevant DSpace Context.
+     * @param child Child group UUID.
+     * @return Set of parent group UUIDs.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    Set<UUID> getCachedParents(Context context, UUID child) throws SQLException;
+
+    /**
+     * Deletes all cache rows in which the given group is either the parent or the child.
+     * @param context The relevant DSpace Context.
+     * @param group Group UUID.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    void deleteByGroup(Context context, UUID group) throws SQLException;
 }
@@ -8,6 +8,8 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -19,6 +21,7 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.core.AbstractHibernateDAO;
 import org.dspace.core.Context;
@@ -35,6 +38,11 @@ import org.dspace.eperson.dao.Group2GroupCacheDAO;
  * @author kevinvandevelde at atmire.com
  */
 public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCache> implements Group2GroupCacheDAO {
+    /**
+     * Maximum number of parameters in a single IN clause
+     */
+    protected static final int MAX_IN_CLAUSE = 1000;
+
     protected Group2GroupCacheDAOImpl() {
         super();
     }
@@ -124,4 +132,37 @@ public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCac
         query.setParameter("child", child);
         query.executeUpdate();
     }
+
+    @Override
+    public Set<Pair<UUID, UUID>> getCacheOfParents(Context context, Collection<UUID> parents) throws SQLException {
+        Set<Pair<UUID, UUID>> cache = new HashSet<>();
+        for (List<UUID> partition : ListUtils.partition(new ArrayList<>(parents), MAX_IN_CLAUSE)) {
+            Query query = createQuery(
+                context,
+                "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.parent.id, g.child.id) " +
+                    "FROM Group2GroupCache g WHERE g.parent.id IN (:parents)"
+            );
+            query.setParameter("parents", partition);
+            List<Pair<UUID, UUID>> results = query.getResultList();
+            cache.addAll(results);
+        }
+        return cache;
+    }
+
+    @Override
+    public Set<UUID> getCachedParents(Context context, UUID child) throws SQLException {
+        Query query = createQuery(context, "SELECT g.parent.id FROM Group2GroupCache g WHERE g.child.id = :child");
+        query.setParameter("child", child);
+        List<UUID> results = query.getResultList();
+        return new HashSet<>(results);
+    }
+
+    @Override
+    public void deleteByGroup(Context context, UUID group) throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "delete from group2groupcache g WHERE g.parent_id = :group OR g.child_id = :group"
+        );
+        query.setParameter("group", group);
+        query.executeUpdate();
+    }
 }
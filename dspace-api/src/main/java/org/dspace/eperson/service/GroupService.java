@@ -396,4 +396,15 @@ public interface GroupService extends DSpaceObjectService<Group>, DSpaceObjectLe
      */
     int countByParent(Context context, Group parent)
         throws SQLException;
+
+    /**
+     * Verify the group2group cache table, which is maintained incrementally when memberships change, against a
+     * full recomputation from the group memberships.
+     *
+     * @param context The relevant DSpace Context.
+     * @param repair  whether the wrong and missing rows must be fixed
+     * @return the number of rows which are wrong or missing in the cache table
+     * @throws SQLException database exception if error
+     */
+    int verifyGroupCache(Context context, boolean repair) throws SQLException;
 }
@@ -0,0 +1,142 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.core.Utils;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.event.service.QueuedEventService;
+
+/**
+ * AsynchronousDispatcher delivers events to its consumers outside of the committing thread. Instead of calling the
+ * consumers, {@link #dispatch(Context)} stores the events in the event queue table, as part of the transaction
+ * being committed (outbox pattern). The {@link QueuedEventProcessor} then delivers the queued events to the
+ * consumers of this dispatcher using a pool of workers, in order for every DSpace object, retrying failed events.
+ * <p>
+ * It is configured like any other dispatcher, e.g.
+ * <pre>
+ * event.dispatcher.default.class = org.dspace.event.AsynchronousDispatcher
+ * event.dispatcher.default.consumers = versioning, discovery, eperson
+ * </pre>
+ * Consumers are not aware of the queue: they receive the events and the call to end() as they would from the
+ * {@link BasicDispatcher}, in a Context of the user who caused the events, which is committed afterwards.
+ */
+public class AsynchronousDispatcher extends BasicDispatcher {
+
+    private static final Logger log = LogManager.getLogger(AsynchronousDispatcher.class);
+
+    public AsynchronousDispatcher(String name) {
+        super(name);
+    }
+
+    /**
+     * Store all events added to this Context in the event queue. If the events can't be stored, they are
+     * delivered synchronously instead.
+     *
+     * @param ctx the execution context
+     */
+    @Override
+    public void dispatch(Context ctx) {
+        if (consumers.isEmpty() || !ctx.hasEvents()) {
+            return;
+        }
+
+        String tid = "TX" + Utils.generateKey();
+        List<Event> events = new ArrayList<>();
+        while (ctx.hasEvents()) {
+            Event event = ctx.pollEvent();
+            event.setDispatcher(getIdentifier());
+            event.setTransactionID(tid);
+            // only queue the events which are of interest to one of the consumers
+            for (ConsumerProfile cp : consumers.values()) {
+                if (event.pass(cp.getFilters())) {
+                    events.add(event);
+                    break;
+                }
+            }
+        }
+
+        QueuedEventService queuedEventService = EventServiceFactory.getInstance().getQueuedEventService();
+        int queued = 0;
+        try {
+            for (Event event : events) {
+                queuedEventService.create(ctx, name, event);
+                queued++;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Queued " + queued + " events for dispatcher \"" + name + "\"");
+            }
+        } catch (SQLException e) {
+            log.error("Unable to queue events for dispatcher \"" + name + "\", delivering them synchronously", e);
+            List<Event> remaining = events.subList(queued, events.size());
+            List<Set<String>> consumedBy = new ArrayList<>();
+            remaining.forEach(event -> consumedBy.add(new HashSet<>()));
+            deliver(ctx, remaining, consumedBy);
+        }
+    }
+
+    /**
+     * Deliver the given events to the consumers of this dispatcher, synchronously. Every consumer receives the
+     * events which pass its filters and which it didn't process yet, followed by a call to end().
+     * The consumers which successfully processed an event are added to the set of consumers of that event.
+     *
+     * @param ctx        the execution context
+     * @param events     the events to deliver
+     * @param consumedBy for every event, the names of the consumers which already processed it
+     * @return the names of the consumers which failed, with the cause of the failure
+     */
+    public Map<String, Exception> deliver(Context ctx, List<Event> events, List<Set<String>> consumedBy) {
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        for (ConsumerProfile cp : consumers.values()) {
+            List<Integer> delivered = new ArrayList<>();
+            boolean ended = false;
+            try {
+                for (int i = 0; i < events.size(); i++) {
+                    Event event = events.get(i);
+                    if (!consumedBy.get(i).contains(cp.getName()) && event.pass(cp.getFilters())) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Sending event to \"" + cp.getName() + "\": " + event.toString());
+                        }
+                        cp.getConsumer().consume(ctx, event);
+                        event.setBitSet(cp.getName());
+                        delivered.add(i);
+                    }
+                }
+                if (!delivered.isEmpty()) {
+                    ended = true;
+                    cp.getConsumer().end(ctx);
+                    for (int i : delivered) {
+                        consumedBy.get(i).add(cp.getName());
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Consumer(\"" + cp.getName() + "\") failed: " + e.toString(), e);
+                failures.put(cp.getName(), e);
+                if (!ended) {
+                    // give the consumer the chance to reset its state, the events are retried anyway
+                    try {
+                        cp.getConsumer().end(ctx);
+                    } catch (Exception endException) {
+                        log.debug("Error in Consumer(\"" + cp.getName() + "\").end after failure", endException);
+                    }
+                }
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+import org.hibernate.Length;
+
+/**
+ * Entity that models an {@link Event} waiting in the event queue of an {@link AsynchronousDispatcher}. The event
+ * is stored in the same transaction as the changes that caused it, and removed once all consumers of the
+ * dispatcher have processed it.
+ */
+@Entity
+@Table(name = "event_queue")
+public class QueuedEvent implements ReloadableEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_queue_id_seq")
+    @SequenceGenerator(name = "event_queue_id_seq", sequenceName = "event_queue_id_seq", allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The name of the dispatcher whose consumers should process the event.
+     */
+    @Column(name = "dispatcher")
+    private String dispatcher;
+
+    /**
+     * The events with the same ordering key (the subject of the event) are processed in the order they were queued.
+     */
+    @Column(name = "ordering_key")
+    private String orderingKey;
+
+    @Column(name = "event_type")
+    private int eventType;
+
+    @Column(name = "subject_type")
+    private int subjectType;
+
+    @Column(name = "subject_id")
+    private UUID subjectId;
+
+    @Column(name = "object_type")
+    private int objectType;
+
+    @Column(name = "object_id")
+    private UUID objectId;
+
+    @Column(name = "detail", length = Length.LONG32)
+    private String detail;
+
+    /**
+     * The identifiers of the event, separated by newlines.
+     */
+    @Column(name = "identifiers", length = Length.LONG32)
+    private String identifiers;
+
+    @Column(name = "transaction_id")
+    private String transactionId;
+
+    /**
+     * The user who caused the event.
+     */
+    @Column(name = "eperson_id")
+    private UUID epersonId;
+
+    /**
+     * The names of the consumers which already processed the event, separated by commas.
+     */
+    @Column(name = "consumed_by", length = Length.LONG32)
+    private String consumedBy;
+
+    @Column(name = "created")
+    private Instant created;
+
+    /**
+     * Processing attempts already made for this event.
+     */
+    @Column(name = "attempts")
+    private int attempts = 0;
+
+    /**
+     * The event is not processed before this moment.
+     */
+    @Column(name = "next_attempt")
+    private Instant nextAttempt;
+
+    /**
+     * The processor currently processing the event, if any.
+     */
+    @Column(name = "claimed_by")
+    private String owner;
+
+    /**
+     * The moment the current owner claimed the event.
+     */
+    @Column(name = "claimed")
+    private Instant claimed;
+
+    @Column(name = "last_error", length = Length.LONG32)
+    private String lastError;
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public void setID(Integer id) {
+        this.id = id;
+    }
+
+    public String getDispatcher() {
+        return dispatcher;
+    }
+
+    public void setDispatcher(String dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public String getOrderingKey() {
+        return orderingKey;
+    }
+
+    public void setOrderingKey(String orderingKey) {
+        this.orderingKey = orderingKey;
+    }
+
+    public int getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(int eventType) {
+        this.eventType = eventType;
+    }
+
+    public int getSubjectType() {
+        return subjectType;
+    }
+
+    public void setSubjectType(int subjectType) {
+        this.subjectType = subjectType;
+    }
+
+    public UUID getSubjectId() {
+        return subjectId;
+    }
+
+    public void setSubjectId(UUID subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public int getObjectType() {
+        return objectType;
+    }
+
+    public void setObjectType(int objectType) {
+        this.objectType = objectType;
+    }
+
+    public UUID getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(UUID objectId) {
+        this.objectId = objectId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    public String getIdentifiers() {
+        return identifiers;
+    }
+
+    public void setIdentifiers(String identifiers) {
+        this.identifiers = identifiers;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public UUID getEpersonId() {
+        return epersonId;
+    }
+
+    public void setEpersonId(UUID epersonId) {
+        this.epersonId = epersonId;
+    }
+
+    public String getConsumedBy() {
+        return consumedBy;
+    }
+
+    public void setConsumedBy(String consumedBy) {
+        this.consumedBy = consumedBy;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+
+    public void setCreated(Instant created) {
+        this.created = created;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttempt() {
+        return nextAttempt;
+    }
+
+    public void setNextAttempt(Instant nextAttempt) {
+        this.nextAttempt = nextAttempt;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Instant getClaimed() {
+        return claimed;
+    }
+
+    public void setClaimed(Instant claimed) {
+        this.claimed = claimed;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
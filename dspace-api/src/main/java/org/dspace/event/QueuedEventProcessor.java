@@ -0,0 +1,283 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.eperson.service.EPersonService;
+import org.dspace.event.service.EventService;
+import org.dspace.event.service.QueuedEventService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Processes the events queued by the {@link AsynchronousDispatcher}s.
+ * <p>
+ * A poller claims the events which can be processed and hands them over to a pool of workers. All events about the
+ * same DSpace object are handed to the same worker, which processes them in the order they were queued, so the
+ * order of the events of every object is preserved. A worker delivers its events to the consumers in a Context of
+ * the user who caused them, and removes them from the queue in the same transaction. Events which fail are retried
+ * with an increasing delay. The poller doesn't claim new events while the configured maximum number of events is
+ * being processed, so a slow consumer doesn't make the queue grow in memory.
+ * <p>
+ * The following configuration is used:
+ * <ul>
+ *     <li>event.queue.processor.enabled: whether this node processes queued events (default true)</li>
+ *     <li>event.queue.processor.workers: the number of workers (default 4)</li>
+ *     <li>event.queue.processor.poll-interval: the delay in milliseconds between two polls (default 1000)</li>
+ *     <li>event.queue.processor.max-in-flight: the maximum number of claimed events (default 500)</li>
+ * </ul>
+ * The processor is only started by the webapp, and only if at least one dispatcher is an
+ * {@link AsynchronousDispatcher}. The command line tools queue their events but don't process them, so a short-lived
+ * script doesn't claim events it may not have the time to process.
+ */
+public class QueuedEventProcessor {
+
+    private static final Logger log = LogManager.getLogger(QueuedEventProcessor.class);
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private QueuedEventService queuedEventService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EPersonService ePersonService;
+
+    private final String owner = UUID.randomUUID().toString();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private ScheduledExecutorService poller;
+    private ExecutorService[] workers;
+    private int maxInFlight;
+
+    /**
+     * Start polling the event queue, if enabled and if an asynchronous dispatcher is configured
+     */
+    public synchronized void start() {
+        if (poller != null
+            || !configurationService.getBooleanProperty("event.queue.processor.enabled", true)
+            || !isAsynchronousDispatcherConfigured()) {
+            return;
+        }
+        int workerCount = Math.max(1, configurationService.getIntProperty("event.queue.processor.workers", 4));
+        maxInFlight = Math.max(1, configurationService.getIntProperty("event.queue.processor.max-in-flight", 500));
+        workers = new ExecutorService[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = Executors.newSingleThreadExecutor();
+        }
+        poller = Executors.newSingleThreadScheduledExecutor();
+        long interval = configurationService.getLongProperty("event.queue.processor.poll-interval", 1000);
+        poller.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Event queue processor {} started with {} workers", owner, workerCount);
+    }
+
+    /**
+     * Stop polling and wait for the events being processed. Claimed events which weren't processed are picked up
+     * again once their claim expires.
+     */
+    public synchronized void stop() {
+        if (poller == null) {
+            return;
+        }
+        poller.shutdown();
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        try {
+            poller.awaitTermination(10, TimeUnit.SECONDS);
+            for (ExecutorService worker : workers) {
+                worker.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        poller = null;
+        log.info("Event queue processor {} stopped: {} events processed, {} failed attempts", owner,
+            processed.get(), failed.get());
+    }
+
+    /**
+     * @return the number of events claimed by this processor which are still being processed
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the number of events processed by this processor
+     */
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    /**
+     * @return the number of failed attempts to process an event on this processor
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Claim the events which can be processed now and hand them to the workers
+     */
+    protected void poll() {
+        int capacity = maxInFlight - inFlight.get();
+        if (capacity <= 0) {
+            return;
+        }
+        Context context = new Context();
+        try {
+            // group the events by dispatcher and ordering key, keeping the order of the queue
+            Map<String, List<Integer>> groups = new LinkedHashMap<>();
+            Set<String> blocked = new HashSet<>();
+            for (QueuedEvent queuedEvent : queuedEventService.findReady(context, capacity)) {
+                String key = queuedEvent.getDispatcher() + "/" + queuedEvent.getOrderingKey();
+                // once an event of a key can't be claimed, the newer events of that key should wait for it
+                if (blocked.contains(key)) {
+                    continue;
+                }
+                if (queuedEventService.claim(context, queuedEvent, owner)) {
+                    groups.computeIfAbsent(key, k -> new ArrayList<>()).add(queuedEvent.getID());
+                } else {
+                    blocked.add(key);
+                }
+            }
+            context.complete();
+
+            for (Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+                inFlight.addAndGet(group.getValue().size());
+                int worker = Math.floorMod(group.getKey().hashCode(), workers.length);
+                workers[worker].submit(() -> process(group.getValue()));
+            }
+        } catch (Exception e) {
+            log.error("Unable to poll the event queue", e);
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    /**
+     * Deliver a group of claimed events, all having the same dispatcher and ordering key, to the consumers
+     *
+     * @param ids the ids of the queued events, in queue order
+     */
+    protected void process(List<Integer> ids) {
+        Context context = new Context();
+        Dispatcher dispatcher = null;
+        String dispatcherName = null;
+        try {
+            List<QueuedEvent> queuedEvents = new ArrayList<>();
+            for (Integer id : ids) {
+                QueuedEvent queuedEvent = queuedEventService.find(context, id);
+                if (queuedEvent != null) {
+                    queuedEvents.add(queuedEvent);
+                }
+            }
+            if (queuedEvents.isEmpty()) {
+                return;
+            }
+            QueuedEvent first = queuedEvents.get(0);
+            dispatcherName = first.getDispatcher();
+            if (first.getEpersonId() != null) {
+                context.setCurrentUser(ePersonService.find(context, first.getEpersonId()));
+            }
+
+            List<Event> events = new ArrayList<>();
+            List<Set<String>> consumedBy = new ArrayList<>();
+            for (QueuedEvent queuedEvent : queuedEvents) {
+                events.add(queuedEventService.getEvent(queuedEvent));
+                consumedBy.add(queuedEventService.getConsumedBy(queuedEvent));
+            }
+
+            dispatcher = eventService.getDispatcher(dispatcherName);
+            Map<String, Exception> failures;
+            if (dispatcher instanceof AsynchronousDispatcher) {
+                failures = ((AsynchronousDispatcher) dispatcher).deliver(context, events, consumedBy);
+            } else {
+                throw new IllegalStateException("Dispatcher " + dispatcherName + " is not asynchronous");
+            }
+
+            // the consumers may have changed the context, e.g. its mode or the entities it holds
+            for (int i = 0; i < queuedEvents.size(); i++) {
+                QueuedEvent queuedEvent = context.reloadEntity(queuedEvents.get(i));
+                if (failures.isEmpty()) {
+                    queuedEventService.delete(context, queuedEvent);
+                } else {
+                    queuedEventService.reschedule(context, queuedEvent, consumedBy.get(i),
+                        StringUtils.abbreviate(failures.toString(), 4000));
+                }
+            }
+            if (failures.isEmpty()) {
+                processed.addAndGet(queuedEvents.size());
+            } else {
+                failed.addAndGet(queuedEvents.size());
+            }
+            context.complete();
+        } catch (Exception e) {
+            // the events stay claimed and are retried once the claim expires
+            failed.addAndGet(ids.size());
+            log.error("Unable to process queued events {} of dispatcher {}", ids, dispatcherName, e);
+        } finally {
+            inFlight.addAndGet(-ids.size());
+            if (dispatcher != null) {
+                eventService.returnDispatcher(dispatcherName, dispatcher);
+            }
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    protected boolean isAsynchronousDispatcherConfigured() {
+        for (String key : configurationService.getPropertyKeys("event.dispatcher")) {
+            if (key.endsWith(".class")
+                && AsynchronousDispatcher.class.getName().equals(configurationService.getProperty(key))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Report the size of the queue, for monitoring purposes
+     *
+     * @param context DSpace context object
+     * @return a short description of the state of the queue and of this processor
+     * @throws SQLException if an SQL error occurs
+     */
+    public String getStatus(Context context) throws SQLException {
+        return "pending=" + queuedEventService.countPending(context) + ", failed=" +
+            queuedEventService.countFailed(context) + ", in-flight=" + inFlight.get() + ", processed=" +
+            processed.get() + ", failed-attempts=" + failed.get();
+    }
+}
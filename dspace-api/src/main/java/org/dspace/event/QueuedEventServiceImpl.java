@@ -0,0 +1,157 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.core.Context;
+import org.dspace.event.dao.QueuedEventDAO;
+import org.dspace.event.service.QueuedEventService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link QueuedEventService}.
+ */
+public class QueuedEventServiceImpl implements QueuedEventService {
+
+    @Autowired
+    private QueuedEventDAO queuedEventDAO;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    protected QueuedEventServiceImpl() {
+    }
+
+    @Override
+    public QueuedEvent create(Context context, String dispatcher, Event event) throws SQLException {
+        QueuedEvent queuedEvent = new QueuedEvent();
+        queuedEvent.setDispatcher(dispatcher);
+        queuedEvent.setEventType(event.getEventType());
+        queuedEvent.setSubjectType(event.getSubjectType());
+        queuedEvent.setSubjectId(event.getSubjectID());
+        queuedEvent.setObjectType(event.getObjectType());
+        queuedEvent.setObjectId(event.getObjectID());
+        queuedEvent.setDetail(event.getDetail());
+        queuedEvent.setIdentifiers(StringUtils.join(event.getIdentifiers(), "\n"));
+        queuedEvent.setTransactionId(event.getTransactionID());
+        if (context.getCurrentUser() != null) {
+            queuedEvent.setEpersonId(context.getCurrentUser().getID());
+        }
+        queuedEvent.setOrderingKey(getOrderingKey(event));
+        Instant now = Instant.now();
+        queuedEvent.setCreated(now);
+        queuedEvent.setNextAttempt(now);
+        return queuedEventDAO.create(context, queuedEvent);
+    }
+
+    @Override
+    public QueuedEvent find(Context context, int id) throws SQLException {
+        return queuedEventDAO.findByID(context, QueuedEvent.class, id);
+    }
+
+    @Override
+    public List<QueuedEvent> findReady(Context context, int limit) throws SQLException {
+        Instant now = Instant.now();
+        return queuedEventDAO.findReady(context, now, getLeaseExpiry(now), getMaxAttempts(), limit);
+    }
+
+    @Override
+    public boolean claim(Context context, QueuedEvent queuedEvent, String owner) throws SQLException {
+        Instant now = Instant.now();
+        return queuedEventDAO.claim(context, queuedEvent.getID(), owner, now, getLeaseExpiry(now));
+    }
+
+    @Override
+    public void release(Context context, QueuedEvent queuedEvent) throws SQLException {
+        queuedEvent.setOwner(null);
+        queuedEvent.setClaimed(null);
+        queuedEventDAO.save(context, queuedEvent);
+    }
+
+    @Override
+    public void delete(Context context, QueuedEvent queuedEvent) throws SQLException {
+        queuedEventDAO.delete(context, queuedEvent);
+    }
+
+    @Override
+    public void reschedule(Context context, QueuedEvent queuedEvent, Set<String> consumedBy, String error)
+        throws SQLException {
+        int attempts = queuedEvent.getAttempts() + 1;
+        long delay = configurationService.getLongProperty("event.queue.retry-delay", 30);
+        queuedEvent.setAttempts(attempts);
+        // exponential backoff, capped to avoid overflowing
+        queuedEvent.setNextAttempt(Instant.now().plusSeconds(delay << Math.min(attempts - 1, 16)));
+        queuedEvent.setConsumedBy(StringUtils.join(consumedBy, ","));
+        queuedEvent.setLastError(error);
+        release(context, queuedEvent);
+    }
+
+    @Override
+    public Event getEvent(QueuedEvent queuedEvent) {
+        ArrayList<String> identifiers = new ArrayList<>();
+        if (StringUtils.isNotEmpty(queuedEvent.getIdentifiers())) {
+            identifiers.addAll(Arrays.asList(queuedEvent.getIdentifiers().split("\n")));
+        }
+        Event event;
+        if (queuedEvent.getObjectType() < 0) {
+            event = new Event(queuedEvent.getEventType(), queuedEvent.getSubjectType(), queuedEvent.getSubjectId(),
+                queuedEvent.getDetail(), identifiers);
+        } else {
+            event = new Event(queuedEvent.getEventType(), queuedEvent.getSubjectType(), queuedEvent.getSubjectId(),
+                queuedEvent.getObjectType(), queuedEvent.getObjectId(), queuedEvent.getDetail(), identifiers);
+        }
+        event.setTransactionID(queuedEvent.getTransactionId());
+        return event;
+    }
+
+    @Override
+    public Set<String> getConsumedBy(QueuedEvent queuedEvent) {
+        Set<String> consumedBy = new LinkedHashSet<>();
+        if (StringUtils.isNotEmpty(queuedEvent.getConsumedBy())) {
+            consumedBy.addAll(Arrays.asList(queuedEvent.getConsumedBy().split(",")));
+        }
+        return consumedBy;
+    }
+
+    @Override
+    public long countPending(Context context) throws SQLException {
+        return queuedEventDAO.countByAttemptsLessThan(context, getMaxAttempts());
+    }
+
+    @Override
+    public long countFailed(Context context) throws SQLException {
+        return queuedEventDAO.countByAttemptsGreaterOrEqual(context, getMaxAttempts());
+    }
+
+    /**
+     * Events about the same object are processed in order. Events without subject (e.g. some Site events) are
+     * ordered by their object.
+     */
+    protected String getOrderingKey(Event event) {
+        UUID id = event.getSubjectID() != null ? event.getSubjectID() : event.getObjectID();
+        return id != null ? id.toString() : event.getSubjectTypeAsString();
+    }
+
+    protected int getMaxAttempts() {
+        return configurationService.getIntProperty("event.queue.max-attempts", 5);
+    }
+
+    protected Instant getLeaseExpiry(Instant now) {
+        return now.minusSeconds(configurationService.getLongProperty("event.queue.lease", 600));
+    }
+}
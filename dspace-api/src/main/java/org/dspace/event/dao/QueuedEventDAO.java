@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.event.QueuedEvent;
+
+/**
+ * Database Access Object interface class for the QueuedEvent object.
+ * The implementation of this class is responsible for all database calls for the QueuedEvent object and is
+ * autowired by spring. This class should only be accessed from a single service and should never be exposed
+ * outside of the API
+ */
+public interface QueuedEventDAO extends GenericDAO<QueuedEvent> {
+
+    /**
+     * Find the queued events which can be processed now, in the order they were queued. An event can be processed
+     * when it is due, isn't claimed (or its claim expired), and no older event with the same ordering key is still
+     * waiting for a retry or being processed.
+     *
+     * @param context     DSpace context object
+     * @param now         the current moment
+     * @param expiry      claims made before this moment are considered expired
+     * @param maxAttempts events which were already attempted this many times are ignored
+     * @param limit       the maximum number of events to return
+     * @return the events which can be processed
+     * @throws SQLException if an SQL error occurs
+     */
+    List<QueuedEvent> findReady(Context context, Instant now, Instant expiry, int maxAttempts, int limit)
+        throws SQLException;
+
+    /**
+     * Claim a queued event, unless it is claimed by another owner whose claim didn't expire.
+     *
+     * @param context DSpace context object
+     * @param id      the id of the queued event
+     * @param owner   the new owner
+     * @param now     the current moment
+     * @param expiry  claims made before this moment are considered expired
+     * @return true if the event was claimed
+     * @throws SQLException if an SQL error occurs
+     */
+    boolean claim(Context context, int id, String owner, Instant now, Instant expiry) throws SQLException;
+
+    /**
+     * Count the queued events which were attempted less than the given number of times.
+     *
+     * @param context     DSpace context object
+     * @param maxAttempts the maximum number of attempts
+     * @return the number of pending events
+     * @throws SQLException if an SQL error occurs
+     */
+    long countByAttemptsLessThan(Context context, int maxAttempts) throws SQLException;
+
+    /**
+     * Count the queued events which were attempted at least the given number of times.
+     *
+     * @param context     DSpace context object
+     * @param maxAttempts the maximum number of attempts
+     * @return the number of failed events
+     * @throws SQLException if an SQL error occurs
+     */
+    long countByAttemptsGreaterOrEqual(Context context, int maxAttempts) throws SQLException;
+}
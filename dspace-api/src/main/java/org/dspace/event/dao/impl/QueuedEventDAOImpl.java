@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.event.QueuedEvent;
+import org.dspace.event.dao.QueuedEventDAO;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the QueuedEvent object.
+ * This class is responsible for all database calls for the QueuedEvent object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class QueuedEventDAOImpl extends AbstractHibernateDAO<QueuedEvent> implements QueuedEventDAO {
+
+    protected QueuedEventDAOImpl() {
+        super();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<QueuedEvent> findReady(Context context, Instant now, Instant expiry, int maxAttempts, int limit)
+        throws SQLException {
+        Query query = createQuery(context,
+            "SELECT q FROM QueuedEvent q WHERE q.attempts < :maxAttempts AND q.nextAttempt <= :now " +
+            "AND (q.owner IS NULL OR q.claimed < :expiry) " +
+            "AND NOT EXISTS (SELECT o.id FROM QueuedEvent o WHERE o.orderingKey = q.orderingKey AND o.id < q.id " +
+            "AND o.attempts < :maxAttempts " +
+            "AND (o.nextAttempt > :now OR (o.owner IS NOT NULL AND o.claimed >= :expiry))) " +
+            "ORDER BY q.id");
+        query.setParameter("maxAttempts", maxAttempts);
+        query.setParameter("now", now);
+        query.setParameter("expiry", expiry);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public boolean claim(Context context, int id, String owner, Instant now, Instant expiry) throws SQLException {
+        Query query = createQuery(context,
+            "UPDATE QueuedEvent SET owner = :owner, claimed = :now " +
+            "WHERE id = :id AND (owner IS NULL OR claimed < :expiry)");
+        query.setParameter("owner", owner);
+        query.setParameter("now", now);
+        query.setParameter("id", id);
+        query.setParameter("expiry", expiry);
+        return query.executeUpdate() == 1;
+    }
+
+    @Override
+    public long countByAttemptsLessThan(Context context, int maxAttempts) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(q) FROM QueuedEvent q WHERE q.attempts < :maxAttempts");
+        query.setParameter("maxAttempts", maxAttempts);
+        return (long) query.getSingleResult();
+    }
+
+    @Override
+    public long countByAttemptsGreaterOrEqual(Context context, int maxAttempts) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(q) FROM QueuedEvent q WHERE q.attempts >= :maxAttempts");
+        query.setParameter("maxAttempts", maxAttempts);
+        return (long) query.getSingleResult();
+    }
+}
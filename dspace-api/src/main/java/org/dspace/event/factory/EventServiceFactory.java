@@ -8,6 +8,7 @@
 package org.dspace.event.factory;
 
 import org.dspace.event.service.EventService;
+import org.dspace.event.service.QueuedEventService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
@@ -20,6 +21,8 @@ public abstract class EventServiceFactory {
 
     public abstract EventService getEventService();
 
+    public abstract QueuedEventService getQueuedEventService();
+
     public static EventServiceFactory getInstance() {
         return DSpaceServicesFactory.getInstance().getServiceManager()
                                     .getServiceByName("eventServiceFactory", EventServiceFactory.class);
@@ -8,6 +8,7 @@
 package org.dspace.event.factory;
 
 import org.dspace.event.service.EventService;
+import org.dspace.event.service.QueuedEventService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -21,8 +22,16 @@ public class EventServiceFactoryImpl extends EventServiceFactory {
     @Autowired(required = true)
     private EventService eventService;
 
+    @Autowired(required = true)
+    private QueuedEventService queuedEventService;
+
     @Override
     public EventService getEventService() {
         return eventService;
     }
+
+    @Override
+    public QueuedEventService getQueuedEventService() {
+        return queuedEventService;
+    }
 }
@@ -0,0 +1,121 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+import org.dspace.core.Context;
+import org.dspace.event.Event;
+import org.dspace.event.QueuedEvent;
+
+/**
+ * Service that handles the persisted queue of events of the {@link org.dspace.event.AsynchronousDispatcher}.
+ * <p>
+ * The following configuration is used:
+ * <ul>
+ *     <li>event.queue.max-attempts: the number of times an event is attempted before it is left as failed</li>
+ *     <li>event.queue.retry-delay: the delay in seconds before the first retry, doubled for every next retry</li>
+ *     <li>event.queue.lease: the time in seconds after which the claim of a processor expires</li>
+ * </ul>
+ */
+public interface QueuedEventService {
+
+    /**
+     * Add an event to the queue of the given dispatcher, as part of the current transaction.
+     *
+     * @param context    DSpace context object
+     * @param dispatcher the name of the dispatcher
+     * @param event      the event to queue
+     * @return the queued event
+     * @throws SQLException if an SQL error occurs
+     */
+    QueuedEvent create(Context context, String dispatcher, Event event) throws SQLException;
+
+    QueuedEvent find(Context context, int id) throws SQLException;
+
+    /**
+     * Find the queued events which can be processed now, in the order they were queued.
+     *
+     * @param context DSpace context object
+     * @param limit   the maximum number of events to return
+     * @return the events which can be processed
+     * @throws SQLException if an SQL error occurs
+     */
+    List<QueuedEvent> findReady(Context context, int limit) throws SQLException;
+
+    /**
+     * Claim the given event for the given owner, unless another owner holds a claim which didn't expire.
+     *
+     * @param context     DSpace context object
+     * @param queuedEvent the event to claim
+     * @param owner       the owner
+     * @return true if the event was claimed
+     * @throws SQLException if an SQL error occurs
+     */
+    boolean claim(Context context, QueuedEvent queuedEvent, String owner) throws SQLException;
+
+    /**
+     * Release the claim on the given event without processing it.
+     *
+     * @param context     DSpace context object
+     * @param queuedEvent the event to release
+     * @throws SQLException if an SQL error occurs
+     */
+    void release(Context context, QueuedEvent queuedEvent) throws SQLException;
+
+    /**
+     * Remove a processed event from the queue.
+     *
+     * @param context     DSpace context object
+     * @param queuedEvent the processed event
+     * @throws SQLException if an SQL error occurs
+     */
+    void delete(Context context, QueuedEvent queuedEvent) throws SQLException;
+
+    /**
+     * Record a failed attempt to process the given event, releasing it and scheduling a retry.
+     *
+     * @param context     DSpace context object
+     * @param queuedEvent the event which failed
+     * @param consumedBy  the names of the consumers which successfully processed the event
+     * @param error       the cause of the failure
+     * @throws SQLException if an SQL error occurs
+     */
+    void reschedule(Context context, QueuedEvent queuedEvent, Set<String> consumedBy, String error)
+        throws SQLException;
+
+    /**
+     * Recreate the event stored in the given queued event.
+     *
+     * @param queuedEvent the queued event
+     * @return the event
+     */
+    Event getEvent(QueuedEvent queuedEvent);
+
+    /**
+     * @param queuedEvent the queued event
+     * @return the names of the consumers which already processed the event
+     */
+    Set<String> getConsumedBy(QueuedEvent queuedEvent);
+
+    /**
+     * @param context DSpace context object
+     * @return the number of events waiting to be processed
+     * @throws SQLException if an SQL error occurs
+     */
+    long countPending(Context context) throws SQLException;
+
+    /**
+     * @param context DSpace context object
+     * @return the number of events which could not be processed within the maximum number of attempts
+     * @throws SQLException if an SQL error occurs
+     */
+    long countFailed(Context context) throws SQLException;
+}
@@ -8,12 +8,9 @@
 package org.dspace.statistics;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
@@ -21,39 +18,35 @@ import java.net.URI;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Year;
 import java.time.YearMonth;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
 import jakarta.servlet.http.HttpServletRequest;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.http.HttpResponse;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
@@ -61,8 +54,6 @@ import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.apache.solr.client.solrj.impl.HttpSolrClient.RemoteSolrException;
-import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
-import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.CoreAdminRequest;
 import org.apache.solr.client.solrj.request.LukeRequest;
 import org.apache.solr.client.solrj.response.CoreAdminResponse;
@@ -71,25 +62,20 @@ import org.apache.solr.client.solrj.response.LukeResponse;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
 import org.apache.solr.client.solrj.response.SolrPingResponse;
-import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
 import org.apache.solr.common.luke.FieldFlag;
-import org.apache.solr.common.params.CommonParams;
 import org.apache.solr.common.params.CoreAdminParams.CoreAdminAction;
-import org.apache.solr.common.params.FacetParams;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.MapSolrParams;
-import org.apache.solr.common.params.ModifiableSolrParams;
 import org.apache.solr.common.params.ShardParams;
 import org.apache.solr.common.util.NamedList;
-import org.dspace.app.client.DSpaceHttpClientFactory;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
-import org.dspace.content.DCDate;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
@@ -105,6 +91,8 @@ import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
 import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
+import org.dspace.util.SolrDocumentStreamer;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -117,11 +105,9 @@ import org.springframework.beans.factory.annotation.Autowired;
  * @author kevinvandevelde at atmire.com
  * @author mdiggory at atmire.com
  */
-public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean {
+public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean, DisposableBean {
     private static final Logger log = LogManager.getLogger();
 
-    private static final String MULTIPLE_VALUES_SPLITTER = "|";
-
     public static final String DATE_FORMAT_8601 = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
 
     public static final String DATE_FORMAT_DCDATE = "yyyy-MM-dd'T'HH:mm:ss'Z'";
@@ -153,6 +139,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected SolrClient solr;
 
+    /** Writer of the usage event documents in batches, or null if they're added to Solr one at a time. */
+    protected volatile SolrStatisticsWriter writer;
+
     /** Name of the current-year statistics core.  Prior-year shards will have a year suffixed. */
     private String statisticsCoreBase;
 
@@ -206,6 +195,56 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         locationService = service;
     }
 
+    @Override
+    public synchronized void startWriter() {
+        if (writer == null && solr != null
+            && configurationService.getBooleanProperty("solr-statistics.buffer.enabled", false)) {
+            writer = new SolrStatisticsWriter(solr,
+                configurationService.getIntProperty("solr-statistics.buffer.size", 10_000),
+                configurationService.getIntProperty("solr-statistics.buffer.batch-size", 500),
+                configurationService.getLongProperty("solr-statistics.buffer.flush-interval", 1_000),
+                configurationService.getLongProperty("solr-statistics.buffer.retry-interval", 60_000),
+                !configurationService.getBooleanProperty("solr-statistics.autoCommit", true),
+                Paths.get(configurationService.getProperty("solr-statistics.buffer.spill.dir",
+                    configurationService.getProperty("dspace.dir") + "/var/statistics-spill")));
+            writer.start();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    @Override
+    public SolrStatisticsWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Add a usage event document to the statistics core, or to the buffer of the writer when the documents are
+     * written in batches
+     *
+     * @param doc    the usage event document
+     * @param commit true to commit the document when the core doesn't commit automatically
+     * @throws SolrServerException if Solr failed
+     * @throws IOException         if the connection to Solr failed
+     */
+    protected void addUsageEvent(SolrInputDocument doc, boolean commit) throws SolrServerException, IOException {
+        if (writer != null) {
+            writer.add(doc);
+            return;
+        }
+        solr.add(doc);
+        // commits are executed automatically using the solr autocommit
+        if (commit && !configurationService.getBooleanProperty("solr-statistics.autoCommit", true)) {
+            solr.commit(false, false);
+        }
+    }
+
     @Override
     public void post(DSpaceObject dspaceObject, HttpServletRequest request,
                      EPerson currentUser) {
@@ -253,12 +292,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addUsageEvent(doc1, true);
 
         } catch (RuntimeException re) {
             throw re;
@@ -299,12 +333,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addUsageEvent(doc1, true);
 
         } catch (RuntimeException re) {
             throw re;
@@ -568,7 +597,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            addUsageEvent(solrDoc, false);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -617,7 +646,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("actor", usageWorkflowEvent.getActor().getID().toString());
             }
 
-            solr.add(solrDoc);
+            addUsageEvent(solrDoc, false);
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
             log.error("Error saving WORKFLOW event to Solr", e);
@@ -773,32 +802,60 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     @Override
     public void markRobots() {
-        ResultProcessor processor = new ResultProcessor() {
-            @Override
-            public void process(SolrInputDocument doc)
-                    throws IOException, SolrServerException {
-                String clientIP = (String) doc.getFieldValue("ip");
-                String hostname = (String) doc.getFieldValue("dns");
-                String agent = (String) doc.getFieldValue("userAgent");
-                if (SpiderDetector.isSpider(clientIP, null, hostname, agent)) {
-                    doc.removeField("isBot");
-                    doc.addField("isBot", true);
-                    solr.add(doc);
-                    log.info("Marked {} / {} / {} as a robot in record {}.",
-                            clientIP, hostname, agent,
-                            doc.getField("uid").getValue());
+        try {
+            long marked = markRobots(solr);
+            // The usage events of the past years are marked in their own cores
+            if (solr instanceof HttpSolrClient) {
+                initSolrYearCores();
+                String baseUrl = ((HttpSolrClient) solr).getBaseURL();
+                String scheme = baseUrl.substring(0, baseUrl.indexOf("://") + 3);
+                for (String yearCore : new ArrayList<>(statisticYearCores)) {
+                    if (!baseUrl.endsWith(yearCore)) {
+                        try (HttpSolrClient core = new HttpSolrClient.Builder(scheme + yearCore).build()) {
+                            marked += markRobots(core);
+                        }
+                    }
                 }
             }
-        };
-
-        try {
-            processor.execute("-isBot:true");
-            solr.commit();
+            log.info("Marked {} usage events as robots", marked);
         } catch (SolrServerException | IOException ex) {
             log.error("Failed while marking robot accesses.", ex);
         }
     }
 
+    /**
+     * Mark the usage events of a core coming from robots, reading the usage events with a cursor and checking them
+     * in parallel
+     *
+     * @param core the core
+     * @return the number of usage events marked
+     */
+    protected long markRobots(SolrClient core) throws SolrServerException, IOException {
+        AtomicLong marked = new AtomicLong();
+        SolrQuery query = new SolrQuery("*:*").addFilterQuery("-isBot:true");
+        createStreamer(core, "statistics-mark-robots").stream(query, () -> (offset, documents) -> {
+            List<SolrInputDocument> robots = new ArrayList<>();
+            for (SolrDocument document : documents) {
+                String clientIP = (String) document.getFirstValue("ip");
+                String hostname = (String) document.getFirstValue("dns");
+                String agent = (String) document.getFirstValue("userAgent");
+                if (SpiderDetector.isSpider(clientIP, null, hostname, agent)) {
+                    SolrInputDocument robot = SolrDocumentStreamer.toInputDocument(document);
+                    robot.setField("isBot", true);
+                    robots.add(robot);
+                    log.debug("Marked {} / {} / {} as a robot in record {}.",
+                              clientIP, hostname, agent, document.getFirstValue("uid"));
+                }
+            }
+            if (!robots.isEmpty()) {
+                core.add(robots);
+                marked.addAndGet(robots.size());
+            }
+        });
+        core.commit();
+        return marked.get();
+    }
+
     @Override
     public void deleteRobots() {
         try {
@@ -1071,23 +1128,48 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             solrQuery.setFacetLimit(max);
         }
 
+        if (defaultFilterQueries) {
+            addDefaultFilterQueries(solrQuery);
+        }
+
+        if (sort != null) {
+            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
+        }
+
+        if (filterQuery != null) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+
+        QueryResponse response;
+        try {
+            // solr.set
+            response = solr.query(solrQuery);
+        } catch (SolrServerException | IOException e) {
+            log.error("Error searching Solr usage events using query {}", query, e);
+            throw e;
+        }
+        return response;
+    }
+
+    /**
+     * Add the filter queries applied to all usage statistics by default: leave out the usage events of robots, and
+     * the downloads of bitstreams which aren't in one of the configured bundles.
+     *
+     * @param solrQuery the query to filter
+     */
+    protected void addDefaultFilterQueries(SolrQuery solrQuery) {
         // A filter is used instead of a regular query to improve
         // performance and ensure the search result ordering will
         // not be influenced
 
         // Choose to filter by isBot field, may be overridden in future
         // to allow views on stats based on bots.
-        if (defaultFilterQueries && configurationService.getBooleanProperty(
-                "solr-statistics.query.filter.isBot", true)) {
+        if (configurationService.getBooleanProperty("solr-statistics.query.filter.isBot", true)) {
             solrQuery.addFilterQuery("-isBot:true");
         }
 
-        if (sort != null) {
-            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
-        }
-
         String[] bundles = configurationService.getArrayProperty("solr-statistics.query.filter.bundles");
-        if (defaultFilterQueries && bundles != null && bundles.length > 0) {
+        if (bundles != null && bundles.length > 0) {
 
             /**
              * The code below creates a query that will allow only records which do not have a bundle name
@@ -1108,20 +1190,45 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             solrQuery.addFilterQuery(bundleQuery.toString());
         }
+    }
+
+    @Override
+    public long iterate(String query, String filterQuery, List<String> fields, int rows,
+                        boolean defaultFilterQueries, Consumer<SolrDocument> consumer)
+        throws SolrServerException, IOException {
+        if (solr == null) {
+            return 0;
+        }
 
+        SolrQuery solrQuery = new SolrQuery(query).setRows(rows);
+        // A cursor requires a sort on the unique key, which also makes the order stable
+        solrQuery.setSort(SolrQuery.SortClause.asc("uid"));
+        if (fields != null && !fields.isEmpty()) {
+            solrQuery.setFields(fields.toArray(new String[0]));
+        }
         if (filterQuery != null) {
             solrQuery.addFilterQuery(filterQuery);
         }
+        if (defaultFilterQueries) {
+            addDefaultFilterQueries(solrQuery);
+        }
+        addAdditionalSolrYearCores(solrQuery);
 
-        QueryResponse response;
-        try {
-            // solr.set
-            response = solr.query(solrQuery);
-        } catch (SolrServerException | IOException e) {
-            log.error("Error searching Solr usage events using query {}", query, e);
-            throw e;
+        long count = 0;
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        while (true) {
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solr.query(solrQuery);
+            for (SolrDocument document : response.getResults()) {
+                consumer.accept(document);
+                count++;
+            }
+            String nextCursorMark = response.getNextCursorMark();
+            if (cursorMark.equals(nextCursorMark)) {
+                return count;
+            }
+            cursorMark = nextCursorMark;
         }
-        return response;
     }
 
     @Override
@@ -1130,128 +1237,14 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             return;
         }
 
-        /*
-        Start by faceting by year so we can include each year in a separate core !
-         */
-        SolrQuery yearRangeQuery = new SolrQuery();
-        yearRangeQuery.setQuery("*:*");
-        yearRangeQuery.setRows(0);
-        yearRangeQuery.setFacet(true);
-        yearRangeQuery.add(FacetParams.FACET_RANGE, "time");
-        //We go back to 2000 the year 2000, this is a bit overkill but this way we ensure we have everything
-        //The alternative would be to sort but that isn't recommended since it would be a very costly query !
-        yearRangeQuery.add(FacetParams.FACET_RANGE_START,
-                           "NOW/YEAR-" + (Year.now().getValue() - 2000) + "YEARS");
-        //Add the +0year to ensure that we DO NOT include the current year
-        yearRangeQuery.add(FacetParams.FACET_RANGE_END, "NOW/YEAR+0YEARS");
-        yearRangeQuery.add(FacetParams.FACET_RANGE_GAP, "+1YEAR");
-        yearRangeQuery.add(FacetParams.FACET_MINCOUNT, String.valueOf(1));
-
-        //Create a temp directory to store our files in !
-        File tempDirectory = new File(
-            configurationService.getProperty("dspace.dir") + File.separator + "temp" + File.separator);
-        tempDirectory.mkdirs();
-
-
-        QueryResponse queryResponse = solr.query(yearRangeQuery);
-        //We only have one range query !
-        List<RangeFacet.Count> yearResults = queryResponse.getFacetRanges().get(0).getCounts();
-        for (RangeFacet.Count count : yearResults) {
-            long totalRecords = count.getCount();
-
-            //Create a range query from this !
-            //We start with out current year
-            DCDate dcStart = new DCDate(count.getValue());
-            //Advance one year for the start of the next one !
-            DCDate dcEndDate = new DCDate(dcStart.toDate().plus(1, ChronoUnit.YEARS));
-
-            StringBuilder filterQuery = new StringBuilder();
-            filterQuery.append("time:([");
-            filterQuery.append(ClientUtils.escapeQueryChars(dcStart.toString()));
-            filterQuery.append(" TO ");
-            filterQuery.append(ClientUtils.escapeQueryChars(dcEndDate.toString()));
-            filterQuery.append("]");
-            //The next part of the filter query excludes the content from midnight of the next year !
-            filterQuery.append(" NOT ").append(ClientUtils.escapeQueryChars(dcEndDate.toString()));
-            filterQuery.append(")");
-
-
-            Map<String, String> yearQueryParams = new HashMap<>();
-            yearQueryParams.put(CommonParams.Q, "*:*");
-            yearQueryParams.put(CommonParams.ROWS, String.valueOf(10000));
-            yearQueryParams.put(CommonParams.FQ, filterQuery.toString());
-            yearQueryParams.put(CommonParams.WT, "csv");
-
-            //Tell SOLR how to escape and separate the values of multi-valued fields
-            yearQueryParams.put("csv.escape", "\\");
-            yearQueryParams.put("csv.mv.separator", MULTIPLE_VALUES_SPLITTER);
-
-            //Start by creating a new core
-            String coreName = statisticsCoreBase + "-" + dcStart.getYearUTC();
-            HttpSolrClient statisticsYearServer = createCore((HttpSolrClient) solr, coreName);
-
-            System.out.println("Moving: " + totalRecords + " into core " + coreName);
-            log.info("Moving: " + totalRecords + " records into core " + coreName);
-
-            List<File> filesToUpload = new ArrayList<>();
-            for (int i = 0; i < totalRecords; i += 10000) {
-                String solrRequestUrl = ((HttpSolrClient) solr).getBaseURL() + "/select";
-                solrRequestUrl = generateURL(solrRequestUrl, yearQueryParams);
-
-                HttpGet get = new HttpGet(solrRequestUrl);
-                InputStream csvInputstream;
-                File csvFile = new File(tempDirectory.getPath()
-                        + File.separatorChar
-                        + "temp."
-                        + dcStart.getYearUTC()
-                        + "."
-                        + i
-                        + ".csv");
-                try (CloseableHttpClient hc = DSpaceHttpClientFactory.getInstance().buildWithoutProxy()) {
-                    HttpResponse response = hc.execute(get);
-                    csvInputstream = response.getEntity().getContent();
-                    //Write the csv output to a file !
-                    FileUtils.copyInputStreamToFile(csvInputstream, csvFile);
-                }
-                filesToUpload.add(csvFile);
-
-                //Add 10000 & start over again
-                yearQueryParams.put(CommonParams.START, String.valueOf((i + 10000)));
-            }
-
-            Set<String> multivaluedFields = getMultivaluedFieldNames();
-
-            for (File tempCsv : filesToUpload) {
-                //Upload the data in the csv files to our new solr core
-                ContentStreamUpdateRequest contentStreamUpdateRequest = new ContentStreamUpdateRequest("/update");
-                contentStreamUpdateRequest.setParam("stream.contentType", "text/csv;charset=utf-8");
-                contentStreamUpdateRequest.setParam("escape", "\\");
-                contentStreamUpdateRequest.setParam("skip", "_version_");
-                contentStreamUpdateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
-                contentStreamUpdateRequest.addFile(tempCsv, "text/csv;charset=utf-8");
-
-                //Add parsing directives for the multivalued fields so that they are stored as separate values
-                // instead of one value
-                for (String multivaluedField : multivaluedFields) {
-                    contentStreamUpdateRequest.setParam("f." + multivaluedField + ".split", Boolean.TRUE.toString());
-                    contentStreamUpdateRequest
-                        .setParam("f." + multivaluedField + ".separator", MULTIPLE_VALUES_SPLITTER);
-                }
-
-                statisticsYearServer.request(contentStreamUpdateRequest);
-            }
-
-            statisticsYearServer.commit(true, true);
-
-
-            //Delete contents of this year from our year query !
-            solr.deleteByQuery(filterQuery.toString());
-            solr.commit(true, true);
-
-            log.info("Moved {} records into core: {}", totalRecords, coreName);
-        }
-
-        FileUtils.deleteDirectory(tempDirectory);
+        Path checkpoint = Paths.get(configurationService.getProperty("solr-statistics.shard.checkpoint",
+            configurationService.getProperty("dspace.dir") + File.separator + "var" + File.separator
+                + "statistics-shard.properties"));
+        SolrStatisticsSharder sharder = new SolrStatisticsSharder(
+            solr, coreName -> createCore((HttpSolrClient) solr, coreName), statisticsCoreBase,
+            configurationService.getIntProperty("solr-statistics.shard.threads", 2),
+            configurationService.getIntProperty("solr-statistics.shard.batch-size", 10000), checkpoint);
+        sharder.shard();
     }
 
     protected HttpSolrClient createCore(HttpSolrClient solr, String coreName)
@@ -1319,208 +1312,208 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             return;
         }
 
-        Context context = new Context();
-
         try {
-            //First of all retrieve the total number of records to be updated
-            SolrQuery query = new SolrQuery();
-            query.setQuery("*:*");
+            // Only the statistics core itself: the updated usage events replace the ones read, by their unique key
+            SolrQuery query = new SolrQuery("*:*");
             query.addFilterQuery("type:" + Constants.BITSTREAM);
             //Only retrieve records which do not have a bundle name
             query.addFilterQuery("-bundleName:[* TO *]");
-            query.setRows(0);
-            addAdditionalSolrYearCores(query);
-            long totalRecords = solr.query(query).getResults().getNumFound();
-
-            File tempDirectory = new File(
-                configurationService.getProperty("dspace.dir") + File.separator + "temp" + File.separator);
-            tempDirectory.mkdirs();
-            List<File> tempCsvFiles = new ArrayList<>();
-            for (int i = 0; i < totalRecords; i += 10000) {
-                Map<String, String> params = new HashMap<>();
-                params.put(CommonParams.Q, "*:*");
-                params.put(CommonParams.FQ, "-bundleName:[* TO *] AND type:" + Constants.BITSTREAM);
-                params.put(CommonParams.WT, "csv");
-                params.put(CommonParams.ROWS, String.valueOf(10000));
-                params.put(CommonParams.START, String.valueOf(i));
-
-                String solrRequestUrl = ((HttpSolrClient) solr).getBaseURL() + "/select";
-                solrRequestUrl = generateURL(solrRequestUrl, params);
-
-                HttpGet get = new HttpGet(solrRequestUrl);
-                List<String[]> rows;
-                try (CloseableHttpClient hc = DSpaceHttpClientFactory.getInstance().buildWithoutProxy()) {
-                    HttpResponse response = hc.execute(get);
-                    InputStream csvOutput = response.getEntity().getContent();
-                    Reader csvReader = new InputStreamReader(csvOutput);
-                    rows = new CSVReader(csvReader).readAll();
-                }
-                String[][] csvParsed = rows.toArray(new String[rows.size()][]);
-                String[] header = csvParsed[0];
-                //Attempt to find the bitstream id index !
-                int idIndex = 0;
-                for (int j = 0; j < header.length; j++) {
-                    if (header[j].equals("id")) {
-                        idIndex = j;
-                    }
-                }
-
-                File tempCsv = new File(tempDirectory.getPath() + File.separatorChar + "temp." + i + ".csv");
-                tempCsvFiles.add(tempCsv);
-                CSVWriter csvp = new CSVWriter(new FileWriter(tempCsv));
-                //csvp.setAlwaysQuote(false);
-
-                //Write the header !
-                csvp.writeNext((String[]) ArrayUtils.add(header, "bundleName"));
-                Map<String, String> bitBundleCache = new HashMap<>();
-                //Loop over each line (skip the headers though)!
-                for (int j = 1; j < csvParsed.length; j++) {
-                    String[] csvLine = csvParsed[j];
-                    //Write the default line !
-                    String bitstreamId = csvLine[idIndex];
-                    //Attempt to retrieve our bundle name from the cache !
-                    String bundleName = bitBundleCache.get(bitstreamId);
-                    if (bundleName == null) {
-                        //Nothing found retrieve the bitstream
-                        Bitstream bitstream = bitstreamService.findByIdOrLegacyId(context, bitstreamId);
-                        //Attempt to retrieve our bitstream !
-                        if (bitstream != null) {
-                            List<Bundle> bundles = bitstream.getBundles();
-                            if (bundles != null && 0 < bundles.size()) {
-                                Bundle bundle = bundles.get(0);
-                                bundleName = bundle.getName();
-                            } else {
-                                //No bundle found, we are either a collection or a community logo, check for it !
-                                DSpaceObject parentObject = bitstreamService.getParentObject(context, bitstream);
-                                if (parentObject instanceof Collection) {
-                                    bundleName = "LOGO-COLLECTION";
-                                } else if (parentObject instanceof Community) {
-                                    bundleName = "LOGO-COMMUNITY";
-                                }
-
-                            }
-                            //Cache the bundle name
-                            bitBundleCache.put(bitstream.getID().toString(), bundleName);
-                            //Remove the bitstream from cache
-                        }
-                        //Check if we don't have a bundlename
-                        //If we don't have one & we do not need to delete the deleted bitstreams ensure that a
-                        // BITSTREAM_DELETED bundle name is given !
-                        if (bundleName == null && !removeDeletedBitstreams) {
-                            bundleName = "BITSTREAM_DELETED";
-                        }
-                    }
-                    csvp.writeNext((String[]) ArrayUtils.add(csvLine, bundleName));
-                }
-
-                //Loop over our parsed csv
-                csvp.flush();
-                csvp.close();
-            }
-
-            //Add all the separate csv files
-            for (File tempCsv : tempCsvFiles) {
-                ContentStreamUpdateRequest contentStreamUpdateRequest = new ContentStreamUpdateRequest("/update");
-                contentStreamUpdateRequest.setParam("stream.contentType", "text/csv;charset=utf-8");
-                contentStreamUpdateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
-                contentStreamUpdateRequest.addFile(tempCsv, "text/csv;charset=utf-8");
-
-                solr.request(contentStreamUpdateRequest);
-            }
+            long total = createStreamer(solr, "statistics-reindex")
+                .stream(query, () -> new BundleNameWorker(removeDeletedBitstreams));
 
-            //Now that all our new bitstream stats are in place, delete all the old ones !
+            //Now that all our bitstream stats have a bundle name, delete the remaining ones (deleted bitstreams) !
             solr.deleteByQuery("-bundleName:[* TO *] AND type:" + Constants.BITSTREAM);
             //Commit everything to wrap up
             solr.commit(true, true);
-            //Clean up our directory !
-            FileUtils.deleteDirectory(tempDirectory);
+            log.info("Added the bundle name to {} bitstream usage events", total);
         } catch (Exception e) {
             log.error("Error while updating the bitstream statistics", e);
             throw e;
-        } finally {
-            context.abort();
         }
     }
 
 
     @Override
     public void exportHits() throws Exception {
-        Context context = new Context();
-
         File tempDirectory = new File(
             configurationService.getProperty("dspace.dir") + File.separator + "temp" + File.separator);
         tempDirectory.mkdirs();
 
         try {
-            //First of all retrieve the total number of records to be updated
-            SolrQuery query = new SolrQuery();
-            query.setQuery("*:*");
-
-            ModifiableSolrParams solrParams = new ModifiableSolrParams();
-            solrParams.set(CommonParams.Q, "statistics_type:view OR (*:* AND -statistics_type:*)");
-            solrParams.set(CommonParams.WT, "javabin");
-            solrParams.set(CommonParams.ROWS, String.valueOf(10000));
-
+            SolrQuery query = new SolrQuery("statistics_type:view OR (*:* AND -statistics_type:*)");
             addAdditionalSolrYearCores(query);
-            long totalRecords = solr.query(query).getResults().getNumFound();
-            System.out.println("There are " + totalRecords + " usage events in SOLR for download/view.");
-
-            for (int i = 0; i < totalRecords; i += 10000) {
-                solrParams.set(CommonParams.START, String.valueOf(i));
-                QueryResponse queryResponse = solr.query(solrParams);
-                SolrDocumentList docs = queryResponse.getResults();
 
-                File exportOutput = new File(tempDirectory.getPath() + File.separatorChar + "usagestats_" + i + ".csv");
-                exportOutput.delete();
+            //First of all retrieve the total number of records to be exported
+            long totalRecords = solr.query(query.getCopy().setRows(0)).getResults().getNumFound();
+            System.out.println("There are " + totalRecords + " usage events in SOLR for download/view.");
 
-                //export docs
-                addDocumentsToFile(context, docs, exportOutput);
-                System.out.println(
-                    "Export hits [" + i + " - " + String.valueOf(i + 9999) + "] to " + exportOutput.getCanonicalPath());
-            }
+            createStreamer(solr, "statistics-export").stream(query, () -> new ExportWorker(tempDirectory));
         } catch (Exception e) {
             log.error("Error while exporting SOLR data", e);
             throw e;
-        } finally {
-            context.abort();
         }
     }
 
+    /**
+     * @return a streamer of the usage events of a statistics core, configured for reindexing, exporting and
+     * marking robots
+     */
+    protected SolrDocumentStreamer createStreamer(SolrClient core, String threadName) {
+        return new SolrDocumentStreamer(core, "uid",
+                                        configurationService.getIntProperty("solr-statistics.reindex.threads", 2),
+                                        configurationService.getIntProperty("solr-statistics.reindex.batch-size",
+                                                                            10000),
+                                        threadName);
+    }
+
     @Override
     public void commit() throws IOException, SolrServerException {
+        if (writer != null) {
+            // make the buffered usage events part of the commit
+            writer.flush();
+        }
         solr.commit();
     }
 
-    protected void addDocumentsToFile(Context context, SolrDocumentList docs, File exportOutput)
+    protected void addDocumentsToFile(Context context, List<SolrDocument> docs, File exportOutput)
         throws SQLException, DateTimeParseException, IOException {
-        for (SolrDocument doc : docs) {
-            String ip = doc.get("ip").toString();
-            if (ip.equals("::1")) {
-                ip = "127.0.0.1";
-            }
-
-            String id = doc.get("id").toString();
-            String type = doc.get("type").toString();
-            String time = doc.get("time").toString();
-
-            //20140527162409835,view_bitstream,1292,2014-05-27T16:24:09,anonymous,127.0.0.1
-            DSpaceObjectLegacySupportService dsoService = contentServiceFactory
-                .getDSpaceLegacyObjectService(Integer.parseInt(type));
-            DSpaceObject dso = dsoService.findByIdOrLegacyId(context, id);
-            if (dso == null) {
-                log.debug("Document no longer exists in DB. type:" + type + " id:" + id);
-                continue;
-            }
-
-            //InputFormat: Mon May 19 07:21:27 EDT 2014
-            ZonedDateTime solrDate = ZonedDateTime.parse(time,
-                                                         DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss z yyyy"));
-
-            //OutputFormat: 2014-05-27T16:24:09
-            String out = time + "," + "view_" + contentServiceFactory.getDSpaceObjectService(dso).getTypeText(dso)
-                                                                     .toLowerCase() + "," + id + "," +
-                DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(solrDate) + ",anonymous," + ip + "\n";
-            FileUtils.writeStringToFile(exportOutput, out, StandardCharsets.UTF_8, true);
+        try (Writer out = Files.newBufferedWriter(exportOutput.toPath(), StandardCharsets.UTF_8,
+                                                  StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (SolrDocument doc : docs) {
+                String ip = doc.get("ip").toString();
+                if (ip.equals("::1")) {
+                    ip = "127.0.0.1";
+                }
+
+                String id = doc.get("id").toString();
+                String type = doc.get("type").toString();
+                String time = doc.get("time").toString();
+
+                //20140527162409835,view_bitstream,1292,2014-05-27T16:24:09,anonymous,127.0.0.1
+                DSpaceObjectLegacySupportService dsoService = contentServiceFactory
+                    .getDSpaceLegacyObjectService(Integer.parseInt(type));
+                DSpaceObject dso = dsoService.findByIdOrLegacyId(context, id);
+                if (dso == null) {
+                    log.debug("Document no longer exists in DB. type:" + type + " id:" + id);
+                    continue;
+                }
+
+                //InputFormat: Mon May 19 07:21:27 EDT 2014
+                ZonedDateTime solrDate = ZonedDateTime.parse(time,
+                                                             DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss z yyyy"));
+
+                //OutputFormat: 2014-05-27T16:24:09
+                out.write(time + "," + "view_" + contentServiceFactory.getDSpaceObjectService(dso).getTypeText(dso)
+                                                                      .toLowerCase() + "," + id + "," +
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(solrDate) + ",anonymous," + ip + "\n");
+            }
+        }
+    }
+
+    /**
+     * Adds the name of the bundle of the bitstream to bitstream usage events, and sends them back to the statistics
+     * core. Each worker has its own context and a bounded cache of the bundle names of the bitstreams.
+     */
+    protected class BundleNameWorker implements SolrDocumentStreamer.Worker {
+
+        private static final int CACHE_SIZE = 10000;
+
+        private final boolean removeDeletedBitstreams;
+
+        private final Context context = new Context(Context.Mode.READ_ONLY);
+
+        private final Map<String, String> bundleNames = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+        protected BundleNameWorker(boolean removeDeletedBitstreams) {
+            this.removeDeletedBitstreams = removeDeletedBitstreams;
+        }
+
+        @Override
+        public void process(long offset, List<SolrDocument> documents) throws Exception {
+            List<SolrInputDocument> updated = new ArrayList<>(documents.size());
+            for (SolrDocument document : documents) {
+                String bundleName = getBundleName(String.valueOf(document.getFirstValue("id")));
+                // Usage events without a bundle name are deleted once they're all processed
+                if (bundleName != null) {
+                    SolrInputDocument input = SolrDocumentStreamer.toInputDocument(document);
+                    input.setField("bundleName", bundleName);
+                    updated.add(input);
+                }
+            }
+            if (!updated.isEmpty()) {
+                solr.add(updated);
+            }
+            context.uncacheEntities();
+        }
+
+        protected String getBundleName(String bitstreamId) throws SQLException {
+            if (bundleNames.containsKey(bitstreamId)) {
+                return bundleNames.get(bitstreamId);
+            }
+            String bundleName = null;
+            Bitstream bitstream = bitstreamService.findByIdOrLegacyId(context, bitstreamId);
+            if (bitstream != null) {
+                List<Bundle> bundles = bitstream.getBundles();
+                if (bundles != null && 0 < bundles.size()) {
+                    bundleName = bundles.get(0).getName();
+                } else {
+                    //No bundle found, we are either a collection or a community logo, check for it !
+                    DSpaceObject parentObject = bitstreamService.getParentObject(context, bitstream);
+                    if (parentObject instanceof Collection) {
+                        bundleName = "LOGO-COLLECTION";
+                    } else if (parentObject instanceof Community) {
+                        bundleName = "LOGO-COMMUNITY";
+                    }
+                }
+            }
+            //If we don't have one & we do not need to delete the deleted bitstreams ensure that a
+            // BITSTREAM_DELETED bundle name is given !
+            if (bundleName == null && !removeDeletedBitstreams) {
+                bundleName = "BITSTREAM_DELETED";
+            }
+            bundleNames.put(bitstreamId, bundleName);
+            return bundleName;
+        }
+
+        @Override
+        public void close() {
+            context.abort();
+        }
+    }
+
+    /**
+     * Exports each batch of views to a file of its own, named after the position of the batch
+     */
+    protected class ExportWorker implements SolrDocumentStreamer.Worker {
+
+        private final File directory;
+
+        private final Context context = new Context(Context.Mode.READ_ONLY);
+
+        protected ExportWorker(File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void process(long offset, List<SolrDocument> documents) throws Exception {
+            File exportOutput = new File(directory.getPath() + File.separatorChar + "usagestats_" + offset + ".csv");
+            exportOutput.delete();
+
+            //export docs
+            addDocumentsToFile(context, documents, exportOutput);
+            context.uncacheEntities();
+            System.out.println("Export hits [" + offset + " - " + (offset + documents.size() - 1) + "] to "
+                                   + exportOutput.getCanonicalPath());
+        }
+
+        @Override
+        public void close() {
+            context.abort();
         }
     }
 
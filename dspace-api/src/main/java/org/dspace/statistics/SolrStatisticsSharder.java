@@ -0,0 +1,306 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.response.RangeFacet;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.FacetParams;
+import org.dspace.util.SolrDocumentStreamer;
+
+/**
+ * Moves the usage events of each past year from the statistics core to a core of its own ("statistics-2019"), with
+ * several years moved in parallel.
+ * <p>
+ * The usage events of a year are read with a cursor and sent to the core of the year in batches, without going
+ * through temporary files. The cursor and the number of events copied are saved to a checkpoint file after each
+ * batch, so an interrupted run continues where it stopped: as the events are identified by their unique key, the
+ * events sent again replace the ones already copied. The events of a year are only deleted from the statistics core
+ * once the core of the year has at least as many events of the year.
+ */
+public class SolrStatisticsSharder {
+
+    private static final Logger log = LogManager.getLogger(SolrStatisticsSharder.class);
+
+    /**
+     * Creates (or connects to) the core of a year
+     */
+    @FunctionalInterface
+    public interface CoreFactory {
+        SolrClient createCore(String coreName) throws IOException, SolrServerException;
+    }
+
+    private final SolrClient solr;
+
+    private final CoreFactory coreFactory;
+
+    private final String coreBase;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    private final Checkpoint checkpoint;
+
+    /**
+     * @param solr           the statistics core
+     * @param coreFactory    the factory of the cores of the years
+     * @param coreBase       the name of the statistics core, the cores of the years are named after it
+     * @param threads        the number of years moved in parallel
+     * @param batchSize      the number of usage events read and sent at once
+     * @param checkpointFile the file keeping the progress of each year
+     */
+    public SolrStatisticsSharder(SolrClient solr, CoreFactory coreFactory, String coreBase, int threads,
+                                 int batchSize, Path checkpointFile) {
+        this.solr = solr;
+        this.coreFactory = coreFactory;
+        this.coreBase = coreBase;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.checkpoint = new Checkpoint(checkpointFile);
+    }
+
+    /**
+     * Move the usage events of all past years to the cores of the years. The current year stays in the statistics
+     * core.
+     *
+     * @throws IOException         if moving one of the years failed, after the other years were moved
+     * @throws SolrServerException if the years can't be determined
+     */
+    public void shard() throws IOException, SolrServerException {
+        Map<Year, Long> years = findYears();
+        if (years.isEmpty()) {
+            log.info("No usage events of past years to move");
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, years.size()), runnable -> {
+            Thread thread = new Thread(runnable, "statistics-shard-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<Year, Future<Long>> moves = new LinkedHashMap<>();
+        try {
+            years.forEach((year, count) -> moves.put(year, executor.submit(() -> moveYear(year, count))));
+
+            List<Year> failed = new ArrayList<>();
+            for (Map.Entry<Year, Future<Long>> move : moves.entrySet()) {
+                try {
+                    move.getValue().get();
+                } catch (ExecutionException e) {
+                    log.error("Unable to move the usage events of {}", move.getKey(), e.getCause());
+                    failed.add(move.getKey());
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new IOException("Unable to move the usage events of " + failed + ", run again to continue");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while moving the usage events, run again to continue", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the number of usage events of each past year which has usage events, oldest first
+     */
+    protected Map<Year, Long> findYears() throws SolrServerException, IOException {
+        SolrQuery yearRangeQuery = new SolrQuery("*:*");
+        yearRangeQuery.setRows(0);
+        yearRangeQuery.setFacet(true);
+        yearRangeQuery.add(FacetParams.FACET_RANGE, "time");
+        //We go back to the year 2000, this is a bit overkill but this way we ensure we have everything
+        //The alternative would be to sort but that isn't recommended since it would be a very costly query !
+        yearRangeQuery.add(FacetParams.FACET_RANGE_START, "NOW/YEAR-" + (Year.now().getValue() - 2000) + "YEARS");
+        //Add the +0year to ensure that we DO NOT include the current year
+        yearRangeQuery.add(FacetParams.FACET_RANGE_END, "NOW/YEAR+0YEARS");
+        yearRangeQuery.add(FacetParams.FACET_RANGE_GAP, "+1YEAR");
+        yearRangeQuery.add(FacetParams.FACET_MINCOUNT, String.valueOf(1));
+
+        QueryResponse response = solr.query(yearRangeQuery);
+        Map<Year, Long> years = new LinkedHashMap<>();
+        //We only have one range query !
+        List<RangeFacet.Count> counts = response.getFacetRanges().get(0).getCounts();
+        for (RangeFacet.Count count : counts) {
+            years.put(Year.of(Instant.parse(count.getValue()).atZone(ZoneOffset.UTC).getYear()),
+                      (long) count.getCount());
+        }
+        return years;
+    }
+
+    /**
+     * Move the usage events of a year to the core of the year, continuing from the checkpoint of the year
+     *
+     * @param year     the year
+     * @param expected the number of usage events of the year in the statistics core
+     * @return the number of usage events copied
+     */
+    protected long moveYear(Year year, long expected) throws IOException, SolrServerException {
+        String coreName = coreBase + "-" + year;
+        String filterQuery = getFilterQuery(year);
+        SolrClient core = coreFactory.createCore(coreName);
+        try {
+            String cursorMark = checkpoint.getCursorMark(year);
+            long copied = checkpoint.getCopied(year);
+            if (cursorMark == null) {
+                cursorMark = CursorMarkParams.CURSOR_MARK_START;
+                log.info("Moving {} usage events of {} into core {}", expected, year, coreName);
+            } else {
+                log.info("Moving {} usage events of {} into core {}, continuing after {} copied events", expected,
+                         year, coreName, copied);
+            }
+
+            SolrQuery query = new SolrQuery("*:*").addFilterQuery(filterQuery).setRows(batchSize);
+            query.setSort(SolrQuery.SortClause.asc("uid"));
+            while (true) {
+                query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+                QueryResponse response = solr.query(query);
+                List<SolrInputDocument> batch = new ArrayList<>(response.getResults().size());
+                for (SolrDocument document : response.getResults()) {
+                    batch.add(SolrDocumentStreamer.toInputDocument(document));
+                }
+                if (!batch.isEmpty()) {
+                    core.add(batch);
+                    copied += batch.size();
+                }
+                String nextCursorMark = response.getNextCursorMark();
+                if (cursorMark.equals(nextCursorMark)) {
+                    break;
+                }
+                cursorMark = nextCursorMark;
+                checkpoint.update(year, cursorMark, copied);
+            }
+            core.commit(true, true);
+
+            // Only delete the events from the statistics core when they're all in the core of the year
+            long inCore = count(core, filterQuery);
+            long inStatistics = count(solr, filterQuery);
+            if (inCore < inStatistics) {
+                // the checkpoint is past all the events of the year: the next run has to copy them all again
+                checkpoint.remove(year);
+                throw new IOException("Core " + coreName + " has " + inCore + " usage events of " + year
+                                          + " instead of " + inStatistics + ", not deleting them from "
+                                          + coreBase);
+            }
+            solr.deleteByQuery(filterQuery);
+            solr.commit(true, true);
+            checkpoint.remove(year);
+            log.info("Moved {} usage events of {} into core {}", copied, year, coreName);
+            return copied;
+        } finally {
+            if (core != solr) {
+                core.close();
+            }
+        }
+    }
+
+    /**
+     * @return the filter query of the usage events of a year
+     */
+    protected String getFilterQuery(Year year) {
+        DateTimeFormatter format = DateTimeFormatter.ISO_INSTANT;
+        return "time:[" + format.format(year.atDay(1).atStartOfDay(ZoneOffset.UTC))
+            + " TO " + format.format(year.plusYears(1).atDay(1).atStartOfDay(ZoneOffset.UTC)) + "}";
+    }
+
+    private long count(SolrClient client, String filterQuery) throws IOException, SolrServerException {
+        SolrQuery query = new SolrQuery("*:*").addFilterQuery(filterQuery).setRows(0);
+        return client.query(query).getResults().getNumFound();
+    }
+
+    /**
+     * The cursor mark and the number of copied usage events of the years being moved, kept in a properties file.
+     * A year is removed from the file once it's moved. Instances are safe to use from several threads.
+     */
+    static class Checkpoint {
+
+        private final Path file;
+
+        private final Properties properties = new Properties();
+
+        Checkpoint(Path file) {
+            this.file = file;
+            if (Files.exists(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    properties.load(in);
+                } catch (IOException e) {
+                    log.warn("Unable to read the sharding checkpoint {}, starting over", file, e);
+                }
+            }
+        }
+
+        synchronized String getCursorMark(Year year) {
+            return properties.getProperty(year + ".cursor");
+        }
+
+        synchronized long getCopied(Year year) {
+            return Long.parseLong(properties.getProperty(year + ".copied", "0"));
+        }
+
+        synchronized void update(Year year, String cursorMark, long copied) throws IOException {
+            properties.setProperty(year + ".cursor", cursorMark);
+            properties.setProperty(year + ".copied", String.valueOf(copied));
+            save();
+        }
+
+        synchronized void remove(Year year) throws IOException {
+            properties.remove(year + ".cursor");
+            properties.remove(year + ".copied");
+            if (properties.isEmpty()) {
+                Files.deleteIfExists(file);
+            } else {
+                save();
+            }
+        }
+
+        /**
+         * Write the checkpoint to a temporary file which then replaces the file, so it's never read half written
+         */
+        private void save() throws IOException {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Progress of the statistics sharding, by year");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
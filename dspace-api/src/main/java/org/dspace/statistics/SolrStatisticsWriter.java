@@ -0,0 +1,466 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.util.JavaBinCodec;
+
+/**
+ * Writer of usage event documents to the statistics core, in batches from a background thread, so the threads
+ * recording usage events don't wait for Solr.
+ * <p>
+ * The documents are kept in a bounded buffer. When the buffer is full, new documents are dropped (and counted) rather
+ * than blocking the request which caused them. The background thread sends the documents to Solr when a batch is
+ * complete, or when the flush interval passed. When Solr is unavailable, the batches are spilled to files in a local
+ * directory, and Solr is only tried again after the retry interval. The spilled batches are sent once Solr is
+ * available again, also after a restart. A writer claims a spilled batch by renaming it before sending it, so
+ * writers sharing the spill directory don't send the same batch twice. The claims of a writer which stopped
+ * while sending a batch are released by the next writer started after {@link #STALE_CLAIM}.
+ */
+public class SolrStatisticsWriter implements Closeable {
+
+    private static final Logger log = LogManager.getLogger(SolrStatisticsWriter.class);
+
+    private static final String SPILL_PREFIX = "statistics-";
+
+    private static final String SPILL_SUFFIX = ".javabin";
+
+    private static final long DROP_WARNING_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The age after which a claimed batch, which wasn't sent nor released, is considered abandoned
+     */
+    static final long STALE_CLAIM = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Suffix of the spilled batches claimed by this writer
+     */
+    private final String claimSuffix = "." + UUID.randomUUID();
+
+    private final SolrClient solr;
+
+    private final BlockingQueue<SolrInputDocument> buffer;
+
+    private final int batchSize;
+
+    private final long flushInterval;
+
+    private final long retryInterval;
+
+    /**
+     * Whether to commit after each batch, when the core doesn't commit automatically
+     */
+    private final boolean commit;
+
+    private final Path spillDirectory;
+
+    private final Object signal = new Object();
+
+    private final Thread flusher;
+
+    private final AtomicLong added = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong spilled = new AtomicLong();
+
+    private final AtomicInteger spillFiles = new AtomicInteger();
+
+    private final AtomicInteger spillSequence = new AtomicInteger();
+
+    private volatile long lastDropWarning = 0;
+
+    private volatile boolean closed = false;
+
+    /**
+     * The time before which Solr isn't tried again after it was unavailable, only used while flushing
+     */
+    private long retryAt = 0;
+
+    /**
+     * @param solr           the statistics core
+     * @param capacity       the maximum number of documents in the buffer
+     * @param batchSize      the number of documents sent to Solr at once
+     * @param flushInterval  the maximum time in milliseconds a document waits in the buffer
+     * @param retryInterval  the time in milliseconds after which Solr is tried again when it was unavailable
+     * @param commit         true to commit after each batch, when the core doesn't commit automatically
+     * @param spillDirectory the directory of the batches which couldn't be sent to Solr
+     */
+    public SolrStatisticsWriter(SolrClient solr, int capacity, int batchSize, long flushInterval,
+                                long retryInterval, boolean commit, Path spillDirectory) {
+        this.solr = solr;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = flushInterval;
+        this.retryInterval = retryInterval;
+        this.commit = commit;
+        this.spillDirectory = spillDirectory;
+        this.spillFiles.set(listSpillFiles().size());
+        this.flusher = new Thread(this::run, "statistics-writer");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Release the abandoned claims of the spilled batches, and start the background thread
+     */
+    public void start() {
+        releaseStaleClaims();
+        flusher.start();
+    }
+
+    /**
+     * Add a document to the buffer, without waiting. The document is dropped when the buffer is full.
+     *
+     * @param document the usage event document
+     * @return true if the document was added, false if it was dropped
+     */
+    public boolean add(SolrInputDocument document) {
+        if (closed || !buffer.offer(document)) {
+            dropped.incrementAndGet();
+            long now = System.currentTimeMillis();
+            if (now - lastDropWarning > DROP_WARNING_INTERVAL) {
+                lastDropWarning = now;
+                log.warn("The buffer of usage events is full, dropping events ({} dropped so far)", dropped.get());
+            }
+            return false;
+        }
+        added.incrementAndGet();
+        if (buffer.size() >= batchSize) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Send all documents in the buffer, and the spilled batches, to Solr. The documents are spilled when Solr is
+     * unavailable.
+     */
+    public synchronized void flush() {
+        List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+        replaySpilled();
+    }
+
+    /**
+     * Stop the background thread, and flush the documents left in the buffer
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                synchronized (signal) {
+                    if (buffer.size() < batchSize && !closed) {
+                        signal.wait(flushInterval);
+                    }
+                }
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error writing usage events", e);
+            }
+        }
+    }
+
+    private void write(List<SolrInputDocument> batch) {
+        if (System.currentTimeMillis() < retryAt) {
+            spill(batch);
+            return;
+        }
+        try {
+            send(batch);
+        } catch (SolrException e) {
+            if (isRefused(e)) {
+                log.error("Solr refused a batch of {} usage events, dropping them", batch.size(), e);
+                dropped.addAndGet(batch.size());
+            } else {
+                unavailable(batch, e);
+            }
+        } catch (SolrServerException | IOException e) {
+            unavailable(batch, e);
+        }
+    }
+
+    /**
+     * @return whether Solr refuses the documents, so sending them again won't help
+     */
+    private boolean isRefused(SolrException e) {
+        return e.code() >= 400 && e.code() < 500;
+    }
+
+    private void send(List<SolrInputDocument> batch) throws SolrServerException, IOException {
+        solr.add(batch);
+        if (commit) {
+            solr.commit(false, false);
+        }
+        written.addAndGet(batch.size());
+    }
+
+    private void unavailable(List<SolrInputDocument> batch, Exception e) {
+        log.warn("The statistics core is unavailable, spilling {} usage events to {} and retrying in {} ms: {}",
+                 batch.size(), spillDirectory, retryInterval, e.getMessage());
+        retryAt = System.currentTimeMillis() + retryInterval;
+        spill(batch);
+    }
+
+    /**
+     * Write a batch to a new file of the spill directory. The file is named after the time and a sequence, so the
+     * batches are sent again in the order they were spilled.
+     */
+    private void spill(List<SolrInputDocument> batch) {
+        String name = String.format("%s%013d-%06d", SPILL_PREFIX, System.currentTimeMillis(),
+                                    spillSequence.incrementAndGet() % 1_000_000);
+        try {
+            Files.createDirectories(spillDirectory);
+            Path temp = spillDirectory.resolve(name + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp); JavaBinCodec codec = new JavaBinCodec()) {
+                codec.marshal(new ArrayList<>(batch), out);
+            }
+            Files.move(temp, spillDirectory.resolve(name + SPILL_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            spilled.addAndGet(batch.size());
+            spillFiles.incrementAndGet();
+        } catch (IOException e) {
+            log.error("Unable to spill {} usage events to {}, dropping them", batch.size(), spillDirectory, e);
+            dropped.addAndGet(batch.size());
+        }
+    }
+
+    /**
+     * Send the spilled batches to Solr, oldest first, until Solr is unavailable
+     */
+    private void replaySpilled() {
+        if (spillFiles.get() <= 0 || System.currentTimeMillis() < retryAt) {
+            return;
+        }
+        List<Path> files = listSpillFiles();
+        spillFiles.set(files.size());
+        for (Path spilled : files) {
+            Path file = claim(spilled);
+            if (file == null) {
+                continue;
+            }
+            List<SolrInputDocument> batch = new ArrayList<>();
+            try (InputStream in = Files.newInputStream(file); JavaBinCodec codec = new JavaBinCodec()) {
+                for (Object document : (List<?>) codec.unmarshal(in)) {
+                    batch.add((SolrInputDocument) document);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Unable to read spilled usage events from {}, skipping the file", file, e);
+                moveAside(file);
+                continue;
+            }
+            try {
+                send(batch);
+            } catch (SolrException e) {
+                if (!isRefused(e)) {
+                    log.warn("The statistics core is still unavailable, retrying in {} ms: {}",
+                             retryInterval, e.getMessage());
+                    retryAt = System.currentTimeMillis() + retryInterval;
+                    release(file, spilled);
+                    return;
+                }
+                log.error("Solr refused the {} spilled usage events of {}, dropping them", batch.size(), spilled, e);
+                dropped.addAndGet(batch.size());
+                moveAside(file);
+                continue;
+            } catch (SolrServerException | IOException e) {
+                log.warn("The statistics core is still unavailable, retrying in {} ms: {}",
+                         retryInterval, e.getMessage());
+                retryAt = System.currentTimeMillis() + retryInterval;
+                release(file, spilled);
+                return;
+            }
+            log.info("Sent {} spilled usage events from {} to Solr", batch.size(), spilled);
+            try {
+                Files.delete(file);
+                spillFiles.decrementAndGet();
+            } catch (IOException e) {
+                log.error("Unable to delete spilled usage events {}, which were sent to Solr", file, e);
+                moveAside(file);
+            }
+        }
+    }
+
+    /**
+     * Claim a spilled batch by renaming it atomically
+     *
+     * @return the claimed file, or null if another writer claimed the batch first
+     */
+    private Path claim(Path file) {
+        Path claimed = file.resolveSibling(file.getFileName() + claimSuffix);
+        try {
+            Files.move(file, claimed, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            spillFiles.decrementAndGet();
+            return null;
+        } catch (IOException e) {
+            log.error("Unable to claim spilled usage events {}", file, e);
+            return null;
+        }
+        try {
+            // the age of the claim, not of the batch
+            Files.setLastModifiedTime(claimed, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.warn("Unable to set the time of the claim of {}", file, e);
+        }
+        return claimed;
+    }
+
+    /**
+     * Give a claimed batch back, to send it later
+     */
+    private void release(Path claimed, Path file) {
+        try {
+            Files.move(claimed, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Unable to release the claim of spilled usage events {}", file, e);
+        }
+    }
+
+    /**
+     * Give the batches claimed by writers which stopped while sending them back
+     */
+    private void releaseStaleClaims() {
+        if (!Files.isDirectory(spillDirectory)) {
+            return;
+        }
+        long staleBefore = System.currentTimeMillis() - STALE_CLAIM;
+        try (DirectoryStream<Path> stream =
+                 Files.newDirectoryStream(spillDirectory, SPILL_PREFIX + "*" + SPILL_SUFFIX + ".*")) {
+            for (Path claimed : stream) {
+                String name = claimed.getFileName().toString();
+                if (name.endsWith(".failed") || Files.getLastModifiedTime(claimed).toMillis() > staleBefore) {
+                    continue;
+                }
+                log.warn("Releasing the abandoned claim of spilled usage events {}", claimed);
+                release(claimed, claimed.resolveSibling(name.substring(0, name.lastIndexOf('.'))));
+                spillFiles.incrementAndGet();
+            }
+        } catch (IOException e) {
+            log.error("Unable to list the claimed usage events in {}", spillDirectory, e);
+        }
+    }
+
+    private void moveAside(Path file) {
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".failed"),
+                       StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Unable to rename {}", file, e);
+        }
+        spillFiles.decrementAndGet();
+    }
+
+    private List<Path> listSpillFiles() {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(spillDirectory)) {
+            try (DirectoryStream<Path> stream =
+                     Files.newDirectoryStream(spillDirectory, SPILL_PREFIX + "*" + SPILL_SUFFIX)) {
+                stream.forEach(files::add);
+            } catch (IOException e) {
+                log.error("Unable to list the spilled usage events in {}", spillDirectory, e);
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * @return the number of documents waiting in the buffer
+     */
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    /**
+     * @return the maximum number of documents in the buffer
+     */
+    public int getCapacity() {
+        return buffer.size() + buffer.remainingCapacity();
+    }
+
+    /**
+     * @return the number of documents added to the buffer
+     */
+    public long getAdded() {
+        return added.get();
+    }
+
+    /**
+     * @return the number of documents sent to Solr, including the spilled documents sent later
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * @return the number of documents dropped, because the buffer was full or Solr refused them
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of documents spilled to files because Solr was unavailable
+     */
+    public long getSpilled() {
+        return spilled.get();
+    }
+
+    /**
+     * @return the number of spilled batches which weren't sent to Solr yet
+     */
+    public int getPendingSpillFiles() {
+        return spillFiles.get();
+    }
+}
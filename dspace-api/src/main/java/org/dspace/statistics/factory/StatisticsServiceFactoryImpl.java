@@ -8,6 +8,7 @@
 package org.dspace.statistics.factory;
 
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
 import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.SpiderDetectorService;
 
@@ -31,4 +32,10 @@ public class StatisticsServiceFactoryImpl extends StatisticsServiceFactory {
         return DSpaceServicesFactory.getInstance().getServiceManager()
                                     .getServiceByName("spiderDetectorService", SpiderDetectorService.class);
     }
+
+    @Override
+    public StatisticsRollupService getStatisticsRollupService() {
+        return DSpaceServicesFactory.getInstance().getServiceManager()
+                                    .getServiceByName("statisticsRollupService", StatisticsRollupService.class);
+    }
 }
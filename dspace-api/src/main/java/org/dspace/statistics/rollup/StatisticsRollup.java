@@ -0,0 +1,118 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Entity that models the number of views of a DSpace object on a day (in UTC), from a country and a referring host,
+ * as aggregated from the usage events of the statistics core by the {@link StatisticsRollupServiceImpl}. Views of
+ * bitstreams (downloads) also keep the item the bitstream belongs to, so the downloads of the files of an item can be
+ * counted.
+ */
+@Entity
+@Table(name = "statistics_rollup")
+public class StatisticsRollup implements ReloadableEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "statistics_rollup_id_seq")
+    @SequenceGenerator(name = "statistics_rollup_id_seq", sequenceName = "statistics_rollup_id_seq",
+                       allocationSize = 1)
+    private Integer id;
+
+    @Column(name = "usage_date")
+    private LocalDate date;
+
+    @Column(name = "dso_id")
+    private UUID dsoId;
+
+    @Column(name = "dso_type")
+    private int dsoType;
+
+    /**
+     * The item of a bitstream, null for other objects
+     */
+    @Column(name = "owning_item")
+    private UUID owningItem;
+
+    @Column(name = "country_code", length = 16)
+    private String countryCode;
+
+    /**
+     * The host of the referrer
+     */
+    @Column(name = "referrer", length = 255)
+    private String referrer;
+
+    @Column(name = "views")
+    private long views;
+
+    /**
+     * Protected constructor, create object using
+     * {@link org.dspace.statistics.rollup.service.StatisticsRollupService}
+     */
+    protected StatisticsRollup() {
+    }
+
+    StatisticsRollup(LocalDate date, UUID dsoId, int dsoType, UUID owningItem, String countryCode,
+                     String referrer) {
+        this.date = date;
+        this.dsoId = dsoId;
+        this.dsoType = dsoType;
+        this.owningItem = owningItem;
+        this.countryCode = countryCode;
+        this.referrer = referrer;
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public UUID getDsoId() {
+        return dsoId;
+    }
+
+    public int getDsoType() {
+        return dsoType;
+    }
+
+    public UUID getOwningItem() {
+        return owningItem;
+    }
+
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    public String getReferrer() {
+        return referrer;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public void setViews(long views) {
+        this.views = views;
+    }
+}
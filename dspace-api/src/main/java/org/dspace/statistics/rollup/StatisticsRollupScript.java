@@ -0,0 +1,81 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.dspace.utils.DSpace;
+
+/**
+ * Script to aggregate the views of the statistics core which are more recent than the watermark into the daily
+ * rollups the usage reports are answered from (see the solr-statistics.rollup.enabled configuration property).
+ * It is meant to run regularly, e.g. every hour.
+ */
+public class StatisticsRollupScript extends DSpaceRunnable<StatisticsRollupScriptConfiguration> {
+
+    private boolean help = false;
+    private boolean clear = false;
+    private LocalDate resetFrom;
+
+    private StatisticsRollupService statisticsRollupService;
+
+    @Override
+    public void internalRun() throws Exception {
+        if (help) {
+            printHelp();
+            return;
+        }
+
+        Context context = new Context();
+        try {
+            if (clear || resetFrom != null) {
+                statisticsRollupService.reset(context, resetFrom);
+                context.commit();
+                handler.logInfo(clear ? "Removed all rollups" : "Removed the rollups from " + resetFrom);
+            }
+
+            Instant start = statisticsRollupService.getWatermark(context);
+            Instant end = statisticsRollupService.getDefaultEnd();
+            handler.logInfo("Aggregating the views from " + (start != null ? start : "the oldest view") +
+                                " up to " + end);
+            long views = statisticsRollupService.rollup(context, end);
+            handler.logInfo("Aggregated " + views + " views, the rollups are up to date until " +
+                                statisticsRollupService.getWatermark(context));
+            context.complete();
+        } finally {
+            context.abort();
+        }
+    }
+
+    @Override
+    public StatisticsRollupScriptConfiguration getScriptConfiguration() {
+        return new DSpace().getServiceManager().getServiceByName("statistics-rollup",
+                                                                 StatisticsRollupScriptConfiguration.class);
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        statisticsRollupService = StatisticsServiceFactory.getInstance().getStatisticsRollupService();
+        help = commandLine.hasOption('h');
+        clear = commandLine.hasOption('c');
+        if (commandLine.hasOption('r')) {
+            try {
+                resetFrom = LocalDate.parse(commandLine.getOptionValue('r'));
+            } catch (DateTimeParseException e) {
+                throw new ParseException("Invalid date (yyyy-MM-dd): " + commandLine.getOptionValue('r'));
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import org.apache.commons.cli.Options;
+import org.dspace.scripts.configuration.ScriptConfiguration;
+
+/**
+ * The {@link ScriptConfiguration} for the {@link StatisticsRollupScript} script
+ */
+public class StatisticsRollupScriptConfiguration<T extends StatisticsRollupScript> extends ScriptConfiguration<T> {
+
+    private Class<T> dspaceRunnableClass;
+
+    @Override
+    public Class<T> getDspaceRunnableClass() {
+        return dspaceRunnableClass;
+    }
+
+    @Override
+    public void setDspaceRunnableClass(Class<T> dspaceRunnableClass) {
+        this.dspaceRunnableClass = dspaceRunnableClass;
+    }
+
+    @Override
+    public Options getOptions() {
+        if (options == null) {
+            Options options = new Options();
+
+            options.addOption("r", "reset", true,
+                              "aggregate the views again from this day (yyyy-MM-dd), e.g. after marking robots");
+            options.addOption("c", "clear", false, "remove all rollups and aggregate all views again");
+            options.addOption("h", "help", false, "print this help message");
+
+            super.options = options;
+        }
+        return options;
+    }
+}
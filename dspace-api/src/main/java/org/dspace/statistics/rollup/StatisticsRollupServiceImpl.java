@@ -0,0 +1,340 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.statistics.SolrLoggerServiceImpl;
+import org.dspace.statistics.rollup.dao.StatisticsRollupDAO;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Service implementation for the StatisticsRollup object.
+ * This class is responsible for all business logic calls for the StatisticsRollup object and is autowired by spring.
+ * This class should never be accessed directly.
+ * <p>
+ * The views are read from the statistics core with a cursor, one day (in UTC) at a time, and counted in memory by
+ * object, country and referring host. The counts of each day are then stored together with the new watermark.
+ * The watermark is the time of the views, not the time they were added to the statistics core: views added late
+ * (e.g. buffered by a node, or spilled while Solr was unavailable) can have a time before the watermark. So each
+ * run counts the day of the watermark and the configured number of days before it again, and replaces their
+ * rollups. Views added even later are only counted after a reset of their day.
+ * The views are filtered like the usage reports filter them (robots, bundles), as they were when aggregated.
+ */
+public class StatisticsRollupServiceImpl implements StatisticsRollupService {
+
+    private static final Logger log = LogManager.getLogger(StatisticsRollupServiceImpl.class);
+
+    /**
+     * The name of the watermark of the views
+     */
+    protected static final String VIEWS = "views";
+
+    /**
+     * Only use the view events, including old events without statistics type (as StatisticsDataVisits does)
+     */
+    private static final String VIEW_FILTER = "-(statistics_type:[* TO *] AND -statistics_type:"
+        + SolrLoggerServiceImpl.StatisticsType.VIEW.text() + ")";
+
+    private static final List<String> FIELDS = List.of("id", "type", "owningItem", "countryCode", "referrer");
+
+    private static final int MAX_REFERRER_LENGTH = 255;
+
+    @Autowired(required = true)
+    protected StatisticsRollupDAO statisticsRollupDAO;
+
+    @Autowired(required = true)
+    protected SolrLoggerService solrLoggerService;
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    protected StatisticsRollupServiceImpl() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("solr-statistics.rollup.enabled", false);
+    }
+
+    @Override
+    public Instant getWatermark(Context context) throws SQLException {
+        StatisticsRollupWatermark watermark = statisticsRollupDAO.findWatermark(context, VIEWS);
+        return watermark != null ? watermark.getWatermark() : null;
+    }
+
+    @Override
+    public Instant getDefaultEnd() {
+        long delay = configurationService.getLongProperty("solr-statistics.rollup.delay", 15);
+        return Instant.now().minus(delay, ChronoUnit.MINUTES);
+    }
+
+    @Override
+    public long rollup(Context context, Instant end) throws SQLException, SolrServerException, IOException {
+        Instant watermark = getWatermark(context);
+        Instant from;
+        // the last day which may already have rollups
+        LocalDate aggregated = null;
+        if (watermark == null) {
+            from = findOldestView();
+            if (from == null) {
+                log.info("No views to aggregate");
+                return 0;
+            }
+            from = from.truncatedTo(ChronoUnit.DAYS);
+        } else {
+            aggregated = LocalDate.ofInstant(watermark, ZoneOffset.UTC);
+            from = watermark.truncatedTo(ChronoUnit.DAYS).minus(getRecountDays(), ChronoUnit.DAYS);
+        }
+
+        long total = 0;
+        while (from.isBefore(end)) {
+            Instant nextDay = from.truncatedTo(ChronoUnit.DAYS).plus(1, ChronoUnit.DAYS);
+            Instant to = nextDay.isBefore(end) ? nextDay : end;
+            LocalDate date = LocalDate.ofInstant(from, ZoneOffset.UTC);
+
+            Map<RollupKey, Long> counts = countViews(from, to);
+            long views = store(context, date, counts, aggregated != null && !date.isAfter(aggregated));
+            setWatermark(context, to);
+            context.commit();
+            context.uncacheEntities();
+
+            log.info("Aggregated {} new views of {} into {} rollups, up to {}", views, date, counts.size(), to);
+            total += views;
+            from = to;
+        }
+        return total;
+    }
+
+    @Override
+    public void reset(Context context, LocalDate from) throws SQLException {
+        statisticsRollupDAO.deleteFrom(context, from);
+        Instant watermark = getWatermark(context);
+        if (from == null) {
+            setWatermark(context, null);
+        } else if (watermark != null) {
+            Instant start = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+            if (start.isBefore(watermark)) {
+                setWatermark(context, start);
+            }
+        }
+    }
+
+    @Override
+    public long countViews(Context context, DSpaceObject dso) throws SQLException {
+        return statisticsRollupDAO.sumViews(context, dso.getID(), dso.getType());
+    }
+
+    @Override
+    public Map<YearMonth, Long> countViewsByMonth(Context context, DSpaceObject dso, YearMonth start, YearMonth end)
+        throws SQLException {
+        Map<YearMonth, Long> months = new LinkedHashMap<>();
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            months.put(month, 0L);
+        }
+        Map<LocalDate, Long> days = statisticsRollupDAO.sumViewsByDate(context, dso.getID(), dso.getType(),
+                                                                       start.atDay(1), end.atEndOfMonth());
+        days.forEach((day, views) -> months.merge(YearMonth.from(day), views, Long::sum));
+        return months;
+    }
+
+    @Override
+    public Map<String, Long> countViewsByCountry(Context context, DSpaceObject dso, int max) throws SQLException {
+        return statisticsRollupDAO.sumViewsByCountry(context, dso.getID(), dso.getType(), max);
+    }
+
+    @Override
+    public Map<UUID, Long> countDownloads(Context context, Item item, int max) throws SQLException {
+        return statisticsRollupDAO.sumViewsOfBitstreams(context, item.getID(), max);
+    }
+
+    @Override
+    public Map<UUID, Long> findMostViewed(Context context, int dsoType, int max) throws SQLException {
+        return statisticsRollupDAO.sumViewsByObject(context, dsoType, max);
+    }
+
+    /**
+     * @return the number of days before the day of the watermark which are counted again by every run
+     */
+    protected int getRecountDays() {
+        return Math.max(0, configurationService.getIntProperty("solr-statistics.rollup.recount-days", 1));
+    }
+
+    /**
+     * @return the time of the oldest view in the statistics core, or null if there are no views
+     */
+    protected Instant findOldestView() throws SolrServerException, IOException {
+        QueryResponse response = solrLoggerService.query("*:*", VIEW_FILTER, null, 1, -1, null, null, null, null,
+                                                         "time", true, 0);
+        if (response == null || response.getResults().isEmpty()) {
+            return null;
+        }
+        Object time = response.getResults().get(0).getFieldValue("time");
+        return time instanceof Date ? ((Date) time).toInstant() : null;
+    }
+
+    /**
+     * Count the views between two times
+     *
+     * @param from the start of the period (inclusive)
+     * @param to   the end of the period (exclusive), on the same day
+     * @return the number of views by rollup
+     */
+    protected Map<RollupKey, Long> countViews(Instant from, Instant to) throws SolrServerException, IOException {
+        LocalDate date = LocalDate.ofInstant(from, ZoneOffset.UTC);
+        String query = "time:[" + DateTimeFormatter.ISO_INSTANT.format(from) + " TO "
+            + DateTimeFormatter.ISO_INSTANT.format(to) + "}";
+        int rows = configurationService.getIntProperty("solr-statistics.rollup.batch-size", 10000);
+
+        Map<RollupKey, Long> counts = new HashMap<>();
+        long[] skipped = new long[1];
+        solrLoggerService.iterate(query, VIEW_FILTER, FIELDS, rows, true, document -> {
+            RollupKey key = toKey(date, document);
+            if (key == null) {
+                skipped[0]++;
+            } else {
+                counts.merge(key, 1L, Long::sum);
+            }
+        });
+        if (skipped[0] > 0) {
+            log.debug("Skipped {} views of {} without a UUID or type", skipped[0], date);
+        }
+        return counts;
+    }
+
+    /**
+     * @return the rollup of a view, or null if the view has no UUID (legacy ids) or no type
+     */
+    protected RollupKey toKey(LocalDate date, SolrDocument document) {
+        UUID dsoId = toUUID(document.getFirstValue("id"));
+        Object type = document.getFirstValue("type");
+        if (dsoId == null || !(type instanceof Number)) {
+            return null;
+        }
+        int dsoType = ((Number) type).intValue();
+        UUID owningItem = dsoType == Constants.BITSTREAM ? toUUID(document.getFirstValue("owningItem")) : null;
+        return new RollupKey(date, dsoId, dsoType, owningItem,
+                             StringUtils.trimToNull((String) document.getFirstValue("countryCode")),
+                             toReferrerHost((String) document.getFirstValue("referrer")));
+    }
+
+    /**
+     * Store the counts of the views of a day
+     *
+     * @param context the DSpace context
+     * @param date    the day
+     * @param counts  the number of views by rollup, of the whole day
+     * @param replace true if the day may already have rollups, which are replaced by the counts
+     * @return the number of views added to the rollups of the day
+     */
+    protected long store(Context context, LocalDate date, Map<RollupKey, Long> counts, boolean replace)
+        throws SQLException {
+        Map<RollupKey, Long> remaining = new HashMap<>(counts);
+        long added = counts.values().stream().mapToLong(Long::longValue).sum();
+        if (replace) {
+            for (StatisticsRollup rollup : statisticsRollupDAO.findByDate(context, date)) {
+                added -= rollup.getViews();
+                Long views = remaining.remove(RollupKey.of(rollup));
+                if (views != null) {
+                    rollup.setViews(views);
+                } else {
+                    // e.g. the views were marked as robots since
+                    statisticsRollupDAO.delete(context, rollup);
+                }
+            }
+        }
+        List<StatisticsRollup> rollups = new ArrayList<>(remaining.size());
+        remaining.forEach((key, views) -> {
+            StatisticsRollup rollup = new StatisticsRollup(key.date(), key.dsoId(), key.dsoType(), key.owningItem(),
+                                                           key.countryCode(), key.referrer());
+            rollup.setViews(views);
+            rollups.add(rollup);
+        });
+        statisticsRollupDAO.createAll(context, rollups);
+        return added;
+    }
+
+    protected void setWatermark(Context context, Instant time) throws SQLException {
+        StatisticsRollupWatermark watermark = statisticsRollupDAO.findWatermark(context, VIEWS);
+        if (watermark == null) {
+            watermark = new StatisticsRollupWatermark(VIEWS);
+            watermark.setWatermark(time);
+            statisticsRollupDAO.createWatermark(context, watermark);
+        } else {
+            watermark.setWatermark(time);
+        }
+    }
+
+    private UUID toUUID(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the host of a referrer URL, which keeps the number of rollups low unlike the full URL
+     */
+    private String toReferrerHost(String referrer) {
+        if (StringUtils.isBlank(referrer)) {
+            return null;
+        }
+        String host;
+        try {
+            host = URI.create(referrer.trim()).getHost();
+        } catch (IllegalArgumentException e) {
+            host = null;
+        }
+        return host != null ? StringUtils.truncate(host.toLowerCase(Locale.ROOT), MAX_REFERRER_LENGTH) : null;
+    }
+
+    /**
+     * The dimensions of a rollup
+     */
+    protected record RollupKey(LocalDate date, UUID dsoId, int dsoType, UUID owningItem, String countryCode,
+                               String referrer) {
+
+        static RollupKey of(StatisticsRollup rollup) {
+            return new RollupKey(rollup.getDate(), rollup.getDsoId(), rollup.getDsoType(), rollup.getOwningItem(),
+                                 rollup.getCountryCode(), rollup.getReferrer());
+        }
+    }
+}
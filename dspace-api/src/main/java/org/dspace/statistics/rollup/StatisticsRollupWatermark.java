@@ -0,0 +1,52 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Entity that models the time up to which the usage events of the statistics core were aggregated into the
+ * {@link StatisticsRollup}s: the events before the watermark are counted, the later ones are not yet.
+ */
+@Entity
+@Table(name = "statistics_rollup_watermark")
+public class StatisticsRollupWatermark implements ReloadableEntity<String> {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "watermark", columnDefinition = "timestamp with time zone")
+    private Instant watermark;
+
+    protected StatisticsRollupWatermark() {
+    }
+
+    StatisticsRollupWatermark(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getID() {
+        return name;
+    }
+
+    public Instant getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(Instant watermark) {
+        this.watermark = watermark;
+    }
+}
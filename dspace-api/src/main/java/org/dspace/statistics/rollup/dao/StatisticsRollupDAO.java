@@ -0,0 +1,121 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.statistics.rollup.StatisticsRollup;
+import org.dspace.statistics.rollup.StatisticsRollupWatermark;
+
+/**
+ * Database Access Object interface class for the StatisticsRollup object.
+ * The implementation of this class is responsible for all database calls for the StatisticsRollup object and is
+ * autowired by spring. This class should only be accessed from a single service and should never be exposed outside
+ * of the API.
+ */
+public interface StatisticsRollupDAO extends GenericDAO<StatisticsRollup> {
+
+    /**
+     * @param context the DSpace context
+     * @param date    a day
+     * @return all rollups of the day
+     * @throws SQLException if database error
+     */
+    public List<StatisticsRollup> findByDate(Context context, LocalDate date) throws SQLException;
+
+    /**
+     * Create rollups in chunks. The session is flushed and cleared after each chunk so it doesn't grow with the
+     * number of rollups, which detaches all entities loaded before.
+     *
+     * @param context the DSpace context
+     * @param rollups the new rollups
+     * @throws SQLException if database error
+     */
+    public void createAll(Context context, Collection<StatisticsRollup> rollups) throws SQLException;
+
+    /**
+     * Delete the rollups of a day and the following days
+     *
+     * @param context the DSpace context
+     * @param date    the first day to delete, or null to delete all rollups
+     * @throws SQLException if database error
+     */
+    public void deleteFrom(Context context, LocalDate date) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoId   the id of a DSpace object
+     * @param dsoType the type of the DSpace object
+     * @return the total number of views of the object
+     * @throws SQLException if database error
+     */
+    public long sumViews(Context context, UUID dsoId, int dsoType) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoId   the id of a DSpace object
+     * @param dsoType the type of the DSpace object
+     * @param start   the first day
+     * @param end     the last day
+     * @return the number of views of the object on each day between start and end which has views, by day
+     * @throws SQLException if database error
+     */
+    public Map<LocalDate, Long> sumViewsByDate(Context context, UUID dsoId, int dsoType, LocalDate start,
+                                               LocalDate end) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoId   the id of a DSpace object
+     * @param dsoType the type of the DSpace object
+     * @param max     the maximum number of countries
+     * @return the number of views of the object from each country, most views first
+     * @throws SQLException if database error
+     */
+    public Map<String, Long> sumViewsByCountry(Context context, UUID dsoId, int dsoType, int max)
+        throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param item    the id of an item
+     * @param max     the maximum number of bitstreams
+     * @return the number of downloads of each bitstream of the item, most downloads first
+     * @throws SQLException if database error
+     */
+    public Map<UUID, Long> sumViewsOfBitstreams(Context context, UUID item, int max) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoType a type of DSpace objects
+     * @param max     the maximum number of objects
+     * @return the number of views of the objects of the type with the most views, most views first
+     * @throws SQLException if database error
+     */
+    public Map<UUID, Long> sumViewsByObject(Context context, int dsoType, int max) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param name    the name of the watermark
+     * @return the watermark, or null if no usage events were aggregated yet
+     * @throws SQLException if database error
+     */
+    public StatisticsRollupWatermark findWatermark(Context context, String name) throws SQLException;
+
+    /**
+     * @param context   the DSpace context
+     * @param watermark a new watermark
+     * @throws SQLException if database error
+     */
+    public void createWatermark(Context context, StatisticsRollupWatermark watermark) throws SQLException;
+}
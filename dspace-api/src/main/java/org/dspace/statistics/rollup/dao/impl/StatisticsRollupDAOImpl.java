@@ -0,0 +1,156 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao.impl;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.statistics.rollup.StatisticsRollup;
+import org.dspace.statistics.rollup.StatisticsRollupWatermark;
+import org.dspace.statistics.rollup.dao.StatisticsRollupDAO;
+import org.hibernate.Session;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the StatisticsRollup object.
+ * This class is responsible for all database calls for the StatisticsRollup object and is autowired by spring.
+ * This class should never be accessed directly.
+ */
+public class StatisticsRollupDAOImpl extends AbstractHibernateDAO<StatisticsRollup> implements StatisticsRollupDAO {
+
+    /**
+     * The number of rollups inserted before the session is flushed and cleared
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    protected StatisticsRollupDAOImpl() {
+        super();
+    }
+
+    @Override
+    public List<StatisticsRollup> findByDate(Context context, LocalDate date) throws SQLException {
+        Query query = createQuery(context, "SELECT r FROM StatisticsRollup r WHERE r.date = :date");
+        query.setParameter("date", date);
+        return list(query);
+    }
+
+    @Override
+    public void createAll(Context context, Collection<StatisticsRollup> rollups) throws SQLException {
+        Session session = getHibernateSession(context);
+        int count = 0;
+        for (StatisticsRollup rollup : rollups) {
+            session.persist(rollup);
+            if (++count % CHUNK_SIZE == 0) {
+                session.flush();
+                session.clear();
+            }
+        }
+        session.flush();
+        session.clear();
+    }
+
+    @Override
+    public void deleteFrom(Context context, LocalDate date) throws SQLException {
+        Query query;
+        if (date == null) {
+            query = createQuery(context, "DELETE FROM StatisticsRollup");
+        } else {
+            query = createQuery(context, "DELETE FROM StatisticsRollup WHERE date >= :date");
+            query.setParameter("date", date);
+        }
+        query.executeUpdate();
+    }
+
+    @Override
+    public long sumViews(Context context, UUID dsoId, int dsoType) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT COALESCE(SUM(r.views), 0) FROM StatisticsRollup r WHERE r.dsoId = :dsoId AND r.dsoType = :type");
+        query.setParameter("dsoId", dsoId);
+        query.setParameter("type", dsoType);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public Map<LocalDate, Long> sumViewsByDate(Context context, UUID dsoId, int dsoType, LocalDate start,
+                                               LocalDate end) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT r.date, SUM(r.views) FROM StatisticsRollup r " +
+            "WHERE r.dsoId = :dsoId AND r.dsoType = :type AND r.date BETWEEN :start AND :end " +
+            "GROUP BY r.date ORDER BY r.date");
+        query.setParameter("dsoId", dsoId);
+        query.setParameter("type", dsoType);
+        query.setParameter("start", start);
+        query.setParameter("end", end);
+        return toMap(query);
+    }
+
+    @Override
+    public Map<String, Long> sumViewsByCountry(Context context, UUID dsoId, int dsoType, int max)
+        throws SQLException {
+        Query query = createQuery(context,
+            "SELECT r.countryCode, SUM(r.views) FROM StatisticsRollup r " +
+            "WHERE r.dsoId = :dsoId AND r.dsoType = :type AND r.countryCode IS NOT NULL " +
+            "GROUP BY r.countryCode ORDER BY SUM(r.views) DESC, r.countryCode");
+        query.setParameter("dsoId", dsoId);
+        query.setParameter("type", dsoType);
+        query.setMaxResults(max);
+        return toMap(query);
+    }
+
+    @Override
+    public Map<UUID, Long> sumViewsOfBitstreams(Context context, UUID item, int max) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT r.dsoId, SUM(r.views) FROM StatisticsRollup r " +
+            "WHERE r.owningItem = :item AND r.dsoType = :type " +
+            "GROUP BY r.dsoId ORDER BY SUM(r.views) DESC, r.dsoId");
+        query.setParameter("item", item);
+        query.setParameter("type", Constants.BITSTREAM);
+        query.setMaxResults(max);
+        return toMap(query);
+    }
+
+    @Override
+    public Map<UUID, Long> sumViewsByObject(Context context, int dsoType, int max) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT r.dsoId, SUM(r.views) FROM StatisticsRollup r WHERE r.dsoType = :type " +
+            "GROUP BY r.dsoId ORDER BY SUM(r.views) DESC, r.dsoId");
+        query.setParameter("type", dsoType);
+        query.setMaxResults(max);
+        return toMap(query);
+    }
+
+    @Override
+    public StatisticsRollupWatermark findWatermark(Context context, String name) throws SQLException {
+        return getHibernateSession(context).get(StatisticsRollupWatermark.class, name);
+    }
+
+    @Override
+    public void createWatermark(Context context, StatisticsRollupWatermark watermark) throws SQLException {
+        getHibernateSession(context).persist(watermark);
+    }
+
+    /**
+     * @return the sums of a query returning a key and a sum in each row, in the order of the rows
+     */
+    @SuppressWarnings("unchecked")
+    private <K> Map<K, Long> toMap(Query query) {
+        Map<K, Long> sums = new LinkedHashMap<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            sums.put((K) row[0], ((Number) row[1]).longValue());
+        }
+        return sums;
+    }
+}
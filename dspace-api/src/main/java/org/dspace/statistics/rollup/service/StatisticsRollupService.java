@@ -0,0 +1,122 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.service;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.solr.client.solrj.SolrServerException;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+
+/**
+ * Service interface class for the StatisticsRollup object: aggregates the views of the statistics core into daily
+ * counts by object, country and referring host, and answers the usage reports from these counts.
+ * The implementation of this class is responsible for all business logic calls for the StatisticsRollup object and
+ * is autowired by spring.
+ */
+public interface StatisticsRollupService {
+
+    /**
+     * @return true if the usage reports are answered from the rollups instead of the statistics core
+     *         ("solr-statistics.rollup.enabled")
+     */
+    public boolean isEnabled();
+
+    /**
+     * @param context the DSpace context
+     * @return the time up to which the views are aggregated, or null if no views were aggregated yet
+     * @throws SQLException if database error
+     */
+    public Instant getWatermark(Context context) throws SQLException;
+
+    /**
+     * Aggregate the views of the statistics core from the watermark up to the given time, one day at a time. The
+     * rollups and the watermark of each day are committed together, so an interrupted run continues where it
+     * stopped. Without watermark, the aggregation starts with the oldest view. The day of the watermark and the
+     * configured number of days before it ("solr-statistics.rollup.recount-days") are counted again, so the views
+     * added to the statistics core after their day was aggregated are counted too.
+     *
+     * @param context the DSpace context
+     * @param end     the time up to which the views are aggregated
+     * @return the number of views added to the rollups
+     * @throws SQLException        if database error
+     * @throws SolrServerException if the statistics core can't be queried
+     * @throws IOException         if the statistics core can't be queried
+     */
+    public long rollup(Context context, Instant end) throws SQLException, SolrServerException, IOException;
+
+    /**
+     * @return the time up to which views are aggregated by default: views more recent than the configured delay
+     *         are left for a next run, as they may still be buffered on their way to the statistics core
+     */
+    public Instant getDefaultEnd();
+
+    /**
+     * Remove the rollups of a day and the following days, and move the watermark back to the start of that day, so
+     * the views are aggregated again by the next run (e.g. after robots were marked in the statistics core).
+     *
+     * @param context the DSpace context
+     * @param from    the first day to remove, or null to remove all rollups
+     * @throws SQLException if database error
+     */
+    public void reset(Context context, LocalDate from) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     a DSpace object
+     * @return the total number of views of the object
+     * @throws SQLException if database error
+     */
+    public long countViews(Context context, DSpaceObject dso) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     a DSpace object
+     * @param start   the first month
+     * @param end     the last month
+     * @return the number of views of the object in each month from start to end, including the months without views
+     * @throws SQLException if database error
+     */
+    public Map<YearMonth, Long> countViewsByMonth(Context context, DSpaceObject dso, YearMonth start, YearMonth end)
+        throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dso     a DSpace object
+     * @param max     the maximum number of countries
+     * @return the number of views of the object by country code, most views first
+     * @throws SQLException if database error
+     */
+    public Map<String, Long> countViewsByCountry(Context context, DSpaceObject dso, int max) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param item    an item
+     * @param max     the maximum number of bitstreams
+     * @return the number of downloads of the bitstreams of the item which were downloaded, by bitstream id, most
+     *         downloads first
+     * @throws SQLException if database error
+     */
+    public Map<UUID, Long> countDownloads(Context context, Item item, int max) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @param dsoType a type of DSpace objects (see {@link org.dspace.core.Constants})
+     * @param max     the maximum number of objects
+     * @return the number of views of the most viewed objects of the type, by object id, most views first
+     * @throws SQLException if database error
+     */
+    public Map<UUID, Long> findMostViewed(Context context, int dsoType, int max) throws SQLException;
+}
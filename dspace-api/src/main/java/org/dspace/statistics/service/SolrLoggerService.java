@@ -12,15 +12,18 @@ import java.net.UnknownHostException;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.statistics.ObjectCount;
+import org.dspace.statistics.SolrStatisticsWriter;
 import org.dspace.usage.UsageWorkflowEvent;
 
 /**
@@ -262,6 +265,24 @@ public interface SolrLoggerService {
                                int facetMinCount, boolean defaultFilterQueries)
             throws SolrServerException, IOException;
 
+    /**
+     * Iterate over the usage events matching a query with a cursor, so every page is as fast as the first one
+     * however deep the iteration goes. The usage events are passed to the consumer in the order of their unique key.
+     *
+     * @param query                the query to be used
+     * @param filterQuery          filter query, or null
+     * @param fields               the fields of the usage events to return, or null for all fields
+     * @param rows                 the number of usage events fetched at once
+     * @param defaultFilterQueries use the default filter queries
+     * @param consumer             the consumer of the usage events
+     * @return the number of usage events passed to the consumer
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws java.io.IOException passed through.
+     */
+    public long iterate(String query, String filterQuery, List<String> fields, int rows,
+                        boolean defaultFilterQueries, Consumer<SolrDocument> consumer)
+        throws SolrServerException, IOException;
+
     public void shardSolrIndex() throws IOException, SolrServerException;
 
     public void reindexBitstreamHits(boolean removeDeletedBitstreams) throws Exception;
@@ -275,10 +296,25 @@ public interface SolrLoggerService {
     public void exportHits() throws Exception;
 
     /**
-     * Commit the solr core.
+     * Commit the solr core, including the usage events buffered by the writer.
      */
     public void commit() throws IOException, SolrServerException;
 
+    /**
+     * Get the writer sending the usage events to the solr core in batches, which exposes the depth of its buffer
+     * and the number of dropped events.
+     *
+     * @return the writer, or null if the usage events are sent one at a time ("solr-statistics.buffer.enabled")
+     */
+    public SolrStatisticsWriter getWriter();
+
+    /**
+     * Start the writer sending the usage events to the solr core in batches, if enabled
+     * ("solr-statistics.buffer.enabled"). Only the webapp starts it: the command line tools send their usage events
+     * one at a time, and don't send the batches spilled by the webapp.
+     */
+    public void startWriter();
+
     /**
      * Anonymize a given ip
      * @param ip
@@ -9,8 +9,12 @@ package org.dspace.statistics.util;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -20,6 +24,9 @@ import org.apache.logging.log4j.Logger;
 /**
  * A Spare v4 IPTable implementation that uses nested HashMaps
  * to optimize IP address matching over ranges of IP addresses.
+ * <p>
+ * The ranges are compiled into sorted, non-overlapping ranges on the first lookup after they changed, so an address
+ * is looked up with a binary search rather than by comparing it with every range.
  *
  * @author mdiggory at atmire.com
  */
@@ -29,6 +36,9 @@ public class IPTable {
     /* A lookup tree for IP addresses and SubnetRanges */
     private final Set<IPRange> ipRanges = new HashSet<>();
 
+    /* The lowest and highest addresses of the merged ranges, sorted, or null when the ranges changed */
+    private volatile long[][] compiledRanges;
+
     /**
      * Internal class representing an IP range
      */
@@ -94,6 +104,7 @@ public class IPTable {
                 long ipLo = ipToLong(InetAddress.getByName(start));
                 long ipHi = ipToLong(InetAddress.getByName(end));
                 ipRanges.add(new IPRange(ipLo, ipHi));
+                compiledRanges = null;
                 return;
             } catch (UnknownHostException e) {
                 throw new IPFormatException(ip + " - Range format should be similar to 1.2.3.0-1.2.3.255");
@@ -117,6 +128,7 @@ public class IPTable {
                     long ipLo = (ipLong / mask) * mask;
                     long ipHi = (( (ipLong / mask) + 1) * mask) - 1;
                     ipRanges.add(new IPRange(ipLo, ipHi));
+                    compiledRanges = null;
                     return;
                 } catch (Exception e) {
                     throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
@@ -125,6 +137,7 @@ public class IPTable {
                 try {
                     long ipLo = ipToLong(InetAddress.getByName(ip));
                     ipRanges.add(new IPRange(ipLo, ipLo));
+                    compiledRanges = null;
                     return;
                 } catch (UnknownHostException e) {
                     throw new IPFormatException(ip + " - IP address format should be similar to 1.2.3.14");
@@ -180,13 +193,49 @@ public class IPTable {
 
         try {
             long ipToTest = ipToLong(InetAddress.getByName(ip));
-            return ipRanges.stream()
-                    .anyMatch(ipRange -> (ipToTest >= ipRange.getIpLo() && ipToTest <= ipRange.getIpHi()));
+            long[][] ranges = compile();
+            // Find the last range starting at or before the address
+            int index = Arrays.binarySearch(ranges[0], ipToTest);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index >= 0 && ipToTest <= ranges[1][index];
         } catch (UnknownHostException e) {
             throw new IPFormatException("ip not valid");
         }
     }
 
+    /**
+     * Sort and merge the ranges, if they changed since they were last compiled
+     *
+     * @return the lowest and the highest addresses of the merged ranges
+     */
+    private long[][] compile() {
+        long[][] ranges = compiledRanges;
+        if (ranges != null) {
+            return ranges;
+        }
+        synchronized (ipRanges) {
+            List<IPRange> sorted = new ArrayList<>(ipRanges);
+            sorted.sort(Comparator.comparingLong(IPRange::getIpLo));
+            long[] los = new long[sorted.size()];
+            long[] his = new long[sorted.size()];
+            int count = 0;
+            for (IPRange range : sorted) {
+                if (count > 0 && range.getIpLo() <= his[count - 1] + 1) {
+                    his[count - 1] = Math.max(his[count - 1], range.getIpHi());
+                } else {
+                    los[count] = range.getIpLo();
+                    his[count] = range.getIpHi();
+                    count++;
+                }
+            }
+            ranges = new long[][] {Arrays.copyOf(los, count), Arrays.copyOf(his, count)};
+            compiledRanges = ranges;
+            return ranges;
+        }
+    }
+
     /**
      * Convert to a Set. This set contains all IPs in the range
      *
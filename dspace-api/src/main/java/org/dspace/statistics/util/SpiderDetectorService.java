@@ -9,6 +9,7 @@ package org.dspace.statistics.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -52,6 +53,18 @@ public interface SpiderDetectorService {
      */
     public void loadSpiderIpAddresses();
 
+    /**
+     * Read the spider files again, replacing the IP addresses and patterns in use once they're all read.
+     */
+    public void reload();
+
+    /**
+     * @return the number of spiders detected by each agent pattern, domain pattern and IP address file (prefixed
+     * with "agents: ", "domains: " and "ip: "), since the spider files were loaded. Only the patterns and files
+     * with hits are included.
+     */
+    public Map<String, Long> getHits();
+
     /**
      * Utility method which reads lines from a file & returns them in a Set.
      *
@@ -12,11 +12,14 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotNull;
@@ -32,6 +35,11 @@ import org.springframework.beans.factory.annotation.Autowired;
  * SpiderDetectorServiceImpl is used to find IP's that are spiders...
  * In future someone may add Host Domains
  * to the detection criteria here.
+ * <p>
+ * The IP addresses, agent patterns and domain patterns of config/spiders are compiled together into a snapshot
+ * (see {@link IPTable} and {@link SpiderPatternMatcher}), which is replaced as a whole when the files change: the
+ * files are checked at most every {@code usage-statistics.bots.reload-interval} seconds. The hits of each pattern
+ * are counted from the time the snapshot was loaded.
  *
  * @author kevinvandevelde at atmire.com
  * @author ben at atmire.com
@@ -44,19 +52,20 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     private Boolean useCaseInsensitiveMatching;
 
-    private final List<Pattern> agents
-        = Collections.synchronizedList(new ArrayList<>());
-
-    private final List<Pattern> domains
-        = Collections.synchronizedList(new ArrayList<>());
-
     private final ConfigurationService configurationService;
     private final ClientInfoService clientInfoService;
 
     /**
-     * Sparse HashTable structure to hold IP address ranges.
+     * The compiled spider files, or null until they're first needed.
+     */
+    private volatile Spiders spiders = null;
+
+    /**
+     * When the spider files were last checked for changes, in milliseconds.
      */
-    private IPTable table = null;
+    private final AtomicLong lastCheck = new AtomicLong();
+
+    private final AtomicBoolean reloading = new AtomicBoolean();
 
     @Autowired(required = true)
     public SpiderDetectorServiceImpl(ConfigurationService configurationService, ClientInfoService clientInfoService) {
@@ -66,66 +75,41 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     @Override
     public IPTable getTable() {
-        return table;
+        Spiders current = spiders;
+        return current != null ? current.table() : null;
     }
 
-    /*
-     * In future spiders HashSet may be optimized as byte offset array to
-     * improve performance and memory footprint further.
-     */
     @Override
     public boolean isSpider(@NotNull String clientIP, String proxyIPs, String hostname, String agent) {
-        // See if any agent patterns match
-        if (null != agent) {
-            synchronized (agents) {
-                if (agents.isEmpty()) {
-                    loadPatterns("agents", agents);
-                }
-            }
-
-            if (isUseCaseInsensitiveMatching()) {
-                agent = StringUtils.lowerCase(agent);
-                hostname = StringUtils.lowerCase(hostname);
-            }
-
-            for (Pattern candidate : agents) {
-
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(agent).find()) {
-                    return true;
-                }
+        Spiders current = getSpiders();
 
+        if (isUseCaseInsensitiveMatching()) {
+            agent = StringUtils.lowerCase(agent);
+            hostname = StringUtils.lowerCase(hostname);
+        }
 
-            }
+        // See if any agent patterns match
+        if (null != agent && current.agents().match(agent) != null) {
+            return true;
         }
 
         // No.  See if any IP addresses match
         if (clientInfoService.isUseProxiesEnabled() && proxyIPs != null) {
             /* This header is a comma delimited list */
             for (String xfip : proxyIPs.split(",")) {
-                if (isSpider(xfip)) {
+                if (isSpider(current, xfip.trim())) {
                     return true;
                 }
             }
         }
 
-        if (isSpider(clientIP)) {
+        if (isSpider(current, clientIP)) {
             return true;
         }
 
         // No.  See if any DNS names match
-        if (null != hostname) {
-            synchronized (domains) {
-                if (domains.isEmpty()) {
-                    loadPatterns("domains", domains);
-                }
-            }
-            for (Pattern candidate : domains) {
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(hostname).find()) {
-                    return true;
-                }
-            }
+        if (null != hostname && current.domains().match(hostname) != null) {
+            return true;
         }
 
         // Not a known spider.
@@ -166,13 +150,11 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
      * @param directory   simple directory name (e.g. "agents").
      *                    "${dspace.dir}/config/spiders" will be prepended to yield the path to
      *                    the directory of pattern files.
-     * @param patternList patterns read from the files in {@code directory} will
-     *                    be added to this List.
+     * @return the patterns read from the files in {@code directory}, compiled together
      */
-    private void loadPatterns(String directory, List<Pattern> patternList) {
-        String dspaceHome = configurationService.getProperty("dspace.dir");
-        File spidersDir = new File(dspaceHome, "config/spiders");
-        File patternsDir = new File(spidersDir, directory);
+    private SpiderPatternMatcher loadPatterns(String directory) {
+        List<String> patternList = new ArrayList<>();
+        File patternsDir = new File(getSpidersDir(), directory);
         if (patternsDir.exists() && patternsDir.isDirectory()) {
             for (File file : patternsDir.listFiles()) {
                 Set<String> patterns;
@@ -188,7 +170,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                     if (isUseCaseInsensitiveMatching()) {
                         pattern = StringUtils.lowerCase(pattern);
                     }
-                    patternList.add(Pattern.compile(pattern));
+                    patternList.add(pattern);
                 }
 
 
@@ -197,6 +179,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         } else {
             log.info("No patterns loaded from {}", patternsDir::getPath);
         }
+        return new SpiderPatternMatcher(patternList);
     }
 
     @Override
@@ -209,12 +192,18 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     @Override
     public boolean isSpider(String ip) {
-        if (table == null) {
-            loadSpiderIpAddresses();
-        }
+        return isSpider(getSpiders(), ip);
+    }
 
+    private boolean isSpider(Spiders current, String ip) {
         try {
-            if (table.contains(ip)) {
+            if (current.table().contains(ip)) {
+                // Count the hit against the file(s) listing the address
+                for (Map.Entry<String, IPTable> file : current.files().entrySet()) {
+                    if (file.getValue().contains(ip)) {
+                        current.ipHits().computeIfAbsent(file.getKey(), name -> new AtomicLong()).incrementAndGet();
+                    }
+                }
                 return true;
             }
         } catch (IPTable.IPFormatException e) {
@@ -227,43 +216,127 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     @Override
     public synchronized void loadSpiderIpAddresses() {
+        if (spiders == null) {
+            spiders = load();
+        }
+    }
 
-        if (table == null) {
-            table = new IPTable();
+    @Override
+    public void reload() {
+        Spiders reloaded = load();
+        synchronized (this) {
+            spiders = reloaded;
+        }
+    }
+
+    @Override
+    public Map<String, Long> getHits() {
+        Spiders current = spiders;
+        Map<String, Long> hits = new LinkedHashMap<>();
+        if (current != null) {
+            current.agents().getHits().forEach((pattern, count) -> hits.put("agents: " + pattern, count));
+            current.domains().getHits().forEach((pattern, count) -> hits.put("domains: " + pattern, count));
+            current.ipHits().forEach((file, count) -> hits.put("ip: " + file, count.get()));
+        }
+        return hits;
+    }
 
-            String filePath = configurationService.getProperty("dspace.dir");
+    /**
+     * @return the compiled spider files, loaded if needed, and reloaded if they changed since they were loaded
+     */
+    protected Spiders getSpiders() {
+        Spiders current = spiders;
+        if (current == null) {
+            loadSpiderIpAddresses();
+            return spiders;
+        }
 
+        long interval = configurationService.getLongProperty("usage-statistics.bots.reload-interval", 60) * 1000;
+        long now = System.currentTimeMillis();
+        long last = lastCheck.get();
+        // Only one thread checks (and reloads) at a time, the others keep using the current spiders
+        if (interval > 0 && now - last >= interval && lastCheck.compareAndSet(last, now)
+            && reloading.compareAndSet(false, true)) {
             try {
-                File spidersDir = new File(filePath, "config/spiders");
-
-                if (spidersDir.exists() && spidersDir.isDirectory()) {
-                    for (File file : spidersDir.listFiles()) {
-                        if (file.isFile()) {
-                            for (String ip : readPatterns(file)) {
-                                log.debug("Loading {}", ip);
-                                if (!Character.isDigit(ip.charAt(0))) {
-                                    try {
-                                        ip = DnsLookup.forward(ip);
-                                        log.debug("Resolved to {}", ip);
-                                    } catch (IOException e) {
-                                        log.warn("Not loading {}:  {}", ip, e.getMessage());
-                                        continue;
-                                    }
+                if (getLastModified() != current.lastModified()) {
+                    log.info("The spider files changed, reloading them");
+                    reload();
+                }
+            } finally {
+                reloading.set(false);
+            }
+        }
+        return spiders;
+    }
+
+    /**
+     * Read and compile the spider files
+     */
+    protected Spiders load() {
+        long lastModified = getLastModified();
+        lastCheck.set(System.currentTimeMillis());
+        IPTable table = new IPTable();
+        Map<String, IPTable> files = new LinkedHashMap<>();
+
+        try {
+            File spidersDir = getSpidersDir();
+
+            if (spidersDir.exists() && spidersDir.isDirectory()) {
+                for (File file : spidersDir.listFiles()) {
+                    if (file.isFile()) {
+                        IPTable fileTable = new IPTable();
+                        for (String ip : readPatterns(file)) {
+                            log.debug("Loading {}", ip);
+                            if (!Character.isDigit(ip.charAt(0))) {
+                                try {
+                                    ip = DnsLookup.forward(ip);
+                                    log.debug("Resolved to {}", ip);
+                                } catch (IOException e) {
+                                    log.warn("Not loading {}:  {}", ip, e.getMessage());
+                                    continue;
                                 }
-                                table.add(ip);
                             }
-                            log.info("Loaded Spider IP file: " + file);
+                            table.add(ip);
+                            fileTable.add(ip);
                         }
+                        files.put(file.getName(), fileTable);
+                        log.info("Loaded Spider IP file: " + file);
                     }
-                } else {
-                    log.info("No spider file loaded");
                 }
-            } catch (IOException | IPTable.IPFormatException e) {
-                log.error("Error Loading Spiders:" + e.getMessage(), e);
+            } else {
+                log.info("No spider file loaded");
             }
-
+        } catch (IOException | IPTable.IPFormatException e) {
+            log.error("Error Loading Spiders:" + e.getMessage(), e);
         }
 
+        return new Spiders(table, files, loadPatterns("agents"), loadPatterns("domains"), lastModified,
+                           new ConcurrentHashMap<>());
+    }
+
+    private File getSpidersDir() {
+        return new File(configurationService.getProperty("dspace.dir"), "config/spiders");
+    }
+
+    /**
+     * @return a sum of the modification times and sizes of the spider files, which changes when a file is changed,
+     * added or removed
+     */
+    private long getLastModified() {
+        long lastModified = 0;
+        File spidersDir = getSpidersDir();
+        for (File dir : new File[] {spidersDir, new File(spidersDir, "agents"), new File(spidersDir, "domains")}) {
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (file.isFile()) {
+                        lastModified = 31 * lastModified + file.getName().hashCode() + file.lastModified()
+                            + file.length();
+                    }
+                }
+            }
+        }
+        return lastModified;
     }
 
     /**
@@ -284,4 +357,12 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
         return useCaseInsensitiveMatching;
     }
+
+    /**
+     * The compiled spider files: the IP addresses of all files and of each file, the agent and domain patterns, the
+     * modification time of the files and the hits of each IP address file.
+     */
+    protected record Spiders(IPTable table, Map<String, IPTable> files, SpiderPatternMatcher agents,
+                             SpiderPatternMatcher domains, long lastModified, Map<String, AtomicLong> ipHits) {
+    }
 }
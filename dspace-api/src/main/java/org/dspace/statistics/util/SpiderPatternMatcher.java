@@ -0,0 +1,245 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Matches a value (user agent, host name) against a list of spider patterns at once, instead of one pattern after
+ * the other.
+ * <p>
+ * Most spider patterns are plain words ("bot", "crawl", "AllenTrack"): they're compiled together into an
+ * Aho-Corasick automaton, which finds any of them in a single pass over the value. The other patterns are compiled
+ * into a single alternation. Only when the alternation matches are the patterns tried one by one, to count the hit
+ * against the pattern which matched. Instances are immutable, apart from the hit counters, and safe to use from
+ * several threads.
+ */
+public class SpiderPatternMatcher {
+
+    private static final Logger log = LogManager.getLogger(SpiderPatternMatcher.class);
+
+    /**
+     * Characters which make a pattern a regular expression rather than a plain word
+     */
+    private static final String REGEX_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    /**
+     * Patterns in the order they were given
+     */
+    private final List<String> patterns = new ArrayList<>();
+
+    /**
+     * Hits of each pattern, by position in {@link #patterns}
+     */
+    private final AtomicLongArray hits;
+
+    /**
+     * Aho-Corasick automaton of the plain word patterns: transitions, failure links and the matching pattern of
+     * each state (-1 if none)
+     */
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final int[] failures;
+    private final int[] outputs;
+
+    /**
+     * The regular expression patterns, alone and together
+     */
+    private final List<Pattern> regexes = new ArrayList<>();
+    private final List<Integer> regexPatterns = new ArrayList<>();
+    private final Pattern combined;
+
+    /**
+     * @param patterns the patterns, each matching anywhere in the value (as {@link java.util.regex.Matcher#find()})
+     *                 Patterns which aren't valid regular expressions are ignored.
+     */
+    public SpiderPatternMatcher(Collection<String> patterns) {
+        List<String> words = new ArrayList<>();
+        List<Integer> wordPatterns = new ArrayList<>();
+        StringBuilder alternation = new StringBuilder();
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty() || this.patterns.contains(pattern)) {
+                continue;
+            }
+            if (isWord(pattern)) {
+                words.add(pattern);
+                wordPatterns.add(this.patterns.size());
+            } else {
+                Pattern regex;
+                try {
+                    regex = Pattern.compile(pattern);
+                } catch (PatternSyntaxException e) {
+                    log.warn("Ignoring invalid spider pattern {}: {}", pattern, e.getMessage());
+                    continue;
+                }
+                regexes.add(regex);
+                regexPatterns.add(this.patterns.size());
+                if (alternation.length() > 0) {
+                    alternation.append('|');
+                }
+                alternation.append("(?:").append(pattern).append(')');
+            }
+            this.patterns.add(pattern);
+        }
+        hits = new AtomicLongArray(this.patterns.size());
+        combined = compile(alternation.toString());
+
+        // Build the trie of the words, then its failure links breadth first
+        transitions.add(new HashMap<>());
+        List<Integer> states = new ArrayList<>();
+        states.add(-1);
+        for (int i = 0; i < words.size(); i++) {
+            int state = 0;
+            for (char c : words.get(i).toCharArray()) {
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new HashMap<>());
+                    states.add(-1);
+                    transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            if (states.get(state) < 0) {
+                states.set(state, wordPatterns.get(i));
+            }
+        }
+        failures = new int[transitions.size()];
+        outputs = new int[transitions.size()];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = states.get(i);
+        }
+        // The states reached from the root fail back to the root
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                char c = transition.getKey();
+                int next = transition.getValue();
+                int failure = failures[state];
+                while (failure != 0 && !transitions.get(failure).containsKey(c)) {
+                    failure = failures[failure];
+                }
+                Integer target = transitions.get(failure).get(c);
+                failures[next] = target != null ? target : 0;
+                if (outputs[next] < 0) {
+                    // a word ending here may end with a shorter word
+                    outputs[next] = outputs[failures[next]];
+                }
+                queue.add(next);
+            }
+        }
+    }
+
+    /**
+     * Find a pattern matching a value, and count the hit
+     *
+     * @param value the value
+     * @return the pattern, or null if none matches
+     */
+    public String match(String value) {
+        if (value == null || patterns.isEmpty()) {
+            return null;
+        }
+        int pattern = findWord(value);
+        if (pattern < 0 && !regexes.isEmpty() && (combined == null || combined.matcher(value).find())) {
+            for (int i = 0; i < regexes.size(); i++) {
+                if (regexes.get(i).matcher(value).find()) {
+                    pattern = regexPatterns.get(i);
+                    break;
+                }
+            }
+        }
+        if (pattern < 0) {
+            return null;
+        }
+        hits.incrementAndGet(pattern);
+        return patterns.get(pattern);
+    }
+
+    /**
+     * @return the number of patterns
+     */
+    public int size() {
+        return patterns.size();
+    }
+
+    /**
+     * @return the number of hits of each pattern which has hits, in the order of the patterns
+     */
+    public Map<String, Long> getHits() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < patterns.size(); i++) {
+            long count = hits.get(i);
+            if (count > 0) {
+                result.put(patterns.get(i), count);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the first plain word pattern found in the value, or -1
+     */
+    private int findWord(String value) {
+        if (transitions.size() == 1) {
+            return -1;
+        }
+        int state = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            while (next == null && state != 0) {
+                state = failures[state];
+                next = transitions.get(state).get(c);
+            }
+            state = next != null ? next : 0;
+            if (outputs[state] >= 0) {
+                return outputs[state];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the alternation of the regular expression patterns, or null if they can't be combined (the patterns are
+     * then tried one by one)
+     */
+    private static Pattern compile(String alternation) {
+        if (alternation.isEmpty()) {
+            return null;
+        }
+        try {
+            return Pattern.compile(alternation);
+        } catch (PatternSyntaxException e) {
+            log.warn("Unable to combine the spider patterns, trying them one by one: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isWord(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (REGEX_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
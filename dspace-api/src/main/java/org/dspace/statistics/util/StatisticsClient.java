@@ -87,6 +87,8 @@ public class StatisticsClient {
             StatisticsClient.updateSpiderFiles();
         } else if (line.hasOption('m')) {
             solrLoggerService.markRobots();
+            StatisticsServiceFactory.getInstance().getSpiderDetectorService().getHits()
+                .forEach((pattern, hits) -> System.out.println(hits + "\t" + pattern));
         } else if (line.hasOption('f')) {
             solrLoggerService.deleteRobots();
         } else if (line.hasOption('b')) {
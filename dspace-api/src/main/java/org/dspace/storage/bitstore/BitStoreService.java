@@ -9,10 +9,14 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 
 import org.dspace.content.Bitstream;
+import org.dspace.core.Context;
 
 /**
  * A low-level asset store interface
@@ -45,6 +49,33 @@ public interface BitStoreService {
      */
     public InputStream get(Bitstream bitstream) throws IOException;
 
+    /**
+     * Open a seekable channel on the bits of a bitstream, for stores which can read from any position without
+     * reading what comes before (e.g. files on a local file system). This allows ranges to be served directly and,
+     * when the channel is a {@link java.nio.channels.FileChannel}, to be transferred without copying them through
+     * the Java heap.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The channel, or null if the store can only provide a stream
+     * @throws java.io.IOException If a problem occurs while opening the channel, or if no
+     *                             asset with ID exists in the store
+     */
+    public default SeekableByteChannel getChannel(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
+    /**
+     * Get the path of the file holding the bits of a bitstream, for stores which keep them in local files. This
+     * allows a servlet container to send the file to the client itself (e.g. with Tomcat's sendfile support).
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The path of the file, or null if the bits aren't stored in a local file
+     * @throws java.io.IOException If a problem occurs while locating the file
+     */
+    public default Path getPath(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -59,6 +90,22 @@ public interface BitStoreService {
      */
     public void put(Bitstream bitstream, InputStream inputStream) throws IOException;
 
+    /**
+     * Store the bits of a new bitstream, in the transaction which creates it. Stores which look at the other
+     * bitstreams when storing bits, like the {@link DeduplicatingBitStoreService}, override this method and may
+     * change the internal identifier of the bitstream. By default, this is {@link #put(Bitstream, InputStream)}.
+     *
+     * @param context     The relevant DSpace Context
+     * @param bitstream   The bitstream object
+     * @param inputStream The stream of bits
+     * @throws java.io.IOException If a problem occurs while storing the bits
+     * @throws SQLException        If a problem occurs while reading the other bitstreams
+     */
+    public default void put(Context context, Bitstream bitstream, InputStream inputStream)
+        throws IOException, SQLException {
+        put(bitstream, inputStream);
+    }
+
     /**
      * Obtain technical metadata about an asset in the asset store.
      *
@@ -71,6 +118,20 @@ public interface BitStoreService {
      */
     public Map<String, Object> about(Bitstream bitstream, List<String> attrs) throws IOException;
 
+    /**
+     * Copy the asset of a bitstream from another store into this store, keeping its internal identifier, without
+     * transferring the bits through DSpace. This is only possible for some combinations of stores, e.g. two S3
+     * stores, so callers must fall back to {@link #put(Bitstream, InputStream)} when false is returned.
+     *
+     * @param sourceStore The store the asset is currently stored in
+     * @param bitstream   The bitstream of the asset
+     * @return true if the asset was copied, false if the stores don't support copying
+     * @throws java.io.IOException If a problem occurs while copying the asset
+     */
+    public default boolean copyFrom(BitStoreService sourceStore, Bitstream bitstream) throws IOException {
+        return false;
+    }
+
     /**
      * Remove an asset from the asset store.
      *
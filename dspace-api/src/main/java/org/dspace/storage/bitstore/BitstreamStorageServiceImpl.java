@@ -9,6 +9,8 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.HashMap;
@@ -120,7 +122,8 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
 
         BitStoreService store = this.getStore(incoming);
         //For efficiencies sake, PUT is responsible for setting bitstream size_bytes, checksum, and checksum_algorithm
-        store.put(bitstream, is);
+        //A deduplicating store may also replace the internal ID by the one of a bitstream with the same content
+        store.put(context, bitstream, is);
         //bitstream.setSizeBytes(file.length());
         //bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
         //bitstream.setChecksumAlgorithm("MD5");
@@ -220,6 +223,29 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return this.getStore(storeNumber).get(bitstream);
     }
 
+    @Override
+    public SeekableByteChannel retrieveChannel(Context context, Bitstream bitstream)
+        throws SQLException, IOException {
+        return this.getStore(bitstream.getStoreNumber()).getChannel(bitstream);
+    }
+
+    @Override
+    public Path retrievePath(Context context, Bitstream bitstream)
+        throws SQLException, IOException {
+        return this.getStore(bitstream.getStoreNumber()).getPath(bitstream);
+    }
+
+    @Override
+    public void removeRolledBack(Context context, Bitstream bitstream)
+        throws SQLException, IOException {
+        if (bitstream.getInternalId() == null || isRegisteredBitstream(bitstream.getInternalId())) {
+            return;
+        }
+        if (bitstreamService.findDuplicateInternalIdentifier(context, bitstream).isEmpty()) {
+            this.getStore(bitstream.getStoreNumber()).remove(bitstream);
+        }
+    }
+
     @Override
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException {
         Context context = new Context(Context.Mode.BATCH_EDIT);
@@ -413,12 +439,27 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                          "Name:" + bitstream
                 .getName() + ", SizeBytes:" + bitstream.getSizeBytes());
 
-            InputStream inputStream = retrieve(context, bitstream);
-            this.getStore(assetstoreDestination).put(bitstream, inputStream);
+            // bitstreams sharing the asset (clones or deduplicated content) which are already migrated, or which
+            // still need the asset in the source store
+            boolean copied = false;
+            boolean sharedInSource = false;
+            for (Bitstream sharing : bitstreamService.findDuplicateInternalIdentifier(context, bitstream)) {
+                copied |= sharing.getStoreNumber() == assetstoreDestination;
+                sharedInSource |= !sharing.isDeleted() && sharing.getStoreNumber() == assetstoreSource;
+            }
+
+            if (!copied) {
+                // let the stores copy the asset between themselves when they can
+                BitStoreService destinationStore = this.getStore(assetstoreDestination);
+                if (!destinationStore.copyFrom(this.getStore(assetstoreSource), bitstream)) {
+                    InputStream inputStream = retrieve(context, bitstream);
+                    destinationStore.put(bitstream, inputStream);
+                }
+            }
             bitstream.setStoreNumber(assetstoreDestination);
             bitstreamService.update(context, bitstream);
 
-            if (deleteOld) {
+            if (deleteOld && !sharedInSource) {
                 log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource + "]");
                 this.getStore(assetstoreSource).remove(bitstream);
             }
@@ -450,6 +491,14 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                     ", which has initialized-status: " + store.isInitialized() +
                     ", and has: " + countBitstreams + " bitstreams."
                 );
+                StoreUsage usage = bitstreamService.getStoreUsage(context, storeNumber);
+                if (usage.assets() < usage.bitstreams()) {
+                    System.out.println(
+                        "store[" + storeNumber + "] holds " + usage.assets() + " assets for " + usage.bitstreams() +
+                        " bitstreams which aren't deleted, sharing assets saves " + usage.savedBytes() + " of " +
+                        usage.totalBytes() + " bytes."
+                    );
+                }
             }
             System.out.println("Incoming assetstore is store[" + incoming + "]");
         } catch (SQLException e) {
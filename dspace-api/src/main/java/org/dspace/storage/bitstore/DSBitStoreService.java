@@ -12,6 +12,10 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -80,6 +84,35 @@ public class DSBitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Open a channel on the file of the asset
+     *
+     * @param bitstream The asset to retrieve
+     * @return A {@link FileChannel} on the file
+     * @throws java.io.IOException If a problem occurs while opening the file
+     */
+    @Override
+    public SeekableByteChannel getChannel(Bitstream bitstream) throws IOException {
+        try {
+            return FileChannel.open(getFile(bitstream).toPath(), StandardOpenOption.READ);
+        } catch (Exception e) {
+            log.error("getChannel(" + bitstream.getInternalId() + ")", e);
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Get the path of the file of the asset
+     *
+     * @param bitstream The asset to locate
+     * @return The path of the file
+     * @throws java.io.IOException If a problem occurs while locating the file
+     */
+    @Override
+    public Path getPath(Bitstream bitstream) throws IOException {
+        return getFile(bitstream).toPath();
+    }
+
     /**
      * Store a stream of bits.
      *
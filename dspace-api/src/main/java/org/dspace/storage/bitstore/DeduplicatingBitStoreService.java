@@ -0,0 +1,208 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+
+/**
+ * Asset store which stores the assets in another store, but stores the same content only once: when a new bitstream
+ * has the same size and checksum as a bitstream already in the store (and, unless disabled, the same content), the
+ * new asset is removed again and the new bitstream references the existing asset through its internal identifier.
+ * <p>
+ * Sharing assets between bitstreams is not new: clones of bitstreams (e.g. in new versions of an item) already
+ * reference the asset of the original bitstream. The bitstreams referencing an asset act as its reference count:
+ * the cleanup of deleted bitstreams only removes an asset when no other bitstream references it, and
+ * {@link org.dspace.storage.bitstore.service.BitstreamStorageService#printStores} reports the space saved by the
+ * shared assets of each store.
+ * <p>
+ * Only bitstreams which are not deleted are considered, as the asset of a deleted bitstream may be removed by the
+ * cleanup at any time. Registered bitstreams, which reference files outside the store, are never shared.
+ * <p>
+ * Example configuration in bitstore.xml, replacing the local store as store 0:
+ * <pre>{@code
+ * <bean name="dedupStore" class="org.dspace.storage.bitstore.DeduplicatingBitStoreService">
+ *     <property name="delegate" ref="localStore"/>
+ * </bean>
+ * }</pre>
+ */
+public class DeduplicatingBitStoreService implements BitStoreService {
+
+    private static final Logger log = LogManager.getLogger(DeduplicatingBitStoreService.class);
+
+    /**
+     * The maximum number of bitstreams with the same size and checksum to compare the content with. More than one
+     * is only needed in case of checksum collisions.
+     */
+    private static final int MAX_CANDIDATES = 5;
+
+    private BitStoreService delegate;
+
+    /**
+     * Compare the content of a new bitstream with the content of the bitstream with the same size and checksum
+     * before sharing its asset, so a checksum collision never causes a bitstream to be served with the wrong content
+     */
+    private boolean verifyContent = true;
+
+    private BitstreamService bitstreamService;
+
+    public DeduplicatingBitStoreService() {
+    }
+
+    @Override
+    public void init() throws IOException {
+        if (delegate.isEnabled() && !delegate.isInitialized()) {
+            delegate.init();
+        }
+    }
+
+    @Override
+    public String generateId() {
+        return delegate.generateId();
+    }
+
+    @Override
+    public InputStream get(Bitstream bitstream) throws IOException {
+        return delegate.get(bitstream);
+    }
+
+    @Override
+    public SeekableByteChannel getChannel(Bitstream bitstream) throws IOException {
+        return delegate.getChannel(bitstream);
+    }
+
+    @Override
+    public Path getPath(Bitstream bitstream) throws IOException {
+        return delegate.getPath(bitstream);
+    }
+
+    @Override
+    public void put(Bitstream bitstream, InputStream inputStream) throws IOException {
+        delegate.put(bitstream, inputStream);
+    }
+
+    /**
+     * Store the bits of a new bitstream and, if another bitstream in this store has the same content, remove them
+     * again and let the new bitstream reference the asset of the other bitstream.
+     *
+     * @param context     The relevant DSpace Context
+     * @param bitstream   The bitstream object
+     * @param inputStream The stream of bits
+     * @throws IOException  If a problem occurs while storing the bits
+     * @throws SQLException If a problem occurs while looking for bitstreams with the same content
+     */
+    @Override
+    public void put(Context context, Bitstream bitstream, InputStream inputStream) throws IOException, SQLException {
+        // the checksum and size are only known once the bits are stored
+        delegate.put(bitstream, inputStream);
+
+        for (Bitstream candidate : getBitstreamService().findDuplicateContent(context, bitstream, MAX_CANDIDATES)) {
+            if (hasSameContent(bitstream, candidate)) {
+                String internalId = bitstream.getInternalId();
+                delegate.remove(bitstream);
+                bitstream.setInternalId(candidate.getInternalId());
+                log.debug("Asset {} has the same content as asset {} of bitstream {}, sharing it", internalId,
+                          candidate.getInternalId(), candidate.getID());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Check whether the asset of a candidate bitstream can be shared by a new bitstream with the same size and
+     * checksum
+     */
+    protected boolean hasSameContent(Bitstream bitstream, Bitstream candidate) {
+        try {
+            if (!verifyContent) {
+                return delegate.about(candidate, List.of("size_bytes")) != null;
+            }
+            try (InputStream content = delegate.get(bitstream);
+                 InputStream candidateContent = delegate.get(candidate)) {
+                boolean same = IOUtils.contentEquals(content, candidateContent);
+                if (!same) {
+                    log.warn("Bitstream {} has the same checksum but not the same content as the new bitstream",
+                             candidate.getID());
+                }
+                return same;
+            }
+        } catch (IOException e) {
+            // e.g. the asset of the candidate is missing, then it certainly can't be shared
+            log.warn("Unable to compare the content of bitstream {}: {}", candidate.getID(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public Map<String, Object> about(Bitstream bitstream, List<String> attrs) throws IOException {
+        return delegate.about(bitstream, attrs);
+    }
+
+    @Override
+    public boolean copyFrom(BitStoreService sourceStore, Bitstream bitstream) throws IOException {
+        if (sourceStore instanceof DeduplicatingBitStoreService deduplicatingStore) {
+            sourceStore = deduplicatingStore.getDelegate();
+        }
+        return delegate.copyFrom(sourceStore, bitstream);
+    }
+
+    @Override
+    public void remove(Bitstream bitstream) throws IOException {
+        delegate.remove(bitstream);
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return delegate.isInitialized();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return delegate.isEnabled();
+    }
+
+    public BitStoreService getDelegate() {
+        return delegate;
+    }
+
+    public void setDelegate(BitStoreService delegate) {
+        this.delegate = delegate;
+    }
+
+    public boolean isVerifyContent() {
+        return verifyContent;
+    }
+
+    public void setVerifyContent(boolean verifyContent) {
+        this.verifyContent = verifyContent;
+    }
+
+    protected BitstreamService getBitstreamService() {
+        if (bitstreamService == null) {
+            bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+        }
+        return bitstreamService;
+    }
+
+    public void setBitstreamService(BitstreamService bitstreamService) {
+        this.bitstreamService = bitstreamService;
+    }
+}
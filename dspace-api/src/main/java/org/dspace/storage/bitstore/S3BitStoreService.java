@@ -9,21 +9,31 @@ package org.dspace.storage.bitstore;
 
 import static java.lang.String.valueOf;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
@@ -31,13 +41,17 @@ import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.CopyPartRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.transfer.Download;
-import com.amazonaws.services.s3.transfer.TransferManager;
-import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
-import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -108,6 +122,52 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     private long bufferSize = 5 * 1024 * 1024;
 
+    /**
+     * The number of chunks which are downloaded ahead, in parallel, while a file is read. Default 4
+     */
+    private int readAhead = 4;
+
+    /**
+     * The size of the parts of a multipart upload. Smaller files are uploaded in a single request. S3 requires at
+     * least 5Mb, default 8Mb. The part size grows linearly every 1000 parts, so the 10000 parts allowed by S3 can
+     * hold about 55000 times this size.
+     */
+    private long partSize = 8 * 1024 * 1024;
+
+    /**
+     * The number of parts of a single upload which are sent in parallel, and so kept in memory. Default 4
+     */
+    private int uploadConcurrency = 4;
+
+    /**
+     * The number of threads transferring parts and chunks, shared by all uploads and downloads. Default 16
+     */
+    private int transferThreads = 16;
+
+    /**
+     * The memory, in bytes, kept for the chunks of all the downloads together: a download waits for chunks of other
+     * downloads to be read before it goes over it, and only reads ahead while it's available. Default 128Mb
+     */
+    private long downloadMemory = 128L * 1024 * 1024;
+
+    /**
+     * How long, in milliseconds, a download waits for memory for its next chunk before it reads the chunk straight
+     * from S3 instead, without buffering it. Default 1000
+     */
+    private long downloadWait = 1000;
+
+    /**
+     * The memory, in bytes, kept for the parts of all the uploads together: an upload waits for parts of other
+     * uploads to be sent before it reads a part which would go over it. Default 128Mb
+     */
+    private long uploadMemory = 128L * 1024 * 1024;
+
+    /**
+     * The size of the parts of a server side copy of objects larger than the 5Gb a single copy request allows
+     */
+    protected static final long COPY_PART_SIZE = 512L * 1024 * 1024;
+    protected static final long MAX_SINGLE_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+
     /**
      * container for all the assets
      */
@@ -124,10 +184,22 @@ public class S3BitStoreService extends BaseBitStoreService {
     private AmazonS3 s3Service = null;
 
     /**
-     * S3 transfer manager
-     * this is reused between put calls to use less resources for multiple uploads
+     * Threads transferring the parts of uploads, the chunks of downloads and the parts of copies
+     * this is reused between calls to use less resources for multiple transfers
+     */
+    private ExecutorService transferExecutor = null;
+
+    /**
+     * One permit for each of the downloadMemory / bufferSize chunks which can be kept in memory by all the downloads
      */
-    private TransferManager tm = null;
+    private Semaphore downloadBuffers = null;
+
+    /**
+     * One permit for each of the uploadMemory / partSize parts which can be kept in memory by all the uploads, a part
+     * larger than partSize takes several permits
+     */
+    private Semaphore uploadBuffers = null;
+    private int uploadPermits;
 
     private static final ConfigurationService configurationService
             = DSpaceServicesFactory.getInstance().getConfigurationService();
@@ -233,10 +305,18 @@ public class S3BitStoreService extends BaseBitStoreService {
 
         log.info("AWS S3 Assetstore ready to go! bucket:" + bucketName);
 
-        tm = FunctionalUtils.getDefaultOrBuild(tm, () -> TransferManagerBuilder.standard()
-                                                               .withAlwaysCalculateMultipartMd5(true)
-                                                               .withS3Client(s3Service)
-                                                               .build());
+        transferExecutor = FunctionalUtils.getDefaultOrBuild(transferExecutor, () ->
+            Executors.newFixedThreadPool(transferThreads, runnable -> {
+                Thread thread = new Thread(runnable, "s3-transfer");
+                thread.setDaemon(true);
+                return thread;
+            }));
+        downloadBuffers = FunctionalUtils.getDefaultOrBuild(downloadBuffers, () ->
+            new Semaphore((int) Long.min(Integer.MAX_VALUE, Long.max(1, downloadMemory / bufferSize))));
+        if (uploadBuffers == null) {
+            uploadPermits = (int) Long.min(Integer.MAX_VALUE, Long.max(1, uploadMemory / partSize));
+            uploadBuffers = new Semaphore(uploadPermits);
+        }
     }
 
     /**
@@ -274,6 +354,10 @@ public class S3BitStoreService extends BaseBitStoreService {
      * If this method returns successfully, the bits have been stored.
      * If an exception is thrown, the bits have not been stored.
      * </p>
+     * <p>
+     * The stream is not spooled to a local file: content smaller than the part size is sent in a single request,
+     * larger content is sent as a multipart upload whose parts are uploaded in parallel while the stream is read.
+     * </p>
      *
      * @param in The stream of bits to store
      * @throws java.io.IOException If a problem occurs while storing the bits
@@ -281,39 +365,273 @@ public class S3BitStoreService extends BaseBitStoreService {
     @Override
     public void put(Bitstream bitstream, InputStream in) throws IOException {
         String key = getFullKey(bitstream.getInternalId());
-        //Copy istream to temp file, and send the file, with some metadata
-        File scratchFile = File.createTempFile(bitstream.getInternalId(), "s3bs");
-        try (
-                FileOutputStream fos = new FileOutputStream(scratchFile);
-                // Read through a digest input stream that will work out the MD5
-                DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA));
-        ) {
-            Utils.bufferedCopy(dis, fos);
-            in.close();
-
-            Upload upload = tm.upload(bucketName, key, scratchFile);
-
-            upload.waitForUploadResult();
+        try (in) {
+            // Work out the MD5 of the whole content while the parts are read
+            MessageDigest digest = MessageDigest.getInstance(CSA);
+            long size;
+            int permits = acquireUploadBuffers(1);
+            try {
+                byte[] part = readPart(in, 1, digest);
+                if (part.length < partSize) {
+                    putObject(key, part);
+                    size = part.length;
+                } else {
+                    int partPermits = permits;
+                    permits = 0;
+                    size = putMultipart(key, in, part, partPermits, digest);
+                }
+            } finally {
+                uploadBuffers.release(permits);
+            }
 
-            bitstream.setSizeBytes(scratchFile.length());
+            bitstream.setSizeBytes(size);
             // we cannot use the S3 ETAG here as it could be not a MD5 in case of multipart upload (large files) or if
             // the bucket is encrypted
-            bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
+            bitstream.setChecksum(Utils.toHex(digest.digest()));
             bitstream.setChecksumAlgorithm(CSA);
 
-        } catch (AmazonClientException | IOException | InterruptedException e) {
+        } catch (AmazonClientException | IOException e) {
             log.error("put(" + bitstream.getInternalId() + ", is)", e);
-            throw new IOException(e);
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
         } catch (NoSuchAlgorithmException nsae) {
             // Should never happen
             log.warn("Caught NoSuchAlgorithmException", nsae);
+        }
+    }
+
+    /**
+     * Read the next part of an upload from the stream
+     *
+     * @param in         the stream
+     * @param partNumber the number of the part, starting from 1
+     * @param digest     the digest of the whole content, updated with the part
+     * @return the part, shorter than the part size only if the end of the stream was reached
+     */
+    protected byte[] readPart(InputStream in, int partNumber, MessageDigest digest) throws IOException {
+        long size = partSize * (1 + (partNumber - 1) / 1000);
+        byte[] part = in.readNBytes((int) Math.min(size, Integer.MAX_VALUE - 8));
+        digest.update(part);
+        return part;
+    }
+
+    /**
+     * Wait for the memory of the next part of an upload, shared by all the uploads
+     *
+     * @param partNumber the number of the part, starting from 1
+     * @return the number of permits of uploadBuffers acquired, to release once the part is sent
+     */
+    protected int acquireUploadBuffers(int partNumber) throws IOException {
+        int permits = Math.min(uploadPermits, 1 + (partNumber - 1) / 1000);
+        try {
+            uploadBuffers.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for memory to upload to S3");
+        }
+        return permits;
+    }
+
+    protected void putObject(String key, byte[] content) throws NoSuchAlgorithmException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(content.length);
+        metadata.setContentMD5(md5AsBase64(content));
+        s3Service.putObject(bucketName, key, new ByteArrayInputStream(content), metadata);
+    }
+
+    /**
+     * Upload the content as a multipart upload. At most uploadConcurrency parts are uploading at any time, on top of
+     * the part being read, and every part holds permits of uploadBuffers until it is sent. The upload is aborted if
+     * any part fails.
+     *
+     * @param firstPermits the permits of uploadBuffers held by the first part, released by this method
+     * @return the size of the content
+     */
+    protected long putMultipart(String key, InputStream in, byte[] firstPart, int firstPermits,
+                                MessageDigest digest) throws IOException {
+        // the permits of the part which isn't handed to an upload task yet
+        int permits = firstPermits;
+        List<Future<PartETag>> parts = new ArrayList<>();
+        // release the permits of the parts, once, whether their task ran or was cancelled
+        List<Runnable> releases = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(uploadConcurrency);
+        long size = 0;
+        String uploadId = null;
+        try {
+            uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                .getUploadId();
+            String partUploadId = uploadId;
+            byte[] part = firstPart;
+            int partNumber = 1;
+            while (part.length > 0) {
+                inFlight.acquire();
+                byte[] content = part;
+                int number = partNumber;
+                AtomicBoolean released = new AtomicBoolean();
+                int partPermits = permits;
+                Runnable release = () -> {
+                    if (released.compareAndSet(false, true)) {
+                        uploadBuffers.release(partPermits);
+                    }
+                };
+                releases.add(release);
+                permits = 0;
+                parts.add(transferExecutor.submit(() -> {
+                    try {
+                        return s3Service.uploadPart(new UploadPartRequest()
+                                                        .withBucketName(bucketName)
+                                                        .withKey(key)
+                                                        .withUploadId(partUploadId)
+                                                        .withPartNumber(number)
+                                                        .withPartSize(content.length)
+                                                        .withMD5Digest(md5AsBase64(content))
+                                                        .withInputStream(new ByteArrayInputStream(content)))
+                                        .getPartETag();
+                    } finally {
+                        release.run();
+                        inFlight.release();
+                    }
+                }));
+                size += part.length;
+                if (part.length < partSize * (1 + (partNumber - 1) / 1000)) {
+                    break;
+                }
+                partNumber++;
+                permits = acquireUploadBuffers(partNumber);
+                part = readPart(in, partNumber, digest);
+            }
+
+            List<PartETag> partETags = new ArrayList<>();
+            for (Future<PartETag> future : parts) {
+                partETags.add(await(future));
+            }
+            s3Service.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId,
+                                                                                 partETags));
+            return size;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            for (Future<PartETag> future : parts) {
+                future.cancel(true);
+            }
+            releases.forEach(Runnable::run);
+            if (uploadId != null) {
+                try {
+                    s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+                } catch (AmazonClientException abortException) {
+                    log.warn("Unable to abort the multipart upload of " + key, abortException);
+                }
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while uploading " + key);
+            }
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
         } finally {
-            if (!scratchFile.delete()) {
-                scratchFile.deleteOnExit();
+            uploadBuffers.release(permits);
+        }
+    }
+
+    /**
+     * Copy the asset of a bitstream stored in another S3 store into this store, without transferring it through
+     * DSpace. This requires the credentials of this store to be allowed to read the bucket of the other store.
+     *
+     * @param sourceStore The store the asset is currently stored in
+     * @param bitstream   The bitstream of the asset
+     * @return true if the asset was copied, false if the other store isn't an S3 store or the credentials don't
+     * allow the copy
+     * @throws java.io.IOException If a problem occurs while copying the asset
+     */
+    @Override
+    public boolean copyFrom(BitStoreService sourceStore, Bitstream bitstream) throws IOException {
+        if (!(sourceStore instanceof S3BitStoreService)) {
+            return false;
+        }
+        S3BitStoreService s3Source = (S3BitStoreService) sourceStore;
+        String sourceKey = s3Source.getFullKey(bitstream.getInternalId());
+        if (isRegisteredBitstream(sourceKey)) {
+            sourceKey = sourceKey.substring(REGISTERED_FLAG.length());
+        }
+        String key = getFullKey(bitstream.getInternalId());
+        try {
+            if (bitstream.getSizeBytes() <= MAX_SINGLE_COPY_SIZE) {
+                s3Service.copyObject(new CopyObjectRequest(s3Source.getBucketName(), sourceKey, bucketName, key));
+            } else {
+                copyMultipart(s3Source.getBucketName(), sourceKey, key, bitstream.getSizeBytes());
+            }
+            return true;
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == HttpStatus.SC_FORBIDDEN) {
+                log.warn("Not allowed to copy " + sourceKey + " from bucket " + s3Source.getBucketName()
+                             + ", the content is transferred instead");
+                return false;
             }
+            log.error("copyFrom(" + sourceKey + ")", e);
+            throw new IOException(e);
+        } catch (AmazonClientException e) {
+            log.error("copyFrom(" + sourceKey + ")", e);
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Server side copy of an object larger than a single copy request allows, copying the parts in parallel
+     */
+    protected void copyMultipart(String sourceBucket, String sourceKey, String key, long size) throws IOException {
+        String uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                   .getUploadId();
+        List<Future<PartETag>> parts = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            for (long start = 0; start < size; start += COPY_PART_SIZE) {
+                CopyPartRequest request = new CopyPartRequest()
+                    .withSourceBucketName(sourceBucket)
+                    .withSourceKey(sourceKey)
+                    .withDestinationBucketName(bucketName)
+                    .withDestinationKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber++)
+                    .withFirstByte(start)
+                    .withLastByte(Math.min(start + COPY_PART_SIZE, size) - 1);
+                parts.add(transferExecutor.submit(() -> s3Service.copyPart(request).getPartETag()));
+            }
+            List<PartETag> partETags = new ArrayList<>();
+            for (Future<PartETag> future : parts) {
+                partETags.add(await(future));
+            }
+            s3Service.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId,
+                                                                                 partETags));
+        } catch (IOException | RuntimeException e) {
+            for (Future<PartETag> future : parts) {
+                future.cancel(true);
+            }
+            s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for the result of a transfer, unwrapping the exception it failed with
+     */
+    protected <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an S3 transfer");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
         }
     }
 
+    protected static String md5AsBase64(byte[] content) throws NoSuchAlgorithmException {
+        return Base64.getEncoder().encodeToString(MessageDigest.getInstance(CSA).digest(content));
+    }
+
     /**
      * Obtain technical metadata about an asset in the asset store.
      *
@@ -619,79 +937,227 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.bufferSize = bufferSize;
     }
 
+    public void setReadAhead(int readAhead) {
+        this.readAhead = Math.max(1, readAhead);
+    }
+
+    public void setPartSize(long partSize) {
+        this.partSize = partSize;
+    }
+
+    public void setUploadConcurrency(int uploadConcurrency) {
+        this.uploadConcurrency = Math.max(1, uploadConcurrency);
+    }
+
+    public void setTransferThreads(int transferThreads) {
+        this.transferThreads = Math.max(1, transferThreads);
+    }
+
+    public void setDownloadMemory(long downloadMemory) {
+        this.downloadMemory = downloadMemory;
+    }
+
+    public void setDownloadWait(long downloadWait) {
+        this.downloadWait = Math.max(0, downloadWait);
+    }
+
+    public void setUploadMemory(long uploadMemory) {
+        this.uploadMemory = uploadMemory;
+    }
+
     /**
-     * This inner class represent an InputStream that uses temporary files to
-     * represent chunk of the object downloaded from S3. When the input stream is
-     * read the class look first to the current chunk and download a new one once if
-     * the current one as been fully read. The class is responsible to close a chunk
-     * as soon as a new one is retrieved, the last chunk is closed when the input
-     * stream itself is closed or the last byte is read (the first of the two)
+     * This inner class represent an InputStream that downloads the object from S3 in chunks, using ranged
+     * requests. While the current chunk is read, up to readAhead next chunks are downloaded in parallel. Each chunk
+     * in memory or being downloaded holds a permit of downloadBuffers, shared by all the streams: the chunks to read
+     * ahead are only requested while permits are available, and a stream waits for one, without holding any, when it
+     * needs its next chunk. If none is released within downloadWait, e.g. while other clients read slowly, the chunk is
+     * read straight from the response of its ranged request instead. Pending downloads are cancelled and their
+     * permits released when the stream is closed.
      */
     public class S3LazyInputStream extends InputStream {
-        private InputStream currentChunkStream;
-        private String objectKey;
-        private long endOfChunk = -1;
-        private long chunkMaxSize;
-        private long currPos = 0;
-        private long fileSize;
+        private final Deque<Future<byte[]>> nextChunks = new ArrayDeque<>();
+        private final String objectKey;
+        private final long chunkMaxSize;
+        private final long fileSize;
+        // start of the next chunk to request
+        private long nextChunkStart = 0;
+        private byte[] currentChunk = new byte[0];
+        // whether the current chunk holds a permit, each of the next chunks always holds one
+        private boolean currentHeld = false;
+        private int currPos = 0;
+        // the chunk read straight from S3, without buffering it, when no memory was available for it
+        private S3Object directChunk = null;
+        private InputStream directContent = null;
+        private boolean closed = false;
 
         public S3LazyInputStream(String objectKey, long chunkMaxSize, long fileSize) throws IOException {
             this.objectKey = objectKey;
             this.chunkMaxSize = chunkMaxSize;
-            this.endOfChunk = 0;
             this.fileSize = fileSize;
-            downloadChunk();
+            // download the first chunk right away, so a missing object is reported here
+            try {
+                nextChunk();
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
         }
 
         @Override
         public int read() throws IOException {
-            // is the current chunk completely read and other are available?
-            if (currPos == endOfChunk && currPos < fileSize) {
-                currentChunkStream.close();
-                downloadChunk();
+            while (true) {
+                if (directContent != null) {
+                    int b = directContent.read();
+                    if (b != -1) {
+                        return b;
+                    }
+                } else if (currPos < currentChunk.length) {
+                    return currentChunk[currPos++] & 0xff;
+                }
+                if (!nextChunk()) {
+                    return -1;
+                }
             }
+        }
 
-            int byteRead = currPos < endOfChunk ? currentChunkStream.read() : -1;
-            // do we get any data or are we at the end of the file?
-            if (byteRead != -1) {
-                currPos++;
-            } else {
-                currentChunkStream.close();
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
             }
-            return byteRead;
+            while (true) {
+                if (directContent != null) {
+                    int count = directContent.read(b, off, len);
+                    if (count != -1) {
+                        return count;
+                    }
+                } else if (currPos < currentChunk.length) {
+                    int count = Math.min(len, currentChunk.length - currPos);
+                    System.arraycopy(currentChunk, currPos, b, off, count);
+                    currPos += count;
+                    return count;
+                }
+                if (!nextChunk()) {
+                    return -1;
+                }
+            }
+        }
+
+        @Override
+        public int available() {
+            return directContent != null ? 0 : currentChunk.length - currPos;
         }
 
         /**
-         * This method download the next chunk from S3
+         * Move to the next downloaded chunk, and request the chunks to read ahead
          *
-         * @throws IOException
-         * @throws FileNotFoundException
+         * @return false at the end of the object
+         */
+        private boolean nextChunk() throws IOException {
+            if (closed) {
+                return false;
+            }
+            releaseCurrentChunk();
+            if (nextChunks.isEmpty() && nextChunkStart < fileSize) {
+                if (!acquireDownloadBuffer()) {
+                    openDirectChunk();
+                    return true;
+                }
+                requestChunk();
+            }
+            while (nextChunks.size() < readAhead && nextChunkStart < fileSize && downloadBuffers.tryAcquire()) {
+                requestChunk();
+            }
+            Future<byte[]> next = nextChunks.poll();
+            if (next == null) {
+                return false;
+            }
+            // the permit of the chunk is released once it's read, or when the stream is closed
+            currentHeld = true;
+            try {
+                currentChunk = await(next);
+            } catch (AmazonClientException e) {
+                throw new IOException(e);
+            }
+            currPos = 0;
+            return true;
+        }
+
+        private boolean acquireDownloadBuffer() throws IOException {
+            try {
+                return downloadBuffers.tryAcquire(downloadWait, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for memory to download from S3");
+            }
+        }
+
+        /**
+         * Read the chunk starting at nextChunkStart straight from the response of its ranged request
          */
-        private void downloadChunk() throws IOException, FileNotFoundException {
-            // Create a DownloadFileRequest with the desired byte range
-            long startByte = currPos; // Start byte (inclusive)
+        private void openDirectChunk() throws IOException {
+            long startByte = nextChunkStart; // Start byte (inclusive)
             long endByte = Long.min(startByte + chunkMaxSize - 1, fileSize - 1); // End byte (inclusive)
             GetObjectRequest getRequest = new GetObjectRequest(bucketName, objectKey)
                     .withRange(startByte, endByte);
-
-            File currentChunkFile = File.createTempFile("s3-disk-copy-" + UUID.randomUUID(), "temp");
-            currentChunkFile.deleteOnExit();
             try {
-                Download download = tm.download(getRequest, currentChunkFile);
-                download.waitForCompletion();
-                currentChunkStream = new DeleteOnCloseFileInputStream(currentChunkFile);
-                endOfChunk = endOfChunk + download.getProgress().getBytesTransferred();
-            } catch (AmazonClientException | InterruptedException e) {
-                currentChunkFile.delete();
+                directChunk = s3Service.getObject(getRequest);
+            } catch (AmazonClientException e) {
                 throw new IOException(e);
             }
+            directContent = directChunk.getObjectContent();
+            nextChunkStart = endByte + 1;
+        }
+
+        /**
+         * Request the download of the chunk starting at nextChunkStart, for which a permit was acquired
+         */
+        private void requestChunk() {
+            long startByte = nextChunkStart; // Start byte (inclusive)
+            long endByte = Long.min(startByte + chunkMaxSize - 1, fileSize - 1); // End byte (inclusive)
+            nextChunks.add(transferExecutor.submit(() -> downloadChunk(startByte, endByte)));
+            nextChunkStart = endByte + 1;
+        }
+
+        private void releaseCurrentChunk() throws IOException {
+            currentChunk = new byte[0];
+            currPos = 0;
+            if (currentHeld) {
+                currentHeld = false;
+                downloadBuffers.release();
+            }
+            if (directChunk != null) {
+                S3Object object = directChunk;
+                directChunk = null;
+                directContent = null;
+                object.close();
+            }
+        }
+
+        /**
+         * This method download a chunk from S3
+         */
+        private byte[] downloadChunk(long startByte, long endByte) throws IOException {
+            GetObjectRequest getRequest = new GetObjectRequest(bucketName, objectKey)
+                    .withRange(startByte, endByte);
+            try (S3Object object = s3Service.getObject(getRequest);
+                 InputStream content = object.getObjectContent()) {
+                return content.readAllBytes();
+            }
         }
 
         @Override
         public void close() throws IOException {
-            if (currentChunkStream != null) {
-                currentChunkStream.close();
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Future<byte[]> next : nextChunks) {
+                next.cancel(true);
             }
+            downloadBuffers.release(nextChunks.size());
+            nextChunks.clear();
+            releaseCurrentChunk();
         }
 
     }
@@ -0,0 +1,28 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+/**
+ * Usage of an asset store by the bitstreams which aren't deleted. Several bitstreams reference the same asset when
+ * they are clones (e.g. in versions of an item) or when their content was deduplicated by a
+ * {@link DeduplicatingBitStoreService}, so the store holds fewer assets than there are bitstreams.
+ *
+ * @param bitstreams  the number of bitstreams in the store
+ * @param assets      the number of distinct assets the bitstreams reference
+ * @param totalBytes  the total size of the bitstreams
+ * @param storedBytes the total size of the distinct assets
+ */
+public record StoreUsage(long bitstreams, long assets, long totalBytes, long storedBytes) {
+
+    /**
+     * @return the number of bytes which aren't stored because bitstreams share their asset
+     */
+    public long savedBytes() {
+        return totalBytes - storedBytes;
+    }
+}
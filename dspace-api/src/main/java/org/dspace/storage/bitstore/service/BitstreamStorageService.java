@@ -9,6 +9,8 @@ package org.dspace.storage.bitstore.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.UUID;
@@ -126,6 +128,45 @@ public interface BitstreamStorageService {
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException;
 
+    /**
+     * Open a seekable channel on the bits of the bitstream, if its store supports it.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to retrieve
+     * @return The channel, or null if the store of the bitstream can only provide a stream
+     * @throws IOException  If a problem occurs while retrieving the bits
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     * @see org.dspace.storage.bitstore.BitStoreService#getChannel(Bitstream)
+     */
+    public SeekableByteChannel retrieveChannel(Context context, Bitstream bitstream)
+        throws SQLException, IOException;
+
+    /**
+     * Get the path of the local file holding the bits of the bitstream, if its store keeps them in one.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to locate
+     * @return The path of the file, or null if the store of the bitstream doesn't keep it in a local file
+     * @throws IOException  If a problem occurs while locating the file
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     * @see org.dspace.storage.bitstore.BitStoreService#getPath(Bitstream)
+     */
+    public Path retrievePath(Context context, Bitstream bitstream)
+        throws SQLException, IOException;
+
+    /**
+     * Remove the bits stored for a bitstream whose creation was rolled back, so they aren't left in the store
+     * without any bitstream record referring to them, which the cleanup would never find. The bits are kept if
+     * another bitstream references them (e.g. in a deduplicating store), or if the bitstream is registered.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream which was rolled back
+     * @throws IOException  If a problem occurs while removing the bits
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public void removeRolledBack(Context context, Bitstream bitstream)
+        throws SQLException, IOException;
+
     /**
      * Clean up the bitstream storage area. This method deletes any bitstreams
      * which are more than 1 hour old and marked deleted. The deletions cannot
@@ -0,0 +1,232 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+
+/**
+ * Streams the documents matching a query through a pool of workers.
+ * <p>
+ * The documents are read with a cursor sorted on the unique key of the core, so each batch costs the same however
+ * deep into the results it is (unlike paging with start/rows). The batches are handed to the workers through a queue
+ * holding at most one batch per worker: when the workers are slower than Solr, reading waits for them, so no more
+ * than twice the number of workers (plus one) batches are in memory at once.
+ * <p>
+ * Each thread gets a worker of its own, e.g. with its own DSpace context, which is closed once the documents are all
+ * processed. When a worker fails, no further batches are read and the failure is thrown once the batches already
+ * read are discarded.
+ */
+public class SolrDocumentStreamer {
+
+    private static final Logger log = LogManager.getLogger(SolrDocumentStreamer.class);
+
+    /**
+     * Fields maintained by Solr, which can't be sent back
+     */
+    private static final String VERSION_FIELD = "_version_";
+
+    /**
+     * Marks the end of the documents for the workers
+     */
+    private static final Batch END = new Batch(-1, List.of());
+
+    /**
+     * Processes batches of documents, from a single thread
+     */
+    @FunctionalInterface
+    public interface Worker {
+
+        /**
+         * @param offset    the position of the first document of the batch among all the documents
+         * @param documents the documents of the batch
+         */
+        void process(long offset, List<SolrDocument> documents) throws Exception;
+
+        /**
+         * Release the resources of the worker, once all the documents are processed (or processing failed)
+         */
+        default void close() throws Exception {
+        }
+    }
+
+    private record Batch(long offset, List<SolrDocument> documents) {
+    }
+
+    private final SolrClient solr;
+
+    private final String uniqueKey;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    private final String threadName;
+
+    /**
+     * @param solr       the core to read the documents from
+     * @param uniqueKey  the unique key of the core, which the cursor is sorted on
+     * @param threads    the number of workers
+     * @param batchSize  the number of documents read and handed to a worker at once
+     * @param threadName the prefix of the names of the threads of the workers
+     */
+    public SolrDocumentStreamer(SolrClient solr, String uniqueKey, int threads, int batchSize, String threadName) {
+        this.solr = solr;
+        this.uniqueKey = uniqueKey;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.threadName = threadName;
+    }
+
+    /**
+     * Stream the documents matching a query to the workers
+     *
+     * @param query   the query of the documents. Its rows and sort are replaced, its fields (if any) must include
+     *                the unique key.
+     * @param workers creates the worker of each thread
+     * @return the number of documents read
+     * @throws IOException         if reading from Solr failed or one of the workers failed
+     * @throws SolrServerException if reading from Solr failed or one of the workers failed
+     */
+    public long stream(SolrQuery query, Supplier<? extends Worker> workers) throws IOException, SolrServerException {
+        SolrQuery cursorQuery = query.getCopy();
+        cursorQuery.setRows(batchSize);
+        cursorQuery.setSort(SolrQuery.SortClause.asc(uniqueKey));
+
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(threads);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, threadName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long count = 0;
+        try {
+            List<Future<?>> running = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                running.add(executor.submit(() -> {
+                    work(queue, workers, failure);
+                    return null;
+                }));
+            }
+
+            String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            while (failure.get() == null) {
+                cursorQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+                QueryResponse response = solr.query(cursorQuery);
+                List<SolrDocument> documents = response.getResults();
+                if (!documents.isEmpty()) {
+                    queue.put(new Batch(count, documents));
+                    count += documents.size();
+                }
+                String nextCursorMark = response.getNextCursorMark();
+                if (cursorMark.equals(nextCursorMark)) {
+                    break;
+                }
+                cursorMark = nextCursorMark;
+            }
+
+            for (int i = 0; i < threads; i++) {
+                queue.put(END);
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming the documents", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to process the documents", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Exception e = failure.get();
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        } else if (e instanceof SolrServerException) {
+            throw (SolrServerException) e;
+        } else if (e != null) {
+            throw new IOException("Unable to process the documents", e);
+        }
+        return count;
+    }
+
+    /**
+     * Process the batches of the queue until the end, skipping them once a worker failed
+     */
+    private void work(BlockingQueue<Batch> queue, Supplier<? extends Worker> workers,
+                      AtomicReference<Exception> failure) throws InterruptedException {
+        Worker worker = null;
+        try {
+            while (true) {
+                Batch batch = queue.take();
+                if (batch == END) {
+                    return;
+                }
+                if (failure.get() != null) {
+                    continue;
+                }
+                try {
+                    if (worker == null) {
+                        worker = workers.get();
+                    }
+                    worker.process(batch.offset(), batch.documents());
+                } catch (Exception e) {
+                    if (failure.compareAndSet(null, e)) {
+                        log.error("Unable to process the documents from {}", batch.offset(), e);
+                    }
+                }
+            }
+        } finally {
+            if (worker != null) {
+                try {
+                    worker.close();
+                } catch (Exception e) {
+                    log.warn("Unable to close the worker", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a copy of a document read from Solr which can be sent back to Solr
+     */
+    public static SolrInputDocument toInputDocument(SolrDocument document) {
+        SolrInputDocument input = new SolrInputDocument();
+        for (String name : document.getFieldNames()) {
+            if (!VERSION_FIELD.equals(name)) {
+                for (Object value : document.getFieldValues(name)) {
+                    input.addField(name, value);
+                }
+            }
+        }
+        return input;
+    }
+}
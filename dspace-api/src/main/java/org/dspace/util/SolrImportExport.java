@@ -33,14 +33,15 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
-import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.CoreAdminRequest;
 import org.apache.solr.client.solrj.request.LukeRequest;
+import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.CoreAdminResponse;
 import org.apache.solr.client.solrj.response.FieldStatsInfo;
 import org.apache.solr.client.solrj.response.LukeResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
+import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.luke.FieldFlag;
 import org.apache.solr.common.params.CoreAdminParams;
 import org.apache.solr.common.params.FacetParams;
@@ -430,7 +431,7 @@ public class SolrImportExport {
                 contentStreamUpdateRequest.setParam("f." + mvField + ".separator", MULTIPLE_VALUES_SPLITTER);
             }
             contentStreamUpdateRequest.setParam("stream.contentType", "text/csv;charset=utf-8");
-            contentStreamUpdateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
+            // Committed once all the files are imported, rather than opening a new searcher for each file
             contentStreamUpdateRequest.addFile(file, "text/csv;charset=utf-8");
 
             solr.request(contentStreamUpdateRequest);
@@ -552,6 +553,12 @@ public class SolrImportExport {
 
         List<RangeFacet.Count> monthFacets = solr.query(query).getFacetRanges().get(0).getCounts();
 
+        // Each file is a range of the unique key, so every month is read with a cursor instead of start offsets
+        String uniqueKey = new SchemaRequest.UniqueKey().process(solr).getUniqueKey();
+        SolrDocumentStreamer streamer = new SolrDocumentStreamer(
+            solr, uniqueKey, configurationService.getIntProperty("solr-statistics.reindex.threads", 2),
+            ROWS_PER_FILE, "solr-export");
+
         for (RangeFacet.Count monthFacet : monthFacets) {
             YearMonth monthStartDate;
             String monthStart = monthFacet.getValue();
@@ -561,42 +568,70 @@ public class SolrImportExport {
                 throw new SolrImportExportException("Could not read start of month batch as date: " + monthStart, e);
             }
             int docsThisMonth = monthFacet.getCount();
+            String monthFilter = timeField + ":[" + monthStart + " TO " + monthStart + "+1MONTH]";
+
+            SolrQuery keyQuery = new SolrQuery("*:*");
+            keyQuery.addFilterQuery(monthFilter);
+            keyQuery.setFields(uniqueKey);
+
+            streamer.stream(keyQuery, () -> (offset, keys) -> {
+                SolrQuery monthQuery = new SolrQuery("*:*");
+                monthQuery.setRows(ROWS_PER_FILE);
+                monthQuery.set("wt", "csv");
+                monthQuery.set("fl", "*");
+                monthQuery.setParam("csv.mv.separator", MULTIPLE_VALUES_SPLITTER);
+                monthQuery.setSort(SolrQuery.SortClause.asc(uniqueKey));
+
+                monthQuery.addFilterQuery(monthFilter);
+                monthQuery.addFilterQuery(uniqueKey + ":["
+                    + ClientUtils.escapeQueryChars(String.valueOf(keys.get(0).getFirstValue(uniqueKey))) + " TO "
+                    + ClientUtils.escapeQueryChars(String.valueOf(keys.get(keys.size() - 1).getFirstValue(uniqueKey)))
+                    + "]");
+                exportFile(indexName, toDir, solrUrl, monthQuery, monthStartDate, docsThisMonth, (int) offset,
+                           overwrite);
+            });
+        }
+    }
 
-            SolrQuery monthQuery = new SolrQuery("*:*");
-            monthQuery.setRows(ROWS_PER_FILE);
-            monthQuery.set("wt", "csv");
-            monthQuery.set("fl", "*");
-            monthQuery.setParam("csv.mv.separator", MULTIPLE_VALUES_SPLITTER);
-
-            monthQuery.addFilterQuery(timeField + ":[" + monthStart + " TO " + monthStart + "+1MONTH]");
-
-            for (int i = 0; i < docsThisMonth; i += ROWS_PER_FILE) {
-                monthQuery.setStart(i);
-                URL url = new URL(solrUrl + "/select?" + monthQuery.toString());
-
-                File file = new File(toDir.getCanonicalPath(),
-                                     makeExportFilename(indexName, monthStartDate, docsThisMonth, i));
-                if (file.createNewFile() || overwrite) {
-                    FileUtils.copyURLToFile(url, file);
-                    String message = String.format(
-                        "Solr export to file [%s] complete.  Export for Index [%s] Month [%s] Batch [%d] Num Docs [%d]",
-                        file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
-                    log.info(message);
-                } else if (file.exists()) {
-                    String message = String.format(
-                        "Solr export file [%s] already exists.  Export failed for Index [%s] Month [%s] Batch [%d] " +
-                            "Num Docs [%d]",
-                        file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
-                    throw new SolrImportExportException(message);
-                } else {
-                    String message = String.format(
-                        "Cannot create solr export file [%s].  Export failed for Index [%s] Month [%s] Batch [%d] Num" +
-                            " Docs [%d]",
-                        file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
-                    throw new
-                        SolrImportExportException(message);
-                }
-            }
+    /**
+     * Exports a batch of documents to a file
+     *
+     * @param indexName     The index to export.
+     * @param toDir         The target directory for the export.
+     * @param solrUrl       The solr URL for the index to export.
+     * @param query         The query of the documents of the batch.
+     * @param month         The month of the documents of the batch.
+     * @param docsThisMonth The number of documents of the month.
+     * @param index         The position of the batch among the documents of the month.
+     * @param overwrite     If set, allow export files to be overwritten
+     * @throws IOException               if there is a problem creating the file or communicating with Solr.
+     * @throws SolrImportExportException if the file can't be created.
+     */
+    private static void exportFile(String indexName, File toDir, String solrUrl, SolrQuery query, YearMonth month,
+                                   int docsThisMonth, int index, boolean overwrite)
+        throws IOException, SolrImportExportException {
+        URL url = new URL(solrUrl + "/select?" + query.toString());
+
+        File file = new File(toDir.getCanonicalPath(), makeExportFilename(indexName, month, docsThisMonth, index));
+        if (file.createNewFile() || overwrite) {
+            FileUtils.copyURLToFile(url, file);
+            String message = String.format(
+                "Solr export to file [%s] complete.  Export for Index [%s] Month [%s] Batch [%d] Num Docs [%d]",
+                file.getCanonicalPath(), indexName, month, index, docsThisMonth);
+            log.info(message);
+        } else if (file.exists()) {
+            String message = String.format(
+                "Solr export file [%s] already exists.  Export failed for Index [%s] Month [%s] Batch [%d] " +
+                    "Num Docs [%d]",
+                file.getCanonicalPath(), indexName, month, index, docsThisMonth);
+            throw new SolrImportExportException(message);
+        } else {
+            String message = String.format(
+                "Cannot create solr export file [%s].  Export failed for Index [%s] Month [%s] Batch [%d] Num" +
+                    " Docs [%d]",
+                file.getCanonicalPath(), indexName, month, index, docsThisMonth);
+            throw new
+                SolrImportExportException(message);
         }
     }
 
@@ -0,0 +1,33 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table for the stored virtual metadata derived from relationships
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE relationship_metadata_cache_id_seq;
+
+CREATE TABLE relationship_metadata_cache
+(
+    id INTEGER NOT NULL,
+    item_id UUID NOT NULL REFERENCES item(uuid) ON DELETE CASCADE,
+    relationship_id INTEGER NOT NULL REFERENCES relationship(id) ON DELETE CASCADE,
+    ordinal INTEGER,
+    metadata_field_id INTEGER NOT NULL REFERENCES metadatafieldregistry(metadata_field_id) ON DELETE CASCADE,
+    text_value TEXT,
+    authority CHARACTER VARYING(100),
+    confidence INTEGER,
+    place INTEGER,
+    use_for_place BOOLEAN,
+    source_last_modified TIMESTAMP WITH TIME ZONE,
+    name_variant TEXT,
+    CONSTRAINT relationship_metadata_cache_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX relationship_metadata_cache_item_idx ON relationship_metadata_cache(item_id);
+CREATE INDEX relationship_metadata_cache_relationship_idx ON relationship_metadata_cache(relationship_id);
@@ -0,0 +1,37 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create tables for the daily rollups of the usage statistics and their watermark
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE statistics_rollup_id_seq;
+
+CREATE TABLE statistics_rollup
+(
+    id INTEGER NOT NULL,
+    usage_date DATE NOT NULL,
+    dso_id UUID NOT NULL,
+    dso_type INTEGER NOT NULL,
+    owning_item UUID,
+    country_code CHARACTER VARYING(16),
+    referrer CHARACTER VARYING(255),
+    views BIGINT NOT NULL,
+    CONSTRAINT statistics_rollup_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX statistics_rollup_dso_idx ON statistics_rollup(dso_id, usage_date);
+CREATE INDEX statistics_rollup_owning_item_idx ON statistics_rollup(owning_item);
+CREATE INDEX statistics_rollup_date_idx ON statistics_rollup(usage_date);
+
+CREATE TABLE statistics_rollup_watermark
+(
+    name CHARACTER VARYING(64) NOT NULL,
+    watermark TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT statistics_rollup_watermark_pkey PRIMARY KEY (name)
+);
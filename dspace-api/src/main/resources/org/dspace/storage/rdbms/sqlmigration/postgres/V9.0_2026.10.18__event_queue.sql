@@ -0,0 +1,40 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table for the queue of the asynchronous event dispatcher
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE event_queue_id_seq;
+
+CREATE TABLE event_queue
+(
+    id INTEGER NOT NULL,
+    dispatcher CHARACTER VARYING(255),
+    ordering_key CHARACTER VARYING(255),
+    event_type INTEGER,
+    subject_type INTEGER,
+    subject_id UUID,
+    object_type INTEGER,
+    object_id UUID,
+    detail TEXT,
+    identifiers TEXT,
+    transaction_id CHARACTER VARYING(255),
+    eperson_id UUID,
+    consumed_by TEXT,
+    created TIMESTAMP,
+    attempts INTEGER,
+    next_attempt TIMESTAMP,
+    claimed_by CHARACTER VARYING(255),
+    claimed TIMESTAMP,
+    last_error TEXT,
+    CONSTRAINT event_queue_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX event_queue_next_attempt_idx ON event_queue(next_attempt);
+CREATE INDEX event_queue_ordering_key_idx ON event_queue(ordering_key);
@@ -40,13 +40,16 @@ SELECT setval('metadatavalue_seq', max(metadata_value_id)) FROM metadatavalue;
 SELECT setval('openurltracker_seq', max(tracker_id)) FROM openurltracker;
 SELECT setval('orcid_history_id_seq', max(id)) FROM orcid_history;
 SELECT setval('orcid_queue_id_seq', max(id)) FROM orcid_queue;
+SELECT setval('event_queue_id_seq', max(id)) FROM event_queue;
 SELECT setval('orcid_token_id_seq', max(id)) FROM orcid_token;
 SELECT setval('process_id_seq', max(process_id)) FROM process;
 SELECT setval('registrationdata_seq', max(registrationdata_id)) FROM registrationdata;
+SELECT setval('relationship_metadata_cache_id_seq', max(id)) FROM relationship_metadata_cache;
 SELECT setval('relationship_id_seq', max(id)) FROM relationship;
 SELECT setval('relationship_type_id_seq', max(id)) FROM relationship_type;
 SELECT setval('requestitem_seq', max(requestitem_id)) FROM requestitem;
 SELECT setval('resourcepolicy_seq', max(policy_id)) FROM resourcepolicy;
+SELECT setval('statistics_rollup_id_seq', max(id)) FROM statistics_rollup;
 SELECT setval('subscription_parameter_seq', max(subscription_id)) FROM subscription_parameter;
 SELECT setval('subscription_seq', max(subscription_id)) FROM subscription;
 SELECT setval('supervision_orders_seq', max(id)) FROM supervision_orders;
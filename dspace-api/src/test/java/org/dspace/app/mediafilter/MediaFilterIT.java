@@ -142,6 +142,30 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void mediaFilterScriptAllItemsConcurrentTest() throws Exception {
+        // the workers use their own database connections
+        context.commit();
+        runDSpaceScript("filter-media", "-t", "3");
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            Item item = context.reloadEntity(items.next());
+            checkItemHasBeenProcessed(item);
+        }
+    }
+
+    @Test
+    public void mediaFilterScriptCollectionConcurrentTest() throws Exception {
+        context.commit();
+        runDSpaceScript("filter-media", "-t", "2", "-i", col1_1_1.getHandle());
+        item1_1_1_a = context.reloadEntity(item1_1_1_a);
+        item1_1_1_b = context.reloadEntity(item1_1_1_b);
+        item1_1_2_a = context.reloadEntity(item1_1_2_a);
+        checkItemHasBeenProcessed(item1_1_1_a);
+        checkItemHasBeenProcessed(item1_1_1_b);
+        checkItemHasBeenNotProcessed(item1_1_2_a);
+    }
+
     @Test
     public void mediaFilterScriptIdentifiersTest() throws Exception {
         // process the item 1_1_a and verify that no other items has been processed using the "closer" one
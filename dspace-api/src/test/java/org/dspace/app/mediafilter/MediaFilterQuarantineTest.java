@@ -0,0 +1,93 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link MediaFilterQuarantine}
+ */
+public class MediaFilterQuarantineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+
+    private final UUID item = UUID.randomUUID();
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("var").resolve("quarantine.properties");
+    }
+
+    @Test
+    public void testQuarantinedAfterConsecutiveFailures() {
+        MediaFilterQuarantine quarantine = new MediaFilterQuarantine(file, 2);
+        assertFalse(quarantine.isQuarantined(item));
+        assertFalse(quarantine.failed(item));
+        assertFalse(quarantine.isQuarantined(item));
+        assertTrue(quarantine.failed(item));
+        assertTrue(quarantine.isQuarantined(item));
+        assertFalse(quarantine.isQuarantined(UUID.randomUUID()));
+    }
+
+    @Test
+    public void testSuccessResetsFailures() {
+        MediaFilterQuarantine quarantine = new MediaFilterQuarantine(file, 2);
+        quarantine.failed(item);
+        quarantine.succeeded(item);
+        assertEquals(0, quarantine.getFailures(item));
+        assertFalse(quarantine.failed(item));
+    }
+
+    @Test
+    public void testFailuresAreSharedThroughFile() throws Exception {
+        new MediaFilterQuarantine(file, 2).failed(item);
+        MediaFilterQuarantine quarantine = new MediaFilterQuarantine(file, 2);
+        assertTrue(quarantine.failed(item));
+
+        // removing the file releases the item
+        Files.delete(file);
+        assertFalse(quarantine.isQuarantined(item));
+        assertEquals(0, quarantine.getFailures(item));
+    }
+
+    @Test
+    public void testReset() {
+        MediaFilterQuarantine quarantine = new MediaFilterQuarantine(file, 1);
+        assertTrue(quarantine.failed(item));
+
+        quarantine.reset();
+
+        assertFalse(quarantine.isQuarantined(item));
+        assertFalse(Files.exists(file));
+        assertFalse(new MediaFilterQuarantine(file, 1).isQuarantined(item));
+    }
+
+    @Test
+    public void testDisabled() {
+        MediaFilterQuarantine quarantine = new MediaFilterQuarantine(file, 0);
+        for (int i = 0; i < 5; i++) {
+            assertFalse(quarantine.failed(item));
+        }
+        assertFalse(quarantine.isQuarantined(item));
+        assertFalse(Files.exists(file));
+    }
+}
@@ -85,6 +85,83 @@ public class TikaTextExtractionFilterTest extends AbstractUnitTest {
         assertFalse("Known ending content was not found", extractedText.contains("Emergency Broadcast System"));
     }
 
+    /**
+     * Test of getDestinationStream method streaming the extracted text
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamWithUseStreaming()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+
+        // Extract text from file with "use-streaming=true" and a buffer smaller than the text
+        configurationService.setProperty("textextractor.max-chars", "-1");
+        configurationService.setProperty("textextractor.use-streaming", "true");
+        configurationService.setProperty("textextractor.streaming.buffer-size", "16");
+        try {
+            InputStream source = getClass().getResourceAsStream("test.pdf");
+            String streamedText = readAll(instance.getDestinationStream(null, source, false));
+            assertTrue("Known content was not found in .pdf", streamedText.contains("quick brown fox"));
+
+            // Now, extract text from same file using default, in-memory
+            configurationService.setProperty("textextractor.use-streaming", "false");
+            source = getClass().getResourceAsStream("test.pdf");
+            String inMemoryExtractedText = readAll(instance.getDestinationStream(null, source, false));
+
+            assertEquals("Streamed text is the same as in-memory.", inMemoryExtractedText, streamedText);
+        } finally {
+            configurationService.setProperty("textextractor.use-streaming", null);
+            configurationService.setProperty("textextractor.streaming.buffer-size", null);
+            configurationService.setProperty("textextractor.max-chars", null);
+        }
+    }
+
+    /**
+     * Test of getDestinationStream method streaming the extracted text, when max characters is less than file size
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamWithUseStreamingAndMaxChars()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+
+        configurationService.setProperty("textextractor.use-streaming", "true");
+        configurationService.setProperty("textextractor.max-chars", "100");
+        try {
+            InputStream source = getClass().getResourceAsStream("test.pdf");
+            String extractedText = readAll(instance.getDestinationStream(null, source, false));
+
+            // Verify we have exactly the first 100 characters
+            assertEquals(100, extractedText.length());
+            assertTrue("Known beginning content was found", extractedText.contains("This is a text."));
+            assertFalse("Known ending content was not found", extractedText.contains("Emergency Broadcast System"));
+        } finally {
+            configurationService.setProperty("textextractor.use-streaming", null);
+            configurationService.setProperty("textextractor.max-chars", null);
+        }
+    }
+
+    /**
+     * Test that streaming the extracted text fails when the source can't be read
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test(expected = IOException.class)
+    public void testGetDestinationStreamWithUseStreamingAndFailingSource()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+
+        InputStream source = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Unreadable");
+            }
+        };
+        readAll(instance.extractUsingStream(source, false, -1, 1024));
+    }
+
     /**
      * Test of getDestinationStream method using older Microsoft Word document.
      * Read a constant .doc document and examine the extracted text.
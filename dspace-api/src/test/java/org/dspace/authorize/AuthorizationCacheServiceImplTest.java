@@ -0,0 +1,154 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.event.Event;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the invalidation of shared results in {@link AuthorizationCacheServiceImpl}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AuthorizationCacheServiceImplTest {
+
+    private AuthorizationCacheServiceImpl authorizationCacheService;
+
+    @Mock
+    private Context context;
+
+    @Mock
+    private Item item;
+
+    @Mock
+    private EPerson ePerson;
+
+    private final UUID itemId = UUID.randomUUID();
+    private final UUID ePersonId = UUID.randomUUID();
+
+    @Before
+    public void init() {
+        authorizationCacheService = new AuthorizationCacheServiceImpl();
+        ReflectionTestUtils.setField(authorizationCacheService, "cacheManager",
+                                     new ConcurrentMapCacheManager(AuthorizationCacheServiceImpl.CACHE_NAME));
+        when(context.getSpecialGroupUuids()).thenReturn(Set.of());
+        when(item.getID()).thenReturn(itemId);
+        when(ePerson.getID()).thenReturn(ePersonId);
+    }
+
+    @Test
+    public void testCachedResult() {
+        String key = authorizationCacheService.getAuthorizationKey(context, item, Constants.READ, ePerson, true);
+        assertNull(authorizationCacheService.get(key));
+
+        authorizationCacheService.put(key, itemId, ePersonId, true, authorizationCacheService.getSequence());
+        assertTrue(authorizationCacheService.get(key));
+        assertEquals(1, authorizationCacheService.getHits());
+        assertEquals(1, authorizationCacheService.getMisses());
+    }
+
+    @Test
+    public void testInheritanceInKey() {
+        String key = authorizationCacheService.getAuthorizationKey(context, item, Constants.READ, ePerson, true);
+        authorizationCacheService.put(key, itemId, ePersonId, true, authorizationCacheService.getSequence());
+
+        // an ADMIN right on a parent object doesn't authorize a check without inheritance
+        String directKey = authorizationCacheService.getAuthorizationKey(context, item, Constants.READ, ePerson, false);
+        assertNotEquals(key, directKey);
+        assertNull(authorizationCacheService.get(directKey));
+    }
+
+    @Test
+    public void testSpecialGroupsInKey() {
+        String key = authorizationCacheService.getAuthorizationKey(context, item, Constants.READ, ePerson, true);
+        when(context.getSpecialGroupUuids()).thenReturn(Set.of(UUID.randomUUID()));
+        assertNotEquals(key,
+                        authorizationCacheService.getAuthorizationKey(context, item, Constants.READ, ePerson, true));
+    }
+
+    @Test
+    public void testInvalidateObject() {
+        String key = authorizationCacheService.getAuthorizationKey(context, item, Constants.READ, ePerson, true);
+        authorizationCacheService.put(key, itemId, ePersonId, false, authorizationCacheService.getSequence());
+
+        AuthorizationCacheInvalidations invalidations = new AuthorizationCacheInvalidations();
+        invalidations.invalidateObject(itemId);
+        authorizationCacheService.invalidate(invalidations);
+        assertNull(authorizationCacheService.get(key));
+
+        // a result computed after the invalidation is valid again
+        authorizationCacheService.put(key, itemId, ePersonId, true, authorizationCacheService.getSequence());
+        assertTrue(authorizationCacheService.get(key));
+    }
+
+    @Test
+    public void testInvalidationDuringComputation() {
+        String key = authorizationCacheService.getAuthorizationKey(context, item, Constants.READ, ePerson, true);
+        long sequence = authorizationCacheService.getSequence();
+
+        // the policies change while the result is being computed
+        AuthorizationCacheInvalidations invalidations = new AuthorizationCacheInvalidations();
+        invalidations.invalidateObject(itemId);
+        authorizationCacheService.invalidate(invalidations);
+
+        authorizationCacheService.put(key, itemId, ePersonId, true, sequence);
+        assertNull(authorizationCacheService.get(key));
+    }
+
+    @Test
+    public void testGroupMembershipEvents() {
+        String key = authorizationCacheService.getAuthorizationKey(context, item, Constants.READ, ePerson, true);
+        authorizationCacheService.put(key, itemId, ePersonId, false, authorizationCacheService.getSequence());
+
+        // another user joining a group doesn't change the result of this user
+        UUID otherId = new UUID(ePersonId.getMostSignificantBits(), ePersonId.getLeastSignificantBits() ^ 1);
+        AuthorizationCacheInvalidations invalidations = new AuthorizationCacheInvalidations();
+        invalidations.addEvent(new Event(Event.ADD, Constants.GROUP, UUID.randomUUID(), Constants.EPERSON,
+                                         otherId, null));
+        authorizationCacheService.invalidate(invalidations);
+        assertFalse(authorizationCacheService.get(key));
+
+        invalidations.clear();
+        invalidations.addEvent(new Event(Event.ADD, Constants.GROUP, UUID.randomUUID(), Constants.EPERSON,
+                                         ePersonId, null));
+        authorizationCacheService.invalidate(invalidations);
+        assertNull(authorizationCacheService.get(key));
+    }
+
+    @Test
+    public void testSubgroupEventInvalidatesAll() {
+        String key = authorizationCacheService.getAuthorizationKey(context, item, Constants.READ, ePerson, true);
+        authorizationCacheService.put(key, itemId, ePersonId, true, authorizationCacheService.getSequence());
+
+        AuthorizationCacheInvalidations invalidations = new AuthorizationCacheInvalidations();
+        invalidations.addEvent(new Event(Event.ADD, Constants.GROUP, UUID.randomUUID(), Constants.GROUP,
+                                         UUID.randomUUID(), null));
+        assertTrue(invalidations.isAll());
+        authorizationCacheService.invalidate(invalidations);
+        assertNull(authorizationCacheService.get(key));
+    }
+}
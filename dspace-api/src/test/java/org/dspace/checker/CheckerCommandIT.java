@@ -0,0 +1,140 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.ChecksumHistoryService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the sequential and parallel checks of {@link CheckerCommand}
+ */
+public class CheckerCommandIT extends AbstractIntegrationTestWithDatabase {
+
+    private final BitstreamStorageService bitstreamStorageService =
+        StorageServiceFactory.getInstance().getBitstreamStorageService();
+    private final ChecksumHistoryService checksumHistoryService =
+        CheckerServiceFactory.getInstance().getChecksumHistoryService();
+
+    private final List<Bitstream> bitstreams = new ArrayList<>();
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection")
+                                                 .build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Checked item").build();
+        for (int i = 0; i < 5; i++) {
+            try (InputStream is = IOUtils.toInputStream("Content of bitstream " + i, StandardCharsets.UTF_8)) {
+                bitstreams.add(BitstreamBuilder.createBitstream(context, item, is).withName("bitstream" + i).build());
+            }
+        }
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        for (Bitstream bitstream : bitstreams) {
+            checksumHistoryService.deleteByBitstream(context, context.reloadEntity(bitstream));
+        }
+        context.commit();
+        super.destroy();
+    }
+
+    @Test
+    public void testParallelCheckOfMissingBitstream() throws Exception {
+        Bitstream missing = bitstreams.get(0);
+        Files.delete(bitstreamStorageService.retrievePath(context, missing));
+
+        Map<UUID, MostRecentChecksum> results = check(2);
+
+        assertEquals(5, results.size());
+        MostRecentChecksum missingResult = results.get(missing.getID());
+        assertEquals(ChecksumResultCode.BITSTREAM_NOT_FOUND, missingResult.getChecksumResult().getResultCode());
+        assertFalse(missingResult.isToBeProcessed());
+        for (Bitstream bitstream : bitstreams.subList(1, bitstreams.size())) {
+            MostRecentChecksum result = results.get(bitstream.getID());
+            assertEquals(ChecksumResultCode.CHECKSUM_MATCH, result.getChecksumResult().getResultCode());
+            assertTrue(result.isToBeProcessed());
+        }
+    }
+
+    @Test
+    public void testParallelCheckMatchesSequentialCheck() throws Exception {
+        Bitstream tampered = bitstreams.get(2);
+        Files.write(bitstreamStorageService.retrievePath(context, tampered),
+                    "Tampered content".getBytes(StandardCharsets.UTF_8));
+
+        Map<UUID, ChecksumResultCode> parallel = codes(check(3));
+        Map<UUID, ChecksumResultCode> sequential = codes(check(1));
+
+        assertEquals(ChecksumResultCode.CHECKSUM_NO_MATCH, parallel.get(tampered.getID()));
+        assertEquals(ChecksumResultCode.CHECKSUM_MATCH, parallel.get(bitstreams.get(0).getID()));
+        assertEquals(sequential, parallel);
+    }
+
+    /**
+     * Check all the bitstreams with the given number of threads
+     *
+     * @return the results by bitstream
+     */
+    private Map<UUID, MostRecentChecksum> check(int threads) throws SQLException {
+        List<Bitstream> checked = new ArrayList<>();
+        for (Bitstream bitstream : bitstreams) {
+            checked.add(context.reloadEntity(bitstream));
+        }
+        Map<UUID, MostRecentChecksum> results = new HashMap<>();
+        CheckerCommand checker = new CheckerCommand(context);
+        checker.setThreads(threads);
+        checker.setReportVerbose(true);
+        checker.setProcessStartDate(Instant.now());
+        checker.setDispatcher(new IteratorDispatcher(checked.iterator()));
+        checker.setCollector((c, info) -> results.put(info.getBitstream().getID(), info));
+        checker.process();
+        return results;
+    }
+
+    private static Map<UUID, ChecksumResultCode> codes(Map<UUID, MostRecentChecksum> results) {
+        Map<UUID, ChecksumResultCode> codes = new HashMap<>();
+        results.forEach((id, info) -> codes.put(id, info.getChecksumResult().getResultCode()));
+        return codes;
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CheckerProgress}
+ */
+public class CheckerProgressTest {
+
+    private final Instant start = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final MutableClock clock = new MutableClock(start);
+
+    @Test
+    public void testEstimateFromRemaining() {
+        CheckerProgress progress = new CheckerProgress(100, null, Duration.ofMinutes(1), clock);
+        assertNull(progress.getEstimatedEnd());
+
+        for (int i = 0; i < 25; i++) {
+            progress.checked(1000);
+        }
+        clock.instant = start.plusSeconds(60);
+
+        // 25 bitstreams per minute, 75 remaining
+        assertEquals(start.plusSeconds(240), progress.getEstimatedEnd());
+        assertEquals(25000, progress.getBytes());
+    }
+
+    @Test
+    public void testEstimateLimitedByEndTime() {
+        Instant endTime = start.plusSeconds(120);
+        CheckerProgress progress = new CheckerProgress(100, endTime, Duration.ofMinutes(1), clock);
+        assertEquals(endTime, progress.getEstimatedEnd());
+
+        progress.checked(1000);
+        clock.instant = start.plusSeconds(60);
+        assertEquals(endTime, progress.getEstimatedEnd());
+    }
+
+    @Test
+    public void testUnknownRemaining() {
+        CheckerProgress progress = new CheckerProgress(-1, null, Duration.ofMinutes(1), clock);
+        progress.checked(1000);
+        clock.instant = start.plusSeconds(60);
+        assertNull(progress.getEstimatedEnd());
+        assertFalse(progress.report().contains("remaining"));
+    }
+
+    @Test
+    public void testReportInterval() {
+        CheckerProgress progress = new CheckerProgress(10, null, Duration.ofMinutes(1), clock);
+        assertFalse(progress.isReportDue());
+
+        clock.instant = start.plusSeconds(60);
+        assertTrue(progress.isReportDue());
+        assertTrue(progress.report().contains("10 remaining"));
+        assertFalse(progress.isReportDue());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+import java.util.List;
+
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.RelationshipBuilder;
+import org.dspace.content.dao.CachedRelationshipMetadataDAO;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class carries out the same test cases as {@link RelationshipMetadataServiceIT} with the virtual metadata
+ * stored (relationship.virtual-metadata.cache), and checks the stored virtual metadata follows the changes to the
+ * related items and relationships.
+ */
+public class CachedRelationshipMetadataServiceIT extends RelationshipMetadataServiceIT {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final CachedRelationshipMetadataDAO cachedRelationshipMetadataDAO =
+        DSpaceServicesFactory.getInstance().getServiceManager()
+                             .getServicesByType(CachedRelationshipMetadataDAO.class).get(0);
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("relationship.virtual-metadata.cache", true);
+    }
+
+    @After
+    public void disableCache() {
+        configurationService.setProperty("relationship.virtual-metadata.cache", false);
+    }
+
+    @Test
+    public void testStoredVirtualMetadataFollowsRelatedItem() throws Exception {
+        initPublicationAuthor();
+        assertAuthors(leftItem, "familyName, firstName");
+
+        context.turnOffAuthorisationSystem();
+        itemService.clearMetadata(context, rightItem, "person", "familyName", null, Item.ANY);
+        itemService.addMetadata(context, rightItem, "person", "familyName", null, null, "otherName");
+        itemService.update(context, rightItem);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        leftItem = context.reloadEntity(leftItem);
+        assertAuthors(leftItem, "otherName, firstName");
+
+        relationshipMetadataService.refreshVirtualMetadataCache(context, leftItem);
+        context.commit();
+        leftItem = context.reloadEntity(leftItem);
+        assertAuthors(leftItem, "otherName, firstName");
+    }
+
+    @Test
+    public void testVirtualMetadataIsOnlyStoredByRelationshipChanges() throws Exception {
+        initPublicationAuthor();
+        long storedValues = cachedRelationshipMetadataDAO.countAll(context);
+        assertThat(storedValues, greaterThan(0L));
+
+        assertAuthors(leftItem, "familyName, firstName");
+        assertThat(cachedRelationshipMetadataDAO.countAll(context), equalTo(storedValues));
+
+        context.turnOffAuthorisationSystem();
+        relationship = context.reloadEntity(relationship);
+        relationshipService.delete(context, relationship, false, false);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertThat(cachedRelationshipMetadataDAO.countAll(context), equalTo(0L));
+    }
+
+    @Test
+    public void testStoredVirtualMetadataFollowsRelationships() throws Exception {
+        initPublicationAuthor();
+        assertAuthors(leftItem, "familyName, firstName");
+
+        context.turnOffAuthorisationSystem();
+        Item otherAuthor = ItemBuilder.createItem(context, col2)
+                                      .withPersonIdentifierLastName("secondName")
+                                      .withPersonIdentifierFirstName("firstName").build();
+        Relationship secondRelationship = RelationshipBuilder.createRelationshipBuilder(context, leftItem,
+            otherAuthor, isAuthorOfPublicationRelationshipType).build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        leftItem = context.reloadEntity(leftItem);
+        assertAuthors(leftItem, "familyName, firstName", "secondName, firstName");
+
+        // move the second author in front of the first one
+        context.turnOffAuthorisationSystem();
+        secondRelationship = context.reloadEntity(secondRelationship);
+        relationshipService.move(context, secondRelationship, 0, null);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        leftItem = context.reloadEntity(leftItem);
+        assertAuthors(leftItem, "secondName, firstName", "familyName, firstName");
+
+        context.turnOffAuthorisationSystem();
+        relationship = context.reloadEntity(relationship);
+        relationshipService.delete(context, relationship, false, false);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        leftItem = context.reloadEntity(leftItem);
+        assertAuthors(leftItem, "secondName, firstName");
+    }
+
+    @Test
+    public void testRebuildVirtualMetadataCache() throws Exception {
+        initPublicationAuthor();
+        assertAuthors(leftItem, "familyName, firstName");
+
+        relationshipMetadataService.rebuildVirtualMetadataCache(context, leftItem);
+        context.commit();
+        leftItem = context.reloadEntity(leftItem);
+        assertAuthors(leftItem, "familyName, firstName");
+
+        relationshipMetadataService.clearVirtualMetadataCache(context, leftItem);
+        context.commit();
+        leftItem = context.reloadEntity(leftItem);
+        assertAuthors(leftItem, "familyName, firstName");
+    }
+
+    private void assertAuthors(Item item, String... authors) {
+        List<MetadataValue> authorList = itemService.getMetadata(item, "dc", "contributor", "author", Item.ANY);
+        assertThat(authorList.stream().map(MetadataValue::getValue).toList(), equalTo(List.of(authors)));
+    }
+}
@@ -220,6 +220,25 @@ public class ItemTest extends AbstractDSpaceObjectTest {
         assertTrue("testFindAll 1", added);
     }
 
+    /**
+     * Test of findAllAfter method, of class Item.
+     */
+    @Test
+    public void testFindAllAfter() throws Exception {
+        List<Item> expected = new ArrayList<>();
+        itemService.findAll(context).forEachRemaining(expected::add);
+
+        List<Item> found = new ArrayList<>();
+        List<Item> page = itemService.findAllAfter(context, null, 2);
+        while (!page.isEmpty()) {
+            assertTrue("testFindAllAfter 0", page.size() <= 2);
+            found.addAll(page);
+            page = itemService.findAllAfter(context, page.get(page.size() - 1).getID(), 2);
+        }
+        assertEquals("testFindAllAfter 1", expected, found);
+        assertTrue("testFindAllAfter 2", found.contains(it));
+    }
+
     /**
      * Test of findBySubmitter method, of class Item.
      */
@@ -0,0 +1,135 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link MetadataIndex}, comparing its lookups with
+ * {@link DSpaceObjectServiceImpl#match(String, String, String, String, MetadataValue)}
+ */
+public class MetadataIndexTest {
+
+    private final List<MetadataValue> values = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    private final DSpaceObjectServiceImpl<Item> dsoService = mock(DSpaceObjectServiceImpl.class, CALLS_REAL_METHODS);
+
+    @Before
+    public void setUp() {
+        MetadataSchema dc = schema(1, "dc");
+        MetadataSchema dspace = schema(2, "dspace");
+        MetadataField title = field(1, dc, "title", null);
+        MetadataField alternative = field(2, dc, "title", "alternative");
+        MetadataField author = field(3, dc, "contributor", "author");
+        MetadataField entityType = field(4, dspace, "entity", "type");
+        MetadataField dspaceTitle = field(5, dspace, "title", null);
+
+        values.add(value(title, "Title", null));
+        values.add(value(title, "Titel", "nl"));
+        values.add(value(alternative, "Alternative", "en"));
+        values.add(value(author, "Author, B", null));
+        values.add(value(entityType, "Publication", null));
+        values.add(value(author, "Author, A", null));
+        values.add(value(dspaceTitle, "Other title", ""));
+    }
+
+    @Test
+    public void testLookupsMatchValues() {
+        MetadataIndex index = new MetadataIndex(values);
+        List<String> schemas = Arrays.asList("dc", "dspace", "other", Item.ANY, null);
+        List<String> elements = Arrays.asList("title", "contributor", "entity", "other", Item.ANY, null);
+        List<String> qualifiers = Arrays.asList(null, "", "alternative", "author", "type", "other", Item.ANY);
+        List<String> languages = Arrays.asList(null, "", "en", "nl", Item.ANY);
+        for (String schema : schemas) {
+            for (String element : elements) {
+                for (String qualifier : qualifiers) {
+                    for (String lang : languages) {
+                        // twice, as wildcard lookups are remembered
+                        for (int i = 0; i < 2; i++) {
+                            assertEquals(schema + "." + element + "." + qualifier + "[" + lang + "]",
+                                         match(schema, element, qualifier, lang),
+                                         index.getMetadata(schema, element, qualifier, lang));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOrderOfValuesIsKept() {
+        List<MetadataValue> authors = new MetadataIndex(values).getMetadata("dc", "contributor", "author", Item.ANY);
+        assertEquals(List.of(values.get(3), values.get(5)), authors);
+    }
+
+    @Test
+    public void testLookupsReturnNewLists() {
+        MetadataIndex index = new MetadataIndex(values);
+        index.getMetadata("dc", "title", null, Item.ANY).clear();
+        index.getMetadata("dc", Item.ANY, Item.ANY, Item.ANY).clear();
+        assertEquals(2, index.getMetadata("dc", "title", null, Item.ANY).size());
+        assertEquals(5, index.getMetadata("dc", Item.ANY, Item.ANY, Item.ANY).size());
+    }
+
+    @Test
+    public void testIsIndexing() {
+        MetadataIndex index = new MetadataIndex(values);
+        assertTrue(index.isIndexing(values));
+        assertFalse(index.isIndexing(new ArrayList<>(values)));
+        values.remove(0);
+        assertFalse(index.isIndexing(values));
+    }
+
+    private List<MetadataValue> match(String schema, String element, String qualifier, String lang) {
+        List<MetadataValue> matches = new ArrayList<>();
+        for (MetadataValue value : values) {
+            if (dsoService.match(schema, element, qualifier, lang, value)) {
+                matches.add(value);
+            }
+        }
+        return matches;
+    }
+
+    private MetadataSchema schema(int id, String name) {
+        MetadataSchema schema = new MetadataSchema();
+        ReflectionTestUtils.setField(schema, "id", id);
+        schema.setName(name);
+        return schema;
+    }
+
+    private MetadataField field(int id, MetadataSchema schema, String element, String qualifier) {
+        MetadataField field = new MetadataField();
+        ReflectionTestUtils.setField(field, "id", id);
+        field.setMetadataSchema(schema);
+        field.setElement(element);
+        field.setQualifier(qualifier);
+        return field;
+    }
+
+    private MetadataValue value(MetadataField field, String text, String lang) {
+        MetadataValue value = new MetadataValue();
+        ReflectionTestUtils.setField(value, "id", values.size() + 1);
+        value.setMetadataField(field);
+        value.setValue(text);
+        value.setLanguage(lang);
+        return value;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.authority;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the cached and batched label lookups of {@link ChoiceAuthorityServiceImpl}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ChoiceAuthorityServiceImplTest {
+
+    private static final String FIELD = "dc_contributor_author";
+
+    private ChoiceAuthorityServiceImpl choiceAuthorityService;
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @Mock
+    private ChoiceAuthority authority;
+
+    @Before
+    public void init() {
+        choiceAuthorityService = new ChoiceAuthorityServiceImpl();
+        ReflectionTestUtils.setField(choiceAuthorityService, "configurationService", configurationService);
+        ReflectionTestUtils.setField(choiceAuthorityService, "cacheManager",
+                                     new ConcurrentMapCacheManager(ChoiceAuthorityServiceImpl.LABEL_CACHE_NAME));
+        ReflectionTestUtils.setField(choiceAuthorityService, "initialized", true);
+        choiceAuthorityService.controller.put(FIELD, authority);
+        when(authority.getPluginInstanceName()).thenReturn("AuthorAuthority");
+        when(configurationService.getBooleanProperty(anyString(), anyBoolean()))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @Test
+    public void testCachedLabel() {
+        when(authority.getLabels(Set.of("a1"), "en")).thenReturn(Map.of("a1", "Smith, John"));
+
+        assertEquals("Smith, John", choiceAuthorityService.getLabel(FIELD, null, "a1", "en"));
+        assertEquals("Smith, John", choiceAuthorityService.getLabel(FIELD, null, "a1", "en"));
+
+        verify(authority, times(1)).getLabels(Set.of("a1"), "en");
+    }
+
+    @Test
+    public void testFailedLookupIsNotCached() {
+        // the authority couldn't be reached, then is back
+        when(authority.getLabels(Set.of("a1"), null)).thenReturn(Map.of(), Map.of("a1", "Smith, John"));
+        when(authority.getLabels(Set.of("a2"), null)).thenReturn(Map.of(), Map.of("a2", "Doe, Jane"));
+
+        assertEquals("a1", choiceAuthorityService.getLabel(FIELD, null, "a1", null));
+        assertEquals(Map.of("a2", "a2"), choiceAuthorityService.getLabels(FIELD, null, List.of("a2"), null));
+
+        assertEquals("Smith, John", choiceAuthorityService.getLabel(FIELD, null, "a1", null));
+        assertEquals(Map.of("a2", "Doe, Jane"), choiceAuthorityService.getLabels(FIELD, null, List.of("a2"), null));
+    }
+
+    @Test
+    public void testBatchLabelsOfUncachedKeys() {
+        when(authority.getLabels(Set.of("a1"), null)).thenReturn(Map.of("a1", "Smith, John"));
+        when(authority.getLabels(Set.of("a2", "a3"), null)).thenReturn(Map.of("a2", "Doe, Jane", "a3", "Roe, Rick"));
+        choiceAuthorityService.getLabel(FIELD, null, "a1", null);
+
+        Map<String, String> labels = choiceAuthorityService.getLabels(FIELD, null, List.of("a1", "a2", "a3"), null);
+
+        assertEquals(Map.of("a1", "Smith, John", "a2", "Doe, Jane", "a3", "Roe, Rick"), labels);
+        // cached by the batch
+        assertEquals("Doe, Jane", choiceAuthorityService.getLabel(FIELD, null, "a2", null));
+        verify(authority, never()).getLabels(Set.of("a2"), null);
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        when(configurationService.getBooleanProperty("choices.cache.enabled.AuthorAuthority", true))
+            .thenReturn(false);
+        when(authority.getLabel("a1", null)).thenReturn("Smith, John");
+
+        choiceAuthorityService.getLabel(FIELD, null, "a1", null);
+        choiceAuthorityService.getLabel(FIELD, null, "a1", null);
+
+        verify(authority, times(2)).getLabel("a1", null);
+    }
+}
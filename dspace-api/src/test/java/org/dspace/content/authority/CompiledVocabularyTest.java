@@ -0,0 +1,125 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.authority;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.dspace.content.authority.CompiledVocabulary.Term;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link CompiledVocabulary}
+ */
+public class CompiledVocabularyTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = folder.newFile("subjects.xml");
+        write("<node id=\"root\" label=\"Subjects\">"
+                  + "<isComposedBy>"
+                  + "<node id=\"sci\" label=\"Natural Sciences\">"
+                  + "<isComposedBy>"
+                  + "<node id=\"bio\" label=\"Biology\"><hasNote> </hasNote><hasNote>Life</hasNote></node>"
+                  + "<node id=\"chem\" label=\"Chemistry\" selectable=\"false\"/>"
+                  + "</isComposedBy>"
+                  + "</node>"
+                  + "<node id=\"hum\" label=\"Humanities\">"
+                  + "<isComposedBy>"
+                  + "<node id=\"hist\" label=\"History of Sciences\"/>"
+                  + "<node id=\"bio2\" label=\"Biology\"/>"
+                  + "</isComposedBy>"
+                  + "</node>"
+                  + "</isComposedBy>"
+                  + "</node>", 1000000000000L);
+    }
+
+    @Test
+    public void testTree() throws Exception {
+        CompiledVocabulary vocabulary = CompiledVocabulary.get(file);
+
+        Term root = vocabulary.getRoot();
+        assertTrue(root.isRoot());
+        assertEquals(List.of("sci", "hum"), root.getChildren().stream().map(Term::getId).toList());
+
+        Term bio = vocabulary.getTerm("bio");
+        assertEquals("Biology", bio.getLabel());
+        assertEquals("Life", bio.getNote());
+        assertSame(vocabulary.getTerm("sci"), bio.getParent());
+        assertTrue(bio.isSelectable());
+        assertFalse(vocabulary.getTerm("chem").isSelectable());
+        assertNull(vocabulary.getTerm("physics"));
+    }
+
+    @Test
+    public void testFindContaining() throws Exception {
+        CompiledVocabulary vocabulary = CompiledVocabulary.get(file);
+
+        assertEquals(List.of("sci", "hist"), ids(vocabulary.findContaining("SCIENCES")));
+        assertEquals(List.of("bio", "bio2"), ids(vocabulary.findContaining("olog")));
+        // shorter than a trigram
+        assertEquals(List.of("chem"), ids(vocabulary.findContaining("em")));
+        assertTrue(vocabulary.findContaining("physics").isEmpty());
+        assertEquals(7, vocabulary.findContaining("").size());
+        // the parts of the path match ancestors, which needn't be the parents
+        assertEquals(List.of("bio"), ids(vocabulary.findContaining("natural", "bio")));
+        assertEquals(List.of("bio", "bio2"), ids(vocabulary.findContaining("subj", "bio")));
+        assertTrue(vocabulary.findContaining("biology", "natural").isEmpty());
+    }
+
+    @Test
+    public void testFindEqual() throws Exception {
+        CompiledVocabulary vocabulary = CompiledVocabulary.get(file);
+
+        assertEquals(List.of("bio", "bio2"), ids(vocabulary.findEqual(false, "Biology")));
+        assertEquals(List.of(), ids(vocabulary.findEqual(false, "biology")));
+        assertEquals(List.of("bio2"), ids(vocabulary.findEqual(false, "Humanities", "Biology")));
+        assertEquals(List.of("chem"), ids(vocabulary.findEqual(true, "sci", "chem")));
+        assertTrue(vocabulary.findEqual(true, "hum", "chem").isEmpty());
+    }
+
+    @Test
+    public void testReloadChangedFile() throws Exception {
+        CompiledVocabulary vocabulary = CompiledVocabulary.get(file);
+        assertSame(vocabulary, CompiledVocabulary.get(file));
+
+        write("<node id=\"root\" label=\"Subjects\"><isComposedBy><node id=\"art\" label=\"Arts\"/></isComposedBy>"
+                  + "</node>", 1000000001000L);
+        CompiledVocabulary reloaded = CompiledVocabulary.get(file);
+        assertEquals(List.of("art"), ids(reloaded.findContaining("arts")));
+
+        // an incomplete file doesn't replace the last compiled vocabulary
+        write("<node id=\"root\" label=\"Subj", 1000000002000L);
+        assertSame(reloaded, CompiledVocabulary.get(file));
+    }
+
+    private void write(String xml, long lastModified) throws Exception {
+        Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+        file.setLastModified(lastModified);
+    }
+
+    private static List<String> ids(List<Term> terms) {
+        return terms.stream().map(Term::getId).toList();
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.content.Item;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link KeysetIterator}
+ */
+public class KeysetIteratorTest {
+
+    private Context context;
+
+    private AbstractHibernateDSODAO<Item> dao;
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    private final Map<UUID, Item> items = new HashMap<>();
+
+    /**
+     * The keys passed to each query
+     */
+    private final List<Object[]> queries = new ArrayList<>();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        context = mock(Context.class);
+        dao = mock(AbstractHibernateDSODAO.class);
+        for (int i = 0; i < 5; i++) {
+            UUID id = UUID.randomUUID();
+            Item item = mock(Item.class);
+            when(item.getID()).thenReturn(id);
+            ids.add(id);
+            items.put(id, item);
+        }
+        ids.sort(null);
+        when(dao.findByIds(eq(context), eq(Item.class), anyList())).thenAnswer(invocation -> {
+            List<UUID> batch = invocation.getArgument(2);
+            return new ArrayList<>(batch.stream().map(items::get).toList());
+        });
+    }
+
+    @Test
+    public void testIterate() throws Exception {
+        List<UUID> found = new ArrayList<>();
+        new KeysetIterator<>(context, Item.class, dao, this::query, 2, false)
+            .forEachRemaining(item -> found.add(item.getID()));
+
+        assertEquals(ids, found);
+        // three batches of 2, 2 and 1: the short batch is the last one
+        assertEquals(3, queries.size());
+        assertNull(queries.get(0));
+        assertEquals(ids.get(1), queries.get(1)[0]);
+        assertEquals(ids.get(3), queries.get(2)[0]);
+        verify(context, never()).uncacheEntities();
+    }
+
+    @Test
+    public void testIterateFullLastBatch() {
+        List<UUID> found = new ArrayList<>();
+        new KeysetIterator<>(context, Item.class, dao, this::query, 5, false)
+            .forEachRemaining(item -> found.add(item.getID()));
+
+        assertEquals(ids, found);
+        // a full batch may not be the last one
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    public void testUncacheBatches() throws Exception {
+        new KeysetIterator<>(context, Item.class, dao, this::query, 2, true).forEachRemaining(item -> { });
+
+        // not before the first batch
+        verify(context, times(2)).uncacheEntities();
+        verify(dao, times(3)).findByIds(any(), any(), anyList());
+    }
+
+    private List<Object[]> query(Object[] after, int limit) {
+        queries.add(after);
+        List<Object[]> keys = new ArrayList<>();
+        for (UUID id : ids) {
+            if ((after == null || id.compareTo((UUID) after[0]) > 0) && keys.size() < limit) {
+                keys.add(new Object[] {id});
+            }
+        }
+        return keys;
+    }
+}
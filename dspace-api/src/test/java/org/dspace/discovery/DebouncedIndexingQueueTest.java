@@ -0,0 +1,91 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the merging of reindexes in {@link DebouncedIndexingQueue}.
+ */
+public class DebouncedIndexingQueueTest {
+
+    private DebouncedIndexingQueue queue;
+
+    @Before
+    public void setUp() {
+        queue = new DebouncedIndexingQueue();
+        queue.setWindow(1000, 5000);
+    }
+
+    @Test
+    public void testMergeWithinWindow() {
+        UUID id = UUID.randomUUID();
+        queue.add("Item-" + id, Constants.ITEM, id, false, 2, 0);
+        queue.add("Item-" + id, Constants.ITEM, id, true, 1, 500);
+
+        assertEquals(1, queue.getPending());
+        assertEquals(3, queue.getReceived());
+        assertEquals(2, queue.getMerged());
+
+        // the second event extended the window
+        assertTrue(queue.takeDue(1000, false).isEmpty());
+        List<DebouncedIndexingQueue.PendingObject> due = queue.takeDue(1500, false);
+        assertEquals(1, due.size());
+        assertEquals(id, due.get(0).getId());
+        assertEquals(3, due.get(0).getEvents());
+        assertTrue(due.get(0).isUnIndexFirst());
+        assertEquals(0, queue.getPending());
+    }
+
+    @Test
+    public void testMaxDelay() {
+        UUID id = UUID.randomUUID();
+        for (long now = 0; now <= 6000; now += 500) {
+            queue.add("Item-" + id, Constants.ITEM, id, false, 1, now);
+            if (now == 4500) {
+                assertTrue(queue.takeDue(now, false).isEmpty());
+            }
+            if (now == 5000) {
+                // the object is modified continuously, but reindexed after the maximum delay
+                assertEquals(1, queue.takeDue(now, false).size());
+            }
+        }
+        assertEquals(1, queue.getPending());
+        assertTrue(queue.takeDue(6500, false).isEmpty());
+        assertFalse(queue.takeDue(7000, false).isEmpty());
+    }
+
+    @Test
+    public void testForce() {
+        UUID item = UUID.randomUUID();
+        UUID collection = UUID.randomUUID();
+        queue.add("Item-" + item, Constants.ITEM, item, false, 1, 0);
+        queue.add("Collection-" + collection, Constants.COLLECTION, collection, false, 1, 0);
+
+        assertTrue(queue.takeDue(10, false).isEmpty());
+        assertEquals(2, queue.takeDue(10, true).size());
+        assertEquals(0, queue.getMerged());
+    }
+
+    @Test
+    public void testAddMerged() {
+        queue.addMerged(4);
+        assertEquals(4, queue.getReceived());
+        assertEquals(4, queue.getMerged());
+        assertEquals(0, queue.getPending());
+    }
+}
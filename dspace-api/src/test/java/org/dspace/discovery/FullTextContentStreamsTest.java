@@ -165,6 +165,7 @@ public class FullTextContentStreamsTest {
         assertEquals("The name should match the concatenation of the names of the bitstreams",
                      "Full Text 1;Full Text 2;Full Text 3", streams.getName());
         assertEquals("The size of the streams should be the sum of the bitstream sizes", (Long) 6L, streams.getSize());
+        assertEquals("There should be a stream for each bitstream", 3, streams.getStreamCount());
         assertFalse("Content stream should not be empty", streams.isEmpty());
         InputStream inputStream = streams.getStream();
         assertNotNull(inputStream);
@@ -0,0 +1,94 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ReindexCheckpoint}.
+ */
+public class ReindexCheckpointTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+
+    private List<UUID> ids;
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("var").resolve("reindex.checkpoint");
+        ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(UUID.randomUUID());
+        }
+    }
+
+    @Test
+    public void testPartitionsCoverAllIds() throws IOException {
+        ReindexCheckpoint checkpoint = ReindexCheckpoint.create(file, ids, 10);
+
+        assertEquals(3, checkpoint.getPartitionCount());
+        List<List<UUID>> partitions = checkpoint.partition(ids);
+        assertEquals(10, partitions.get(0).size());
+        assertEquals(10, partitions.get(1).size());
+        assertEquals(5, partitions.get(2).size());
+
+        List<UUID> all = new ArrayList<>();
+        partitions.forEach(all::addAll);
+        List<UUID> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        assertEquals(sorted, all);
+    }
+
+    @Test
+    public void testResumeKeepsBoundariesAndCompletedRanges() throws IOException {
+        ReindexCheckpoint checkpoint = ReindexCheckpoint.create(file, ids, 10);
+        checkpoint.markCompleted(1);
+
+        ReindexCheckpoint resumed = ReindexCheckpoint.load(file);
+        assertEquals(3, resumed.getPartitionCount());
+        assertTrue(resumed.isCompleted(1));
+        assertFalse(resumed.isCompleted(0));
+        assertFalse(resumed.isCompleted(2));
+        assertEquals(checkpoint.partition(ids), resumed.partition(ids));
+
+        // new ids are assigned to an existing range
+        List<UUID> moreIds = new ArrayList<>(ids);
+        moreIds.add(UUID.randomUUID());
+        List<List<UUID>> partitions = resumed.partition(moreIds);
+        assertEquals(26, partitions.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    public void testDelete() throws IOException {
+        ReindexCheckpoint checkpoint = ReindexCheckpoint.create(file, ids, 10);
+        assertTrue(Files.exists(file));
+
+        checkpoint.delete();
+        assertFalse(Files.exists(file));
+        assertNull(ReindexCheckpoint.load(file));
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SolrDocumentBuffer}.
+ */
+public class SolrDocumentBufferTest {
+
+    private SolrClient solr;
+
+    @Before
+    public void setUp() {
+        solr = mock(SolrClient.class);
+    }
+
+    @Test
+    public void testFlushWhenFull() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solr, 2, 0, 1000);
+
+        buffer.add(document("Item-1"));
+        verify(solr, never()).add(anyCollection(), anyInt());
+
+        buffer.add(document("Item-2"));
+        verify(solr).add(argThat((Collection<SolrInputDocument> docs) -> docs.size() == 2), eq(1000));
+        assertEquals(0, buffer.size());
+        assertEquals(2, buffer.getWritten());
+    }
+
+    @Test
+    public void testSameDocumentIsSentOnce() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solr, 10, 0, -1);
+
+        buffer.add(document("Item-1"));
+        buffer.add(document("Item-1"));
+        buffer.add(document("Item-2"));
+        buffer.discard("Item-2");
+        assertEquals(1, buffer.size());
+
+        buffer.flush();
+        verify(solr).add(argThat((Collection<SolrInputDocument> docs) -> docs.size() == 1), eq(-1));
+    }
+
+    @Test
+    public void testRejectedChunkIsRetriedPerDocument() throws Exception {
+        SolrInputDocument faulty = document("Item-2");
+        when(solr.add(anyCollection(), anyInt())).thenThrow(new SolrServerException("rejected"));
+        when(solr.add(eq(faulty), anyInt())).thenThrow(new SolrServerException("faulty"));
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solr, 10, 0, -1);
+
+        buffer.add(document("Item-1"));
+        buffer.add(faulty);
+        buffer.add(document("Item-3"));
+        buffer.flush();
+
+        verify(solr, times(3)).add(any(SolrInputDocument.class), eq(-1));
+        assertEquals(2, buffer.getWritten());
+        assertEquals(1, buffer.getErrors().size());
+        assertTrue(buffer.getErrors().containsKey("Item-2"));
+    }
+
+    @Test
+    public void testFlushIfExpired() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solr, 10, 50, -1);
+
+        buffer.add(document("Item-1"));
+        buffer.flushIfExpired();
+        verify(solr, never()).add(anyCollection(), anyInt());
+
+        // no more documents are added, the waiting one is sent once it's too old
+        Thread.sleep(60);
+        buffer.flushIfExpired();
+        verify(solr).add(argThat((Collection<SolrInputDocument> docs) -> docs.size() == 1), eq(-1));
+        assertEquals(0, buffer.size());
+    }
+
+    private SolrInputDocument document(String uniqueId) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField(SearchUtils.RESOURCE_UNIQUE_ID, uniqueId);
+        return document;
+    }
+}
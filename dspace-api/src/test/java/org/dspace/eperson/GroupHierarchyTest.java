@@ -0,0 +1,105 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link GroupHierarchy}
+ */
+public class GroupHierarchyTest {
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID d = UUID.randomUUID();
+    private final UUID e = UUID.randomUUID();
+
+    // a -> b -> d, a -> c -> d, e unrelated
+    private final GroupHierarchy hierarchy = new GroupHierarchy(List.of(
+        Pair.of(a, b), Pair.of(a, c), Pair.of(b, d), Pair.of(c, d)));
+
+    @Test
+    public void testDescendants() {
+        assertEquals(Set.of(b, c, d), hierarchy.getDescendants(a));
+        assertEquals(Set.of(d), hierarchy.getDescendants(b));
+        assertTrue(hierarchy.getDescendants(d).isEmpty());
+        assertTrue(hierarchy.getDescendants(e).isEmpty());
+    }
+
+    @Test
+    public void testAncestors() {
+        assertEquals(Set.of(a, b, c), hierarchy.getAncestors(d));
+        assertEquals(Set.of(a), hierarchy.getAncestors(c));
+        assertTrue(hierarchy.getAncestors(a).isEmpty());
+        assertTrue(hierarchy.getAncestors(e).isEmpty());
+    }
+
+    @Test
+    public void testClosure() {
+        assertEquals(Set.of(Pair.of(a, b), Pair.of(a, c), Pair.of(a, d), Pair.of(b, d), Pair.of(c, d)),
+                     hierarchy.getClosure());
+    }
+
+    @Test
+    public void testWithMembership() {
+        UUID f = UUID.randomUUID();
+        GroupHierarchy added = hierarchy.withMembership(d, e).withMembership(f, a);
+
+        assertEquals(Set.of(b, c, d, e), added.getDescendants(a));
+        assertEquals(Set.of(a, b, c, d, f), added.getAncestors(e));
+        assertEquals(new GroupHierarchy(List.of(Pair.of(a, b), Pair.of(a, c), Pair.of(b, d), Pair.of(c, d),
+                                                Pair.of(d, e), Pair.of(f, a))).getClosure(), added.getClosure());
+        // the hierarchy it was added to is unchanged
+        assertTrue(hierarchy.getDescendants(d).isEmpty());
+        assertSame(added, added.withMembership(d, e));
+    }
+
+    @Test
+    public void testWithoutMembership() {
+        GroupHierarchy removed = hierarchy.withoutMembership(b, d);
+
+        // d is still a descendant of a through c
+        assertEquals(Set.of(b, c, d), removed.getDescendants(a));
+        assertEquals(Set.of(a, c), removed.getAncestors(d));
+        assertTrue(removed.getDescendants(b).isEmpty());
+        assertEquals(Set.of(Pair.of(a, b), Pair.of(a, c), Pair.of(a, d), Pair.of(c, d)), removed.getClosure());
+        assertEquals(Set.of(d), hierarchy.getDescendants(b));
+        assertSame(removed, removed.withoutMembership(b, d));
+        assertSame(removed, removed.withoutMembership(d, e));
+
+        // added again
+        assertEquals(hierarchy.getClosure(), removed.withMembership(b, d).getClosure());
+    }
+
+    @Test
+    public void testWithoutGroup() {
+        GroupHierarchy removed = hierarchy.withoutGroup(c);
+
+        assertEquals(Set.of(b, d), removed.getDescendants(a));
+        assertTrue(removed.getAncestors(c).isEmpty());
+        assertEquals(Set.of(Pair.of(a, b), Pair.of(a, d), Pair.of(b, d)), removed.getClosure());
+        assertSame(removed, removed.withoutGroup(e));
+    }
+
+    @Test
+    public void testCycle() {
+        GroupHierarchy cycle = new GroupHierarchy(List.of(Pair.of(a, b), Pair.of(b, a)));
+        assertEquals(Set.of(b), cycle.getDescendants(a));
+        assertEquals(Set.of(Pair.of(a, b), Pair.of(b, a)), cycle.getClosure());
+    }
+}
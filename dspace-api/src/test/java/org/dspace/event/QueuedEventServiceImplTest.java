@@ -0,0 +1,82 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.junit.Test;
+
+/**
+ * Unit tests for the conversion between events and queued events in {@link QueuedEventServiceImpl}.
+ */
+public class QueuedEventServiceImplTest {
+
+    private final QueuedEventServiceImpl queuedEventService = new QueuedEventServiceImpl();
+
+    @Test
+    public void testEventWithObject() {
+        UUID subject = UUID.randomUUID();
+        UUID object = UUID.randomUUID();
+        QueuedEvent queuedEvent = new QueuedEvent();
+        queuedEvent.setEventType(Event.ADD);
+        queuedEvent.setSubjectType(Constants.COLLECTION);
+        queuedEvent.setSubjectId(subject);
+        queuedEvent.setObjectType(Constants.ITEM);
+        queuedEvent.setObjectId(object);
+        queuedEvent.setDetail("detail");
+        queuedEvent.setIdentifiers("123456789/1\nhttp://localhost/handle/123456789/1");
+        queuedEvent.setTransactionId("TX1");
+
+        Event event = queuedEventService.getEvent(queuedEvent);
+
+        assertEquals(Event.ADD, event.getEventType());
+        assertEquals(Constants.COLLECTION, event.getSubjectType());
+        assertEquals(subject, event.getSubjectID());
+        assertEquals(Constants.ITEM, event.getObjectType());
+        assertEquals(object, event.getObjectID());
+        assertEquals("detail", event.getDetail());
+        assertEquals(List.of("123456789/1", "http://localhost/handle/123456789/1"), event.getIdentifiers());
+        assertEquals("TX1", event.getTransactionID());
+    }
+
+    @Test
+    public void testEventWithoutObject() {
+        UUID subject = UUID.randomUUID();
+        Event original = new Event(Event.MODIFY_METADATA, Constants.ITEM, subject, null, new ArrayList<>());
+        QueuedEvent queuedEvent = new QueuedEvent();
+        queuedEvent.setEventType(original.getEventType());
+        queuedEvent.setSubjectType(original.getSubjectType());
+        queuedEvent.setSubjectId(original.getSubjectID());
+        queuedEvent.setObjectType(original.getObjectType());
+
+        Event event = queuedEventService.getEvent(queuedEvent);
+
+        assertEquals(Event.MODIFY_METADATA, event.getEventType());
+        assertEquals(Constants.ITEM, event.getSubjectType());
+        assertEquals(subject, event.getSubjectID());
+        assertEquals(-1, event.getObjectType());
+        assertTrue(event.getIdentifiers().isEmpty());
+    }
+
+    @Test
+    public void testConsumedBy() {
+        QueuedEvent queuedEvent = new QueuedEvent();
+        assertTrue(queuedEventService.getConsumedBy(queuedEvent).isEmpty());
+
+        queuedEvent.setConsumedBy("discovery,versioning");
+        Set<String> consumedBy = queuedEventService.getConsumedBy(queuedEvent);
+        assertEquals(Set.of("discovery", "versioning"), consumedBy);
+    }
+}
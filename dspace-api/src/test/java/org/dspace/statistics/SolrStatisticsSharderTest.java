@@ -0,0 +1,205 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.SolrParams;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for {@link SolrStatisticsSharder}
+ */
+public class SolrStatisticsSharderTest {
+
+    private static final Year YEAR = Year.of(2019);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SolrClient solr;
+
+    private SolrClient core;
+
+    private Path checkpointFile;
+
+    /**
+     * The pages of the usage events of the year, by cursor mark
+     */
+    private final Map<String, List<SolrDocument>> pages = new LinkedHashMap<>();
+
+    private final Map<String, String> nextCursorMarks = new LinkedHashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        checkpointFile = folder.getRoot().toPath().resolve("var").resolve("statistics-shard.properties");
+        solr = mock(SolrClient.class);
+        core = mock(SolrClient.class);
+
+        page(CursorMarkParams.CURSOR_MARK_START, "c1", document("1"), document("2"));
+        page("c1", "c2", document("3"));
+        page("c2", "c2");
+        when(solr.query(any(SolrParams.class))).thenAnswer(invocation -> {
+            SolrParams params = invocation.getArgument(0);
+            if ("0".equals(params.get("rows"))) {
+                return count(3);
+            }
+            String cursorMark = params.get(CursorMarkParams.CURSOR_MARK_PARAM);
+            QueryResponse response = mock(QueryResponse.class);
+            SolrDocumentList results = new SolrDocumentList();
+            results.addAll(pages.get(cursorMark));
+            when(response.getResults()).thenReturn(results);
+            when(response.getNextCursorMark()).thenReturn(nextCursorMarks.get(cursorMark));
+            return response;
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMoveYear() throws Exception {
+        when(core.query(any(SolrParams.class))).thenAnswer(invocation -> count(3));
+
+        assertEquals(3, sharder().moveYear(YEAR, 3));
+
+        ArgumentCaptor<Collection<SolrInputDocument>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(core, times(2)).add(batches.capture());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        SolrInputDocument copied = batches.getAllValues().get(0).iterator().next();
+        assertEquals("1", copied.getFieldValue("uid"));
+        assertFalse(copied.containsKey("_version_"));
+        verify(core).commit(true, true);
+        verify(solr).deleteByQuery("time:[2019-01-01T00:00:00Z TO 2020-01-01T00:00:00Z}");
+        verify(core).close();
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    public void testKeepYearWhenCountsDiffer() throws Exception {
+        when(core.query(any(SolrParams.class))).thenAnswer(invocation -> count(2));
+
+        try {
+            sharder().moveYear(YEAR, 3);
+            fail("The year shouldn't be moved when the core of the year misses usage events");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("not deleting"));
+        }
+        verify(solr, never()).deleteByQuery(anyString());
+        // the next run copies the year again from the start
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    public void testContinueFromCheckpoint() throws Exception {
+        Files.createDirectories(checkpointFile.getParent());
+        Files.writeString(checkpointFile, "2019.cursor=c1\n2019.copied=2\n");
+        when(core.query(any(SolrParams.class))).thenAnswer(invocation -> count(3));
+
+        assertEquals(3, sharder().moveYear(YEAR, 3));
+
+        // only the usage events after the checkpoint are copied again
+        verify(core, times(1)).add(anyCollection());
+        verify(solr).deleteByQuery(anyString());
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    public void testShardMovesOtherYearsWhenOneFails() throws Exception {
+        Set<Year> moved = ConcurrentHashMap.newKeySet();
+        SolrStatisticsSharder sharder = new SolrStatisticsSharder(solr, name -> core, "statistics", 2, 2,
+                                                                  checkpointFile) {
+            @Override
+            protected Map<Year, Long> findYears() {
+                Map<Year, Long> years = new LinkedHashMap<>();
+                years.put(Year.of(2018), 10L);
+                years.put(Year.of(2019), 20L);
+                years.put(Year.of(2020), 30L);
+                return years;
+            }
+
+            @Override
+            protected long moveYear(Year year, long expected) throws IOException {
+                if (year.getValue() == 2019) {
+                    throw new IOException("Solr is down");
+                }
+                moved.add(year);
+                return expected;
+            }
+        };
+
+        try {
+            sharder.shard();
+            fail("Sharding should fail when one of the years can't be moved");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("[2019]"));
+        }
+        assertEquals(Set.of(Year.of(2018), Year.of(2020)), moved);
+    }
+
+    private SolrStatisticsSharder sharder() {
+        return new SolrStatisticsSharder(solr, name -> {
+            assertEquals("statistics-2019", name);
+            return core;
+        }, "statistics", 2, 2, checkpointFile);
+    }
+
+    private void page(String cursorMark, String nextCursorMark, SolrDocument... documents) {
+        pages.put(cursorMark, new ArrayList<>(List.of(documents)));
+        nextCursorMarks.put(cursorMark, nextCursorMark);
+    }
+
+    private SolrDocument document(String uid) {
+        SolrDocument document = new SolrDocument();
+        document.addField("uid", uid);
+        document.addField("type", 2);
+        document.addField("owningComm", "a");
+        document.addField("owningComm", "b");
+        document.addField("_version_", 1L);
+        return document;
+    }
+
+    private QueryResponse count(long numFound) {
+        QueryResponse response = mock(QueryResponse.class);
+        SolrDocumentList results = new SolrDocumentList();
+        results.setNumFound(numFound);
+        when(response.getResults()).thenReturn(results);
+        return response;
+    }
+}
@@ -0,0 +1,247 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.UpdateResponse;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link SolrStatisticsWriter}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SolrStatisticsWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private SolrClient solr;
+
+    private Path spillDirectory;
+
+    @Before
+    public void setUp() {
+        spillDirectory = folder.getRoot().toPath().resolve("spill");
+    }
+
+    @Test
+    public void testFlushSendsBatches() throws Exception {
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 10, 2, 1000, 1000, false, spillDirectory);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(writer.add(document(i)));
+        }
+        assertEquals(5, writer.getQueueDepth());
+
+        writer.flush();
+
+        verify(solr, times(3)).add(anyCollection());
+        verify(solr, never()).commit(false, false);
+        assertEquals(0, writer.getQueueDepth());
+        assertEquals(5, writer.getWritten());
+    }
+
+    @Test
+    public void testCommitAfterBatch() throws Exception {
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 10, 10, 1000, 1000, true, spillDirectory);
+        writer.add(document(1));
+        writer.flush();
+
+        verify(solr).add(anyCollection());
+        verify(solr).commit(false, false);
+    }
+
+    @Test
+    public void testDropWhenBufferIsFull() {
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 2, 10, 1000, 1000, false, spillDirectory);
+        assertTrue(writer.add(document(1)));
+        assertTrue(writer.add(document(2)));
+        assertFalse(writer.add(document(3)));
+
+        assertEquals(2, writer.getQueueDepth());
+        assertEquals(2, writer.getCapacity());
+        assertEquals(2, writer.getAdded());
+        assertEquals(1, writer.getDropped());
+    }
+
+    @Test
+    public void testSpillWhenSolrIsUnavailable() throws Exception {
+        when(solr.add(anyCollection())).thenThrow(new SolrServerException("Solr is down"));
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 10, 2, 1000, 60_000, false, spillDirectory);
+        for (int i = 0; i < 3; i++) {
+            writer.add(document(i));
+        }
+
+        writer.flush();
+
+        // Solr is only tried once until the retry interval passed
+        verify(solr, times(1)).add(anyCollection());
+        assertEquals(0, writer.getWritten());
+        assertEquals(3, writer.getSpilled());
+        assertEquals(2, writer.getPendingSpillFiles());
+        assertEquals(2, Files.list(spillDirectory).count());
+
+        // the spilled batches are found again after a restart
+        assertEquals(2, new SolrStatisticsWriter(solr, 10, 2, 1000, 60_000, false, spillDirectory)
+            .getPendingSpillFiles());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReplaySpilledBatches() throws Exception {
+        when(solr.add(anyCollection())).thenThrow(new SolrServerException("Solr is down"))
+                                       .thenReturn(new UpdateResponse());
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 10, 2, 1000, 0, false, spillDirectory);
+        writer.add(document(1));
+        writer.add(document(2));
+
+        writer.flush();
+
+        ArgumentCaptor<Collection<SolrInputDocument>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(solr, times(2)).add(captor.capture());
+        List<Collection<SolrInputDocument>> batches = captor.getAllValues();
+        assertEquals(List.of("1", "2"), ids(batches.get(1)));
+        assertEquals(2, writer.getWritten());
+        assertEquals(0, writer.getPendingSpillFiles());
+        assertEquals(0, Files.list(spillDirectory).count());
+    }
+
+    @Test
+    public void testClaimedBatchIsSentOnce() throws Exception {
+        when(solr.add(anyCollection())).thenThrow(new SolrServerException("Solr is down"),
+                                                  new SolrServerException("Solr is still down"))
+                                       .thenReturn(new UpdateResponse());
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 10, 2, 1000, 0, false, spillDirectory);
+        writer.add(document(1));
+        // the batch is spilled, and tried again as Solr may be back
+        writer.flush();
+        verify(solr, times(2)).add(anyCollection());
+        assertEquals(1, writer.getPendingSpillFiles());
+
+        // another writer claimed the spilled batch
+        Path spilled;
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            spilled = files.findFirst().orElseThrow();
+        }
+        Path claimed = spilled.resolveSibling(spilled.getFileName() + ".other");
+        Files.move(spilled, claimed);
+        writer.flush();
+        verify(solr, times(2)).add(anyCollection());
+        assertEquals(0, writer.getWritten());
+
+        // a recent claim is left to its writer
+        SolrStatisticsWriter restarted = new SolrStatisticsWriter(solr, 10, 2, 1000, 0, false, spillDirectory);
+        restarted.start();
+        restarted.close();
+        verify(solr, times(2)).add(anyCollection());
+
+        // the claim of a writer which stopped is released
+        Files.setLastModifiedTime(claimed, FileTime.fromMillis(
+            System.currentTimeMillis() - SolrStatisticsWriter.STALE_CLAIM - 1000));
+        restarted = new SolrStatisticsWriter(solr, 10, 2, 1000, 0, false, spillDirectory);
+        restarted.start();
+        restarted.close();
+        verify(solr, times(3)).add(anyCollection());
+        assertEquals(1, restarted.getWritten());
+        assertEquals(0, Files.list(spillDirectory).count());
+    }
+
+    @Test
+    public void testDropRefusedBatch() throws Exception {
+        when(solr.add(anyCollection())).thenThrow(new SolrException(SolrException.ErrorCode.BAD_REQUEST, "Bad"));
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 10, 2, 1000, 1000, false, spillDirectory);
+        writer.add(document(1));
+
+        writer.flush();
+
+        assertEquals(1, writer.getDropped());
+        assertEquals(0, writer.getSpilled());
+    }
+
+    @Test
+    public void testDropRefusedSpilledBatch() throws Exception {
+        when(solr.add(anyCollection())).thenThrow(new SolrServerException("Solr is down"),
+                                                  new SolrException(SolrException.ErrorCode.BAD_REQUEST, "Bad"))
+                                       .thenReturn(new UpdateResponse());
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 10, 2, 1000, 0, false, spillDirectory);
+        writer.add(document(1));
+
+        // the batch is spilled, then refused when it's tried again
+        writer.flush();
+
+        verify(solr, times(2)).add(anyCollection());
+        assertEquals(1, writer.getDropped());
+        assertEquals(0, writer.getPendingSpillFiles());
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertTrue(files.allMatch(file -> file.getFileName().toString().endsWith(".failed")));
+        }
+
+        // it isn't retried, newer batches are sent
+        writer.add(document(2));
+        writer.flush();
+        verify(solr, times(3)).add(anyCollection());
+        assertEquals(1, writer.getWritten());
+    }
+
+    @Test
+    public void testBackgroundFlush() throws Exception {
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 10, 2, 60_000, 1000, false, spillDirectory);
+        writer.start();
+        try {
+            // a complete batch is sent without waiting for the flush interval
+            writer.add(document(1));
+            writer.add(document(2));
+            verify(solr, timeout(5000)).add(anyCollection());
+        } finally {
+            writer.close();
+        }
+        assertFalse(writer.add(document(3)));
+    }
+
+    private SolrInputDocument document(int id) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("id", String.valueOf(id));
+        document.addField("type", 2);
+        return document;
+    }
+
+    private List<String> ids(Collection<SolrInputDocument> documents) {
+        return new ArrayList<>(documents).stream()
+                                         .map(document -> (String) document.getFieldValue("id"))
+                                         .collect(Collectors.toList());
+    }
+}
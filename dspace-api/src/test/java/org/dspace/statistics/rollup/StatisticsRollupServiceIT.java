@@ -0,0 +1,164 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the {@link StatisticsRollupServiceImpl}, aggregating the views of the (embedded) statistics
+ * core.
+ */
+public class StatisticsRollupServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String IP = "192.168.1.1";
+
+    private final SolrLoggerService solrLoggerService =
+        StatisticsServiceFactory.getInstance().getSolrLoggerService();
+
+    private final StatisticsRollupService statisticsRollupService =
+        StatisticsServiceFactory.getInstance().getStatisticsRollupService();
+
+    private Item item;
+
+    private Bitstream bitstream;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, community).withName("Collection").build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        try (InputStream is = IOUtils.toInputStream("content", StandardCharsets.UTF_8)) {
+            bitstream = BitstreamBuilder.createBitstream(context, item, is).withName("file.txt").build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    @After
+    public void removeRollups() throws Exception {
+        statisticsRollupService.reset(context, null);
+        context.commit();
+    }
+
+    @Test
+    public void testRollup() throws Exception {
+        solrLoggerService.postView(item, IP, "Firefox", null, null, "https://www.example.org/search?q=item");
+        solrLoggerService.postView(item, IP, "Firefox", null, null, "https://www.example.org/browse");
+        solrLoggerService.postView(item, IP, "Firefox", null, null, null);
+        solrLoggerService.postView(bitstream, IP, "Firefox", null, null, null);
+        solrLoggerService.postView(bitstream, IP, "Firefox", null, null, null);
+        solrLoggerService.commit();
+
+        Instant end = Instant.now().plusMillis(1);
+        assertEquals(5, statisticsRollupService.rollup(context, end));
+        assertEquals(end.toEpochMilli(), statisticsRollupService.getWatermark(context).toEpochMilli());
+
+        assertEquals(3, statisticsRollupService.countViews(context, item));
+        assertEquals(2, statisticsRollupService.countViews(context, bitstream));
+        assertEquals(Map.of("US", 3L), statisticsRollupService.countViewsByCountry(context, item, 10));
+        assertEquals(Map.of(bitstream.getID(), 2L), statisticsRollupService.countDownloads(context, item, 10));
+        assertEquals(Map.of(item.getID(), 3L), statisticsRollupService.findMostViewed(context, Constants.ITEM, 10));
+
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        Map<YearMonth, Long> months = statisticsRollupService.countViewsByMonth(context, item, now.minusMonths(2),
+                                                                                 now);
+        assertEquals(3, months.size());
+        assertEquals(0L, (long) months.get(now.minusMonths(1)));
+        assertEquals(3L, (long) months.get(now));
+    }
+
+    @Test
+    public void testRollupContinuesFromWatermark() throws Exception {
+        solrLoggerService.postView(item, IP, "Firefox", null, null, "https://www.example.org/browse");
+        solrLoggerService.commit();
+        assertEquals(1, statisticsRollupService.rollup(context, Instant.now().plusMillis(1)));
+
+        Thread.sleep(10);
+        solrLoggerService.postView(item, IP, "Firefox", null, null, "https://www.example.org/browse");
+        solrLoggerService.postView(item, IP, "Firefox", null, null, null);
+        solrLoggerService.commit();
+
+        // only the new views are aggregated, into the rollups of the same day
+        assertEquals(2, statisticsRollupService.rollup(context, Instant.now().plusMillis(1)));
+        assertEquals(3, statisticsRollupService.countViews(context, item));
+
+        // nothing new
+        assertEquals(0, statisticsRollupService.rollup(context, Instant.now().plusMillis(1)));
+        assertEquals(3, statisticsRollupService.countViews(context, item));
+    }
+
+    @Test
+    public void testRollupCountsLateViews() throws Exception {
+        solrLoggerService.postView(item, IP, "Firefox", null, null, null);
+        solrLoggerService.commit();
+        Instant watermark = Instant.now().plusSeconds(60);
+        assertEquals(1, statisticsRollupService.rollup(context, watermark));
+
+        // added to the statistics core after the watermark passed their time
+        solrLoggerService.postView(item, IP, "Firefox", null, null, null);
+        solrLoggerService.postView(bitstream, IP, "Firefox", null, null, null);
+        solrLoggerService.commit();
+
+        assertEquals(2, statisticsRollupService.rollup(context, watermark.plusSeconds(60)));
+        assertEquals(2, statisticsRollupService.countViews(context, item));
+        assertEquals(1, statisticsRollupService.countViews(context, bitstream));
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        solrLoggerService.postView(item, IP, "Firefox", null, null, null);
+        solrLoggerService.commit();
+        statisticsRollupService.rollup(context, Instant.now().plusMillis(1));
+
+        statisticsRollupService.reset(context, null);
+        context.commit();
+        assertNull(statisticsRollupService.getWatermark(context));
+        assertEquals(0, statisticsRollupService.countViews(context, item));
+
+        // everything is aggregated again
+        assertEquals(1, statisticsRollupService.rollup(context, Instant.now().plusMillis(1)));
+        assertEquals(1, statisticsRollupService.countViews(context, item));
+    }
+
+    @Test
+    public void testNoViews() throws Exception {
+        assertEquals(0, statisticsRollupService.rollup(context, Instant.now()));
+        assertNull(statisticsRollupService.getWatermark(context));
+        assertTrue(statisticsRollupService.countViewsByCountry(context, item, 10).isEmpty());
+    }
+}
@@ -163,6 +163,29 @@ public class IPTableTest {
         assertFalse("Range should not contain value above upper limit", instance.contains("192.168.2.0"));
     }
 
+    @Test
+    public void testOverlappingRangesContains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("10.0.0.0 - 10.0.0.100");
+        instance.add("10.0.0.50 - 10.0.0.150");
+        instance.add("10.0.0.151 - 10.0.0.160");
+        instance.add("10.0.1.0/30");
+        instance.add("9.255.255.255");
+
+        assertTrue("Overlapping ranges should be merged", instance.contains("10.0.0.120"));
+        assertTrue("Adjacent ranges should be merged", instance.contains("10.0.0.160"));
+        assertTrue("Range after merged ranges should match", instance.contains("10.0.1.3"));
+        assertTrue("Single address before ranges should match", instance.contains("9.255.255.255"));
+
+        assertFalse("Gap between ranges should not match", instance.contains("10.0.0.161"));
+        assertFalse("Address after all ranges should not match", instance.contains("10.0.1.4"));
+        assertFalse("Address before all ranges should not match", instance.contains("9.255.255.254"));
+
+        // Adding a range after a lookup should be taken into account
+        instance.add("10.0.0.161");
+        assertTrue("Range added after a lookup should match", instance.contains("10.0.0.161"));
+    }
+
     /**
      * Test of isEmpty method, of class IPTable.
      * @throws java.lang.Exception passed through.
@@ -7,9 +7,12 @@
  */
 package org.dspace.statistics.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Map;
+
 import org.dspace.AbstractDSpaceTest;
 import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.service.ClientInfoService;
@@ -184,6 +187,27 @@ public class SpiderDetectorServiceImplTest extends AbstractDSpaceTest {
     }
 
 
+    /**
+     * Test the hits are counted against the pattern or file which detected the spider
+     */
+    @Test
+    public void testGetHits() {
+        assertTrue(spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, "msnbot is watching you"));
+        assertTrue(spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, "msnbot again"));
+        assertTrue(spiderDetectorService.isSpider("192.168.2.1", null, null, null));
+        assertFalse(spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, "Firefox"));
+
+        Map<String, Long> hits = spiderDetectorService.getHits();
+        assertEquals(Long.valueOf(2), hits.get("agents: ^msnbot"));
+        assertEquals(Long.valueOf(1), hits.get("ip: dspace-address-testing.txt"));
+        assertEquals(2, hits.size());
+
+        // Reloading starts counting again
+        spiderDetectorService.reload();
+        assertTrue(spiderDetectorService.getHits().isEmpty());
+        assertTrue(spiderDetectorService.isSpider("192.168.2.1", null, null, null));
+    }
+
     /**
      * Test if Case Sensitive matching still works after adding the option
      *
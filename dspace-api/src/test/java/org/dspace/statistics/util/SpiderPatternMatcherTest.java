@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SpiderPatternMatcher}
+ */
+public class SpiderPatternMatcherTest {
+
+    @Test
+    public void testMatchWords() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(List.of("crawl", "AllenTrack", "archiver", "hive"));
+
+        assertEquals("crawl", matcher.match("Mozilla/5.0 (compatible; SomeCrawler; crawler.example.com)"));
+        assertEquals("AllenTrack", matcher.match("AllenTrack/1.0"));
+        // "archiver" fails over to "hive" half way
+        assertEquals("hive", matcher.match("archhiver"));
+        // the pattern ending first is found, even though a longer pattern matches too
+        assertEquals("hive", matcher.match("web archiver"));
+        assertNull(matcher.match("Mozilla/5.0 (X11; Linux x86_64; rv:91.0) Gecko/20100101 Firefox/91.0"));
+        assertNull(matcher.match("allentrack"));
+    }
+
+    @Test
+    public void testMatchRegularExpressions() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(List.of("^Buck\\/[0-9]", "^.?$", "[^a]fish",
+                                                                        "bot"));
+
+        assertEquals("^Buck\\/[0-9]", matcher.match("Buck/2.1"));
+        assertEquals("^.?$", matcher.match("x"));
+        assertEquals("[^a]fish", matcher.match("swordfish"));
+        assertEquals("bot", matcher.match("Googlebot/2.1"));
+        assertNull(matcher.match("Buck/x"));
+        assertNull(matcher.match("afish"));
+    }
+
+    @Test
+    public void testIgnoreInvalidPatterns() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(List.of("(unclosed", "spider[", "slurp"));
+
+        assertEquals(1, matcher.size());
+        assertEquals("slurp", matcher.match("Yahoo! Slurp slurp"));
+        assertNull(matcher.match("(unclosed"));
+    }
+
+    @Test
+    public void testHits() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(List.of("bot", "^curl\\/", "spider"));
+
+        matcher.match("Googlebot");
+        matcher.match("bingbot");
+        matcher.match("curl/8.0");
+        matcher.match("Firefox");
+
+        Map<String, Long> hits = matcher.getHits();
+        assertEquals(Map.of("bot", 2L, "^curl\\/", 1L), hits);
+        assertTrue(new SpiderPatternMatcher(List.of()).getHits().isEmpty());
+        assertNull(new SpiderPatternMatcher(List.of()).match("bot"));
+    }
+}
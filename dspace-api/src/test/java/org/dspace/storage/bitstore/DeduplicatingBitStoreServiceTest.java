@@ -0,0 +1,123 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.dspace.content.Bitstream;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link DeduplicatingBitStoreService}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DeduplicatingBitStoreServiceTest {
+
+    private DeduplicatingBitStoreService store;
+
+    @Mock
+    private BitStoreService delegate;
+
+    @Mock
+    private BitstreamService bitstreamService;
+
+    @Mock
+    private Context context;
+
+    @Mock
+    private Bitstream bitstream;
+
+    @Mock
+    private Bitstream existing;
+
+    private final InputStream input = new ByteArrayInputStream(new byte[0]);
+
+    @Before
+    public void init() {
+        store = new DeduplicatingBitStoreService();
+        store.setDelegate(delegate);
+        store.setBitstreamService(bitstreamService);
+    }
+
+    @Test
+    public void testNewContent() throws Exception {
+        when(bitstreamService.findDuplicateContent(context, bitstream, 5)).thenReturn(List.of());
+
+        store.put(context, bitstream, input);
+
+        verify(delegate).put(bitstream, input);
+        verify(delegate, never()).remove(bitstream);
+        verify(bitstream, never()).setInternalId(anyString());
+    }
+
+    @Test
+    public void testSameContent() throws Exception {
+        when(bitstreamService.findDuplicateContent(context, bitstream, 5)).thenReturn(List.of(existing));
+        when(delegate.get(bitstream)).thenReturn(content("same"));
+        when(delegate.get(existing)).thenReturn(content("same"));
+        when(existing.getInternalId()).thenReturn("existing");
+
+        store.put(context, bitstream, input);
+
+        verify(delegate).put(bitstream, input);
+        verify(delegate).remove(bitstream);
+        verify(bitstream).setInternalId("existing");
+    }
+
+    @Test
+    public void testChecksumCollision() throws Exception {
+        when(bitstreamService.findDuplicateContent(context, bitstream, 5)).thenReturn(List.of(existing));
+        when(delegate.get(bitstream)).thenReturn(content("this"));
+        when(delegate.get(existing)).thenReturn(content("that"));
+
+        store.put(context, bitstream, input);
+
+        verify(delegate, never()).remove(bitstream);
+        verify(bitstream, never()).setInternalId(anyString());
+    }
+
+    @Test
+    public void testWithoutContentVerification() throws Exception {
+        store.setVerifyContent(false);
+        when(bitstreamService.findDuplicateContent(context, bitstream, 5)).thenReturn(List.of(existing));
+        when(delegate.about(existing, List.of("size_bytes"))).thenReturn(null);
+
+        store.put(context, bitstream, input);
+
+        // the asset of the existing bitstream is missing, so it can't be shared
+        verify(delegate, never()).get(existing);
+        verify(delegate, never()).remove(bitstream);
+    }
+
+    @Test
+    public void testPutWithoutContext() throws Exception {
+        store.put(bitstream, input);
+
+        verify(delegate).put(bitstream, input);
+        verifyNoInteractions(bitstreamService);
+    }
+
+    private InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -44,6 +44,7 @@ import io.findify.s3mock.S3Mock;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.matcher.LambdaMatcher;
 import org.dspace.authorize.AuthorizeException;
@@ -194,6 +195,66 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testBitstreamMultipartPutAndGet() throws IOException {
+
+        long partSize = 5 * 1024 * 1024;
+        s3BitStoreService.setPartSize(partSize);
+        s3BitStoreService.setUploadConcurrency(2);
+        // with memory for a single part, the parts are read and sent one at a time
+        s3BitStoreService.setUploadMemory(partSize);
+        // the downloads read the parts back one chunk at a time, with no memory left to read ahead
+        s3BitStoreService.setBufferSize(partSize);
+        s3BitStoreService.setDownloadMemory(partSize);
+        s3BitStoreService.setDownloadWait(10);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        // sent in three parts, the last one smaller
+        String content = StringUtils.repeat("0123456789", 1_100_000);
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        assertThat(bitstream.getSizeBytes(), is((long) content.length()));
+        assertThat(bitstream.getChecksum(), is(Utils.toHex(generateChecksum(content))));
+        assertThat(bitstream.getChecksumAlgorithm(), is(CSA));
+
+        try (InputStream first = s3BitStoreService.get(bitstream);
+             InputStream second = s3BitStoreService.get(bitstream)) {
+            // the first download holds the memory of its chunk, so the second one reads its chunks straight from S3
+            assertThat(IOUtils.toString(second, UTF_8), is(content));
+            assertThat(IOUtils.toString(first, UTF_8), is(content));
+        }
+
+    }
+
+    @Test
+    public void testCopyFromOtherS3Store() throws IOException {
+
+        s3BitStoreService.init();
+
+        S3BitStoreService destinationStore = new S3BitStoreService(amazonS3Client);
+        destinationStore.setEnabled(true);
+        destinationStore.setBucketName("destinationbucket");
+        destinationStore.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        assertTrue(destinationStore.copyFrom(s3BitStoreService, bitstream));
+        assertFalse(destinationStore.copyFrom(new DSBitStoreService(), bitstream));
+
+        InputStream inputStream = destinationStore.get(bitstream);
+        assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+
+    }
+
     @Test
     public void testBitstreamPutAndGetWithSubFolder() throws IOException {
 
@@ -0,0 +1,147 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.SolrParams;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SolrDocumentStreamer}
+ */
+public class SolrDocumentStreamerTest {
+
+    private SolrClient solr;
+
+    /**
+     * The pages of the documents, by cursor mark
+     */
+    private final Map<String, List<SolrDocument>> pages = new LinkedHashMap<>();
+
+    private final Map<String, String> nextCursorMarks = new LinkedHashMap<>();
+
+    private final List<String> cursorMarksRead = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        solr = mock(SolrClient.class);
+
+        page(CursorMarkParams.CURSOR_MARK_START, "c1", document("1"), document("2"));
+        page("c1", "c2", document("3"), document("4"));
+        page("c2", "c3", document("5"));
+        page("c3", "c3");
+        when(solr.query(any(SolrParams.class))).thenAnswer(invocation -> {
+            SolrParams params = invocation.getArgument(0);
+            assertEquals("uid asc", params.get("sort"));
+            assertEquals("2", params.get("rows"));
+            String cursorMark = params.get(CursorMarkParams.CURSOR_MARK_PARAM);
+            synchronized (cursorMarksRead) {
+                cursorMarksRead.add(cursorMark);
+            }
+            QueryResponse response = mock(QueryResponse.class);
+            SolrDocumentList results = new SolrDocumentList();
+            results.addAll(pages.get(cursorMark));
+            when(response.getResults()).thenReturn(results);
+            when(response.getNextCursorMark()).thenReturn(nextCursorMarks.get(cursorMark));
+            return response;
+        });
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        Map<Long, List<String>> batches = new TreeMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger closed = new AtomicInteger();
+
+        long count = new SolrDocumentStreamer(solr, "uid", 2, 2, "test-stream")
+            .stream(new SolrQuery("*:*").setRows(100), () -> new SolrDocumentStreamer.Worker() {
+                @Override
+                public void process(long offset, List<SolrDocument> documents) {
+                    List<String> uids = new ArrayList<>();
+                    documents.forEach(document -> uids.add((String) document.getFirstValue("uid")));
+                    synchronized (batches) {
+                        batches.put(offset, uids);
+                    }
+                    threads.add(Thread.currentThread().getName());
+                }
+
+                @Override
+                public void close() {
+                    closed.incrementAndGet();
+                }
+            });
+
+        assertEquals(5, count);
+        assertEquals(Map.of(0L, List.of("1", "2"), 2L, List.of("3", "4"), 4L, List.of("5")), batches);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("test-stream-")));
+        assertEquals(threads.size(), closed.get());
+        assertEquals(List.of(CursorMarkParams.CURSOR_MARK_START, "c1", "c2", "c3"), cursorMarksRead);
+    }
+
+    @Test
+    public void testStopWhenWorkerFails() throws Exception {
+        try {
+            new SolrDocumentStreamer(solr, "uid", 1, 2, "test-stream").stream(new SolrQuery("*:*"), () ->
+                (offset, documents) -> {
+                    throw new IOException("Solr is down");
+                });
+            fail("Streaming should fail when a worker fails");
+        } catch (IOException e) {
+            assertEquals("Solr is down", e.getMessage());
+        }
+        // the failure stops reading: at most the batches already queued are read after the failing one
+        assertFalse(cursorMarksRead.contains("c3"));
+    }
+
+    @Test
+    public void testToInputDocument() {
+        SolrInputDocument input = SolrDocumentStreamer.toInputDocument(document("1"));
+        assertEquals("1", input.getFieldValue("uid"));
+        assertEquals(List.of("a", "b"), new ArrayList<>(input.getFieldValues("owningComm")));
+        assertFalse(input.containsKey("_version_"));
+    }
+
+    private void page(String cursorMark, String nextCursorMark, SolrDocument... documents) {
+        pages.put(cursorMark, new ArrayList<>(List.of(documents)));
+        nextCursorMarks.put(cursorMark, nextCursorMark);
+    }
+
+    private SolrDocument document(String uid) {
+        SolrDocument document = new SolrDocument();
+        document.addField("uid", uid);
+        document.addField("owningComm", "a");
+        document.addField("owningComm", "b");
+        document.addField("_version_", 1L);
+        return document;
+    }
+}
@@ -16,6 +16,7 @@ import org.dspace.xoai.services.api.HandleResolver;
 import org.dspace.xoai.services.api.cache.XOAICacheService;
 import org.dspace.xoai.services.api.cache.XOAIItemCacheService;
 import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
+import org.dspace.xoai.services.api.cache.XOAILastImportCacheService;
 import org.dspace.xoai.services.api.config.ConfigurationService;
 import org.dspace.xoai.services.api.config.XOAIManagerResolver;
 import org.dspace.xoai.services.api.config.XOAIManagerResolverException;
@@ -34,6 +35,7 @@ import org.dspace.xoai.services.impl.cache.DSpaceEmptyCacheService;
 import org.dspace.xoai.services.impl.cache.DSpaceXOAICacheService;
 import org.dspace.xoai.services.impl.cache.DSpaceXOAIItemCacheService;
 import org.dspace.xoai.services.impl.cache.DSpaceXOAILastCompilationCacheService;
+import org.dspace.xoai.services.impl.cache.DSpaceXOAILastImportCacheService;
 import org.dspace.xoai.services.impl.config.DSpaceConfigurationService;
 import org.dspace.xoai.services.impl.context.DSpaceContextService;
 import org.dspace.xoai.services.impl.context.DSpaceXOAIManagerResolver;
@@ -92,6 +94,11 @@ public class BasicConfiguration {
         return new DSpaceXOAILastCompilationCacheService();
     }
 
+    @Bean
+    public XOAILastImportCacheService xoaiLastImportCacheService() {
+        return new DSpaceXOAILastImportCacheService();
+    }
+
     @Bean
     public XOAIItemCacheService xoaiItemCacheService() {
         return new DSpaceXOAIItemCacheService();
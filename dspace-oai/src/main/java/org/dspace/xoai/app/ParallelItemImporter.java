@@ -0,0 +1,198 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.app;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.xoai.solr.exceptions.DSpaceSolrIndexerException;
+
+/**
+ * Imports items into the OAI Solr core, in batches handed to a pool of workers, each with its own context. The
+ * documents are added to Solr without committing them: the caller commits once, after {@link #finish()}. Once a batch
+ * failed, the following ones are skipped.
+ */
+public class ParallelItemImporter implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(ParallelItemImporter.class);
+
+    /**
+     * Marks the end of the items for the workers
+     */
+    private static final List<UUID> END_OF_ITEMS = Collections.emptyList();
+
+    /**
+     * Indexes a batch of items
+     */
+    @FunctionalInterface
+    public interface BatchIndexer {
+
+        /**
+         * @param context the context of the worker
+         * @param ids     the UUIDs of the items
+         * @return the Solr documents of the items which are indexed
+         */
+        List<SolrInputDocument> index(Context context, List<UUID> ids)
+            throws SolrServerException, IOException, SQLException;
+    }
+
+    private final SolrClient server;
+    private final int batchSize;
+    private final int threads;
+    private final BatchIndexer indexer;
+
+    private final BlockingQueue<List<UUID>> queue;
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private final AtomicInteger imported = new AtomicInteger();
+    private final ExecutorService executor;
+    private final List<Future<?>> workers;
+
+    private List<UUID> batch;
+    private int added = 0;
+
+    /**
+     * Start the workers
+     *
+     * @param server         the OAI Solr core
+     * @param batchSize      the number of items of a batch
+     * @param threads        the number of workers
+     * @param contextFactory creates the context of a worker, which is aborted once the worker is done
+     * @param indexer        indexes the batches
+     */
+    public ParallelItemImporter(SolrClient server, int batchSize, int threads, Supplier<Context> contextFactory,
+                                BatchIndexer indexer) {
+        this.server = server;
+        this.batchSize = Math.max(1, batchSize);
+        this.threads = Math.max(1, threads);
+        this.indexer = indexer;
+        this.queue = new ArrayBlockingQueue<>(this.threads);
+        this.batch = new ArrayList<>(this.batchSize);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "oai-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers = new ArrayList<>(this.threads);
+        for (int t = 0; t < this.threads; t++) {
+            workers.add(executor.submit(() -> {
+                indexBatches(contextFactory);
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * @return true once a batch failed, the items added after it are skipped
+     */
+    public boolean isFailed() {
+        return failure.get() != null;
+    }
+
+    /**
+     * Add an item to import, waiting while all the workers are busy and a batch is already waiting for them
+     *
+     * @param id the UUID of the item
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void add(UUID id) throws InterruptedException {
+        batch.add(id);
+        added++;
+        if (batch.size() == batchSize) {
+            queue.put(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * Import the last items, and wait until the workers are done
+     *
+     * @return the number of items added
+     * @throws DSpaceSolrIndexerException if a batch failed
+     * @throws InterruptedException       if interrupted while waiting
+     */
+    public int finish() throws DSpaceSolrIndexerException, InterruptedException {
+        if (!batch.isEmpty()) {
+            queue.put(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+        for (int t = 0; t < threads; t++) {
+            queue.put(END_OF_ITEMS);
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException ex) {
+                throw new DSpaceSolrIndexerException(ex.getCause().getMessage(), ex.getCause());
+            }
+        }
+        if (failure.get() != null) {
+            throw new DSpaceSolrIndexerException(failure.get().getMessage(), failure.get());
+        }
+        return added;
+    }
+
+    /**
+     * Stop the workers, if they're not done yet
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Index the batches of items of the queue until the end, with a context of its own
+     */
+    private void indexBatches(Supplier<Context> contextFactory) throws InterruptedException {
+        Context workerContext = contextFactory.get();
+        try {
+            while (true) {
+                List<UUID> ids = queue.take();
+                if (ids == END_OF_ITEMS) {
+                    return;
+                }
+                if (failure.get() != null) {
+                    continue;
+                }
+                try {
+                    List<SolrInputDocument> documents = indexer.index(workerContext, ids);
+                    if (!documents.isEmpty()) {
+                        server.add(documents);
+                    }
+                    workerContext.uncacheEntities();
+                    System.out.println(imported.addAndGet(ids.size()) + " items imported so far...");
+                } catch (SolrServerException | IOException | SQLException | RuntimeException ex) {
+                    if (failure.compareAndSet(null, ex)) {
+                        log.error("Unable to import the items", ex);
+                    }
+                }
+            }
+        } finally {
+            workerContext.abort();
+        }
+    }
+}
@@ -24,10 +24,15 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.stream.XMLStreamException;
 
 import com.lyncode.xoai.dataprovider.exceptions.ConfigurationException;
@@ -71,6 +76,7 @@ import org.dspace.xoai.services.api.CollectionsService;
 import org.dspace.xoai.services.api.cache.XOAICacheService;
 import org.dspace.xoai.services.api.cache.XOAIItemCacheService;
 import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
+import org.dspace.xoai.services.api.cache.XOAILastImportCacheService;
 import org.dspace.xoai.services.api.solr.SolrServerResolver;
 import org.dspace.xoai.solr.DSpaceSolrSearch;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrException;
@@ -95,6 +101,8 @@ public class XOAI {
     @Autowired
     private XOAILastCompilationCacheService xoaiLastCompilationCacheService;
     @Autowired
+    private XOAILastImportCacheService xoaiLastImportCacheService;
+    @Autowired
     private XOAIItemCacheService xoaiItemCacheService;
     @Autowired
     private CollectionsService collectionsService;
@@ -107,7 +115,12 @@ public class XOAI {
 
     private List<XOAIExtensionItemCompilePlugin> extensionPlugins;
 
-    private List<String> getFileFormats(Item item) {
+    /**
+     * The sets of the items imported, before and after the import
+     */
+    private final Set<String> changedSets = ConcurrentHashMap.newKeySet();
+
+    private List<String> getFileFormats(Context context, Item item) {
         List<String> formats = new ArrayList<>();
         try {
             for (Bundle b : itemService.getBundles(item, "ORIGINAL")) {
@@ -153,9 +166,15 @@ public class XOAI {
     public int index() throws DSpaceSolrIndexerException {
         int result = 0;
         try {
+            // Items modified while importing may be read before their change: the next incremental import starts
+            // from the start of this one
+            Instant start = Instant.now();
 
             if (clean) {
                 clearIndex();
+                if (isCompilingItems()) {
+                    cleanCompiledItems(xoaiItemCacheService);
+                }
                 System.out.println("Using full import.");
                 result = this.indexAll();
             } else {
@@ -166,22 +185,53 @@ public class XOAI {
                 if (results.getNumFound() == 0) {
                     System.out.println("There are no indexed documents, using full import.");
                     result = this.indexAll();
+                } else if (xoaiLastImportCacheService.hasCache()) {
+                    result = this.index(xoaiLastImportCacheService.get());
                 } else {
                     result = this.index(((java.util.Date) results.get(0).getFieldValue("item.lastmodified"))
                                             .toInstant());
                 }
 
             }
-            solrServerResolver.getServer().commit();
+            // A single commit once all the items are imported
+            solrServerResolver.getServer().commit(true, true);
 
             // Set last compilation date
-            xoaiLastCompilationCacheService.put(Instant.now());
+            xoaiLastCompilationCacheService.put(start);
+            // The watermark of the next incremental import, which compile-items doesn't move
+            xoaiLastImportCacheService.put(start);
             return result;
         } catch (DSpaceSolrException | SolrServerException | IOException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
     }
 
+    private void addSets(java.util.Collection<Object> sets) {
+        if (sets != null) {
+            sets.forEach(set -> changedSets.add(set.toString()));
+        }
+    }
+
+    /**
+     * Purge the cached responses which the import may have changed: all of them after a full import, else those
+     * about the sets of the imported items.
+     */
+    private void cleanCachedResponses(XOAICacheService cacheService) throws IOException {
+        System.out.println("Purging cached OAI responses.");
+        if (clean) {
+            cacheService.deleteAll();
+        } else {
+            cacheService.deleteSets(changedSets);
+        }
+    }
+
+    /**
+     * @return true if the compiled items (see compile-items) are written while importing
+     */
+    public boolean isCompilingItems() {
+        return configurationService.getBooleanProperty("oai.import.compile-items", true);
+    }
+
     private int index(Instant last) throws DSpaceSolrIndexerException, IOException {
         System.out.println("Incremental import. Searching for documents modified after: " + last.toString());
         /*
@@ -273,90 +323,94 @@ public class XOAI {
     }
 
     /**
-     * Check if an item is already indexed. Using this, it is possible to check if
+     * Find the visibility of the items already indexed, with a single query. Using this, it is possible to check if
      * withdrawn or nondiscoverable items have to be indexed at all.
      *
-     * @param item Item that should be checked for its presence in the index.
-     * @return has it been indexed?
+     * @param ids the UUIDs of the items
+     * @return the value of the item.public flag of each of the items present in the index.
      */
-    private boolean checkIfIndexed(Item item) throws IOException {
-        SolrQuery params = new SolrQuery("item.id:" + item.getID().toString()).addField("item.id");
-        try {
-            SolrDocumentList documents = DSpaceSolrSearch.query(solrServerResolver.getServer(), params);
-            return documents.getNumFound() == 1;
-        } catch (DSpaceSolrException | SolrServerException e) {
-            return false;
+    private Map<String, Boolean> findIndexedVisibility(SolrClient server, List<UUID> ids)
+        throws SolrServerException, IOException {
+        Map<String, Boolean> visibility = new HashMap<>();
+        if (clean) {
+            // the index was cleared
+            return visibility;
         }
+        StringJoiner terms = new StringJoiner(",", "{!terms f=item.id}", "");
+        ids.forEach(id -> terms.add(id.toString()));
+        SolrQuery params = new SolrQuery("*:*").addFilterQuery(terms.toString())
+                                               .setFields("item.id", "item.public", "item.collections",
+                                                          "item.communities")
+                                               .setRows(ids.size());
+        for (SolrDocument document : server.query(params).getResults()) {
+            visibility.put((String) document.getFieldValue("item.id"),
+                           Boolean.TRUE.equals(document.getFieldValue("item.public")));
+            // the sets the item is leaving change too
+            addSets(document.getFieldValues("item.collections"));
+            addSets(document.getFieldValues("item.communities"));
+        }
+        return visibility;
     }
 
     /**
-     * Check if an item is flagged visible in the index.
+     * Index items, in batches handed to a pool of workers, each with its own context (see
+     * {@link ParallelItemImporter}). The documents are added to Solr without committing them.
      *
-     * @param item Item that should be checked for its presence in the index.
-     * @return has it been indexed?
+     * @param iterator the items
+     * @return the number of items read
      */
-    private boolean checkIfVisibleInOAI(Item item) throws IOException {
-        SolrQuery params = new SolrQuery("item.id:" + item.getID().toString()).addField("item.public");
-        try {
-            SolrDocumentList documents = DSpaceSolrSearch.query(solrServerResolver.getServer(), params);
-            if (documents.getNumFound() == 1) {
-                return (boolean) documents.get(0).getFieldValue("item.public");
-            } else {
-                return false;
-            }
-        } catch (DSpaceSolrException | SolrServerException e) {
-            return false;
-        }
-    }
-
     private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
+        int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
+        int threads = configurationService.getIntProperty("oai.import.threads", 2);
+
+        int i = 0;
         try {
-            int i = 0;
-            int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
             SolrClient server = solrServerResolver.getServer();
-            ArrayList<SolrInputDocument> list = new ArrayList<>();
-            while (iterator.hasNext()) {
-                try {
+            try (ParallelItemImporter importer = new ParallelItemImporter(server, batchSize, threads,
+                () -> new Context(Context.Mode.READ_ONLY),
+                (workerContext, ids) -> indexBatch(workerContext, server, ids))) {
+                while (iterator.hasNext() && !importer.isFailed()) {
                     Item item = iterator.next();
-                    if (item.getHandle() == null) {
-                        log.warn("Skipped item without handle: " + item.getID());
-                    } else {
-                        list.add(this.index(item));
-                    }
-                    // Uncache the item to keep memory consumption low
+                    importer.add(item.getID());
+                    // Uncache the item to keep memory consumption low, the workers read it again
                     context.uncacheEntity(item);
-
-                } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
-                    log.error(ex.getMessage(), ex);
-                }
-                i++;
-                if (i % 1000 == 0 && batchSize != 1000) {
-                    System.out.println(i + " items imported so far...");
-                }
-                if (i % batchSize == 0) {
-                    System.out.println(i + " items imported so far...");
-                    server.add(list);
-                    server.commit();
-                    list.clear();
-                    try {
-                        context.uncacheEntities();
-                    } catch (SQLException ex) {
-                        log.error("Error uncaching entities", ex);
-                    }
+                    i++;
                 }
+                importer.finish();
             }
-            System.out.println("Total: " + i + " items");
-            if (i > 0) {
-                if (!list.isEmpty()) {
-                    server.add(list);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DSpaceSolrIndexerException("Interrupted while importing the items", ex);
+        } catch (SolrServerException | SQLException ex) {
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        }
+        System.out.println("Total: " + i + " items");
+        return i;
+    }
+
+    private List<SolrInputDocument> indexBatch(Context workerContext, SolrClient server, List<UUID> ids)
+        throws SolrServerException, IOException, SQLException {
+        Map<String, Boolean> indexedVisibility = findIndexedVisibility(server, ids);
+        List<SolrInputDocument> documents = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            try {
+                Item item = itemService.find(workerContext, id);
+                if (item == null) {
+                    continue;
+                }
+                if (item.getHandle() == null) {
+                    log.warn("Skipped item without handle: " + item.getID());
+                } else {
+                    SolrInputDocument document = this.index(workerContext, item, indexedVisibility.get(id.toString()));
+                    addSets(document.getFieldValues("item.collections"));
+                    addSets(document.getFieldValues("item.communities"));
+                    documents.add(document);
                 }
-                server.commit(true, true);
-                list.clear();
+            } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
+                log.error(ex.getMessage(), ex);
             }
-            return i;
-        } catch (SolrServerException | IOException ex) {
-            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
+        return documents;
     }
 
     /**
@@ -368,7 +422,7 @@ public class XOAI {
      * @return date
      * @throws SQLException
      */
-    private Instant getMostRecentModificationDate(Item item) throws SQLException {
+    private Instant getMostRecentModificationDate(Context context, Item item) throws SQLException {
         List<Instant> dates = new LinkedList<>();
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
@@ -394,7 +448,10 @@ public class XOAI {
         return lastChange;
     }
 
-    private SolrInputDocument index(Item item)
+    /**
+     * @param indexedVisibility the item.public flag of the item in the index, or null if it isn't indexed
+     */
+    private SolrInputDocument index(Context context, Item item, Boolean indexedVisibility)
             throws SQLException, IOException, XMLStreamException, WritingXmlException {
         SolrInputDocument doc = new SolrInputDocument();
         doc.addField("item.id", item.getID().toString());
@@ -402,9 +459,9 @@ public class XOAI {
         String handle = item.getHandle();
         doc.addField("item.handle", handle);
 
-        boolean isEmbargoed = !this.isPublic(item);
-        boolean isCurrentlyVisible = this.checkIfVisibleInOAI(item);
-        boolean isIndexed = this.checkIfIndexed(item);
+        boolean isEmbargoed = !this.isPublic(context, item);
+        boolean isCurrentlyVisible = Boolean.TRUE.equals(indexedVisibility);
+        boolean isIndexed = indexedVisibility != null;
 
         /*
          * If the item is not under embargo, it should be visible. If it is, make it
@@ -425,7 +482,7 @@ public class XOAI {
         // if the visibility of the item will change in the future due to an
         // embargo, mark it as such.
 
-        doc.addField("item.willChangeStatus", willChangeStatus(item));
+        doc.addField("item.willChangeStatus", willChangeStatus(context, item));
 
         /*
          * Mark an item as deleted not only if it is withdrawn, but also if it is made
@@ -446,7 +503,7 @@ public class XOAI {
          * date and take the most recent of those which have already passed.
          */
         doc.addField("item.lastmodified",
-                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(item)));
+                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(context, item)));
 
         if (item.getSubmitter() != null) {
             doc.addField("item.submitter", item.getSubmitter().getEmail());
@@ -483,7 +540,7 @@ public class XOAI {
             }
         }
 
-        for (String f : getFileFormats(item)) {
+        for (String f : getFileFormats(context, item)) {
             doc.addField("metadata.dc.format.mimetype", f);
         }
 
@@ -495,6 +552,9 @@ public class XOAI {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         XmlOutputContext xmlContext = XmlOutputContext.emptyContext(out, Second);
         Metadata metadata = retrieveMetadata(context, item);
+        if (isCompilingItems()) {
+            xoaiItemCacheService.put(item, metadata);
+        }
 
         // Do any additional metadata element, depends on the plugins
         for (XOAIExtensionItemCompilePlugin plugin : extensionPlugins) {
@@ -513,7 +573,7 @@ public class XOAI {
         return doc;
     }
 
-    private boolean willChangeStatus(Item item) throws SQLException {
+    private boolean willChangeStatus(Context context, Item item) throws SQLException {
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
             if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
@@ -529,7 +589,7 @@ public class XOAI {
         return false;
     }
 
-    private boolean isPublic(Item item) {
+    private boolean isPublic(Context context, Item item) {
         boolean pub = false;
         try {
             // Check if READ access allowed on this Item
@@ -636,7 +696,10 @@ public class XOAI {
 
                     int imported = indexer.index();
                     if (imported > 0) {
-                        cleanCache(itemCacheService, cacheService);
+                        if (!indexer.isCompilingItems()) {
+                            cleanCompiledItems(itemCacheService);
+                        }
+                        indexer.cleanCachedResponses(cacheService);
                     }
                 } else if (COMMAND_CLEAN_CACHE.equals(command)) {
                     cleanCache(itemCacheService, cacheService);
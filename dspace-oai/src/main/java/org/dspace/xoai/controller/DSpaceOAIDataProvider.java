@@ -17,11 +17,14 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 import javax.xml.stream.XMLStreamException;
 
+import com.google.common.util.concurrent.Striped;
 import com.lyncode.xoai.dataprovider.OAIDataProvider;
 import com.lyncode.xoai.dataprovider.OAIRequestParameters;
 import com.lyncode.xoai.dataprovider.core.XOAIManager;
+import com.lyncode.xoai.dataprovider.exceptions.BadResumptionToken;
 import com.lyncode.xoai.dataprovider.exceptions.InvalidContextException;
 import com.lyncode.xoai.dataprovider.exceptions.OAIException;
 import com.lyncode.xoai.dataprovider.exceptions.WritingXmlException;
@@ -72,6 +75,8 @@ public class DSpaceOAIDataProvider {
 
     private DSpaceResumptionTokenFormatter resumptionTokenFormat = new DSpaceResumptionTokenFormatter();
 
+    private final Striped<Lock> requestLocks = Striped.lock(64);
+
     @RequestMapping("")
     public void index(HttpServletResponse response, HttpServletRequest request) throws IOException {
         response.sendRedirect(request.getRequestURI() + "/");
@@ -90,6 +95,11 @@ public class DSpaceOAIDataProvider {
         return "index";
     }
 
+    /**
+     * Answer an OAI-PMH request. The xoai library builds the whole response, e.g. a ListRecords page with the
+     * metadata of all its records (maxListRecordsSize in xoai.xml), in memory before it is written or cached: only
+     * cached responses are streamed, to and from their files.
+     */
     @RequestMapping("/{context}")
     public String contextAction(Model model, HttpServletRequest request, HttpServletResponse response,
                                 @PathVariable("context") String xoaiContext) throws IOException, ServletException {
@@ -115,11 +125,22 @@ public class DSpaceOAIDataProvider {
             String identification = xoaiContext + parameters.requestID();
 
             if (cacheService.isActive()) {
-                if (!cacheService.hasCache(identification)) {
-                    cacheService.store(identification, dataProvider.handle(parameters));
+                String set = getSet(request);
+                if (!cacheService.hasCache(identification, set)) {
+                    // Identical requests arriving together wait for the first one rather than all computing the
+                    // response
+                    Lock lock = requestLocks.get(identification);
+                    lock.lock();
+                    try {
+                        if (!cacheService.hasCache(identification, set)) {
+                            cacheService.store(identification, set, dataProvider.handle(parameters));
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
                 }
 
-                cacheService.handle(identification, out);
+                cacheService.handle(identification, set, out);
             } else {
                 dataProvider.handle(parameters, out);
             }
@@ -169,6 +190,23 @@ public class DSpaceOAIDataProvider {
         }
     }
 
+    /**
+     * @return the set a request is about, given directly or in its resumption token, or null
+     */
+    private String getSet(HttpServletRequest request) {
+        String set = request.getParameter("set");
+        String resumptionToken = request.getParameter("resumptionToken");
+        if (set == null && resumptionToken != null) {
+            try {
+                set = resumptionTokenFormat.parse(resumptionToken).getSet();
+            } catch (BadResumptionToken e) {
+                // the response is an error, about no set
+                log.debug(e.getMessage(), e);
+            }
+        }
+        return set;
+    }
+
     private Map<String, List<String>> buildParametersMap(
         HttpServletRequest request) {
         Map<String, List<String>> map = new HashMap<String, List<String>>();
@@ -9,6 +9,7 @@ package org.dspace.xoai.services.api.cache;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collection;
 
 import com.lyncode.xoai.dataprovider.xml.oaipmh.OAIPMH;
 
@@ -25,4 +26,50 @@ public interface XOAICacheService {
     void delete(String requestID);
 
     void deleteAll() throws IOException;
+
+    /**
+     * Check if the response to a request about a set is cached
+     *
+     * @param requestID the request
+     * @param set       the set the request is about, or null if it isn't about a set
+     * @return true if the response is cached
+     */
+    default boolean hasCache(String requestID, String set) {
+        return hasCache(requestID);
+    }
+
+    /**
+     * Write the cached response to a request about a set
+     *
+     * @param requestID the request
+     * @param set       the set the request is about, or null if it isn't about a set
+     * @param out       where to write the response
+     * @throws IOException if writing failed
+     */
+    default void handle(String requestID, String set, OutputStream out) throws IOException {
+        handle(requestID, out);
+    }
+
+    /**
+     * Cache the response to a request about a set
+     *
+     * @param requestID the request
+     * @param set       the set the request is about, or null if it isn't about a set
+     * @param response  the response
+     * @throws IOException if writing failed
+     */
+    default void store(String requestID, String set, OAIPMH response) throws IOException {
+        store(requestID, response);
+    }
+
+    /**
+     * Delete the cached responses which may have changed when the items of some sets changed: the responses about
+     * these sets, and the responses which aren't about a single collection or community.
+     *
+     * @param sets the sets of the items which changed
+     * @throws IOException if deleting failed
+     */
+    default void deleteSets(Collection<String> sets) throws IOException {
+        deleteAll();
+    }
 }
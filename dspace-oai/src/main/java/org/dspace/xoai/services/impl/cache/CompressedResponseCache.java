@@ -0,0 +1,250 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size-bounded in-memory cache of OAI-PMH responses, kept compressed, in front of the cache on disk. The least
+ * recently used responses are evicted once the compressed responses exceed the maximum size.
+ * <p>
+ * The cache on disk may be invalidated by another process (the OAI import), so each response remembers the version
+ * (last modification date) of the file it came from. It is checked against the file at most once per validation
+ * interval, which lets bursts of identical requests be answered from memory alone.
+ */
+public class CompressedResponseCache {
+
+    private static class Entry {
+        private final byte[] data;
+        private final String set;
+        private final long version;
+        private volatile long validated;
+
+        private Entry(byte[] data, String set, long version, long validated) {
+            this.data = data;
+            this.set = set;
+            this.version = version;
+            this.validated = validated;
+        }
+    }
+
+    private final long maxSize;
+
+    private final long validateInterval;
+
+    private final ToLongFunction<String> versions;
+
+    /**
+     * The responses, in access order
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxSize          the maximum size of the compressed responses, in bytes
+     * @param validateInterval the time between two checks of the version of a response, in milliseconds
+     * @param versions         the current version of the response to a request (0 if there is none anymore)
+     */
+    public CompressedResponseCache(long maxSize, long validateInterval, ToLongFunction<String> versions) {
+        this.maxSize = maxSize;
+        this.validateInterval = validateInterval;
+        this.versions = versions;
+    }
+
+    /**
+     * @param requestID the request
+     * @return true if the response to the request is cached and still valid
+     */
+    public boolean contains(String requestID) {
+        return find(requestID) != null;
+    }
+
+    /**
+     * Write the cached response to a request, uncompressed
+     *
+     * @param requestID the request
+     * @param out       where to write the response
+     * @return false if the response isn't cached (nothing is written)
+     * @throws IOException if writing failed
+     */
+    public boolean write(String requestID, OutputStream out) throws IOException {
+        Entry entry = find(requestID);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return false;
+        }
+        hits.incrementAndGet();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.data))) {
+            in.transferTo(out);
+        }
+        return true;
+    }
+
+    /**
+     * Cache the response to a request. Responses larger than the whole cache aren't cached.
+     *
+     * @param requestID the request
+     * @param set       the set the request is about, or null
+     * @param response  the response
+     * @param version   the version of the response on disk
+     * @throws IOException if compressing failed
+     */
+    public void put(String requestID, String set, byte[] response, long version) throws IOException {
+        writeThrough(requestID, set, new ByteArrayInputStream(response), version, OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Copy the response to a request, read from disk, and cache it meanwhile. The response is compressed as it is
+     * copied, so it is never held uncompressed in memory. Responses larger than the whole cache aren't cached.
+     *
+     * @param requestID the request
+     * @param set       the set the request is about, or null
+     * @param response  the response
+     * @param version   the version of the response on disk
+     * @param out       where to copy the response
+     * @throws IOException if reading, compressing or writing failed
+     */
+    public void writeThrough(String requestID, String set, InputStream response, long version, OutputStream out)
+        throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        OutputStream gzip = new GZIPOutputStream(compressed);
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = response.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+            if (gzip != null) {
+                gzip.write(buffer, 0, read);
+                if (compressed.size() > maxSize) {
+                    // too large, stop compressing but keep copying
+                    gzip = null;
+                }
+            }
+        }
+        if (gzip == null) {
+            return;
+        }
+        gzip.close();
+        byte[] data = compressed.toByteArray();
+        if (data.length > maxSize) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(requestID, new Entry(data, set, version, System.currentTimeMillis()));
+            if (previous != null) {
+                size -= previous.data.length;
+            }
+            size += data.length;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (size > maxSize && eldest.hasNext()) {
+                size -= eldest.next().data.length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove the response to a request
+     */
+    public void remove(String requestID) {
+        synchronized (entries) {
+            Entry entry = entries.remove(requestID);
+            if (entry != null) {
+                size -= entry.data.length;
+            }
+        }
+    }
+
+    /**
+     * Remove the responses to the requests about some sets
+     *
+     * @param sets matches the sets of the responses to remove (null for the requests not about a set)
+     */
+    public void removeSets(Predicate<String> sets) {
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (sets.test(entry.set)) {
+                    size -= entry.data.length;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all the responses
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * @return the hits, misses and evictions since the cache was created, the number of responses cached and their
+     * compressed size
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("hits", hits.get());
+        statistics.put("misses", misses.get());
+        statistics.put("evictions", evictions.get());
+        synchronized (entries) {
+            statistics.put("entries", (long) entries.size());
+            statistics.put("size", size);
+        }
+        return statistics;
+    }
+
+    /**
+     * @return the valid response to a request, or null
+     */
+    private Entry find(String requestID) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(requestID);
+        }
+        if (entry == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - entry.validated >= validateInterval) {
+            if (versions.applyAsLong(requestID) != entry.version) {
+                synchronized (entries) {
+                    if (entries.get(requestID) == entry) {
+                        entries.remove(requestID);
+                        size -= entry.data.length;
+                    }
+                }
+                return null;
+            }
+            entry.validated = now;
+        }
+        return entry;
+    }
+}
@@ -9,16 +9,25 @@ package org.dspace.xoai.services.impl.cache;
 
 import static com.lyncode.xoai.dataprovider.core.Granularity.Second;
 import static org.apache.commons.io.FileUtils.deleteDirectory;
-import static org.apache.commons.io.IOUtils.copy;
 import static org.apache.commons.io.IOUtils.write;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.xml.stream.XMLStreamException;
 
 import com.lyncode.xoai.dataprovider.core.XOAIManager;
@@ -26,18 +35,43 @@ import com.lyncode.xoai.dataprovider.exceptions.WritingXmlException;
 import com.lyncode.xoai.dataprovider.xml.XmlOutputContext;
 import com.lyncode.xoai.dataprovider.xml.oaipmh.OAIPMH;
 import com.lyncode.xoai.util.Base64Utils;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.dspace.xoai.services.api.cache.XOAICacheService;
 import org.dspace.xoai.services.api.config.ConfigurationService;
 import org.dspace.xoai.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
 
+/**
+ * Cache of OAI-PMH responses: one file per request under the "requests" directory, in a directory per set, and the
+ * most recently used responses, compressed, in memory (see {@link CompressedResponseCache}).
+ */
 public class DSpaceXOAICacheService implements XOAICacheService {
+    private static final Logger log = LogManager.getLogger(DSpaceXOAICacheService.class);
+
     private static final String REQUEST_DIR = File.separator + "requests";
+    /**
+     * Directory of the responses to the requests which aren't about a set
+     */
+    private static final String NO_SET_DIR = "_all";
+    /**
+     * Sets which can be used as directory names as they are
+     */
+    private static final Pattern PLAIN_SET = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]*");
     private static String baseDir;
     private static String staticHead;
 
+    private CompressedResponseCache memoryCache;
+    private boolean memoryCacheLoaded;
+
+    /**
+     * The interval between the logs of the statistics of the in-memory tier, in milliseconds, 0 or less for none
+     */
+    private long logInterval;
+    private final AtomicLong lastLogged = new AtomicLong(System.currentTimeMillis());
+
     @Autowired
     ConfigurationService configurationService;
 
@@ -69,14 +103,75 @@ public class DSpaceXOAICacheService implements XOAICacheService {
         this.manager = manager;
     }
 
-    private File getCacheFile(String id) {
-        File dir = new File(getBaseDir());
+    /**
+     * @return the path of the response to a request about a set, relative to the base directory
+     */
+    private static String getCacheKey(String id, String set) {
+        return getSetDir(set) + File.separator + Base64Utils.encode(id);
+    }
+
+    /**
+     * @return the name of the directory of the responses about a set
+     */
+    private static String getSetDir(String set) {
+        if (set == null) {
+            return NO_SET_DIR;
+        } else if (PLAIN_SET.matcher(set).matches()) {
+            return set;
+        } else {
+            return "_" + Base64Utils.encode(set);
+        }
+    }
+
+    private File getCacheFile(String id, String set) {
+        File file = new File(getBaseDir(), getCacheKey(id, set));
+        File dir = file.getParentFile();
         if (!dir.exists()) {
             dir.mkdirs();
         }
+        return file;
+    }
+
+    /**
+     * @return the in-memory tier of the cache, or null if it's disabled
+     */
+    private synchronized CompressedResponseCache getMemoryCache() {
+        if (!memoryCacheLoaded) {
+            long size = NumberUtils.toLong(configurationService.getProperty("oai.cache.memory.size"), 33554432L);
+            long interval = NumberUtils.toLong(configurationService.getProperty("oai.cache.memory.validate-interval"),
+                                               10L);
+            if (size > 0) {
+                memoryCache = new CompressedResponseCache(size, interval * 1000,
+                                                          key -> new File(getBaseDir(), key).lastModified());
+            }
+            logInterval = NumberUtils.toLong(configurationService.getProperty("oai.cache.memory.log-interval"),
+                                             3600L) * 1000;
+            memoryCacheLoaded = true;
+        }
+        return memoryCache;
+    }
 
-        String name = File.separator + Base64Utils.encode(id);
-        return new File(getBaseDir() + name);
+    /**
+     * @return the hits, misses and evictions of the in-memory tier of the cache (empty if it's disabled)
+     */
+    public Map<String, Long> getStatistics() {
+        CompressedResponseCache memory = getMemoryCache();
+        return memory == null ? Map.of() : memory.getStatistics();
+    }
+
+    /**
+     * Log the statistics of the in-memory tier when the interval since they were last logged passed. This is done
+     * while serving the responses, so only the webapp logs them.
+     */
+    private void logStatistics(CompressedResponseCache memory) {
+        if (logInterval <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long last = lastLogged.get();
+        if (now - last >= logInterval && lastLogged.compareAndSet(last, now)) {
+            log.info("OAI response cache in memory: {}", memory.getStatistics());
+        }
     }
 
     @Override
@@ -86,51 +181,172 @@ public class DSpaceXOAICacheService implements XOAICacheService {
 
     @Override
     public boolean hasCache(String requestID) {
-        return this.getCacheFile(requestID).exists();
+        return hasCache(requestID, null);
+    }
+
+    @Override
+    public boolean hasCache(String requestID, String set) {
+        CompressedResponseCache memory = getMemoryCache();
+        return (memory != null && memory.contains(getCacheKey(requestID, set)))
+            || this.getCacheFile(requestID, set).exists();
     }
 
     @Override
     public void handle(String requestID, OutputStream out) throws IOException {
-        InputStream in = new FileInputStream(this.getCacheFile(requestID));
+        handle(requestID, null, out);
+    }
+
+    @Override
+    public void handle(String requestID, String set, OutputStream out) throws IOException {
         write(getStaticHead(manager, Instant.now()), out);
-        copy(in, out);
-        in.close();
+        String key = getCacheKey(requestID, set);
+        CompressedResponseCache memory = getMemoryCache();
+        if (memory != null) {
+            logStatistics(memory);
+            if (memory.write(key, out)) {
+                return;
+            }
+        }
+        File file = this.getCacheFile(requestID, set);
+        long version = file.lastModified();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            if (memory != null) {
+                memory.writeThrough(key, set, in, version, out);
+            } else {
+                in.transferTo(out);
+            }
+        }
     }
 
     @Override
     public void store(String requestID, OAIPMH response) throws IOException {
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        store(requestID, null, response);
+    }
+
+    @Override
+    public void store(String requestID, String set, OAIPMH response) throws IOException {
+        // Write to a temporary file, moved in place once complete, as the response may be read by other requests
+        // meanwhile. The response is streamed to the file, it's never held in memory as a whole.
+        File file = this.getCacheFile(requestID, set);
+        File temp = File.createTempFile("response", ".tmp", file.getParentFile());
         try {
-            XmlOutputContext context = XmlOutputContext.emptyContext(output, Second);
-            response.write(context);
-            context.getWriter().flush();
-            context.getWriter().close();
-
-            String xoaiResponse = output.toString();
-
-            // Cutting the header (to allow one to change the response time)
-            String end = "</responseDate>";
-            int pos = xoaiResponse.indexOf(end);
-            if (pos > 0) {
-                xoaiResponse = xoaiResponse.substring(pos + (end.length()));
+            try (OutputStream output = new ResponseBodyOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+                XmlOutputContext context = XmlOutputContext.emptyContext(output, Second);
+                response.write(context);
+                context.getWriter().flush();
+                context.getWriter().close();
             }
-
-            FileUtils.write(this.getCacheFile(requestID), xoaiResponse);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
         } catch (XMLStreamException e) {
             throw new IOException(e);
         } catch (WritingXmlException e) {
             throw new IOException(e);
+        } finally {
+            temp.delete();
         }
     }
 
     @Override
     public void delete(String requestID) {
-        this.getCacheFile(requestID).delete();
+        CompressedResponseCache memory = getMemoryCache();
+        if (memory != null) {
+            memory.remove(getCacheKey(requestID, null));
+        }
+        this.getCacheFile(requestID, null).delete();
     }
 
     @Override
     public void deleteAll() throws IOException {
+        CompressedResponseCache memory = getMemoryCache();
+        if (memory != null) {
+            log.debug("Clearing the OAI response cache: {}", memory.getStatistics());
+            memory.clear();
+        }
         deleteDirectory(new File(getBaseDir()));
     }
 
+    @Override
+    public void deleteSets(Collection<String> sets) throws IOException {
+        Set<String> setDirs = sets.stream().map(DSpaceXOAICacheService::getSetDir).collect(Collectors.toSet());
+        CompressedResponseCache memory = getMemoryCache();
+        if (memory != null) {
+            log.debug("Clearing the OAI response cache of {} sets: {}", sets.size(), memory.getStatistics());
+            memory.removeSets(set -> set == null || !isContainerSet(set) || sets.contains(set));
+        }
+        File[] files = new File(getBaseDir()).listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.isDirectory()) {
+                // responses cached before they were stored by set
+                file.delete();
+            } else if (!isContainerSet(file.getName()) || setDirs.contains(file.getName())) {
+                deleteDirectory(file);
+            }
+        }
+    }
+
+    /**
+     * @return true if the set is a collection or a community, false if it may contain any item (e.g. a set defined
+     * by a filter)
+     */
+    private static boolean isContainerSet(String set) {
+        return set.startsWith("col_") || set.startsWith("com_");
+    }
+
+    /**
+     * Drops the header of a response, up to the end of its date, so that the cached response can be written with
+     * the date it is served at
+     */
+    private static class ResponseBodyOutputStream extends FilterOutputStream {
+        private static final byte[] END_OF_HEADER = "</responseDate>".getBytes(StandardCharsets.US_ASCII);
+
+        /**
+         * The header seen so far, written as is if the response has no date
+         */
+        private final ByteArrayOutputStream header = new ByteArrayOutputStream();
+        private int matched;
+
+        private ResponseBodyOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (matched == END_OF_HEADER.length) {
+                out.write(b);
+                return;
+            }
+            header.write(b);
+            // the first byte of the end of the header doesn't occur in the rest of it
+            if (b == END_OF_HEADER[matched]) {
+                matched++;
+            } else {
+                matched = b == END_OF_HEADER[0] ? 1 : 0;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (matched == END_OF_HEADER.length) {
+                out.write(b, off, len);
+                return;
+            }
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (matched < END_OF_HEADER.length) {
+                header.writeTo(out);
+            }
+            super.close();
+        }
+    }
+
 }
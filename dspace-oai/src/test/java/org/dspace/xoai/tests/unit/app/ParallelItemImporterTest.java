@@ -0,0 +1,142 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.xoai.app.ParallelItemImporter;
+import org.dspace.xoai.solr.exceptions.DSpaceSolrIndexerException;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ParallelItemImporterTest {
+
+    private final SolrClient server = mock(SolrClient.class);
+
+    /**
+     * The contexts of the workers
+     */
+    private final Set<Context> contexts = ConcurrentHashMap.newKeySet();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportInBatchesWithoutCommit() throws Exception {
+        List<UUID> ids = ids(25);
+        try (ParallelItemImporter importer = importer(10, 3, (context, batch) -> documents(batch))) {
+            for (UUID id : ids) {
+                importer.add(id);
+            }
+            assertEquals(25, importer.finish());
+        }
+
+        ArgumentCaptor<Collection<SolrInputDocument>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(server, times(3)).add(batches.capture());
+        Set<Object> imported = new HashSet<>();
+        for (Collection<SolrInputDocument> batch : batches.getAllValues()) {
+            batch.forEach(document -> imported.add(document.getFieldValue("item.id")));
+        }
+        assertEquals(25, imported.size());
+        // the caller commits once all the items are imported
+        verifyNoMoreInteractions(server);
+        for (Context context : contexts) {
+            verify(context).abort();
+        }
+    }
+
+    @Test
+    public void testBatchesAreIndexedInParallel() throws Exception {
+        // each batch waits for the other one, which only completes when they're indexed at the same time
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        try (ParallelItemImporter importer = importer(1, 2, (context, batch) -> {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new SolrServerException("The batches weren't indexed in parallel", e);
+            }
+            return documents(batch);
+        })) {
+            for (UUID id : ids(2)) {
+                importer.add(id);
+            }
+            assertEquals(2, importer.finish());
+        }
+        assertEquals(2, contexts.size());
+    }
+
+    @Test
+    public void testFailedBatchStopsImport() throws Exception {
+        AtomicInteger indexed = new AtomicInteger();
+        try (ParallelItemImporter importer = importer(1, 1, (context, batch) -> {
+            indexed.incrementAndGet();
+            throw new SolrServerException("Unavailable");
+        })) {
+            for (UUID id : ids(5)) {
+                importer.add(id);
+            }
+            try {
+                importer.finish();
+                fail("The failure of a batch should be thrown");
+            } catch (DSpaceSolrIndexerException e) {
+                assertTrue(e.getMessage().contains("Unavailable"));
+            }
+            assertTrue(importer.isFailed());
+        }
+        // the batches after the failed one are skipped
+        assertEquals(1, indexed.get());
+        verify(server, never()).add(anyCollection());
+    }
+
+    private ParallelItemImporter importer(int batchSize, int threads, ParallelItemImporter.BatchIndexer indexer) {
+        return new ParallelItemImporter(server, batchSize, threads, () -> {
+            Context context = mock(Context.class);
+            contexts.add(context);
+            return context;
+        }, indexer);
+    }
+
+    private static List<UUID> ids(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    private static List<SolrInputDocument> documents(List<UUID> ids) {
+        List<SolrInputDocument> documents = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            SolrInputDocument document = new SolrInputDocument();
+            document.addField("item.id", id.toString());
+            documents.add(document);
+        }
+        return documents;
+    }
+}
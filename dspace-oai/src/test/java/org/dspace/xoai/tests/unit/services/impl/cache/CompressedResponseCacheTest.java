@@ -0,0 +1,152 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.dspace.xoai.services.impl.cache.CompressedResponseCache;
+import org.junit.Test;
+
+public class CompressedResponseCacheTest {
+
+    /**
+     * Current versions of the responses on disk
+     */
+    private final Map<String, Long> versions = new HashMap<>();
+
+    @Test
+    public void testWriteUncompressed() throws Exception {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024, 60000, this::version);
+        String response = "<ListRecords>" + "<record/>".repeat(1000) + "</ListRecords>";
+        put(cache, "a", null, response);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(cache.write("a", out));
+        assertEquals(response, out.toString(StandardCharsets.UTF_8));
+        assertFalse(cache.write("b", new ByteArrayOutputStream()));
+
+        Map<String, Long> statistics = cache.getStatistics();
+        assertEquals(1L, (long) statistics.get("hits"));
+        assertEquals(1L, (long) statistics.get("misses"));
+        assertEquals(1L, (long) statistics.get("entries"));
+        // repetitive responses compress well
+        assertTrue(statistics.get("size") < response.length() / 10);
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        // responses which don't compress, of about 400 bytes each
+        CompressedResponseCache cache = new CompressedResponseCache(1000, 60000, this::version);
+        put(cache, "a", null, random(400));
+        put(cache, "b", null, random(400));
+        assertTrue(cache.contains("a"));
+        put(cache, "c", null, random(400));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(1L, (long) cache.getStatistics().get("evictions"));
+        assertTrue(cache.getStatistics().get("size") <= 1000);
+
+        // larger than the whole cache
+        put(cache, "d", null, random(2000));
+        assertFalse(cache.contains("d"));
+        assertTrue(cache.contains("c"));
+    }
+
+    @Test
+    public void testWriteThrough() throws Exception {
+        CompressedResponseCache cache = new CompressedResponseCache(1000, 60000, this::version);
+        String response = "<ListRecords>" + "<record/>".repeat(1000) + "</ListRecords>";
+        String large = random(5000);
+        versions.put("a", 42L);
+        versions.put("b", 42L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeThrough("a", null, stream(response), 42L, out);
+        assertEquals(response, out.toString(StandardCharsets.UTF_8));
+        assertTrue(cache.contains("a"));
+
+        // copied whole, although too large to be cached
+        out = new ByteArrayOutputStream();
+        cache.writeThrough("b", null, stream(large), 42L, out);
+        assertEquals(large, out.toString(StandardCharsets.UTF_8));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("a"));
+    }
+
+    @Test
+    public void testValidateVersion() throws Exception {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024, 0, this::version);
+        put(cache, "a", null, "response");
+        assertTrue(cache.contains("a"));
+
+        // the response was deleted on disk, e.g. by the OAI import
+        versions.remove("a");
+        assertFalse(cache.contains("a"));
+        assertEquals(0L, (long) cache.getStatistics().get("entries"));
+    }
+
+    @Test
+    public void testSkipValidationWithinInterval() throws Exception {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024, 60000, this::version);
+        put(cache, "a", null, "response");
+
+        versions.remove("a");
+        assertTrue(cache.contains("a"));
+    }
+
+    @Test
+    public void testRemoveSets() throws Exception {
+        CompressedResponseCache cache = new CompressedResponseCache(1024 * 1024, 60000, this::version);
+        put(cache, "all", null, "all items");
+        put(cache, "col1", "col_1", "collection 1");
+        put(cache, "col2", "col_2", "collection 2");
+
+        cache.removeSets(set -> set == null || set.equals("col_1"));
+
+        assertFalse(cache.contains("all"));
+        assertFalse(cache.contains("col1"));
+        assertTrue(cache.contains("col2"));
+
+        cache.clear();
+        assertFalse(cache.contains("col2"));
+        assertEquals(0L, (long) cache.getStatistics().get("size"));
+    }
+
+    private void put(CompressedResponseCache cache, String key, String set, String response) throws Exception {
+        versions.put(key, 42L);
+        cache.put(key, set, response.getBytes(StandardCharsets.UTF_8), 42L);
+    }
+
+    private static ByteArrayInputStream stream(String response) {
+        return new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long version(String key) {
+        return versions.getOrDefault(key, 0L);
+    }
+
+    private static String random(int length) {
+        Random random = new Random(length);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            value.append((char) ('!' + random.nextInt(90)));
+        }
+        return value.toString();
+    }
+}
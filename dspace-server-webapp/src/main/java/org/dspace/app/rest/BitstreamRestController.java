@@ -12,6 +12,7 @@ import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFI
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
 import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
@@ -29,6 +30,7 @@ import org.dspace.app.rest.converter.ConverterService;
 import org.dspace.app.rest.exception.DSpaceBadRequestException;
 import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.model.hateoas.BitstreamResource;
+import org.dspace.app.rest.utils.BitstreamChannelWriter;
 import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.app.rest.utils.HttpHeadersInitializer;
 import org.dspace.app.rest.utils.Utils;
@@ -232,6 +234,14 @@ public class BitstreamRestController {
                     return ResponseEntity.ok().headers(httpHeaders).build();
                 }
 
+                // Serve the content (or the requested range) straight from the channel when the store provides one
+                SeekableByteChannel channel = bitstreamResource.getChannel();
+                if (channel != null && BitstreamChannelWriter.write(request, response, httpHeaders, channel,
+                                                                    bitstreamResource.getPath(),
+                                                                    bitstreamResource.contentLength())) {
+                    return null;
+                }
+
                 return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
             }
 
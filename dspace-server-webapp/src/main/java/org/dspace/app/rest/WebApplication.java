@@ -25,7 +25,9 @@ import org.dspace.app.rest.utils.DSpaceAPIRequestLoggingFilter;
 import org.dspace.app.sitemap.GenerateSitemaps;
 import org.dspace.app.solrdatabaseresync.SolrDatabaseResyncCli;
 import org.dspace.app.util.DSpaceContextListener;
+import org.dspace.event.QueuedEventProcessor;
 import org.dspace.google.GoogleAsyncEventListener;
+import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.utils.servlet.DSpaceWebappServletFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.EnableCaching;
@@ -62,6 +64,12 @@ public class WebApplication {
     @Autowired
     private GoogleAsyncEventListener googleAsyncEventListener;
 
+    @Autowired
+    private QueuedEventProcessor queuedEventProcessor;
+
+    @Autowired
+    private SolrLoggerService solrLoggerService;
+
     @Scheduled(cron = "${sitemap.cron:-}")
     public void generateSitemap() throws IOException, SQLException {
         GenerateSitemaps.generateSitemapsScheduled();
@@ -257,4 +265,22 @@ public class WebApplication {
         // database (via Hibernate). We store all dates in the database as UTC.
         TimeZone.setDefault(TimeZone.getTimeZone(ZoneOffset.UTC));
     }
+
+    /**
+     * Start processing the events queued by the asynchronous dispatchers. This is only done by the webapp: the
+     * command line tools only queue their events.
+     */
+    @PostConstruct
+    public void startQueuedEventProcessor() {
+        queuedEventProcessor.start();
+    }
+
+    /**
+     * Start writing the usage events in batches, if enabled. This is only done by the webapp: the command line tools
+     * send their usage events one at a time.
+     */
+    @PostConstruct
+    public void startStatisticsWriter() {
+        solrLoggerService.startWriter();
+    }
 }
@@ -16,9 +16,11 @@ import org.dspace.app.rest.DiscoverableEndpointsService;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
 import org.dspace.app.rest.health.SEOHealthIndicator;
 import org.dspace.app.rest.health.SolrHealthIndicator;
+import org.dspace.app.rest.health.StatisticsWriterHealthIndicator;
 import org.dspace.authority.AuthoritySolrServiceImpl;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.statistics.SolrStatisticsCore;
+import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.xoai.services.api.solr.SolrServerResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -67,6 +69,13 @@ public class ActuatorConfiguration {
         return new SolrHealthIndicator(solrStatisticsCore.getSolr());
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("statisticsWriter")
+    @ConditionalOnProperty("solr-statistics.buffer.enabled")
+    public StatisticsWriterHealthIndicator statisticsWriterHealthIndicator(SolrLoggerService solrLoggerService) {
+        return new StatisticsWriterHealthIndicator(solrLoggerService);
+    }
+
     @Bean
     @ConditionalOnEnabledHealthIndicator("solrAuthority")
     @ConditionalOnProperty("solr.authority.server")
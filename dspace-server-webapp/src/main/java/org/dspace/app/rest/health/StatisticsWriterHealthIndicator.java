@@ -0,0 +1,53 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import org.dspace.statistics.SolrStatisticsWriter;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the state of the writer sending the usage events to the
+ * statistics core in batches: the depth of its buffer, and the number of events dropped or spilled to disk. The
+ * status is "up with issues" when events were dropped, or when spilled events weren't sent to Solr yet.
+ */
+public class StatisticsWriterHealthIndicator extends AbstractHealthIndicator {
+
+    private final SolrLoggerService solrLoggerService;
+
+    public StatisticsWriterHealthIndicator(SolrLoggerService solrLoggerService) {
+        this.solrLoggerService = solrLoggerService;
+    }
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        SolrStatisticsWriter writer = solrLoggerService.getWriter();
+        if (writer == null) {
+            builder.unknown().withDetail("reason", "Usage events are not buffered");
+            return;
+        }
+
+        if (writer.getDropped() > 0 || writer.getPendingSpillFiles() > 0) {
+            builder.status(UP_WITH_ISSUES_STATUS);
+        } else {
+            builder.up();
+        }
+        builder.withDetail("queueDepth", writer.getQueueDepth())
+               .withDetail("capacity", writer.getCapacity())
+               .withDetail("added", writer.getAdded())
+               .withDetail("written", writer.getWritten())
+               .withDetail("dropped", writer.getDropped())
+               .withDetail("spilled", writer.getSpilled())
+               .withDetail("pendingSpillFiles", writer.getPendingSpillFiles());
+    }
+
+}
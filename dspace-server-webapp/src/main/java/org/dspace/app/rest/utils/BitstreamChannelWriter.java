@@ -0,0 +1,173 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+/**
+ * Writes the content of a bitstream, or the single range requested by the "Range" header, from a seekable channel
+ * to the response. Unlike sending a {@link BitstreamResource} through Spring, the requested range is read from its
+ * position instead of skipping the content before it.
+ * <p>
+ * When the servlet container supports it (Tomcat's "sendfile", advertised by the
+ * {@value #SENDFILE_SUPPORTED} request attribute) and the content is a large enough local file, the file is handed
+ * to the container, which sends it to the socket without copying it through the Java heap. Otherwise the content is
+ * copied to the response output stream through a buffer.
+ * <p>
+ * A range is only served when the "If-Range" header, if any, matches the current ETag or Last-Modified date of the
+ * bitstream; otherwise the complete content is sent. Requests for multiple ranges, and invalid or unsatisfiable
+ * ranges, are left to Spring, which answers them with a multipart or an error response.
+ */
+public class BitstreamChannelWriter {
+
+    private static final Logger log = LogManager.getLogger(BitstreamChannelWriter.class);
+
+    private static final String BYTES = "bytes";
+
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Smaller contents are written directly, as Tomcat's DefaultServlet does, since handing them over costs more
+     * than copying them
+     */
+    static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private BitstreamChannelWriter() { }
+
+    /**
+     * Write the content, or the requested range, of the channel to the response
+     *
+     * @param request  the request, which may contain a "Range" header
+     * @param response the response
+     * @param headers  the headers of a complete (200) response, see {@link HttpHeadersInitializer}
+     * @param channel  the channel on the content, positioned at its start
+     * @param path     the local file holding the content, or null if there is none
+     * @param length   the length of the content
+     * @return true if the response was written, or handed to the container, false if the request must be answered
+     *         by Spring instead, in which case the channel is left untouched
+     * @throws IOException if the content can't be read or the response can't be written
+     */
+    public static boolean write(HttpServletRequest request, HttpServletResponse response, HttpHeaders headers,
+                                SeekableByteChannel channel, Path path, long length) throws IOException {
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isNotBlank(rangeHeader) && isRangeValid(request, headers)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    return false;
+                }
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+                partial = true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        String etag = etag(headers);
+        if (etag != null) {
+            // quote the ETag, as Spring does for the responses it writes
+            response.setHeader(HttpHeaders.ETAG, etag);
+        }
+        long count = end - start + 1;
+        if (partial) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES + " " + start + "-" + end + "/" + length);
+        }
+        response.setContentLengthLong(count);
+
+        if (path != null && count >= SENDFILE_MIN_SIZE
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // the container sends the file once the request is processed, nothing is written to the response
+            channel.close();
+            request.setAttribute(SENDFILE_FILENAME, path.toFile().getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return true;
+        }
+
+        try (channel; WritableByteChannel out = Channels.newChannel(response.getOutputStream())) {
+            if (channel instanceof FileChannel fileChannel) {
+                long position = start;
+                while (count > 0) {
+                    long transferred = fileChannel.transferTo(position, count, out);
+                    if (transferred <= 0) {
+                        log.warn("The content is {} bytes shorter than expected", count);
+                        break;
+                    }
+                    position += transferred;
+                    count -= transferred;
+                }
+            } else {
+                channel.position(start);
+                IOUtils.copyLarge(Channels.newInputStream(channel), Channels.newOutputStream(out), 0, count);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the range may be served, according to the "If-Range" header: it must match the current ETag with a
+     * strong comparison, or be exactly the current Last-Modified date (RFC 9110, section 13.1.5)
+     *
+     * @param request the request
+     * @param headers the headers of a complete response
+     * @return true if there is no "If-Range" header, or if it matches
+     */
+    private static boolean isRangeValid(HttpServletRequest request, HttpHeaders headers) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (StringUtils.isBlank(ifRange)) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // a weak ETag never matches
+            return !ifRange.startsWith("W/") && ifRange.equals(etag(headers));
+        }
+        long lastModified = headers.getLastModified();
+        try {
+            return lastModified != -1 && request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the quoted ETag of the headers, or null
+     */
+    private static String etag(HttpHeaders headers) {
+        String etag = headers.getFirst(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("\"") && !etag.startsWith("W/")) {
+            return "\"" + etag + "\"";
+        }
+        return etag;
+    }
+}
@@ -10,6 +10,10 @@ package org.dspace.app.rest.utils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Set;
 import java.util.UUID;
@@ -95,6 +99,35 @@ public class BitstreamResource extends AbstractResource {
         return document.inputStream();
     }
 
+    /**
+     * The content as a seekable channel, when it isn't a generated cover page and its store supports it
+     *
+     * @return the channel, or null
+     */
+    public SeekableByteChannel getChannel() {
+        fetchDocument();
+
+        return document.channel();
+    }
+
+    /**
+     * The local file holding the content, when it isn't a generated cover page and its store keeps it in one
+     *
+     * @return the path of the file, or null
+     */
+    public Path getPath() {
+        fetchDocument();
+
+        return document.path();
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        fetchDocument();
+
+        return document.channel() != null ? document.channel() : super.readableChannel();
+    }
+
     @Override
     public String getFilename() {
         return name;
@@ -125,11 +158,9 @@ public class BitstreamResource extends AbstractResource {
 
                 this.document = new BitstreamDocument(etag(bitstream),
                         coverPage.length,
-                        new ByteArrayInputStream(coverPage));
+                        new ByteArrayInputStream(coverPage), null, null);
             } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(context, bitstream));
+                this.document = retrieveDocument(context, bitstream);
             }
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
@@ -138,6 +169,20 @@ public class BitstreamResource extends AbstractResource {
         LOG.debug("fetched document {} {}", shouldGenerateCoverPage, document);
     }
 
+    /**
+     * Retrieve the content of the bitstream, as a channel and the path of its file if its store supports it
+     */
+    BitstreamDocument retrieveDocument(Context context, Bitstream bitstream)
+            throws SQLException, AuthorizeException, IOException {
+        SeekableByteChannel channel = bitstreamService.retrieveChannel(context, bitstream);
+        if (channel != null) {
+            return new BitstreamDocument(bitstream.getChecksum(), bitstream.getSizeBytes(),
+                    Channels.newInputStream(channel), channel, bitstreamService.retrievePath(context, bitstream));
+        }
+        return new BitstreamDocument(bitstream.getChecksum(), bitstream.getSizeBytes(),
+                bitstreamService.retrieve(context, bitstream), null, null);
+    }
+
     String etag(Bitstream bitstream) {
 
          /* Ideally we would calculate the md5 checksum based on the document with coverpage.
@@ -165,5 +210,6 @@ public class BitstreamResource extends AbstractResource {
         return context;
     }
 
-    record BitstreamDocument(String etag, long length, InputStream inputStream) {}
+    record BitstreamDocument(String etag, long length, InputStream inputStream, SeekableByteChannel channel,
+                             Path path) {}
 }
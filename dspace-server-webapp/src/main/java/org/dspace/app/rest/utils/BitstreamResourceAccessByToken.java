@@ -89,11 +89,9 @@ public class BitstreamResourceAccessByToken extends BitstreamResource {
 
                 this.document = new BitstreamDocument(etag(bitstream),
                         coverPage.length,
-                        new ByteArrayInputStream(coverPage));
+                        new ByteArrayInputStream(coverPage), null, null);
             } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(fileRetrievalContext, bitstream));
+                this.document = retrieveDocument(fileRetrievalContext, bitstream);
             }
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
@@ -10,8 +10,13 @@ package org.dspace.app.rest.utils;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.text.ParseException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -24,6 +29,8 @@ import org.dspace.content.Bitstream;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.Site;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.handle.service.HandleService;
@@ -34,6 +41,7 @@ import org.dspace.statistics.content.DatasetTypeGenerator;
 import org.dspace.statistics.content.StatisticsDataVisits;
 import org.dspace.statistics.content.StatisticsListing;
 import org.dspace.statistics.content.StatisticsTable;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Component;
@@ -49,6 +57,15 @@ public class UsageReportUtils {
     @Autowired
     private HandleService handleService;
 
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BitstreamService bitstreamService;
+
+    @Autowired
+    private StatisticsRollupService statisticsRollupService;
+
     public static final String TOTAL_VISITS_REPORT_ID = "TotalVisits";
     public static final String TOTAL_VISITS_PER_MONTH_REPORT_ID = "TotalVisitsPerMonth";
     public static final String TOTAL_DOWNLOADS_REPORT_ID = "TotalDownloads";
@@ -135,6 +152,9 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveGlobalUsageReport(Context context)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (statisticsRollupService.isEnabled()) {
+            return resolveGlobalUsageReportFromRollups(context);
+        }
         StatisticsListing statListing = new StatisticsListing(
             new StatisticsDataVisits());
 
@@ -176,6 +196,16 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTotalVisits(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (statisticsRollupService.isEnabled()) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            UsageReportPointDsoTotalVisitsRest totalVisitPoint = new UsageReportPointDsoTotalVisitsRest();
+            totalVisitPoint.setType(StringUtils.substringAfterLast(dso.getClass().getName().toLowerCase(), "."));
+            totalVisitPoint.setId(dso.getID().toString());
+            totalVisitPoint.setLabel(dso.getName());
+            totalVisitPoint.addValue("views", toInt(statisticsRollupService.countViews(context, dso)));
+            usageReportRest.addPoint(totalVisitPoint);
+            return usageReportRest;
+        }
         Dataset dataset = this.getDSOStatsDataset(context, dso, 1, dso.getType());
 
         UsageReportRest usageReportRest = new UsageReportRest();
@@ -205,6 +235,20 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTotalVisitsPerMonth(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (statisticsRollupService.isEnabled()) {
+            // The same months as the date facet from NOW/MONTH-6MONTHS to NOW/MONTH+1MONTH, with the same labels
+            YearMonth now = YearMonth.now(ZoneOffset.UTC);
+            DateTimeFormatter format = DateTimeFormatter.ofPattern("MMMM yyyy");
+            UsageReportRest usageReportRest = new UsageReportRest();
+            statisticsRollupService.countViewsByMonth(context, dso, now.minusMonths(6), now).forEach(
+                (month, views) -> {
+                    UsageReportPointDateRest monthPoint = new UsageReportPointDateRest();
+                    monthPoint.setId(format.format(month));
+                    monthPoint.addValue("views", toInt(views));
+                    usageReportRest.addPoint(monthPoint);
+                });
+            return usageReportRest;
+        }
         StatisticsTable statisticsTable = new StatisticsTable(new StatisticsDataVisits(dso));
         DatasetTimeGenerator timeAxis = new DatasetTimeGenerator();
         // TODO month start and end as request para?
@@ -244,6 +288,21 @@ public class UsageReportUtils {
             return this.resolveTotalVisits(context, dso);
         }
 
+        if (dso instanceof org.dspace.content.Item && statisticsRollupService.isEnabled()) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            Map<UUID, Long> downloads = statisticsRollupService.countDownloads(context, (Item) dso, 10);
+            for (Map.Entry<UUID, Long> entry : downloads.entrySet()) {
+                Bitstream bitstream = bitstreamService.find(context, entry.getKey());
+                UsageReportPointDsoTotalVisitsRest totalDownloadsPoint = new UsageReportPointDsoTotalVisitsRest();
+                totalDownloadsPoint.setType("bitstream");
+                totalDownloadsPoint.setId(entry.getKey().toString());
+                totalDownloadsPoint.setLabel(bitstream != null ? bitstream.getName() : entry.getKey().toString());
+                totalDownloadsPoint.addValue("views", toInt(entry.getValue()));
+                usageReportRest.addPoint(totalDownloadsPoint);
+            }
+            return usageReportRest;
+        }
+
         if (dso instanceof org.dspace.content.Item) {
             Dataset dataset = this.getDSOStatsDataset(context, dso, 1, Constants.BITSTREAM);
 
@@ -275,6 +334,16 @@ public class UsageReportUtils {
      */
     private UsageReportRest resolveTopCountries(Context context, DSpaceObject dso)
         throws SQLException, IOException, ParseException, SolrServerException {
+        if (statisticsRollupService.isEnabled()) {
+            UsageReportRest usageReportRest = new UsageReportRest();
+            statisticsRollupService.countViewsByCountry(context, dso, 100).forEach((countryCode, views) -> {
+                UsageReportPointCountryRest countryPoint = new UsageReportPointCountryRest();
+                countryPoint.setId(countryCode);
+                countryPoint.addValue("views", toInt(views));
+                usageReportRest.addPoint(countryPoint);
+            });
+            return usageReportRest;
+        }
         Dataset dataset = this.getTypeStatsDataset(context, dso, "countryCode", 1);
 
         UsageReportRest usageReportRest = new UsageReportRest();
@@ -311,6 +380,32 @@ public class UsageReportUtils {
         return usageReportRest;
     }
 
+    /**
+     * Create stat usage report of the items most popular over entire site, from the daily rollups
+     *
+     * @param context DSpace context
+     * @return Usage report with top most popular items
+     */
+    private UsageReportRest resolveGlobalUsageReportFromRollups(Context context) throws SQLException {
+        UsageReportRest usageReportRest = new UsageReportRest();
+        for (Map.Entry<UUID, Long> entry : statisticsRollupService.findMostViewed(context, Constants.ITEM, 10)
+                                                                  .entrySet()) {
+            Item item = itemService.find(context, entry.getKey());
+            UsageReportPointDsoTotalVisitsRest totalVisitPoint = new UsageReportPointDsoTotalVisitsRest();
+            totalVisitPoint.setType("item");
+            totalVisitPoint.setId(entry.getKey().toString());
+            totalVisitPoint.setLabel(item != null ? item.getName() : entry.getKey().toString());
+            totalVisitPoint.addValue("views", toInt(entry.getValue()));
+            usageReportRest.addPoint(totalVisitPoint);
+        }
+        usageReportRest.setReportType(TOTAL_VISITS_REPORT_ID);
+        return usageReportRest;
+    }
+
+    private Integer toInt(long views) {
+        return (int) Math.min(views, Integer.MAX_VALUE);
+    }
+
     /**
      * Retrieves the stats dataset of a given DSO, of given type, with a given facetMinCount limit (usually either 0
      * or 1, 0 if we want a data point even though the facet data point has 0 matching results).
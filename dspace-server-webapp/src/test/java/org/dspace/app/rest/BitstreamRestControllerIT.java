@@ -42,6 +42,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.ByteArrayInputStream;
@@ -343,10 +344,107 @@ public class BitstreamRestControllerIT extends AbstractControllerIntegrationTest
                        //We all remaining bytes, starting at byte 4
                        .andExpect(content().bytes("456789".getBytes()));
 
+            //** WHEN **
+            //We download the last bytes of the bitstream
+            getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                    .header("Range", "bytes=-2"))
+
+                       //** THEN **
+                       .andExpect(status().is(206))
+                       .andExpect(header().longValue("Content-Length", 2))
+                       .andExpect(header().string("Content-Range", "bytes 8-9/10"))
+                       .andExpect(content().bytes("89".getBytes()));
+
             //Check that NO statistics record was logged for the Range requests
             checkNumberOfStatsRecords(bitstream, 0);
     }
 
+    @Test
+    public void retrieveRangeBitstreamWithIfRange() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+        String bitstreamContent = "0123456789";
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .build();
+            bitstream = BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Test bitstream")
+                .withMimeType("text/plain")
+                .build();
+        }
+        context.restoreAuthSystemState();
+
+        //The range is served when If-Range matches the current ETag
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .header("Range", "bytes=1-3")
+                                .header("If-Range", "\"" + bitstream.getChecksum() + "\""))
+                   .andExpect(status().is(206))
+                   .andExpect(header().string("Content-Range", "bytes 1-3/10"))
+                   .andExpect(content().bytes("123".getBytes()));
+
+        //The complete content is sent when If-Range doesn't match
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .header("Range", "bytes=1-3")
+                                .header("If-Range", "\"outdated\""))
+                   .andExpect(status().isOk())
+                   .andExpect(header().doesNotExist("Content-Range"))
+                   .andExpect(header().longValue("Content-Length", 10))
+                   .andExpect(content().bytes(bitstreamContent.getBytes()));
+
+        //A weak ETag never matches
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .header("Range", "bytes=1-3")
+                                .header("If-Range", "W/\"" + bitstream.getChecksum() + "\""))
+                   .andExpect(status().isOk())
+                   .andExpect(content().bytes(bitstreamContent.getBytes()));
+    }
+
+    @Test
+    public void retrieveRangeBitstreamWithSendfile() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+        String bitstreamContent = StringUtils.repeat("0123456789", 10000);
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .build();
+            bitstream = BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Test bitstream")
+                .withMimeType("text/plain")
+                .build();
+        }
+        context.restoreAuthSystemState();
+
+        //The file is handed to the container, which sends it when it supports sendfile
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .header("Range", "bytes=10-60009")
+                                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                   .andExpect(status().is(206))
+                   .andExpect(header().longValue("Content-Length", 60000))
+                   .andExpect(header().string("Content-Range", "bytes 10-60009/100000"))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", not(nullValue())))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 10L))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 60010L))
+                   .andExpect(content().bytes(new byte[0]));
+
+        //Small ranges are written directly
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .header("Range", "bytes=1-3")
+                                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                   .andExpect(status().is(206))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", nullValue()))
+                   .andExpect(content().bytes("123".getBytes()));
+    }
+
     @Test
     public void testBitstreamName() throws Exception {
 
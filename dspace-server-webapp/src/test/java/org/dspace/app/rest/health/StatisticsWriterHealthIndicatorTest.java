@@ -0,0 +1,82 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import org.dspace.app.rest.configuration.ActuatorConfiguration;
+import org.dspace.statistics.SolrStatisticsWriter;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Unit tests for {@link StatisticsWriterHealthIndicator}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticsWriterHealthIndicatorTest {
+
+    @Mock
+    private SolrLoggerService solrLoggerService;
+
+    @Mock
+    private SolrStatisticsWriter writer;
+
+    @InjectMocks
+    private StatisticsWriterHealthIndicator statisticsWriterHealthIndicator;
+
+    @Test
+    public void testWithoutDroppedEvents() {
+        when(solrLoggerService.getWriter()).thenReturn(writer);
+        when(writer.getQueueDepth()).thenReturn(12);
+
+        Health health = statisticsWriterHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.UP));
+        assertThat(health.getDetails().get("queueDepth"), is(12));
+        assertThat(health.getDetails().get("dropped"), is(0L));
+    }
+
+    @Test
+    public void testWithDroppedEvents() {
+        when(solrLoggerService.getWriter()).thenReturn(writer);
+        when(writer.getDropped()).thenReturn(3L);
+
+        Health health = statisticsWriterHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(ActuatorConfiguration.UP_WITH_ISSUES_STATUS));
+        assertThat(health.getDetails().get("dropped"), is(3L));
+    }
+
+    @Test
+    public void testWithPendingSpilledEvents() {
+        when(solrLoggerService.getWriter()).thenReturn(writer);
+        when(writer.getPendingSpillFiles()).thenReturn(1);
+
+        Health health = statisticsWriterHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(ActuatorConfiguration.UP_WITH_ISSUES_STATUS));
+        assertThat(health.getDetails().get("pendingSpillFiles"), is(1));
+    }
+
+    @Test
+    public void testWithoutWriter() {
+        when(solrLoggerService.getWriter()).thenReturn(null);
+
+        Health health = statisticsWriterHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.UNKNOWN));
+    }
+}
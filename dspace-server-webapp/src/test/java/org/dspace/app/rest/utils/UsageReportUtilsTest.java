@@ -0,0 +1,188 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.dspace.app.rest.model.UsageReportPointRest;
+import org.dspace.app.rest.model.UsageReportRest;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Item;
+import org.dspace.content.Site;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for the usage reports of {@link UsageReportUtils} answered from the statistics rollups
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class UsageReportUtilsTest {
+
+    @InjectMocks
+    private UsageReportUtils usageReportUtils;
+
+    @Mock
+    private StatisticsRollupService statisticsRollupService;
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private BitstreamService bitstreamService;
+
+    @Mock
+    private Context context;
+
+    @Mock
+    private Item item;
+
+    private final UUID itemId = UUID.randomUUID();
+
+    @Before
+    public void setUp() {
+        when(statisticsRollupService.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    public void testTotalVisits() throws Exception {
+        when(item.getID()).thenReturn(itemId);
+        when(item.getName()).thenReturn("Item");
+        when(statisticsRollupService.countViews(context, item)).thenReturn(42L);
+
+        UsageReportRest report = usageReportUtils.createUsageReport(context, item,
+                                                                    UsageReportUtils.TOTAL_VISITS_REPORT_ID);
+
+        assertEquals(itemId + "_" + UsageReportUtils.TOTAL_VISITS_REPORT_ID, report.getId());
+        assertEquals(UsageReportUtils.TOTAL_VISITS_REPORT_ID, report.getReportType());
+        assertEquals(1, report.getPoints().size());
+        UsageReportPointRest point = report.getPoints().get(0);
+        assertEquals(itemId.toString(), point.getId());
+        assertEquals("Item", point.getLabel());
+        assertEquals(Map.of("views", 42), point.getValues());
+    }
+
+    @Test
+    public void testTotalVisitsBeyondIntegerRange() throws Exception {
+        when(item.getID()).thenReturn(itemId);
+        when(statisticsRollupService.countViews(context, item)).thenReturn(Integer.MAX_VALUE + 1L);
+
+        UsageReportRest report = usageReportUtils.createUsageReport(context, item,
+                                                                    UsageReportUtils.TOTAL_VISITS_REPORT_ID);
+
+        assertEquals(Map.of("views", Integer.MAX_VALUE), report.getPoints().get(0).getValues());
+    }
+
+    @Test
+    public void testTotalVisitsPerMonth() throws Exception {
+        when(item.getID()).thenReturn(itemId);
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        Map<YearMonth, Long> months = new LinkedHashMap<>();
+        for (int i = 6; i >= 0; i--) {
+            months.put(now.minusMonths(i), (long) i);
+        }
+        when(statisticsRollupService.countViewsByMonth(context, item, now.minusMonths(6), now)).thenReturn(months);
+
+        UsageReportRest report = usageReportUtils.createUsageReport(context, item,
+                                                                    UsageReportUtils.TOTAL_VISITS_PER_MONTH_REPORT_ID);
+
+        assertEquals(UsageReportUtils.TOTAL_VISITS_PER_MONTH_REPORT_ID, report.getReportType());
+        assertEquals(7, report.getPoints().size());
+        UsageReportPointRest first = report.getPoints().get(0);
+        assertEquals(DateTimeFormatter.ofPattern("MMMM yyyy").format(now.minusMonths(6)),
+                     first.getId());
+        assertEquals(Map.of("views", 6), first.getValues());
+        assertEquals(Map.of("views", 0), report.getPoints().get(6).getValues());
+    }
+
+    @Test
+    public void testTotalDownloads() throws Exception {
+        when(item.getID()).thenReturn(itemId);
+        UUID downloaded = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        Bitstream bitstream = mock(Bitstream.class);
+        when(bitstream.getName()).thenReturn("file.pdf");
+        when(bitstreamService.find(context, downloaded)).thenReturn(bitstream);
+        Map<UUID, Long> downloads = new LinkedHashMap<>();
+        downloads.put(downloaded, 5L);
+        downloads.put(deleted, 2L);
+        when(statisticsRollupService.countDownloads(context, item, 10)).thenReturn(downloads);
+
+        UsageReportRest report = usageReportUtils.createUsageReport(context, item,
+                                                                    UsageReportUtils.TOTAL_DOWNLOADS_REPORT_ID);
+
+        assertEquals(UsageReportUtils.TOTAL_DOWNLOADS_REPORT_ID, report.getReportType());
+        assertEquals(List.of(downloaded.toString(), deleted.toString()), ids(report));
+        assertEquals("file.pdf", report.getPoints().get(0).getLabel());
+        assertEquals(Map.of("views", 5), report.getPoints().get(0).getValues());
+        // a bitstream deleted since it was downloaded is labelled with its id
+        assertEquals(deleted.toString(), report.getPoints().get(1).getLabel());
+    }
+
+    @Test
+    public void testTopCountries() throws Exception {
+        when(item.getID()).thenReturn(itemId);
+        Map<String, Long> countries = new LinkedHashMap<>();
+        countries.put("US", 3L);
+        countries.put("BE", 1L);
+        when(statisticsRollupService.countViewsByCountry(context, item, 100)).thenReturn(countries);
+
+        UsageReportRest report = usageReportUtils.createUsageReport(context, item,
+                                                                    UsageReportUtils.TOP_COUNTRIES_REPORT_ID);
+
+        assertEquals(UsageReportUtils.TOP_COUNTRIES_REPORT_ID, report.getReportType());
+        assertEquals(List.of("US", "BE"), ids(report));
+        assertEquals(Map.of("views", 3), report.getPoints().get(0).getValues());
+    }
+
+    @Test
+    public void testSiteMostViewedItems() throws Exception {
+        Site site = mock(Site.class);
+        when(site.getID()).thenReturn(UUID.randomUUID());
+        when(item.getName()).thenReturn("Item");
+        UUID withdrawn = UUID.randomUUID();
+        Map<UUID, Long> mostViewed = new LinkedHashMap<>();
+        mostViewed.put(itemId, 10L);
+        mostViewed.put(withdrawn, 4L);
+        when(statisticsRollupService.findMostViewed(context, Constants.ITEM, 10)).thenReturn(mostViewed);
+        when(itemService.find(context, itemId)).thenReturn(item);
+
+        List<UsageReportRest> reports = usageReportUtils.getUsageReportsOfDSO(context, site);
+
+        assertEquals(1, reports.size());
+        UsageReportRest report = reports.get(0);
+        assertEquals(site.getID() + "_" + UsageReportUtils.TOTAL_VISITS_REPORT_ID, report.getId());
+        assertEquals(List.of(itemId.toString(), withdrawn.toString()), ids(report));
+        assertEquals("Item", report.getPoints().get(0).getLabel());
+        assertEquals(withdrawn.toString(), report.getPoints().get(1).getLabel());
+        assertEquals(Map.of("views", 4), report.getPoints().get(1).getValues());
+    }
+
+    private static List<String> ids(UsageReportRest report) {
+        return report.getPoints().stream().map(UsageReportPointRest::getId).collect(Collectors.toList());
+    }
+}